@@ -0,0 +1,59 @@
+package com.mine.api.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * AI 서버(RunPod / 로컬 FastAPI) 호출용 공용 WebClient
+ * 요청마다 WebClient를 새로 만들면 코덱 초기화와 커넥션 수립이 반복되므로, 커넥션 풀을 공유하는 단일 Bean을 사용한다.
+ * Reactor Netty는 원격 주소(host:port)별로 풀을 따로 관리하므로 매거진/무드보드 엔드포인트가 각자의 풀을 갖는다.
+ * 풀 지표는 reactor.netty.connection.provider.* 메트릭으로 /actuator/metrics에서 확인할 수 있다.
+ */
+@Configuration
+public class AiWebClientConfig {
+
+    private static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024; // Base64 이미지 응답 등 대용량 응답 대비 16MB
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider(
+            @Value("${python.api.http.max-connections:50}") int maxConnections,
+            @Value("${python.api.http.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${python.api.http.pending-acquire-timeout-seconds:10}") long pendingAcquireTimeoutSeconds,
+            @Value("${python.api.http.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${python.api.http.max-life-minutes:5}") long maxLifeMinutes) {
+        return ConnectionProvider.builder("ai")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                // 서버/LB가 먼저 끊은 유휴 커넥션을 재사용하지 않도록 idle 시간은 상대보다 짧게
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofMinutes(maxLifeMinutes))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient aiWebClient(WebClient.Builder webClientBuilder, ConnectionProvider aiConnectionProvider,
+            @Value("${python.api.http.connect-timeout-ms:10000}") int connectTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+                .keepAlive(true)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true);
+
+        // WebClient.Builder는 공용 Bean이므로 .clone()을 사용하여 부수 효과 방지 (StackOverflowError 픽스)
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mine.api.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.time.Duration;
+
+/**
+ * 외부 이미지 수집(다운로드 → S3 업로드)용 논블로킹 클라이언트
+ * 이미지 본문을 청크 단위로 받아 바로 멀티파트 파트로 올리므로, 동시 수집 수만큼 스레드나 전체 크기 버퍼가 필요하지 않다.
+ * 자격 증명과 리전은 spring-cloud-aws가 만든 동기 S3Client와 같은 Provider를 사용한다.
+ */
+@Configuration
+public class ImageClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(AwsCredentialsProvider credentialsProvider, AwsRegionProvider regionProvider) {
+        return S3AsyncClient.builder()
+                .credentialsProvider(credentialsProvider)
+                .region(regionProvider.getRegion())
+                .build();
+    }
+
+    /**
+     * 이미지 다운로드 전용 커넥션 풀 — AI 호출 풀과 분리해 이미지 몰림이 AI 호출 커넥션을 잠식하지 않도록 한다.
+     * Reactor Netty는 원격 주소(host:port)별로 풀을 따로 두므로 maxConnections는 호스트당 상한이다.
+     * 한 매거진의 이미지 15장이 같은 CDN에 있으면 TLS 핸드셰이크 없이 열린 커넥션을 재사용하고,
+     * HTTP/2를 지원하는 호스트는 커넥션 하나에 여러 요청을 다중화한다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider imageConnectionProvider(
+            @Value("${mine.image-download.max-connections-per-host:8}") int maxConnectionsPerHost,
+            @Value("${mine.image-download.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${mine.image-download.pending-acquire-timeout-seconds:10}") long pendingAcquireTimeoutSeconds,
+            @Value("${mine.image-download.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${mine.image-download.max-life-minutes:5}") long maxLifeMinutes) {
+        return ConnectionProvider.builder("images")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireTimeoutSeconds))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofMinutes(maxLifeMinutes))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient imageWebClient(WebClient.Builder webClientBuilder, ConnectionProvider imageConnectionProvider,
+            @Value("${mine.image-download.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${mine.image-download.response-timeout-seconds:10}") long responseTimeoutSeconds) {
+        HttpClient httpClient = HttpClient.create(imageConnectionProvider)
+                // https는 ALPN으로 HTTP/2 협상, 지원하지 않는 호스트와 http는 HTTP/1.1 keep-alive
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .keepAlive(true)
+                .followRedirect(true) // URLConnection과 동일하게 CDN 리다이렉트 추적
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true);
+
+        // WebClient.Builder는 공용 Bean이므로 .clone()을 사용하여 부수 효과 방지
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("User-Agent",
+                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .build();
+    }
+}
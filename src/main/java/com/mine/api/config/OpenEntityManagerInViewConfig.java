@@ -0,0 +1,40 @@
+package com.mine.api.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open EntityManager In View 설정 (spring.jpa.open-in-view=false 로 기본 등록을 끄고 여기서 직접 등록)
+ * OSIV가 켜져 있으면 요청이 끝날 때까지 DB 커넥션을 붙잡으므로, AI를 호출하는 편집 API는 제외한다.
+ * 해당 API들은 서비스에서 스냅샷/반영 트랜잭션을 직접 나누고 응답 DTO도 트랜잭션 안에서 만든다.
+ * 무드보드 생성도 AiJobService 워커에서 실행되므로 요청 스레드에 EntityManager를 열어둘 필요가 없다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private static final String[] AI_EDIT_PATHS = {
+            "/api/magazines/*/interact",
+            "/api/magazines/*/sections/*/interact",
+            "/api/magazines/*/sections/*/paragraphs/ai",
+            "/api/moodboards"
+    };
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf == null) {
+            return; // WebMvcTest 등 JPA가 없는 컨텍스트
+        }
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(emf);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(AI_EDIT_PATHS);
+    }
+}
@@ -24,6 +24,7 @@ public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final com.mine.api.repository.BlacklistedTokenRepository blacklistedTokenRepository;
+    private final com.mine.api.service.IdempotencyService idempotencyService;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -39,6 +40,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // SSE/비동기 응답의 ASYNC 디스패치 — 최초 요청에서 이미 인증을 통과했으며 JWT 필터는 재실행되지 않음
+                        .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()                          // 로그인/회원가입은 인증 불필요
                         .requestMatchers("/api/internal/**").permitAll()                      // Python 서버 내부 API는 X-Internal-Key로 별도 인증
                         .requestMatchers("/api/magazines/feed/search").permitAll()            // 둘러보기 검색은 비로그인 허용
@@ -49,10 +52,14 @@ public class SecurityConfig {
                         .permitAll()                                                          // 섹션 상세 비로그인 허용 (공개 계정만)
                         .requestMatchers("/images/**").permitAll()                            // 기본 프로필 이미지 등 정적 에셋
                         .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()                      // 로드밸런서 헬스체크
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, blacklistedTokenRepository),
-                        UsernamePasswordAuthenticationFilter.class);
+                        UsernamePasswordAuthenticationFilter.class)
+                // 인가를 통과한 요청만 Idempotency-Key 처리 (재시도 시 저장된 응답 재생)
+                .addFilterAfter(new com.mine.api.security.IdempotencyFilter(idempotencyService),
+                        org.springframework.security.web.access.intercept.AuthorizationFilter.class);
 
         return http.build();
     }
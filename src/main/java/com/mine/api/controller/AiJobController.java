@@ -0,0 +1,41 @@
+package com.mine.api.controller;
+
+import com.mine.api.dto.AiJobDto;
+import com.mine.api.service.AiJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/ai-jobs")
+@RequiredArgsConstructor
+@Tag(name = "7. 비동기 AI 작업 ⏳", description = "?async=true로 요청한 AI 작업의 상태를 조회하거나 SSE로 진행 상황을 받습니다.")
+public class AiJobController {
+
+    private final AiJobService aiJobService;
+
+    @Operation(summary = "⏳ AI 작업 상태 조회", description = "QUEUED/RUNNING/COMPLETED/FAILED 상태와 완료 시 결과를 반환합니다.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AiJobDto.Status> getStatus(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(aiJobService.getStatus(jobId, userDetails.getUsername()));
+    }
+
+    @Operation(summary = "📡 AI 작업 진행 스트림 (SSE)", description = "queued → running → completed/failed 이벤트를 푸시합니다. completed 이벤트에 최종 결과가 포함됩니다.")
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return aiJobService.subscribe(jobId, userDetails.getUsername());
+    }
+}
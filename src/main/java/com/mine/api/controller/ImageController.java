@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Tag(name = "6. 이미지 (Image) 🖼️", description = "이미지 업로드 API (프로필, 매거진 등)")
 @RestController
@@ -23,15 +25,16 @@ public class ImageController {
 
     @Operation(summary = "이미지 업로드", description = "이미지 파일을 업로드하고 URL을 반환받습니다. 반환된 URL을 프로필 수정이나 매거진 생성 시 사용하세요.")
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Map<String, String>> uploadImage(
+    public CompletableFuture<ResponseEntity<Map<String, String>>> uploadImage(
             @RequestPart("file") MultipartFile file) {
 
-        try {
-            String imageUrl = s3Service.uploadImage(file);
-            return ResponseEntity.ok(Map.of("imageUrl", imageUrl));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body(Map.of("error", "이미지 업로드 실패: " + e.getMessage()));
-        }
+        // S3 업로드 동안 서블릿 스레드를 점유하지 않도록 비동기 응답
+        return s3Service.uploadImageAsync(file)
+                .thenApply(imageUrl -> ResponseEntity.ok(Map.of("imageUrl", imageUrl)))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return ResponseEntity.internalServerError()
+                            .body(Map.of("error", "이미지 업로드 실패: " + cause.getMessage()));
+                });
     }
 }
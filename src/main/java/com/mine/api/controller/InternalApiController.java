@@ -18,13 +18,18 @@ public class InternalApiController {
 
     private final MagazineService magazineService;
     private final com.mine.api.service.S3Service s3Service;
+    private final com.mine.api.service.RunPodService runPodService;
+    private final com.mine.api.service.AiCallLedger aiCallLedger;
 
     @org.springframework.beans.factory.annotation.Value("${mine.internal.secret-key:mine-admin-1234}")
     private String internalApiKey;
 
-    public InternalApiController(MagazineService magazineService, com.mine.api.service.S3Service s3Service) {
+    public InternalApiController(MagazineService magazineService, com.mine.api.service.S3Service s3Service,
+            com.mine.api.service.RunPodService runPodService, com.mine.api.service.AiCallLedger aiCallLedger) {
         this.magazineService = magazineService;
         this.s3Service = s3Service;
+        this.runPodService = runPodService;
+        this.aiCallLedger = aiCallLedger;
     }
 
     @PostMapping("/magazine")
@@ -44,6 +49,55 @@ public class InternalApiController {
         return ResponseEntity.ok(magazineId);
     }
 
+    /**
+     * RunPod 작업 완료 웹훅 — 완료를 Redis에 기록/발행해, 작업을 기다리는 노드가 즉시 상태를 조회하도록 한다
+     * RunPod 웹훅은 헤더를 지정할 수 없으므로 작업별 token 쿼리 파라미터로 인증하며, 내부 중계 시에는 X-Internal-Key도 허용
+     */
+    @PostMapping("/runpod/webhook")
+    public ResponseEntity<?> runPodWebhook(
+            jakarta.servlet.http.HttpServletRequest request,
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String token,
+            @org.springframework.web.bind.annotation.RequestHeader(value = "X-Internal-Key", required = false) String apiKey)
+            throws java.io.IOException {
+
+        boolean internalCall = apiKey != null && internalApiKey != null && internalApiKey.trim().equals(apiKey.trim());
+        if (!internalCall && (token == null || token.isBlank())) {
+            log.warn("Rejected RunPod webhook without token or valid API Key");
+            return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).body("Invalid API Key");
+        }
+
+        // 이미 폴링으로 끝난 작업이어도 200 — RunPod의 웹훅 재시도를 막는다
+        boolean relayed = runPodService.handleWebhook(request.getInputStream(), internalCall ? null : token);
+        return ResponseEntity.ok(relayed ? "OK" : "IGNORED");
+    }
+
+    /**
+     * AI 호출 기록 요약 — 최근 windowMinutes분 동안 action별 호출 수/실패/콜드스타트와 대기·실행 시간 백분위
+     * includeCalls=true면 개별 호출 기록도 함께 반환
+     */
+    @org.springframework.web.bind.annotation.GetMapping("/ai-telemetry")
+    public ResponseEntity<?> aiTelemetry(
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "60") long windowMinutes,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "false") boolean includeCalls,
+            @org.springframework.web.bind.annotation.RequestHeader("X-Internal-Key") String apiKey) {
+
+        if (internalApiKey == null || !internalApiKey.trim().equals(apiKey.trim())) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).body("Invalid API Key");
+        }
+        if (windowMinutes <= 0) {
+            throw new IllegalArgumentException("windowMinutes must be positive");
+        }
+
+        java.time.Duration window = java.time.Duration.ofMinutes(windowMinutes);
+        java.util.Map<String, Object> body = new java.util.LinkedHashMap<>();
+        body.put("windowMinutes", windowMinutes);
+        body.put("actions", aiCallLedger.summarize(window));
+        if (includeCalls) {
+            body.put("calls", aiCallLedger.recent(window));
+        }
+        return ResponseEntity.ok(body);
+    }
+
     /**
      * [복구용] 특정 유저의 초기 매거진 생성을 강제로 트리거
      */
@@ -59,10 +113,10 @@ public class InternalApiController {
             return ResponseEntity.status(org.springframework.http.HttpStatus.FORBIDDEN).body("Invalid API Key");
         }
 
-        // 비동기로 실행 — username만 넘겨서 Lazy loading/Detached entity 문제 방지
+        // 생성 작업 큐에 등록 — username만 넘겨서 Lazy loading/Detached entity 문제 방지
         magazineService.generateInitialMagazinesAsync(username);
 
-        return ResponseEntity.ok("Async generation triggered for user: " + username);
+        return ResponseEntity.ok("Initial magazine generation queued for user: " + username);
     }
     @org.springframework.web.bind.annotation.PostMapping("/init-assets")
     public ResponseEntity<String> initAssets(
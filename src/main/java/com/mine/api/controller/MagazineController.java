@@ -19,6 +19,7 @@ public class MagazineController {
 
     private final MagazineService magazineService;
     private final com.mine.api.service.MoodboardService moodboardService;
+    private final com.mine.api.service.AiJobService aiJobService;
 
     @Tag(name = "1. 매거진 (Magazine) 📘", description = "매거진의 생성, 조회, 수정, 삭제(CRUD) 및 검색/피드 기능을 제공합니다.")
     @Operation(summary = "📂 내 매거진 목록", description = "내가 만든 매거진들을 최신순으로 모아봅니다.")
@@ -43,12 +44,24 @@ public class MagazineController {
     }
 
     @Tag(name = "1. 매거진 (Magazine) 📘")
-    @Operation(summary = "✨ AI 매거진 만들기", description = "주제와 기분을 입력하면 AI가 제목, 소개, 그리고 내용(섹션)까지 자동으로 만들어줍니다. (로컬 생성 시 1~2분 이상 소요될 수 있습니다)")
+    @Operation(summary = "✨ AI 매거진 만들기", description = "주제와 기분을 입력하면 AI가 제목, 소개, 그리고 내용(섹션)까지 자동으로 만들어줍니다. (로컬 생성 시 1~2분 이상 소요될 수 있습니다)<br>?async=true 시 202와 작업 ID를 즉시 반환합니다.<br>?stream=true 시 섹션이 하나씩 저장되는 대로 작업 SSE 스트림에 section 이벤트로 전달됩니다.")
     @org.springframework.web.bind.annotation.PostMapping
-    public ResponseEntity<Long> createMagazine(
+    public ResponseEntity<?> createMagazine(
             @org.springframework.web.bind.annotation.RequestBody com.mine.api.dto.MagazineGenerationRequest request,
+            @io.swagger.v3.oas.annotations.Parameter(description = "true 시 비동기 작업으로 접수 (결과는 /api/ai-jobs/{jobId})") @org.springframework.web.bind.annotation.RequestParam(defaultValue = "false") boolean async,
+            @io.swagger.v3.oas.annotations.Parameter(description = "true 시 섹션이 생성되는 대로 저장하고 /api/ai-jobs/{jobId}/events로 magazine/section 이벤트 전달") @org.springframework.web.bind.annotation.RequestParam(defaultValue = "false") boolean stream,
             @AuthenticationPrincipal UserDetails userDetails) {
-        Long magazineId = magazineService.generateAndSaveMagazine(request, userDetails.getUsername());
+        String username = userDetails.getUsername();
+        if (stream) {
+            return ResponseEntity.accepted().body(aiJobService.submitWithProgress(username, "MAGAZINE_GENERATION_STREAM",
+                    progress -> magazineService.generateAndSaveMagazineStreaming(request, username, progress)));
+        }
+        if (async) {
+            return ResponseEntity.accepted().body(aiJobService.submit(username, "MAGAZINE_GENERATION",
+                    () -> magazineService.generateAndSaveMagazine(request, username)));
+        }
+
+        Long magazineId = magazineService.generateAndSaveMagazine(request, username);
         return ResponseEntity.ok(magazineId);
     }
 
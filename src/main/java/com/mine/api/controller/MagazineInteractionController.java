@@ -1,6 +1,7 @@
 package com.mine.api.controller;
 
 import com.mine.api.dto.InteractionDto;
+import com.mine.api.service.AiJobService;
 import com.mine.api.service.MagazineInteractionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 
@@ -18,15 +20,25 @@ import java.util.List;
 public class MagazineInteractionController {
 
     private final MagazineInteractionService interactionService;
+    private final AiJobService aiJobService;
 
     @Tag(name = "3. 매거진 AI 편집 (전체/구조) 🤖", description = "AI와 대화하며 섹션을 추가하거나 삭제하고, 전체 분위기를 바꿉니다.")
-    @Operation(summary = "🤖 섹션 추가 (AI)", description = "AI에게 새 섹션 추가를 요청합니다.<br>예: '여행 섹션 추가해줘', '디저트 소개 추가해줘'")
+    @Operation(summary = "🤖 섹션 추가 (AI)", description = "AI에게 새 섹션 추가를 요청합니다.<br>예: '여행 섹션 추가해줘', '디저트 소개 추가해줘'<br>?async=true 시 202와 작업 ID를 즉시 반환합니다.")
     @PostMapping
-    public ResponseEntity<InteractionDto.InteractResponse> interact(
+    public DeferredResult<ResponseEntity<?>> interact(
             @PathVariable Long magazineId,
             @RequestBody InteractionDto.InteractRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(interactionService.interact(magazineId, userDetails.getUsername(), request));
+        String username = userDetails.getUsername();
+        if (async) {
+            return AiJobService.completed(ResponseEntity.accepted().body(aiJobService.submit(username,
+                    "MAGAZINE_INTERACT", () -> interactionService.interact(magazineId, username, request))));
+        }
+        // 동기 응답 — AI 응답을 기다리는 동안 서블릿 스레드도 워커 스레드도 점유하지 않음
+        return aiJobService.defer(username, "MAGAZINE_INTERACT", () -> interactionService
+                .interactAsync(magazineId, username, request)
+                .thenApply(ResponseEntity::ok));
     }
 
     @Tag(name = "99. 기타 (보류) 💤")
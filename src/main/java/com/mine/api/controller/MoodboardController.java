@@ -2,6 +2,7 @@ package com.mine.api.controller;
 
 import com.mine.api.dto.MoodboardRequestDto;
 import com.mine.api.dto.MoodboardResponseDto;
+import com.mine.api.service.AiJobService;
 import com.mine.api.service.MoodboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,7 +13,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/api/moodboards")
@@ -21,12 +24,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class MoodboardController {
 
     private final MoodboardService moodboardService;
+    private final AiJobService aiJobService;
 
-    @Operation(summary = "무드보드 생성", description = "사용자 취향을 분석하여 AI 배경화면을 생성합니다.")
+    @Operation(summary = "무드보드 생성", description = "사용자 취향을 분석하여 AI 배경화면을 생성합니다. ?async=true 시 202와 작업 ID를 즉시 반환합니다.")
     @PostMapping
-    public ResponseEntity<MoodboardResponseDto> createMoodboard(
+    public DeferredResult<ResponseEntity<?>> createMoodboard(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestBody MoodboardRequestDto requestDto) {
+            @RequestBody MoodboardRequestDto requestDto,
+            @RequestParam(defaultValue = "false") boolean async) {
 
         // UserDetails에서 userId를 가져오는 로직이 필요하지만, 현재 UserDetails는 Spring Security User일 수
         // 있음.
@@ -45,13 +50,21 @@ public class MoodboardController {
         // 하지만 지금은 Controller 작성이므로, 일단 컴파일 되도록 작성하고 Service를 수정합니다.
 
         String username = userDetails.getUsername();
-        String s3Url = moodboardService.createMoodboard(username, requestDto);
+        if (async) {
+            return AiJobService.completed(ResponseEntity.accepted().body(aiJobService.submit(username, "MOODBOARD",
+                    () -> toResponse(moodboardService.createMoodboard(username, requestDto)))));
+        }
 
-        MoodboardResponseDto response = MoodboardResponseDto.builder()
+        // 동기 응답 — AI 응답을 기다리는 동안 서블릿 스레드도 워커 스레드도 점유하지 않음
+        return aiJobService.defer(username, "MOODBOARD", () -> moodboardService
+                .createMoodboardAsync(username, requestDto)
+                .thenApply(s3Url -> ResponseEntity.ok(toResponse(s3Url))));
+    }
+
+    private MoodboardResponseDto toResponse(String s3Url) {
+        return MoodboardResponseDto.builder()
                 .image_url(s3Url)
                 .description("Moodboard generated successfully")
                 .build();
-
-        return ResponseEntity.ok(response);
     }
 }
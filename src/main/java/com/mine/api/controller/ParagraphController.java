@@ -1,6 +1,7 @@
 package com.mine.api.controller;
 
 import com.mine.api.dto.ParagraphDto;
+import com.mine.api.service.AiJobService;
 import com.mine.api.service.ParagraphService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/api/magazines/{magazineId}/sections/{sectionId}/paragraphs")
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class ParagraphController {
 
     private final ParagraphService paragraphService;
+    private final AiJobService aiJobService;
 
     @Operation(summary = "➕ 문단 추가", description = "섹션의 맨 마지막에 새로운 문단을 추가합니다.")
     @PostMapping
@@ -30,16 +33,26 @@ public class ParagraphController {
         return ResponseEntity.ok(paragraphId);
     }
 
-    @Operation(summary = "✨ AI 문단 추가", description = "AI를 사용하여 섹션의 맨 마지막에 새로운 문단을 생성하고 추가합니다.")
+    @Operation(summary = "✨ AI 문단 추가", description = "AI를 사용하여 섹션의 맨 마지막에 새로운 문단을 생성하고 추가합니다.<br>?async=true 시 202와 작업 ID를 즉시 반환합니다.")
     @PostMapping("/ai")
-    public ResponseEntity<Long> createParagraphWithAi(
+    public DeferredResult<ResponseEntity<?>> createParagraphWithAi(
             @PathVariable Long magazineId,
             @PathVariable Long sectionId,
             @RequestBody ParagraphDto.AiCreateRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
             @AuthenticationPrincipal UserDetails userDetails) {
 
-        Long paragraphId = paragraphService.createParagraphWithAi(magazineId, sectionId, request, userDetails.getUsername());
-        return ResponseEntity.ok(paragraphId);
+        String username = userDetails.getUsername();
+        if (async) {
+            return AiJobService.completed(ResponseEntity.accepted().body(aiJobService.submit(username,
+                    "PARAGRAPH_AI",
+                    () -> paragraphService.createParagraphWithAi(magazineId, sectionId, request, username))));
+        }
+
+        // 동기 응답 — AI 응답을 기다리는 동안 서블릿 스레드도 워커 스레드도 점유하지 않음
+        return aiJobService.defer(username, "PARAGRAPH_AI", () -> paragraphService
+                .createParagraphWithAiAsync(magazineId, sectionId, request, username)
+                .thenApply(ResponseEntity::ok));
     }
 
     @Operation(summary = "🗑️ 문단 삭제", description = "특정 문단을 삭제합니다.")
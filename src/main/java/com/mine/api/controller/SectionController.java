@@ -1,6 +1,7 @@
 package com.mine.api.controller;
 
 import com.mine.api.dto.SectionDto;
+import com.mine.api.service.AiJobService;
 import com.mine.api.service.SectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import jakarta.validation.Valid;
 
@@ -19,6 +21,7 @@ import jakarta.validation.Valid;
 public class SectionController {
 
     private final SectionService sectionService;
+    private final AiJobService aiJobService;
 
     @GetMapping("/{sectionId}")
     @Operation(summary = "👁️ 섹션 상세 보기", description = "하나의 카드 내용을 상세히 봅니다.")
@@ -63,14 +66,22 @@ public class SectionController {
     }
 
     @PostMapping("/{sectionId}/interact")
-    @Operation(summary = "🤖 섹션 내용 수정 (AI)", description = "AI에게 섹션 본문 수정을 요청합니다.<br>예: '더 감성적으로 바꿔줘', '길게 늘려줘', '내용 추가해줘'")
-    public ResponseEntity<SectionDto.InteractResponse> interact(
+    @Operation(summary = "🤖 섹션 내용 수정 (AI)", description = "AI에게 섹션 본문 수정을 요청합니다.<br>예: '더 감성적으로 바꿔줘', '길게 늘려줘', '내용 추가해줘'<br>?async=true 시 202와 작업 ID를 즉시 반환합니다.")
+    public DeferredResult<ResponseEntity<?>> interact(
             @PathVariable Long magazineId,
             @PathVariable Long sectionId,
             @RequestBody @Valid SectionDto.InteractRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                sectionService.interact(magazineId, sectionId, request.getMessage(),
-                        userDetails.getUsername()));
+        String username = userDetails.getUsername();
+        if (async) {
+            return AiJobService.completed(ResponseEntity.accepted().body(aiJobService.submit(username,
+                    "SECTION_INTERACT",
+                    () -> sectionService.interact(magazineId, sectionId, request.getMessage(), username))));
+        }
+        // 동기 응답 — AI 응답을 기다리는 동안 서블릿 스레드도 워커 스레드도 점유하지 않음
+        return aiJobService.defer(username, "SECTION_INTERACT", () -> sectionService
+                .interactAsync(magazineId, sectionId, request.getMessage(), username)
+                .thenApply(ResponseEntity::ok));
     }
 }
@@ -0,0 +1,133 @@
+package com.mine.api.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백그라운드 AI 생성 작업 (회원가입 웰컴 매거진, 매거진 무드보드, 웰컴 매거진 풀 보충)
+ * DB에 영속화하여 재시작/장애 시에도 작업이 유실되지 않도록 한다.
+ * 워커는 lease(leaseOwner, leaseUntil)를 잡은 뒤 실행하며, lease가 만료된 작업은 다른 노드가 회수한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "ai_jobs", indexes = {
+        @Index(name = "idx_ai_jobs_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_ai_jobs_username_status", columnList = "username, status"),
+        @Index(name = "idx_ai_jobs_dedupe_key", columnList = "dedupe_key")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ai_jobs_active_dedupe_key", columnNames = "active_dedupe_key")
+})
+public class GenerationJob {
+
+    public enum Type {
+        WELCOME_MAGAZINE, // payload: 관심사 코드
+        MAGAZINE_MOODBOARD, // payload: 매거진 ID
+        WELCOME_POOL_TEMPLATE // payload: 관심사 코드:분위기
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(length = 500)
+    private String payload;
+
+    // 같은 대상에 대한 중복 작업 방지 (진행 중인 작업이 있으면 새로 만들지 않음)
+    @Column(name = "dedupe_key")
+    private String dedupeKey;
+
+    // 대기/실행 중인 동안만 dedupeKey를 담고 종료되면 NULL — 유니크 제약으로 노드 간 동시 등록도 하나만 성공
+    @Column(name = "active_dedupe_key")
+    private String activeDedupeKey;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // 작업 결과 (예: 생성된 매거진 ID) — 재시도 시 이미 완료된 부분을 건너뛰는 데 사용
+    @Column(name = "result_ref")
+    private String resultRef;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public GenerationJob(Type type, String username, String payload, String dedupeKey, int maxAttempts) {
+        this.type = type;
+        this.username = username;
+        this.payload = payload;
+        this.dedupeKey = dedupeKey;
+        this.activeDedupeKey = dedupeKey;
+        this.maxAttempts = maxAttempts;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public void complete(String resultRef) {
+        this.status = Status.COMPLETED;
+        this.resultRef = resultRef;
+        this.lastError = null;
+        this.activeDedupeKey = null;
+        releaseLease();
+    }
+
+    /**
+     * 실패 처리 — 재시도 가능하고 횟수가 남아 있으면 retryAt에 다시 PENDING으로
+     */
+    public void fail(String error, LocalDateTime retryAt, boolean retryable) {
+        this.lastError = error;
+        this.status = retryable && attempts < maxAttempts ? Status.PENDING : Status.FAILED;
+        this.nextAttemptAt = retryAt;
+        if (status == Status.FAILED) {
+            this.activeDedupeKey = null;
+        }
+        releaseLease();
+    }
+
+    private void releaseLease() {
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,52 @@
+package com.mine.api.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 웰컴 매거진 풀 — (관심사 코드, 분위기)별로 미리 생성해 둔 매거진 내용
+ * 신규 가입자에게는 AI 생성 대신 이 내용을 복제해 저장한다 (이미지는 같은 S3 객체를 공유).
+ * 한 템플릿은 maxUses번까지 복제되며, 다 쓰이거나 오래되면 한가한 시간대에 새로 채운다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "welcome_magazine_templates", indexes = {
+        @Index(name = "idx_welcome_templates_interest_mood", columnList = "interest_code, mood")
+})
+public class WelcomeMagazineTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "interest_code", nullable = false, length = 50)
+    private String interestCode;
+
+    @Column(nullable = false, length = 50)
+    private String mood;
+
+    // AI 생성 결과(MagazineCreateRequest) JSON — 이미지 URL은 이미 S3로 옮겨진 상태
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "use_count", nullable = false)
+    private int useCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public WelcomeMagazineTemplate(String interestCode, String mood, String content) {
+        this.interestCode = interestCode;
+        this.mood = mood;
+        this.content = content;
+        this.useCount = 0;
+        this.createdAt = LocalDateTime.now();
+    }
+}
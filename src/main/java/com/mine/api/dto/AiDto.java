@@ -0,0 +1,207 @@
+package com.mine.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Python AI 서버 요청/응답 타입 (action별)
+ * AiClient가 공용 ObjectMapper로 응답 본문을 중간 Map 없이 바로 이 타입들로 디코딩한다.
+ */
+public class AiDto {
+
+    private AiDto() {
+    }
+
+    /**
+     * RunPod Serverless 작업 상태 응답 — 완료 시 output에 action별 결과가 담긴다.
+     * delayTime은 워커 배정까지 대기한 시간(ms)으로, 콜드스타트 여부 판단에 사용한다.
+     */
+    public record RunPodJobStatus<T>(String id, String status, T output, Object error, Long delayTime,
+            Long executionTime) {
+    }
+
+    // ===== 공용 페이로드 =====
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ParagraphPayload(
+            String subtitle,
+            String text,
+            @JsonProperty("image_url") String imageUrl,
+            @JsonProperty("source_url") String sourceUrl) {
+
+        public ParagraphPayload withImageUrl(String imageUrl) {
+            return new ParagraphPayload(subtitle, text, imageUrl, sourceUrl);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record SectionPayload(
+            Long id,
+            String heading,
+            @JsonProperty("thumbnail_url") String thumbnailUrl,
+            @JsonProperty("image_url") String imageUrl, // 구버전 응답의 썸네일 필드
+            @JsonProperty("source_url") String sourceUrl,
+            String content, // 구버전 응답: 문단 배열 대신 본문 문자열
+            String caption,
+            List<ParagraphPayload> paragraphs) {
+
+        /**
+         * thumbnail_url이 없으면 구버전 image_url 사용
+         */
+        public String resolvedThumbnailUrl() {
+            return thumbnailUrl != null ? thumbnailUrl : imageUrl;
+        }
+
+        public SectionPayload withImages(String thumbnailUrl, List<ParagraphPayload> paragraphs) {
+            return new SectionPayload(id, heading, thumbnailUrl, imageUrl, sourceUrl, content, caption, paragraphs);
+        }
+
+        public SectionPayload withId(Long id) {
+            return new SectionPayload(id, heading, thumbnailUrl, imageUrl, sourceUrl, content, caption, paragraphs);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record MagazinePayload(
+            Long id,
+            String title,
+            @JsonProperty("cover_image_url") String coverImageUrl,
+            List<SectionPayload> sections) {
+    }
+
+    // ===== create_magazine (응답: MagazineCreateRequest) =====
+
+    public record CreateMagazineRequest(
+            String topic,
+            @JsonProperty("user_mood") String userMood,
+            @JsonProperty("user_email") String userEmail,
+            @JsonProperty("user_interests") List<String> userInterests) {
+    }
+
+    // ===== create_magazine_stream (요청: CreateMagazineRequest) =====
+
+    /**
+     * 스트리밍 매거진 생성 이벤트 — magazine(제목/태그/커버) → section(섹션마다 하나) → done 순서로 도착한다.
+     * 생성 중 오류는 type=error와 error 메시지로 전달된다.
+     */
+    public record MagazineStreamEvent(
+            String type,
+            String title,
+            @JsonProperty("cover_image_url") String coverImageUrl,
+            List<String> tags,
+            MagazineCreateRequest.SectionDto section,
+            String error) {
+
+        public static final String MAGAZINE = "magazine";
+        public static final String SECTION = "section";
+        public static final String DONE = "done";
+        public static final String ERROR = "error";
+    }
+
+    /**
+     * RunPod 스트리밍 작업 상태 응답 (GET /stream/{id}) — 지난 조회 이후 새로 생성된 부분 결과만 담긴다.
+     */
+    public record RunPodStreamStatus<T>(String id, String status, List<RunPodStreamChunk<T>> stream, Object error) {
+    }
+
+    public record RunPodStreamChunk<T>(T output) {
+    }
+
+    // ===== edit_magazine =====
+
+    /**
+     * 압축 요청(outline 있음)이면 magazine_data.sections에는 본문이 필요한 섹션만 담기고,
+     * 나머지 섹션은 outline의 내용 해시로만 전달된다.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record EditMagazineRequest(
+            @JsonProperty("magazine_id") Long magazineId,
+            @JsonProperty("magazine_data") MagazinePayload magazineData,
+            String message,
+            List<SectionOutline> outline) {
+    }
+
+    /**
+     * 섹션 요약 — 본문 대신 내용 해시를 보내 AI 쪽 캐시에 같은 내용이 있으면 다시 받지 않도록 한다.
+     */
+    public record SectionOutline(
+            Long id,
+            int index,
+            String heading,
+            @JsonProperty("content_hash") String contentHash,
+            @JsonProperty("paragraph_count") int paragraphCount) {
+    }
+
+    /**
+     * need_sections가 있으면 편집 결과 대신 해당 섹션들의 본문을 요청한 응답이다.
+     */
+    public record EditMagazineResponse(
+            String intent,
+            Boolean success,
+            @JsonProperty("section_index") Integer sectionIndex,
+            @JsonProperty("updated_magazine") UpdatedMagazine updatedMagazine,
+            @JsonProperty("need_sections") List<Long> needSections) {
+    }
+
+    /**
+     * edit_magazine 결과 — V1은 섹션 필드가 평평하게, V2는 new_sections / deleted_section_ids로 온다.
+     */
+    public record UpdatedMagazine(
+            String heading,
+            @JsonProperty("thumbnail_url") String thumbnailUrl,
+            @JsonProperty("image_url") String imageUrl,
+            @JsonProperty("source_url") String sourceUrl,
+            String content,
+            String caption,
+            List<ParagraphPayload> paragraphs,
+            @JsonProperty("new_sections") List<SectionPayload> newSections,
+            @JsonProperty("deleted_section_ids") List<Long> deletedSectionIds) {
+
+        public SectionPayload asSection() {
+            return new SectionPayload(null, heading, thumbnailUrl, imageUrl, sourceUrl, content, caption, paragraphs);
+        }
+    }
+
+    // ===== edit_section =====
+
+    public record EditSectionRequest(
+            @JsonProperty("magazine_id") Long magazineId,
+            @JsonProperty("section_id") Long sectionId,
+            @JsonProperty("section_data") SectionPayload sectionData,
+            String message) {
+    }
+
+    public record EditSectionResponse(
+            String intent,
+            @JsonProperty("updated_section") SectionPayload updatedSection) {
+    }
+
+    // ===== generate_paragraph (응답: ParagraphPayload) =====
+
+    public record GenerateParagraphRequest(
+            String topic,
+            @JsonProperty("user_mood") String userMood,
+            @JsonProperty("section_heading") String sectionHeading,
+            String message,
+            @JsonProperty("existing_paragraphs") List<ParagraphPayload> existingParagraphs) {
+    }
+
+    // ===== generate_moodboard =====
+
+    public record GenerateMoodboardRequest(
+            String topic,
+            @JsonProperty("user_mood") String userMood,
+            @JsonProperty("user_interests") List<String> userInterests,
+            @JsonProperty("magazine_tags") List<String> magazineTags,
+            @JsonProperty("magazine_titles") List<String> magazineTitles) {
+    }
+
+    public record MoodboardResult(
+            Boolean success,
+            @JsonProperty("error_type") String errorType,
+            @JsonProperty("image_url") String imageUrl, // RunPod 경로에서는 스트리밍 업로드된 S3 URL
+            String description) {
+    }
+}
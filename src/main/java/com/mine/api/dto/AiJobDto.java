@@ -0,0 +1,68 @@
+package com.mine.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 비동기 AI 작업 관련 DTO
+ * AI 엔드포인트를 ?async=true로 호출하면 202와 함께 작업 ID를 받고, 결과는 상태 조회/SSE로 확인한다.
+ */
+public class AiJobDto {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Schema(name = "AiJobAccepted", description = "비동기 AI 작업 접수 응답 (202 Accepted)")
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class Accepted {
+        @Schema(description = "작업 ID", example = "6f1c2b9e-6a55-4d0e-9a55-3f0b9d3f7c11")
+        private String jobId;
+
+        @Schema(description = "작업 상태", example = "QUEUED")
+        private JobStatus status;
+
+        @Schema(description = "상태 조회 URL", example = "/api/ai-jobs/6f1c2b9e-6a55-4d0e-9a55-3f0b9d3f7c11")
+        private String statusUrl;
+
+        @Schema(description = "SSE 진행 상황 스트림 URL", example = "/api/ai-jobs/6f1c2b9e-6a55-4d0e-9a55-3f0b9d3f7c11/events")
+        private String eventsUrl;
+    }
+
+    @Schema(name = "AiJobStatus", description = "비동기 AI 작업 상태")
+    @Getter
+    @Builder
+    @NoArgsConstructor // Redis에 저장한 상태를 다른 노드에서 읽을 때 사용
+    @AllArgsConstructor
+    public static class Status {
+        @Schema(description = "작업 ID", example = "6f1c2b9e-6a55-4d0e-9a55-3f0b9d3f7c11")
+        private String jobId;
+
+        @Schema(description = "작업 종류", example = "MAGAZINE_INTERACT")
+        private String type;
+
+        @Schema(description = "작업 상태", example = "COMPLETED")
+        private JobStatus status;
+
+        @Schema(description = "완료 시 결과 (동기 API 응답 본문과 동일)")
+        private Object result;
+
+        @Schema(description = "실패 시 오류 메시지")
+        private String error;
+
+        @Schema(description = "접수 일시", example = "2024-12-23T10:30:00")
+        private String createdAt;
+
+        @Schema(description = "마지막 상태 변경 일시", example = "2024-12-23T10:31:12")
+        private String updatedAt;
+    }
+}
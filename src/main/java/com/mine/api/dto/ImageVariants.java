@@ -0,0 +1,89 @@
+package com.mine.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이미지 크기별 변형 URL
+ * 수집 시 변형을 만든 이미지는 images/{내용 SHA-256}/original.{확장자}에 저장되고,
+ * 변형은 같은 경로의 {thumb|medium|full}.jpg에 있다. URL만으로 변형 위치가 정해지므로 조회 시 추가 I/O가 없다.
+ * 변형이 없는 이미지(기존 uploads/ 이미지, 외부 URL, 디코딩 불가 형식)는 null — 클라이언트는 원본 URL을 사용한다.
+ */
+@Schema(description = "이미지 크기별 변형 URL (변형이 없는 이미지면 null — 원본 URL 사용)")
+@Getter
+@AllArgsConstructor
+public class ImageVariants {
+
+    public static final String KEY_PREFIX = "images/";
+    // 내 S3 버킷의 images/{sha256}/original.{확장자}만 변형이 있음
+    private static final Pattern ORIGINAL_URL =
+            Pattern.compile("^(https://[^/]+\\.amazonaws\\.com/images/[0-9a-f]{64})/original\\.[A-Za-z]+$");
+
+    /**
+     * 변형 크기 — 원본이 더 좁으면 원본 너비 유지 (확대하지 않음)
+     */
+    public enum Size {
+        THUMB("thumb", 320), MEDIUM("medium", 960), FULL("full", 1920);
+
+        private final String fileName;
+        private final int width;
+
+        Size(String fileName, int width) {
+            this.fileName = fileName;
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+
+        /**
+         * 변형 객체 키 — images/{sha256}/thumb.jpg
+         */
+        public String keyFor(String baseKey) {
+            return baseKey + "/" + fileName + ".jpg";
+        }
+    }
+
+    @Schema(description = "목록 타일용 (너비 320px)", example = "https://bucket.s3.ap-northeast-2.amazonaws.com/images/ab12/thumb.jpg")
+    private String thumb;
+
+    @Schema(description = "카드/본문용 (너비 960px)", example = "https://bucket.s3.ap-northeast-2.amazonaws.com/images/ab12/medium.jpg")
+    private String medium;
+
+    @Schema(description = "전체 화면용 (너비 1920px)", example = "https://bucket.s3.ap-northeast-2.amazonaws.com/images/ab12/full.jpg")
+    private String full;
+
+    /**
+     * 변형 기준 키 — images/{sha256}
+     */
+    public static String baseKey(String contentSha256) {
+        return KEY_PREFIX + contentSha256;
+    }
+
+    /**
+     * 원본 객체 키 — images/{sha256}/original.png
+     */
+    public static String originalKey(String contentSha256, String extension) {
+        return baseKey(contentSha256) + "/original" + extension;
+    }
+
+    /**
+     * 이미지 URL의 변형 URL (변형 키 체계가 아니면 null)
+     */
+    public static ImageVariants of(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = ORIGINAL_URL.matcher(imageUrl);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String base = matcher.group(1);
+        return new ImageVariants(Size.THUMB.keyFor(base), Size.MEDIUM.keyFor(base), Size.FULL.keyFor(base));
+    }
+}
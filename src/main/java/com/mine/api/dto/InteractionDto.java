@@ -6,9 +6,13 @@ import java.util.List;
 
 public class InteractionDto {
 
+    // 전체 톤 변경을 섹션별 edit_section 병렬 호출로 처리하는 모드
+    public static final String MODE_CHANGE_TONE = "change_tone";
+
     @Data
     public static class InteractRequest {
         private String message; // 사용자 메시지 (예: "첫 번째 섹션을 더 감성적으로 바꿔줘")
+        private String mode; // 선택: "change_tone"이면 섹션별 병렬 톤 변경, 없으면 AI가 의도 판단
     }
 
     @Data
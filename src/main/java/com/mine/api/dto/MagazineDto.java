@@ -3,6 +3,7 @@ package com.mine.api.dto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mine.api.domain.Magazine;
+import com.mine.api.domain.MagazineSection;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -109,6 +110,9 @@ public class MagazineDto {
         @Schema(description = "커버 이미지 URL", example = "https://example.com/cover.jpg")
         private String coverImageUrl;
 
+        @Schema(description = "커버 이미지 크기별 변형 (목록 타일은 thumb 사용)")
+        private ImageVariants coverImageVariants;
+
         @Schema(description = "작성자 아이디", example = "john_doe")
         private String username;
 
@@ -126,6 +130,7 @@ public class MagazineDto {
                     .id(magazine.getId())
                     .title(magazine.getTitle())
                     .coverImageUrl(magazine.getCoverImageUrl())
+                    .coverImageVariants(ImageVariants.of(magazine.getCoverImageUrl()))
                     .username(magazine.getUser().getUsername())
                     .likeCount(magazine.getLikes().size())
                     .commentCount(0)
@@ -153,12 +158,18 @@ public class MagazineDto {
         @Schema(description = "커버 이미지 URL", example = "https://example.com/cover.jpg")
         private String coverImageUrl;
 
+        @Schema(description = "커버 이미지 크기별 변형")
+        private ImageVariants coverImageVariants;
+
         @Schema(description = "태그 (콤마로 구분)", example = "패션,겨울,스타일")
         private String tags;
 
         @Schema(description = "무드보드 이미지 URL", example = "https://example.com/moodboard.jpg")
         private String moodboardImageUrl;
 
+        @Schema(description = "무드보드 이미지 크기별 변형")
+        private ImageVariants moodboardImageVariants;
+
         @Schema(description = "좋아요 수", example = "42")
         @JsonProperty("likeCount")
         private int likeCount;
@@ -213,6 +224,9 @@ public class MagazineDto {
             @Schema(description = "섹션 썸네일 URL", example = "https://example.com/thumbnail.jpg")
             private String thumbnailUrl;
 
+            @Schema(description = "섹션 썸네일 크기별 변형")
+            private ImageVariants thumbnailVariants;
+
             @Schema(description = "문단 배열")
             private List<ParagraphDto.Response> paragraphs;
 
@@ -221,6 +235,27 @@ public class MagazineDto {
 
             @Schema(description = "섹션 콘텐츠 생성에 사용된 원본 웹 소스 URL", example = "https://example.com/source")
             private String sourceUrl;
+
+            public static SectionItem from(MagazineSection section) {
+                return SectionItem.builder()
+                        .id(section.getId())
+                        .heading(section.getHeading())
+                        .thumbnailUrl(section.getThumbnailUrl())
+                        .thumbnailVariants(ImageVariants.of(section.getThumbnailUrl()))
+                        .paragraphs(section.getParagraphs().stream()
+                                .map(p -> ParagraphDto.Response.builder()
+                                        .id(p.getId())
+                                        .subtitle(p.getSubtitle())
+                                        .text(p.getText())
+                                        .imageUrl(p.getImageUrl())
+                                        .imageVariants(ImageVariants.of(p.getImageUrl()))
+                                        .sourceUrl(p.getSourceUrl())
+                                        .build())
+                                .toList())
+                        .displayOrder(section.getDisplayOrder())
+                        .sourceUrl(section.getSourceUrl())
+                        .build();
+            }
         }
 
         /**
@@ -235,30 +270,17 @@ public class MagazineDto {
                     .build();
 
             List<SectionItem> sectionItems = magazine.getSections().stream()
-                    .map(section -> SectionItem.builder()
-                            .id(section.getId())
-                            .heading(section.getHeading())
-                            .thumbnailUrl(section.getThumbnailUrl())
-                            .paragraphs(section.getParagraphs().stream()
-                                    .map(p -> ParagraphDto.Response.builder()
-                                            .id(p.getId())
-                                            .subtitle(p.getSubtitle())
-                                            .text(p.getText())
-                                            .imageUrl(p.getImageUrl())
-                                            .sourceUrl(p.getSourceUrl())
-                                            .build())
-                                    .toList())
-                            .displayOrder(section.getDisplayOrder())
-                            .sourceUrl(section.getSourceUrl())
-                            .build())
+                    .map(SectionItem::from)
                     .toList();
 
             return DetailResponse.builder()
                     .id(magazine.getId())
                     .title(magazine.getTitle())
                     .coverImageUrl(magazine.getCoverImageUrl())
+                    .coverImageVariants(ImageVariants.of(magazine.getCoverImageUrl()))
                     .tags(magazine.getTags())
                     .moodboardImageUrl(magazine.getMoodboardImageUrl())
+                    .moodboardImageVariants(ImageVariants.of(magazine.getMoodboardImageUrl()))
                     .likeCount(magazine.getLikes().size()) // 좋아요 수 계산
                     .isLiked(isLiked)
                     .createdAt(magazine.getCreatedAt() != null ? magazine.getCreatedAt().toString() : null)
@@ -33,6 +33,9 @@ public class ParagraphDto {
         @JsonProperty("imageUrl")
         private String imageUrl;
 
+        @Schema(description = "문단 이미지 크기별 변형")
+        private ImageVariants imageVariants;
+
         @Schema(description = "문단 콘텐츠의 원본 소스 URL", example = "https://example.com/source-article")
         @JsonProperty("sourceUrl")
         private String sourceUrl;
@@ -34,6 +34,9 @@ public class SectionDto {
         @JsonProperty("thumbnailUrl")
         private String thumbnailUrl;
 
+        @Schema(description = "섹션 썸네일 크기별 변형")
+        private ImageVariants thumbnailVariants;
+
         @Schema(description = "문단 배열 (지그재그 레이아웃용)")
         private List<ParagraphDto.Response> paragraphs;
 
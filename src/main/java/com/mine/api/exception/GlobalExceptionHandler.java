@@ -45,6 +45,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    // ⭐ AI 작업 대기열 포화 (비동기 AI 작업 접수 거절 시 503 반환)
+    @ExceptionHandler(java.util.concurrent.RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(
+            java.util.concurrent.RejectedExecutionException ex) {
+        ErrorResponse response = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
         System.err.println("Internal Server Error: " + ex.getMessage());
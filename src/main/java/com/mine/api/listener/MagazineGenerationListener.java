@@ -16,13 +16,13 @@ public class MagazineGenerationListener {
     private final MagazineService magazineService;
 
     /**
-     * 회원가입 완료 트랜잭션 커밋 직후 발생하는 이벤트를 수신하여 서비스의 비동기 메서드 호출
+     * 회원가입 완료 트랜잭션 커밋 직후 발생하는 이벤트를 수신하여 웰컴 매거진 생성 작업을 큐에 등록
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserSignupEvent(UserSignupEvent event) {
-        log.info("Received UserSignupEvent for user: {}. Triggering async magazine generation via service.", 
+        log.info("Received UserSignupEvent for user: {}. Queueing welcome magazine generation.", 
                 event.getUser().getUsername());
-        // 외부 빈(MagazineService)의 @Async 메서드를 호출하므로 정상적으로 별도 스레드에서 작동함
+        // 작업 등록만 하고 반환 — 실제 생성은 GenerationJobWorker가 수행
         magazineService.generateInitialMagazinesAsync(event.getUser().getUsername());
     }
 }
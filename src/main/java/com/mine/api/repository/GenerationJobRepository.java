@@ -0,0 +1,91 @@
+package com.mine.api.repository;
+
+import com.mine.api.domain.GenerationJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, Long> {
+
+        /**
+         * 실행 가능한 작업 후보 조회 (대기 중이면서 재시도 시각이 지났거나, 시도 횟수가 남은 lease 만료 작업)
+         */
+        @Query("SELECT j FROM GenerationJob j WHERE " +
+                        "(j.status = com.mine.api.domain.GenerationJob.Status.PENDING AND j.nextAttemptAt <= :now) " +
+                        "OR (j.status = com.mine.api.domain.GenerationJob.Status.RUNNING AND j.leaseUntil < :now " +
+                        "AND j.attempts < j.maxAttempts) " +
+                        "ORDER BY j.id ASC")
+        List<GenerationJob> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+        /**
+         * 조건부 UPDATE로 작업 선점 — 여러 노드가 동시에 시도해도 한 노드만 1을 반환받는다.
+         * lease 만료 작업은 시도 횟수가 남아 있을 때만 회수한다 (실행 중 노드를 죽이는 작업이 무한 반복되지 않도록).
+         */
+        @Modifying(clearAutomatically = true)
+        @Query("UPDATE GenerationJob j SET j.status = com.mine.api.domain.GenerationJob.Status.RUNNING, " +
+                        "j.leaseOwner = :owner, j.leaseUntil = :leaseUntil, j.attempts = j.attempts + 1, j.updatedAt = :now " +
+                        "WHERE j.id = :id AND (" +
+                        "(j.status = com.mine.api.domain.GenerationJob.Status.PENDING AND j.nextAttemptAt <= :now) " +
+                        "OR (j.status = com.mine.api.domain.GenerationJob.Status.RUNNING AND j.leaseUntil < :now " +
+                        "AND j.attempts < j.maxAttempts))")
+        int claim(@Param("id") Long id, @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * 실행 중인 작업의 lease 연장 (다른 노드가 회수하지 않도록)
+         */
+        @Modifying(clearAutomatically = true)
+        @Query("UPDATE GenerationJob j SET j.leaseUntil = :leaseUntil " +
+                        "WHERE j.id IN :ids AND j.leaseOwner = :owner " +
+                        "AND j.status = com.mine.api.domain.GenerationJob.Status.RUNNING")
+        int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                        @Param("leaseUntil") LocalDateTime leaseUntil);
+
+        /**
+         * 시도 횟수를 모두 쓴 채 lease가 만료된 작업을 실패로 종료 (claim이 더 이상 회수하지 않는 작업)
+         */
+        @Modifying(clearAutomatically = true)
+        @Query("UPDATE GenerationJob j SET j.status = com.mine.api.domain.GenerationJob.Status.FAILED, " +
+                        "j.lastError = :error, j.activeDedupeKey = NULL, j.leaseOwner = NULL, j.leaseUntil = NULL, " +
+                        "j.updatedAt = :now " +
+                        "WHERE j.status = com.mine.api.domain.GenerationJob.Status.RUNNING AND j.leaseUntil < :now " +
+                        "AND j.attempts >= j.maxAttempts")
+        int failExhaustedLeases(@Param("error") String error, @Param("now") LocalDateTime now);
+
+        /**
+         * 작업 결과 기록 — 결과를 저장하는 트랜잭션 안에서 호출한다. 이미 기록된 작업이면 0
+         * (행 잠금으로 동시에 실행된 두 시도 중 하나만 1을 반환받는다)
+         */
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE GenerationJob j SET j.resultRef = :resultRef WHERE j.id = :id AND j.resultRef IS NULL")
+        int recordResult(@Param("id") Long id, @Param("resultRef") String resultRef);
+
+        /**
+         * lease가 살아있는 실행 중 작업 수 (전체)
+         */
+        long countByStatusAndLeaseUntilAfter(GenerationJob.Status status, LocalDateTime now);
+
+        /**
+         * lease가 살아있는 실행 중 작업 수 (사용자별)
+         */
+        long countByUsernameAndStatusAndLeaseUntilAfter(String username, GenerationJob.Status status,
+                        LocalDateTime now);
+
+        boolean existsByActiveDedupeKey(String activeDedupeKey);
+
+        /**
+         * 보관 기간이 지난 종료 작업 정리
+         */
+        @Modifying
+        @Query("DELETE FROM GenerationJob j WHERE j.status IN :statuses AND j.updatedAt < :before")
+        int deleteFinishedBefore(@Param("statuses") Collection<GenerationJob.Status> statuses,
+                        @Param("before") LocalDateTime before);
+}
@@ -9,6 +9,11 @@ import java.util.List;
 public interface MagazineRepository extends JpaRepository<Magazine, Long> {
         List<Magazine> findAllByUser(User user);
 
+        // ⭐ AI 편집 결과 반영용 조회 — 섹션/문단만 바뀌어도 커밋 시 version을 올려 동시 편집을 감지
+        @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+        @org.springframework.data.jpa.repository.Query("SELECT m FROM Magazine m WHERE m.id = :id")
+        java.util.Optional<Magazine> findForUpdateById(@org.springframework.data.repository.query.Param("id") Long id);
+
         // ⭐ N+1 쿼리 방지: sections와 user를 한 번에 조회
         @org.springframework.data.jpa.repository.Query("SELECT DISTINCT m FROM Magazine m " +
                         "LEFT JOIN FETCH m.sections " +
@@ -0,0 +1,45 @@
+package com.mine.api.repository;
+
+import com.mine.api.domain.WelcomeMagazineTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WelcomeMagazineTemplateRepository extends JpaRepository<WelcomeMagazineTemplate, Long> {
+
+        /**
+         * 복제 가능한 템플릿 후보 (덜 쓰인 것부터)
+         */
+        @Query("SELECT t FROM WelcomeMagazineTemplate t WHERE t.interestCode = :interestCode AND t.mood = :mood " +
+                        "AND t.useCount < :maxUses AND t.createdAt > :createdAfter ORDER BY t.useCount ASC, t.id ASC")
+        List<WelcomeMagazineTemplate> findAvailable(@Param("interestCode") String interestCode,
+                        @Param("mood") String mood, @Param("maxUses") int maxUses,
+                        @Param("createdAfter") LocalDateTime createdAfter, Pageable pageable);
+
+        @Query("SELECT COUNT(t) FROM WelcomeMagazineTemplate t WHERE t.interestCode = :interestCode " +
+                        "AND t.mood = :mood AND t.useCount < :maxUses AND t.createdAt > :createdAfter")
+        long countAvailable(@Param("interestCode") String interestCode, @Param("mood") String mood,
+                        @Param("maxUses") int maxUses, @Param("createdAfter") LocalDateTime createdAfter);
+
+        /**
+         * 조건부 UPDATE로 사용 횟수 선점 — 동시에 가입한 사용자들이 상한을 넘겨 복제하지 않도록
+         */
+        @Modifying
+        @Query("UPDATE WelcomeMagazineTemplate t SET t.useCount = t.useCount + 1 " +
+                        "WHERE t.id = :id AND t.useCount < :maxUses")
+        int incrementUse(@Param("id") Long id, @Param("maxUses") int maxUses);
+
+        /**
+         * 다 쓰였거나 오래된 템플릿 정리 (복제된 매거진은 내용을 따로 가지므로 영향 없음)
+         */
+        @Modifying
+        @Query("DELETE FROM WelcomeMagazineTemplate t WHERE t.useCount >= :maxUses OR t.createdAt <= :createdBefore")
+        int deleteRetired(@Param("maxUses") int maxUses, @Param("createdBefore") LocalDateTime createdBefore);
+}
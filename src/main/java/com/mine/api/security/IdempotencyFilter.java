@@ -0,0 +1,265 @@
+package com.mine.api.security;
+
+import com.mine.api.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Idempotency-Key 헤더 처리 — 매거진 생성/AI 엔드포인트의 재시도가 작업을 다시 실행하지 않도록
+ * 같은 사용자 + 같은 요청 경로 + 같은 키의 요청은 처리 중이면 409, 완료됐으면 저장된 응답을 그대로 돌려준다.
+ * 같은 키로 본문이 다른 요청이 오면 저장된 응답을 잘못 재생하지 않도록 422로 거절한다 (본문 SHA-256 비교).
+ * 헤더가 없으면 기존과 동일하게 동작하며, Redis 장애 시에도 요청은 그대로 처리한다.
+ * 컨트롤러가 DeferredResult로 비동기 전환하면 응답은 ASYNC 디스패치가 끝난 뒤에 저장한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    // 비동기 전환된 요청의 저장 키 — ASYNC 디스패치에서 이어서 처리
+    private static final String KEY_ATTRIBUTE = IdempotencyFilter.class.getName() + ".KEY";
+    private static final String HASH_ATTRIBUTE = IdempotencyFilter.class.getName() + ".HASH";
+    private static final int SC_UNPROCESSABLE_ENTITY = 422;
+
+    // 재시도 시 S3 업로드/DB 저장/GPU 작업이 중복되는 엔드포인트 (POST만)
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/magazines",
+            "/api/internal/magazine",
+            "/api/magazines/*/interact",
+            "/api/magazines/*/sections/*/interact",
+            "/api/magazines/*/sections/*/paragraphs/ai",
+            "/api/magazines/*/moodboards",
+            "/api/moodboards");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            resumeAsync(request, response, filterChain);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "유효하지 않은 Idempotency-Key입니다.");
+            return;
+        }
+
+        // 해시를 위해 본문을 먼저 읽고, 컨트롤러에는 읽어 둔 본문을 다시 제공 (대상 경로는 모두 JSON 본문)
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = sha256(cachedRequest.body);
+        String key = scope() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        IdempotencyService.Lookup lookup;
+        try {
+            lookup = idempotencyService.begin(key, requestHash);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store unavailable, processing request without it: {}", e.getMessage());
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        switch (lookup.state()) {
+            case IN_PROGRESS -> writeError(response, HttpServletResponse.SC_CONFLICT,
+                    "같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            case MISMATCH -> writeError(response, SC_UNPROCESSABLE_ENTITY,
+                    "같은 Idempotency-Key로 다른 요청 본문이 전송되었습니다.");
+            case COMPLETED -> replay(response, lookup.response());
+            case ACQUIRED -> runAndStore(key, requestHash, cachedRequest,
+                    new ContentCachingResponseWrapper(response), filterChain);
+        }
+    }
+
+    // ASYNC 디스패치 — 최초 디스패치에서 감싼 응답(startAsync에 넘어간 래퍼)에 결과가 쌓인다
+    private void resumeAsync(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = (String) request.getAttribute(KEY_ATTRIBUTE);
+        String requestHash = (String) request.getAttribute(HASH_ATTRIBUTE);
+        ContentCachingResponseWrapper responseWrapper = WebUtils.getNativeResponse(response,
+                ContentCachingResponseWrapper.class);
+        if (key == null || responseWrapper == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        runAndStore(key, requestHash, request, responseWrapper, filterChain);
+    }
+
+    private void runAndStore(String key, String requestHash, HttpServletRequest request,
+            ContentCachingResponseWrapper responseWrapper, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean stored = false;
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            asyncStarted = isAsyncStarted(request);
+            if (asyncStarted) {
+                request.setAttribute(KEY_ATTRIBUTE, key); // 응답은 아직 없음 — 처리 중 표시 유지
+                request.setAttribute(HASH_ATTRIBUTE, requestHash);
+            } else {
+                stored = storeIfSuccessful(key, requestHash, responseWrapper);
+            }
+        } finally {
+            if (!asyncStarted) {
+                if (!stored) {
+                    releaseQuietly(key);
+                }
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    // 성공 응답(2xx)만 저장 — 202 비동기 작업 접수 응답도 저장되어 재시도 시 같은 jobId를 받는다
+    private boolean storeIfSuccessful(String key, String requestHash, ContentCachingResponseWrapper responseWrapper) {
+        int status = responseWrapper.getStatus();
+        if (status < 200 || status >= 300) {
+            return false;
+        }
+        Charset charset = responseWrapper.getCharacterEncoding() != null
+                ? Charset.forName(responseWrapper.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try {
+            idempotencyService.complete(key, new IdempotencyService.StoredResponse(status,
+                    responseWrapper.getContentType(),
+                    new String(responseWrapper.getContentAsByteArray(), charset), requestHash));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to store idempotent response: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            idempotencyService.release(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyService.StoredResponse stored)
+            throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (stored.body() != null) {
+            response.getWriter().write(stored.body());
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"status\": " + status + ", \"message\": \"" + message + "\"}");
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // 모든 JVM에 포함
+        }
+    }
+
+    // 키는 사용자별로 분리 (내부 API 등 비로그인 요청은 익명 사용자 하나의 공간)
+    private static String scope() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "anonymous";
+    }
+
+    /**
+     * 본문을 미리 읽어 둔 요청 — 해시 계산 후에도 컨트롤러가 같은 본문을 읽을 수 있도록
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking read is not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
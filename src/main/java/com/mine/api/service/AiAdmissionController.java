@@ -0,0 +1,294 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AI 백엔드(RunPod) 앞단의 우선순위 입장 제어
+ * 한정된 RunPod 용량을 세 등급이 나눠 쓰며, 자리가 나면 항상 높은 등급의 대기 요청부터 입장시킨다.
+ * - INTERACTIVE: 매거진/섹션 AI 편집, AI 문단 생성 (사용자가 화면에서 기다리는 요청)
+ * - USER: 사용자가 직접 요청한 매거진/무드보드 생성
+ * - BACKGROUND: 웰컴 매거진, 매거진 커버 무드보드 등 ai_jobs 워커 작업
+ * 등급별 동시 실행 상한으로 백그라운드가 전체 용량을 차지하지 못하게 하고,
+ * 등급별 대기열이 가득 차거나 대기 시간이 초과되면 RejectedExecutionException (503)으로 거절한다.
+ * executeAsync는 스레드를 재우지 않고 같은 대기열에 줄 서며, 입장하면 입장 스레드에서 논블로킹 호출을 시작한다.
+ */
+@Slf4j
+@Component
+public class AiAdmissionController {
+
+    public enum Priority {
+        INTERACTIVE, USER, BACKGROUND // 선언 순서 = 우선순위
+    }
+
+    // 호출 스레드가 지정한 등급 (예: ai_jobs 워커) — 없으면 AiClient의 action별 기본 등급 사용
+    private static final ThreadLocal<Priority> PRIORITY_OVERRIDE = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, ClassState> classes = new EnumMap<>(Priority.class);
+    private final int maxConcurrency;
+    private int running;
+    // executeAsync 대기 시간 만료와 입장 알림 — 입장한 호출의 시작(요청 전송)이 lock 밖에서 실행되도록
+    private final ScheduledThreadPoolExecutor scheduler = WorkerPools.scheduled("ai-admission-", 2);
+
+    public AiAdmissionController(MeterRegistry meterRegistry,
+            @Value("${mine.ai-admission.max-concurrency:8}") int maxConcurrency,
+            @Value("${mine.ai-admission.interactive.concurrency:8}") int interactiveConcurrency,
+            @Value("${mine.ai-admission.interactive.queue-capacity:50}") int interactiveQueueCapacity,
+            @Value("${mine.ai-admission.interactive.queue-timeout-seconds:30}") long interactiveQueueTimeoutSeconds,
+            @Value("${mine.ai-admission.user.concurrency:4}") int userConcurrency,
+            @Value("${mine.ai-admission.user.queue-capacity:50}") int userQueueCapacity,
+            @Value("${mine.ai-admission.user.queue-timeout-seconds:60}") long userQueueTimeoutSeconds,
+            @Value("${mine.ai-admission.background.concurrency:2}") int backgroundConcurrency,
+            @Value("${mine.ai-admission.background.queue-capacity:100}") int backgroundQueueCapacity,
+            @Value("${mine.ai-admission.background.queue-timeout-seconds:600}") long backgroundQueueTimeoutSeconds) {
+        this.maxConcurrency = maxConcurrency;
+        classes.put(Priority.INTERACTIVE, new ClassState(interactiveConcurrency, interactiveQueueCapacity,
+                interactiveQueueTimeoutSeconds));
+        classes.put(Priority.USER, new ClassState(userConcurrency, userQueueCapacity, userQueueTimeoutSeconds));
+        classes.put(Priority.BACKGROUND, new ClassState(backgroundConcurrency, backgroundQueueCapacity,
+                backgroundQueueTimeoutSeconds));
+
+        for (Map.Entry<Priority, ClassState> entry : classes.entrySet()) {
+            String tag = entry.getKey().name().toLowerCase();
+            ClassState state = entry.getValue();
+            state.queueTime = Timer.builder("ai.admission.queue.time")
+                    .description("Time an AI request waited for admission")
+                    .tag("priority", tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            Gauge.builder("ai.admission.queued", state, s -> s.queue.size())
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            Gauge.builder("ai.admission.running", state, s -> s.running)
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            state.rejected = meterRegistry.counter("ai.admission.rejected", "priority", tag);
+        }
+    }
+
+    /**
+     * 현재 스레드에서 실행하는 AI 호출의 등급을 지정 (중첩 시 바깥 지정이 복원됨)
+     */
+    public static <T> T callAs(Priority priority, Supplier<T> task) {
+        Priority previous = PRIORITY_OVERRIDE.get();
+        PRIORITY_OVERRIDE.set(priority);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                PRIORITY_OVERRIDE.remove();
+            } else {
+                PRIORITY_OVERRIDE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 입장 허가를 받은 뒤 AI 호출 실행 — 호출이 끝나면 다음 대기 요청을 입장시킨다.
+     *
+     * @param defaultPriority callAs로 지정된 등급이 없을 때 사용할 등급
+     */
+    public <T> T execute(Priority defaultPriority, Supplier<T> call) {
+        Priority priority = PRIORITY_OVERRIDE.get() != null ? PRIORITY_OVERRIDE.get() : defaultPriority;
+        acquire(priority);
+        try {
+            return call.get();
+        } finally {
+            release(priority);
+        }
+    }
+
+    /**
+     * 논블로킹 입장 — 자리가 날 때까지 스레드를 점유하지 않고 대기열에서 기다린 뒤 call을 시작한다.
+     * call이 돌려준 Future가 끝나면 자리를 반납한다. 거절은 RejectedExecutionException으로 실패한 Future.
+     *
+     * @param defaultPriority callAs로 지정된 등급이 없을 때 사용할 등급 (호출 스레드 기준)
+     */
+    public <T> CompletableFuture<T> executeAsync(Priority defaultPriority, Supplier<CompletableFuture<T>> call) {
+        Priority priority = PRIORITY_OVERRIDE.get() != null ? PRIORITY_OVERRIDE.get() : defaultPriority;
+        return acquireAsync(priority).thenCompose(admitted -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, error) -> release(priority));
+        });
+    }
+
+    private void acquire(Priority priority) {
+        ClassState state = classes.get(priority);
+        long startNanos = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (state.queue.size() >= state.queueCapacity) {
+                state.rejected.increment();
+                log.warn("AI admission queue is full. Rejecting {} request (queued={})", priority, state.queue.size());
+                throw new RejectedExecutionException("AI server is busy. Please try again later.");
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition(), null);
+            state.queue.addLast(waiter);
+            dispatch();
+
+            long remainingNanos = TimeUnit.SECONDS.toNanos(state.queueTimeoutSeconds);
+            while (!waiter.admitted) {
+                if (remainingNanos <= 0) {
+                    state.queue.remove(waiter);
+                    state.rejected.increment();
+                    log.warn("AI admission timed out after {}s for {} request", state.queueTimeoutSeconds, priority);
+                    throw new RejectedExecutionException("AI server is busy. Please try again later.");
+                }
+                try {
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    if (waiter.admitted) {
+                        // 입장 직후 인터럽트 — 자리를 반납하고 다음 요청에 넘긴다
+                        releaseLocked(priority);
+                    } else {
+                        state.queue.remove(waiter);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for AI admission", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        state.queueTime.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private CompletableFuture<Void> acquireAsync(Priority priority) {
+        ClassState state = classes.get(priority);
+        long startNanos = System.nanoTime();
+        Waiter waiter = new Waiter(null, new CompletableFuture<>());
+
+        lock.lock();
+        try {
+            if (state.queue.size() >= state.queueCapacity) {
+                state.rejected.increment();
+                log.warn("AI admission queue is full. Rejecting {} request (queued={})", priority, state.queue.size());
+                return CompletableFuture.failedFuture(
+                        new RejectedExecutionException("AI server is busy. Please try again later."));
+            }
+            state.queue.addLast(waiter);
+            dispatch();
+            if (!waiter.admitted) {
+                waiter.timeout = scheduler.schedule(() -> expire(priority, waiter), state.queueTimeoutSeconds,
+                        TimeUnit.SECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return waiter.ready.thenRun(() -> state.queueTime.record(System.nanoTime() - startNanos,
+                TimeUnit.NANOSECONDS));
+    }
+
+    private void expire(Priority priority, Waiter waiter) {
+        ClassState state = classes.get(priority);
+        lock.lock();
+        try {
+            if (waiter.admitted || !state.queue.remove(waiter)) {
+                return;
+            }
+            state.rejected.increment();
+        } finally {
+            lock.unlock();
+        }
+        log.warn("AI admission timed out after {}s for {} request", state.queueTimeoutSeconds, priority);
+        waiter.ready.completeExceptionally(new RejectedExecutionException("AI server is busy. Please try again later."));
+    }
+
+    private void release(Priority priority) {
+        lock.lock();
+        try {
+            releaseLocked(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(Priority priority) {
+        running--;
+        classes.get(priority).running--;
+        dispatch();
+    }
+
+    // 높은 등급부터, 전체/등급별 상한 안에서 대기 요청을 입장시킴 (lock 보유 상태에서 호출)
+    private void dispatch() {
+        for (ClassState state : classes.values()) {
+            while (running < maxConcurrency && state.running < state.concurrency && !state.queue.isEmpty()) {
+                Waiter next = state.queue.pollFirst();
+                next.admitted = true;
+                running++;
+                state.running++;
+                if (next.condition != null) {
+                    next.condition.signal();
+                } else {
+                    // 비동기 대기자 — 입장 후 이어지는 호출 시작을 lock을 잡은 스레드에서 실행하지 않음
+                    if (next.timeout != null) {
+                        next.timeout.cancel(false);
+                    }
+                    next.ready.completeAsync(() -> null, scheduler);
+                }
+            }
+            if (running >= maxConcurrency) {
+                return;
+            }
+        }
+    }
+
+    private static class ClassState {
+        private final int concurrency;
+        private final int queueCapacity;
+        private final long queueTimeoutSeconds;
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private volatile int running; // lock으로 갱신, 게이지 조회용 volatile
+        private Timer queueTime;
+        private io.micrometer.core.instrument.Counter rejected;
+
+        private ClassState(int concurrency, int queueCapacity, long queueTimeoutSeconds) {
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.queueTimeoutSeconds = queueTimeoutSeconds;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // 블로킹 대기자는 condition, 비동기 대기자는 ready로 입장을 알린다
+    private static class Waiter {
+        private final Condition condition;
+        private final CompletableFuture<Void> ready;
+        private ScheduledFuture<?> timeout;
+        private boolean admitted;
+
+        private Waiter(Condition condition, CompletableFuture<Void> ready) {
+            this.condition = condition;
+            this.ready = ready;
+        }
+    }
+}
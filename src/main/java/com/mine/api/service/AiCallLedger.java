@@ -0,0 +1,256 @@
+package com.mine.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * AI 호출 기록 (메모리 링 버퍼)
+ * 호출(엔드포인트 시도)마다 대기 시간을 구간별로 나눠 남긴다.
+ * - waitMs: 이 서버에서 시도 시작 전까지 (입장 대기열 + 앞선 엔드포인트 시도)
+ * - queueMs: RunPod 워커 배정 대기 (delayTime, 콜드스타트 포함)
+ * - execMs: 워커 실행 시간 (executionTime)
+ * 액션별 백분위 요약으로 RunPod 워커 수를 정하고, 콜드스타트(queue)와 느린 프롬프트(exec)를 구분한다.
+ * 최근 capacity건만 유지하므로 노드 재시작 시 초기화된다.
+ */
+@Slf4j
+@Component
+public class AiCallLedger {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    public static final String PARTIAL = "partial"; // 스트리밍 부분 결과 전달 후 실패
+    public static final String REJECTED = "rejected"; // 입장 대기열 초과 — 엔드포인트 호출 없음
+
+    private final Entry[] entries;
+    private long written; // entries 모니터로 보호
+
+    @Value("${mine.ai-ledger.cold-start-threshold-ms:${mine.keep-warm.cold-start-threshold-ms:10000}}")
+    private long coldStartThresholdMs;
+
+    public AiCallLedger(@Value("${mine.ai-ledger.capacity:10000}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("AI ledger capacity must be positive: " + capacity);
+        }
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * 호출 1건의 기록
+     *
+     * @param endpoint     AiEndpointRouter.endpointName (입장 거절 시 null)
+     * @param queueMs      RunPod 워커 배정 대기 — 로컬 FastAPI 호출이면 null
+     * @param resultBytes  수신한 응답 본문 합계 (폴링 응답 포함, 측정하지 못한 경로는 null)
+     */
+    public record Entry(Instant timestamp, String action, String endpoint, String username, String outcome,
+            long waitMs, Long queueMs, Long execMs, long totalMs, int polls, Long payloadBytes, Long resultBytes) {
+    }
+
+    /**
+     * 진행 중 호출의 측정값 — RunPodService가 네트워크 스레드에서 채우므로 필드는 모두 원자적으로 갱신
+     */
+    public static final class Trace {
+        private final String action;
+        private final String endpoint;
+        private final String username;
+        private final long waitNanos;
+        private final long startNanos;
+        private final AtomicInteger polls = new AtomicInteger();
+        private final AtomicLong resultBytes = new AtomicLong(-1);
+        private volatile long payloadBytes = -1;
+        private volatile long queueMs = -1;
+        private volatile long execMs = -1;
+        // 스트리밍 작업처럼 delayTime을 주지 않는 응답용 — 처음 실행 중 상태를 본 시각
+        private volatile long firstRunningNanos;
+
+        private Trace(String action, String endpoint, String username, long waitNanos, long startNanos) {
+            this.action = action;
+            this.endpoint = endpoint;
+            this.username = username;
+            this.waitNanos = waitNanos;
+            this.startNanos = startNanos;
+        }
+
+        public void countPoll() {
+            polls.incrementAndGet();
+        }
+
+        public void payloadBytes(long bytes) {
+            this.payloadBytes = bytes;
+        }
+
+        public void addResultBytes(long bytes) {
+            resultBytes.accumulateAndGet(bytes, (current, added) -> Math.max(current, 0) + added);
+        }
+
+        /**
+         * RunPod 완료 응답의 delayTime/executionTime (ms)
+         */
+        public void runPodTimes(Long delayTime, Long executionTime) {
+            if (delayTime != null) {
+                this.queueMs = delayTime;
+            }
+            if (executionTime != null) {
+                this.execMs = executionTime;
+            }
+        }
+
+        /**
+         * 폴링으로 본 작업 상태 — delayTime이 없는 응답은 IN_QUEUE를 벗어난 시점으로 대기/실행을 나눈다.
+         */
+        public void observeStatus(String status) {
+            if (firstRunningNanos == 0 && status != null && !"IN_QUEUE".equals(status)) {
+                firstRunningNanos = System.nanoTime();
+            }
+        }
+
+        private Entry finish(String outcome, boolean remote) {
+            long now = System.nanoTime();
+            Long queue = queueMs >= 0 ? Long.valueOf(queueMs) : null;
+            Long exec = execMs >= 0 ? Long.valueOf(execMs) : null;
+            if (remote && queue == null && firstRunningNanos != 0) {
+                queue = TimeUnit.NANOSECONDS.toMillis(firstRunningNanos - startNanos);
+                exec = exec != null ? exec : TimeUnit.NANOSECONDS.toMillis(now - firstRunningNanos);
+            }
+            if (!remote && exec == null) {
+                exec = TimeUnit.NANOSECONDS.toMillis(now - startNanos); // 로컬: 대기열 없이 호출 시간 전체가 실행
+            }
+            return new Entry(Instant.now(), action, endpoint, username, outcome,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos), remote ? queue : null, exec,
+                    TimeUnit.NANOSECONDS.toMillis(now - startNanos), polls.get(),
+                    payloadBytes >= 0 ? Long.valueOf(payloadBytes) : null,
+                    resultBytes.get() >= 0 ? Long.valueOf(resultBytes.get()) : null);
+        }
+    }
+
+    /**
+     * 엔드포인트 시도 시작
+     *
+     * @param requestStartNanos AiClient가 호출을 받은 시각 (System.nanoTime) — 그 사이가 waitMs
+     */
+    public Trace start(String action, String url, String username, long requestStartNanos) {
+        long now = System.nanoTime();
+        return new Trace(action, url != null ? AiEndpointRouter.endpointName(url) : null, username,
+                now - requestStartNanos, now);
+    }
+
+    public void finish(Trace trace, String outcome, boolean remote) {
+        Entry entry = trace.finish(outcome, remote);
+        append(entry);
+        log.debug("AI call recorded: {}", entry);
+    }
+
+    /**
+     * 엔드포인트를 호출하지 못하고 끝난 요청 (입장 거절)
+     */
+    public void rejected(String action, String username, long requestStartNanos) {
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos);
+        append(new Entry(Instant.now(), action, null, username, REJECTED, waitMs, null, null, waitMs, 0, null,
+                null));
+    }
+
+    private void append(Entry entry) {
+        synchronized (entries) {
+            entries[(int) (written % entries.length)] = entry;
+            written++;
+        }
+    }
+
+    /**
+     * 최근 기록 (오래된 순)
+     */
+    public List<Entry> recent(Duration window) {
+        Instant since = Instant.now().minus(window);
+        List<Entry> result = new ArrayList<>();
+        synchronized (entries) {
+            long from = Math.max(0, written - entries.length);
+            for (long i = from; i < written; i++) {
+                Entry entry = entries[(int) (i % entries.length)];
+                if (!entry.timestamp().isBefore(since)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 액션별 요약 (호출 수 많은 순)
+     */
+    public List<ActionSummary> summarize(Duration window) {
+        Map<String, List<Entry>> byAction = new LinkedHashMap<>();
+        for (Entry entry : recent(window)) {
+            byAction.computeIfAbsent(entry.action(), k -> new ArrayList<>()).add(entry);
+        }
+        return byAction.entrySet().stream()
+                .map(e -> summarize(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingInt(ActionSummary::count).reversed())
+                .toList();
+    }
+
+    private ActionSummary summarize(String action, List<Entry> entries) {
+        int failures = 0;
+        int rejected = 0;
+        int coldStarts = 0;
+        for (Entry entry : entries) {
+            if (REJECTED.equals(entry.outcome())) {
+                rejected++;
+            } else if (!SUCCESS.equals(entry.outcome())) {
+                failures++;
+            }
+            if (entry.queueMs() != null && entry.queueMs() >= coldStartThresholdMs) {
+                coldStarts++;
+            }
+        }
+        List<Entry> attempted = entries.stream().filter(e -> !REJECTED.equals(e.outcome())).toList();
+        return new ActionSummary(action, entries.size(), failures, rejected, coldStarts,
+                Percentiles.of(attempted, Entry::waitMs),
+                Percentiles.of(attempted, Entry::queueMs),
+                Percentiles.of(attempted, Entry::execMs),
+                Percentiles.of(attempted, Entry::totalMs),
+                Percentiles.of(attempted, e -> (long) e.polls()),
+                Percentiles.of(attempted, Entry::payloadBytes),
+                Percentiles.of(attempted, Entry::resultBytes));
+    }
+
+    public record ActionSummary(String action, int count, int failures, int rejected, int coldStarts,
+            Percentiles waitMs, Percentiles queueMs, Percentiles execMs, Percentiles totalMs, Percentiles polls,
+            Percentiles payloadBytes, Percentiles resultBytes) {
+    }
+
+    /**
+     * nearest-rank 백분위 — 값이 없는 기록(null)은 제외하며, 하나도 없으면 samples=0
+     */
+    public record Percentiles(int samples, long p50, long p95, long p99, long max) {
+
+        static <E> Percentiles of(List<E> entries, Function<E, Long> value) {
+            long[] values = entries.stream().map(value).filter(Objects::nonNull).mapToLong(Long::longValue)
+                    .toArray();
+            if (values.length == 0) {
+                return new Percentiles(0, 0, 0, 0, 0);
+            }
+            Arrays.sort(values);
+            return new Percentiles(values.length, rank(values, 50), rank(values, 95), rank(values, 99),
+                    values[values.length - 1]);
+        }
+
+        private static long rank(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mine.api.dto.AiDto;
+import com.mine.api.dto.MagazineCreateRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Python AI 서버 클라이언트 (action별 타입 요청/응답)
+ * 로컬 FastAPI와 RunPod Serverless의 요청 형식 차이를 이 클래스 한 곳에서만 처리한다.
+ * - 로컬: { "action": ..., ...요청 필드 } 를 동기 전송, 응답 본문 자체가 결과
+ * - RunPod: { "input": { "action": ..., "data": {...} } } 전송 후 폴링, 결과는 output
+ * 모든 호출은 AiAdmissionController의 우선순위 입장 제어를 거친다 (편집 > 사용자 생성 > 백그라운드).
+ * python.api.url / python.api.moodboard-url에 쉼표로 여러 엔드포인트를 지정하면 AiEndpointRouter가 분산/전환한다.
+ * 동일 요청 합치기(AiRequestCoalescer)는 AI 호출이 아니라 호출 측 작업(생성 + 저장) 단위로 서비스에서 적용한다.
+ * 엔드포인트 시도와 입장 거절은 모두 AiCallLedger에 기록된다.
+ * ...Async 메서드는 입장 대기부터 폴링까지 스레드를 점유하지 않으며, 결과는 결과 전달 풀에서 완료되므로
+ * 호출 측이 이어 붙인 짧은 트랜잭션/S3 작업이 네트워크 스레드를 막지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiClient {
+
+    private final RunPodService runPodService;
+    private final AiAdmissionController admissionController;
+    private final AiEndpointRouter endpointRouter;
+    private final RunPodKeepWarmScheduler keepWarmScheduler;
+    private final AiCallLedger callLedger;
+    private final ObjectMapper objectMapper; // Boot 공용 ObjectMapper (알 수 없는 필드 무시)
+
+    private static final Object STREAM_END = new Object();
+
+    @Value("${python.api.url}")
+    private List<String> pythonApiUrls;
+
+    @Value("${python.api.moodboard-url}")
+    private List<String> moodboardApiUrls;
+
+    // 동시에 끝나는 AI 호출은 입장 제어 상한(max-concurrency) 이하이므로 대기열이 그보다 크면 거절되지 않는다
+    @Value("${mine.ai-client.result-threads:4}")
+    private int resultThreads;
+
+    @Value("${mine.ai-client.result-queue-capacity:64}")
+    private int resultQueueCapacity;
+
+    private ThreadPoolExecutor resultExecutor;
+
+    @PostConstruct
+    protected void init() {
+        resultExecutor = WorkerPools.bounded("ai-result-", resultThreads, resultQueueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resultExecutor.shutdown();
+    }
+
+    public MagazineCreateRequest createMagazine(String username, AiDto.CreateMagazineRequest request) {
+        return call(AiAdmissionController.Priority.USER, pythonApiUrls, "create_magazine", username, request,
+                MagazineCreateRequest.class);
+    }
+
+    /**
+     * 스트리밍 매거진 생성 — 섹션이 생성되는 대로 handler에 전달하고 생성이 끝나면 반환한다.
+     * 네트워크 스레드가 받은 이벤트를 대기열에 넣고 호출 스레드에서 handler를 실행하므로 handler에서 DB 저장/S3 업로드 가능.
+     * 호출마다 handler가 다르므로 중복 합치기는 하지 않는다.
+     */
+    public void streamMagazine(String username, AiDto.CreateMagazineRequest request,
+            Consumer<AiDto.MagazineStreamEvent> handler) {
+        String action = "create_magazine_stream";
+        long startNanos = System.nanoTime();
+        admit(AiAdmissionController.Priority.USER, action, username, startNanos,
+                () -> endpointRouter.execute(pythonApiUrls, url -> traced(action, username, url, startNanos, trace -> {
+                    BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+                    CompletableFuture<Void> stream;
+                    if (isLocal(url)) {
+                        stream = runPodService.streamSyncRequest(url, localBody(action, request),
+                                AiDto.MagazineStreamEvent.class, events::add, trace);
+                    } else {
+                        keepWarmScheduler.recordArrival(url, action);
+                        stream = runPodService.streamRequest(url, runPodInput(action, request),
+                                AiDto.MagazineStreamEvent.class, events::add, trace);
+                    }
+                    drain(events, stream, handler);
+                    return null;
+                })));
+    }
+
+    public AiDto.EditMagazineResponse editMagazine(String username, AiDto.EditMagazineRequest request) {
+        return call(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "edit_magazine", username, request,
+                AiDto.EditMagazineResponse.class);
+    }
+
+    public CompletableFuture<AiDto.EditMagazineResponse> editMagazineAsync(String username,
+            AiDto.EditMagazineRequest request) {
+        return callAsync(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "edit_magazine", username,
+                request, AiDto.EditMagazineResponse.class);
+    }
+
+    public AiDto.EditSectionResponse editSection(String username, AiDto.EditSectionRequest request) {
+        return call(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "edit_section", username, request,
+                AiDto.EditSectionResponse.class);
+    }
+
+    public CompletableFuture<AiDto.EditSectionResponse> editSectionAsync(String username,
+            AiDto.EditSectionRequest request) {
+        return callAsync(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "edit_section", username,
+                request, AiDto.EditSectionResponse.class);
+    }
+
+    public AiDto.ParagraphPayload generateParagraph(String username, AiDto.GenerateParagraphRequest request) {
+        return call(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "generate_paragraph", username,
+                request, AiDto.ParagraphPayload.class);
+    }
+
+    public CompletableFuture<AiDto.ParagraphPayload> generateParagraphAsync(String username,
+            AiDto.GenerateParagraphRequest request) {
+        return callAsync(AiAdmissionController.Priority.INTERACTIVE, pythonApiUrls, "generate_paragraph", username,
+                request, AiDto.ParagraphPayload.class);
+    }
+
+    /**
+     * 무드보드 생성 — RunPod 경로는 base64 이미지를 응답 스트리밍 중 S3에 바로 올리므로 image_url이 S3 URL,
+     * 로컬 경로는 base64 그대로 온다.
+     */
+    public AiDto.MoodboardResult generateMoodboard(String username, AiDto.GenerateMoodboardRequest request) {
+        String action = "generate_moodboard";
+        long startNanos = System.nanoTime();
+        return admit(AiAdmissionController.Priority.USER, action, username, startNanos,
+                () -> endpointRouter.execute(moodboardApiUrls, url -> traced(action, username, url, startNanos,
+                        trace -> {
+                            if (isLocal(url)) {
+                                return requireResult(runPodService.sendSyncRequest(url,
+                                        localBody(action, request), AiDto.MoodboardResult.class, trace),
+                                        action);
+                            }
+                            keepWarmScheduler.recordArrival(url, action);
+                            return runPodService.sendRequestWithImageUpload(url, runPodInput(action, request),
+                                    "image_url", AiDto.MoodboardResult.class, trace);
+                        })));
+    }
+
+    public CompletableFuture<AiDto.MoodboardResult> generateMoodboardAsync(String username,
+            AiDto.GenerateMoodboardRequest request) {
+        String action = "generate_moodboard";
+        long startNanos = System.nanoTime();
+        return admitAsync(AiAdmissionController.Priority.USER, action, username, startNanos,
+                () -> endpointRouter.executeAsync(moodboardApiUrls, url -> tracedAsync(action, username, url,
+                        startNanos, trace -> {
+                            if (isLocal(url)) {
+                                return runPodService.sendSyncRequestAsync(url, localBody(action, request),
+                                        AiDto.MoodboardResult.class, trace)
+                                        .thenApply(result -> requireResult(result, action));
+                            }
+                            keepWarmScheduler.recordArrival(url, action);
+                            return runPodService.sendRequestWithImageUploadAsync(url, runPodInput(action, request),
+                                    "image_url", AiDto.MoodboardResult.class, trace);
+                        })));
+    }
+
+    // 우선순위 입장 → 엔드포인트 선택 → 로컬/RunPod 호출
+    private <T> T call(AiAdmissionController.Priority priority, List<String> urls, String action, String username,
+            Object request, Class<T> responseType) {
+        long startNanos = System.nanoTime();
+        return admit(priority, action, username, startNanos,
+                () -> endpointRouter.execute(urls, url -> traced(action, username, url, startNanos, trace -> {
+                    if (isLocal(url)) {
+                        return requireResult(runPodService.sendSyncRequest(url, localBody(action, request),
+                                responseType, trace), action);
+                    }
+                    keepWarmScheduler.recordArrival(url, action);
+                    return runPodService.sendRequest(url, runPodInput(action, request), responseType, trace);
+                })));
+    }
+
+    private <T> CompletableFuture<T> callAsync(AiAdmissionController.Priority priority, List<String> urls,
+            String action, String username, Object request, Class<T> responseType) {
+        long startNanos = System.nanoTime();
+        return admitAsync(priority, action, username, startNanos,
+                () -> endpointRouter.executeAsync(urls, url -> tracedAsync(action, username, url, startNanos,
+                        trace -> {
+                            if (isLocal(url)) {
+                                return runPodService.sendSyncRequestAsync(url, localBody(action, request),
+                                        responseType, trace).thenApply(result -> requireResult(result, action));
+                            }
+                            keepWarmScheduler.recordArrival(url, action);
+                            return runPodService.sendRequestAsync(url, runPodInput(action, request), responseType,
+                                    trace);
+                        })));
+    }
+
+    // 우선순위 입장 — 대기열 초과/대기 시간 초과로 거절되면 엔드포인트 호출 없이 거절로 기록
+    private <T> T admit(AiAdmissionController.Priority priority, String action, String username, long startNanos,
+            Supplier<T> call) {
+        AtomicBoolean admitted = new AtomicBoolean();
+        try {
+            return admissionController.execute(priority, () -> {
+                admitted.set(true);
+                return call.get();
+            });
+        } catch (RejectedExecutionException e) {
+            if (!admitted.get()) {
+                callLedger.rejected(action, username, startNanos);
+            }
+            throw e;
+        }
+    }
+
+    // 논블로킹 입장 — 결과(성공/실패 모두)는 네트워크 스레드가 아닌 결과 전달 풀에서 완료
+    private <T> CompletableFuture<T> admitAsync(AiAdmissionController.Priority priority, String action,
+            String username, long startNanos, Supplier<CompletableFuture<T>> call) {
+        AtomicBoolean admitted = new AtomicBoolean();
+        return admissionController.executeAsync(priority, () -> {
+            admitted.set(true);
+            return call.get();
+        }).whenCompleteAsync((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                    : error;
+            if (cause instanceof RejectedExecutionException && !admitted.get()) {
+                callLedger.rejected(action, username, startNanos);
+            }
+        }, resultExecutor);
+    }
+
+    // 엔드포인트 시도 1회 — 결과와 관계없이 대기/실행 시간, 폴링 횟수, 요청/응답 크기를 기록
+    private <T> T traced(String action, String username, String url, long startNanos,
+            Function<AiCallLedger.Trace, T> call) {
+        boolean remote = !isLocal(url);
+        AiCallLedger.Trace trace = callLedger.start(action, url, username, startNanos);
+        try {
+            T result = call.apply(trace);
+            callLedger.finish(trace, AiCallLedger.SUCCESS, remote);
+            return result;
+        } catch (AiEndpointRouter.PartialResultException e) {
+            callLedger.finish(trace, AiCallLedger.PARTIAL, remote);
+            throw e;
+        } catch (RuntimeException e) {
+            callLedger.finish(trace, AiCallLedger.FAILURE, remote);
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> tracedAsync(String action, String username, String url, long startNanos,
+            Function<AiCallLedger.Trace, CompletableFuture<T>> call) {
+        boolean remote = !isLocal(url);
+        AiCallLedger.Trace trace = callLedger.start(action, url, username, startNanos);
+        CompletableFuture<T> result;
+        try {
+            result = call.apply(trace);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> callLedger.finish(trace,
+                error == null ? AiCallLedger.SUCCESS : AiCallLedger.FAILURE, remote));
+    }
+
+    // 스트림이 끝날 때까지 대기열의 이벤트를 호출 스레드에서 처리 — 하나라도 전달한 뒤의 실패는 엔드포인트 전환 금지
+    private static <E> void drain(BlockingQueue<Object> events, CompletableFuture<Void> stream, Consumer<E> handler) {
+        stream.whenComplete((v, e) -> events.add(STREAM_END));
+        boolean delivered = false;
+        try {
+            while (true) {
+                Object event = events.take();
+                if (event == STREAM_END) {
+                    break;
+                }
+                delivered = true;
+                @SuppressWarnings("unchecked")
+                E typed = (E) event;
+                handler.accept(typed);
+            }
+            stream.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stream.cancel(true);
+            throw new IllegalStateException("Interrupted while streaming AI response", e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (delivered) {
+                throw new AiEndpointRouter.PartialResultException(
+                        "AI stream interrupted after partial results: " + cause.getMessage(), cause);
+            }
+            throw cause instanceof RuntimeException runtimeException ? runtimeException
+                    : new RuntimeException(cause.getMessage(), cause);
+        } catch (RuntimeException e) {
+            stream.cancel(true); // handler 실패 — 남은 스트림은 버린다
+            if (delivered) {
+                throw new AiEndpointRouter.PartialResultException("AI stream aborted: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isLocal(String url) {
+        return url.contains("localhost") || url.contains("127.0.0.1");
+    }
+
+    // 로컬: 요청 필드와 같은 레벨에 action 포함
+    private ObjectNode localBody(String action, Object request) {
+        ObjectNode body = objectMapper.valueToTree(request);
+        body.put("action", action);
+        return body;
+    }
+
+    // RunPod: data 안에는 action 제외
+    private static Map<String, Object> runPodInput(String action, Object request) {
+        return Map.of("action", action, "data", request);
+    }
+
+    private static <T> T requireResult(T result, String action) {
+        if (result == null) {
+            throw new RuntimeException("Failed to get response from AI server: " + action);
+        }
+        return result;
+    }
+}
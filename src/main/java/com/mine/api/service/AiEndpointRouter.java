@@ -0,0 +1,252 @@
+package com.mine.api.service;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 여러 AI 엔드포인트(RunPod 엔드포인트 여러 개 + 선택적 로컬 FastAPI) 라우팅
+ * - 진행 중 요청이 가장 적은 엔드포인트부터 시도 (least-outstanding-requests)
+ * - 엔드포인트마다 별도 서킷 브레이커 (resilience4j 공용 설정 runPod) — 한 엔드포인트 장애가 전체를 막지 않음
+ * - 제출 전 실패(연결 실패, /run 5xx, 서킷 오픈)만 다음 엔드포인트로 자동 전환, 모두 실패하면 마지막 오류로 실패
+ * - 제출된 작업의 실패(JobFailedException — 폴링 제한 시간 초과, FAILED 등)는 브레이커에 기록하고 전환하지 않음
+ * - 4xx 응답(408/429 제외)은 요청 자체의 문제이므로 전환하지 않고 브레이커에도 기록하지 않음
+ * - 부분 결과를 이미 전달한 스트리밍 호출의 실패(PartialResultException)는 결과가 중복되므로 전환하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiEndpointRouter {
+
+    private static final String CIRCUIT_BREAKER_CONFIG = "runPod";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    // 엔드포인트 식별자 (RunPod 엔드포인트 ID 또는 host:port) → 상태
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 후보 URL 중 하나로 호출 — 진행 중 요청이 적은 순서로 시도하고 실패 시 다음 후보로 전환
+     *
+     * @param urls 같은 action을 처리할 수 있는 엔드포인트 URL 목록
+     * @param call 선택된 URL로 실제 호출
+     */
+    public <T> T execute(List<String> urls, Function<String, T> call) {
+        List<Route> routes = routes(urls);
+
+        RuntimeException lastFailure = null;
+        for (Route route : routes) {
+            Endpoint endpoint = route.endpoint();
+            if (!endpoint.circuitBreaker.tryAcquirePermission()) {
+                lastFailure = CallNotPermittedException.createCallNotPermittedException(endpoint.circuitBreaker);
+                continue;
+            }
+
+            endpoint.outstanding.incrementAndGet();
+            long startNanos = System.nanoTime();
+            try {
+                T result = call.apply(route.url());
+                endpoint.circuitBreaker.onSuccess(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                onFailure(endpoint, startNanos, routes.size(), e);
+                lastFailure = e;
+            } finally {
+                endpoint.outstanding.decrementAndGet();
+            }
+        }
+        throw unavailable(lastFailure);
+    }
+
+    /**
+     * execute의 논블로킹 버전 — 엔드포인트 시도와 전환을 Future 체인으로 이어 스레드를 점유하지 않는다.
+     *
+     * @param call 선택된 URL로 논블로킹 호출
+     */
+    public <T> CompletableFuture<T> executeAsync(List<String> urls, Function<String, CompletableFuture<T>> call) {
+        return attempt(routes(urls), 0, call, null);
+    }
+
+    private <T> CompletableFuture<T> attempt(List<Route> routes, int index,
+            Function<String, CompletableFuture<T>> call, RuntimeException lastFailure) {
+        if (index >= routes.size()) {
+            return CompletableFuture.failedFuture(unavailable(lastFailure));
+        }
+        Route route = routes.get(index);
+        Endpoint endpoint = route.endpoint();
+        if (!endpoint.circuitBreaker.tryAcquirePermission()) {
+            return attempt(routes, index + 1, call,
+                    CallNotPermittedException.createCallNotPermittedException(endpoint.circuitBreaker));
+        }
+
+        endpoint.outstanding.incrementAndGet();
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.apply(route.url());
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.handle((value, error) -> {
+            endpoint.outstanding.decrementAndGet();
+            if (error == null) {
+                endpoint.circuitBreaker.onSuccess(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(value);
+            }
+            RuntimeException failure = asRuntime(error);
+            try {
+                onFailure(endpoint, startNanos, routes.size(), failure);
+            } catch (RuntimeException terminal) {
+                return CompletableFuture.<T>failedFuture(terminal);
+            }
+            return attempt(routes, index + 1, call, failure);
+        }).thenCompose(Function.identity());
+    }
+
+    private List<Route> routes(List<String> urls) {
+        return urls.stream()
+                .map(url -> new Route(url, endpoint(url)))
+                .sorted(Comparator.comparingInt(route -> route.endpoint().outstanding.get()))
+                .toList();
+    }
+
+    // 실패 기록 — 다음 엔드포인트로 전환할 수 있으면 반환하고, 전환하면 안 되는 실패는 그대로 던진다
+    private void onFailure(Endpoint endpoint, long startNanos, int routeCount, RuntimeException e) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (e instanceof IllegalArgumentException || e instanceof SecurityException || isClientError(unwrap(e))) {
+            // 요청 자체의 문제(잘못된 입력/인증 오류) — 다른 엔드포인트에서도 같고 엔드포인트 장애도 아님
+            endpoint.circuitBreaker.releasePermission();
+            throw e;
+        }
+        if (e instanceof JobFailedException) {
+            // 이미 GPU에서 실행된 작업 — 다른 엔드포인트에 다시 제출하면 작업과 대기 시간이 두 배가 됨
+            endpoint.circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+        if (e instanceof PartialResultException) {
+            // 엔드포인트 장애로 기록하되, 다른 엔드포인트에서 처음부터 다시 받으면 부분 결과가 중복됨
+            endpoint.circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS, e.getCause());
+            throw e;
+        }
+        endpoint.circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS, unwrap(e));
+        if (routeCount > 1) {
+            log.warn("AI endpoint {} failed, trying next endpoint: {}", endpoint.name, e.getMessage());
+            meterRegistry.counter("ai.endpoint.failover", "endpoint", endpoint.name).increment();
+        }
+    }
+
+    private Endpoint endpoint(String url) {
+        String name = endpointName(url);
+        return endpoints.computeIfAbsent(name, k -> {
+            Endpoint endpoint = new Endpoint(name,
+                    circuitBreakerRegistry.circuitBreaker("runPod-" + name, CIRCUIT_BREAKER_CONFIG));
+            Gauge.builder("ai.endpoint.outstanding", endpoint, e -> e.outstanding.get())
+                    .description("In-flight AI requests per endpoint")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            return endpoint;
+        });
+    }
+
+    // RunPod: …/v2/{endpointId}/… → endpointId, 그 외(로컬 FastAPI 등): host:port
+    static String endpointName(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+        List<String> segments = uri.getPathSegments();
+        int v2 = segments.indexOf("v2");
+        if (v2 >= 0 && v2 + 1 < segments.size()) {
+            return segments.get(v2 + 1);
+        }
+        return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+    }
+
+    // 블로킹 await가 checked 예외(TimeoutException 등)를 RuntimeException으로 감싸므로 브레이커에는 원래 예외를 기록
+    private static Throwable unwrap(RuntimeException e) {
+        return e.getClass() == RuntimeException.class && e.getCause() != null ? e.getCause() : e;
+    }
+
+    // Future 실패 원인 — 블로킹 await와 같은 형태(RuntimeException 그대로, checked 예외는 감싸서)로 맞춘다
+    private static RuntimeException asRuntime(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtimeException ? runtimeException
+                : new RuntimeException(cause.getMessage(), cause);
+    }
+
+    // 408(Request Timeout)/429(Too Many Requests)는 엔드포인트 상태 문제이므로 전환 대상
+    private static boolean isClientError(Throwable e) {
+        if (!(e instanceof WebClientResponseException responseException)) {
+            return false;
+        }
+        int status = responseException.getStatusCode().value();
+        return responseException.getStatusCode().is4xxClientError()
+                && status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static RuntimeException unavailable(RuntimeException lastFailure) {
+        if (lastFailure == null) {
+            return new IllegalStateException("No AI endpoint configured");
+        }
+        if (lastFailure instanceof CallNotPermittedException) {
+            log.error("All AI endpoints are unavailable (Circuit Open)");
+            return new RuntimeException("AI Server is currently unavailable (Circuit Open). Please try again later.",
+                    lastFailure);
+        }
+        String errorMessage = lastFailure.getMessage() != null ? lastFailure.getMessage()
+                : lastFailure.getClass().getSimpleName() + " (No detailed message)";
+        log.error("All AI endpoints failed. Last error: {}", errorMessage, lastFailure);
+        return new RuntimeException("AI Server connection failed: " + errorMessage, lastFailure);
+    }
+
+    /**
+     * 부분 결과를 호출 측에 이미 전달한 뒤 실패한 스트리밍 호출 — 다른 엔드포인트로 전환하지 않는다.
+     */
+    public static class PartialResultException extends RuntimeException {
+        public PartialResultException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * 제출이 끝난 작업이 실패함 (폴링 제한 시간 초과, FAILED/CANCELLED, 결과 없음, 제출 후 상태 조회 실패 등)
+     * 다른 엔드포인트로 전환하지 않으며, 서킷 브레이커 recordExceptions에 등록되어 엔드포인트 장애로 기록된다.
+     */
+    public static class JobFailedException extends RuntimeException {
+        public JobFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private record Route(String url, Endpoint endpoint) {
+    }
+
+    private static class Endpoint {
+        private final String name;
+        private final CircuitBreaker circuitBreaker;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Endpoint(String name, CircuitBreaker circuitBreaker) {
+            this.name = name;
+            this.circuitBreaker = circuitBreaker;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiJobDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 AI 작업 상태/이벤트 노드 간 공유 (Redis)
+ * 작업은 접수한 노드에서 실행되지만 상태 조회와 SSE 구독은 로드밸런서를 거쳐 아무 노드에나 도착한다.
+ * - 작업 상태와 중간 결과를 작업 ID 키로 저장 — 어느 노드에서든 조회하고, 늦게 구독해도 다시 보낼 수 있다.
+ * - 모든 노드가 구독하는 채널로 이벤트를 발행 — 구독자가 연결된 노드가 SSE로 전달한다.
+ * Redis 장애 시 저장/발행이 false를 반환하며, 실행 노드는 자기 구독자에게만 직접 전달한다.
+ */
+@Slf4j
+@Component
+public class AiJobEventRelay implements MessageListener {
+
+    static final String CHANNEL = "ai-job:events";
+    private static final String KEY_PREFIX = "ai-job:";
+    private static final String PROGRESS_SUFFIX = ":progress";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private volatile Consumer<AiJobEvent> listener = event -> {
+    };
+
+    public AiJobEventRelay(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        } catch (Exception e) {
+            // 구독 실패로 기동을 막지 않음 — 상태 조회와 이 노드에서 실행한 작업의 SSE는 그대로 동작
+            log.warn("Failed to subscribe to AI job event channel: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 발행된 이벤트를 받을 대상 등록 (AiJobService — 이 노드의 SSE 구독자에게 전달)
+     */
+    void setListener(Consumer<AiJobEvent> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 작업 상태 저장 후 전체 노드에 발행
+     *
+     * @return Redis에 저장하고 발행했으면 true (false면 호출 측이 이 노드의 구독자에게 직접 전달)
+     */
+    public boolean saveStatus(String username, AiJobDto.Status status, Duration ttl) {
+        try {
+            String key = KEY_PREFIX + status.getJobId();
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(new StoredJob(username, status)),
+                    ttl);
+            redisTemplate.expire(key + PROGRESS_SUFFIX, ttl);
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(AiJobEvent.of(status)));
+            return true;
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to relay AI job status through Redis. job={}: {}", status.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 중간 결과 저장(늦은 구독자 재전송용) 후 전체 노드에 발행
+     */
+    public boolean appendProgress(AiJobEvent event, Duration ttl) {
+        try {
+            String json = objectMapper.writeValueAsString(event);
+            String key = KEY_PREFIX + event.jobId() + PROGRESS_SUFFIX;
+            redisTemplate.opsForList().rightPush(key, json);
+            redisTemplate.expire(key, ttl);
+            redisTemplate.convertAndSend(CHANNEL, json);
+            return true;
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to relay AI job progress through Redis. job={}: {}", event.jobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 다른 노드에서 실행 중이거나 끝난 작업 조회 (블로킹 Redis 호출) — 없거나 Redis 장애면 empty
+     */
+    public Optional<StoredJob> find(String jobId) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + jobId);
+            return json != null ? Optional.of(objectMapper.readValue(json, StoredJob.class)) : Optional.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to read AI job status from Redis. job={}: {}", jobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 지금까지 발행된 중간 결과 (블로킹 Redis 호출)
+     */
+    public List<AiJobEvent> progress(String jobId) {
+        List<AiJobEvent> events = new ArrayList<>();
+        try {
+            List<String> values = redisTemplate.opsForList().range(KEY_PREFIX + jobId + PROGRESS_SUFFIX, 0, -1);
+            if (values != null) {
+                for (String value : values) {
+                    events.add(objectMapper.readValue(value, AiJobEvent.class));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to read AI job progress from Redis. job={}: {}", jobId, e.getMessage());
+        }
+        return events;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        AiJobEvent event;
+        try {
+            event = objectMapper.readValue(body, AiJobEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed AI job event: {}", e.getMessage());
+            return;
+        }
+        listener.accept(event);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    /**
+     * 저장된 작업 — 소유자 확인을 위해 사용자명을 함께 보관
+     */
+    public record StoredJob(String username, AiJobDto.Status status) {
+    }
+
+    /**
+     * SSE로 전달할 이벤트 — status가 있으면 상태 변경, 없으면 sequence 번째 중간 결과(name, data)
+     */
+    public record AiJobEvent(String jobId, Integer sequence, String name, Object data, AiJobDto.Status status) {
+
+        static AiJobEvent of(AiJobDto.Status status) {
+            return new AiJobEvent(status.getJobId(), null, null, null, status);
+        }
+
+        static AiJobEvent progress(String jobId, int sequence, String name, Object data) {
+            return new AiJobEvent(jobId, sequence, name, data, null);
+        }
+    }
+}
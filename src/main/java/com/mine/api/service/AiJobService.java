@@ -0,0 +1,317 @@
+package com.mine.api.service;
+
+import com.mine.api.dto.AiJobDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 AI 작업 관리
+ * 요청 스레드는 202와 작업 ID만 돌려주고, 실제 AI 호출은 전용 워커에서 수행한다.
+ * 진행 상황(queued/running/completed/failed)은 상태 조회 API와 SSE 스트림으로 전달한다.
+ * 상태와 이벤트는 AiJobEventRelay(Redis)로 공유하므로 작업을 실행하지 않은 노드에서도 조회/구독할 수 있다.
+ * submitWithProgress로 접수한 작업은 중간 결과(예: 생성된 섹션)를 이름 있는 SSE 이벤트로 함께 전달한다.
+ * 작업 API로 바꿀 수 없는 기존 동기 API는 defer로 논블로킹 AI 호출 체인을 시작하고 최종 결과를 그대로 응답한다.
+ * 동기 API(화면에서 기다리는 편집)가 백그라운드 작업 대기열 뒤에 줄 서지 않도록 두 워커 풀을 나눈다.
+ */
+@Slf4j
+@Service
+public class AiJobService {
+
+    private static final long SSE_TIMEOUT_MS = 20 * 60 * 1000L; // RunPod 최대 대기 시간(15분) + 여유
+    private static final long RETENTION_MINUTES = 60; // 완료된 작업 결과 보관 시간
+    private static final Duration ACTIVE_TTL = Duration.ofMillis(SSE_TIMEOUT_MS).plusMinutes(RETENTION_MINUTES);
+    private static final Duration FINISHED_TTL = Duration.ofMinutes(RETENTION_MINUTES);
+
+    // 이 노드에서 실행 중이거나 최근 끝난 작업 (Redis 장애 시에도 이 노드에서는 조회 가능)
+    private final Map<String, AiJob> jobs = new ConcurrentHashMap<>();
+    // 이 노드에 연결된 SSE 구독자 — 작업이 어느 노드에서 실행되든 relay 이벤트로 전달
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AiJobEventRelay eventRelay;
+
+    private final ThreadPoolExecutor executor;
+    // defer 전용 — 스냅샷 트랜잭션과 AI 호출 시작만 실행하는 작은 풀 (AI 응답 대기 중에는 스레드를 잡지 않음)
+    private final ThreadPoolExecutor syncExecutor;
+
+    public AiJobService(AiJobEventRelay eventRelay,
+            @Value("${mine.ai-jobs.worker-threads:8}") int workerThreads,
+            @Value("${mine.ai-jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${mine.ai-jobs.sync-threads:4}") int syncThreads,
+            @Value("${mine.ai-jobs.sync-queue-capacity:200}") int syncQueueCapacity) {
+        this.executor = WorkerPools.bounded("ai-job-", workerThreads, queueCapacity); // 대기열이 가득 차면 503
+        this.syncExecutor = WorkerPools.bounded("ai-sync-", syncThreads, syncQueueCapacity);
+        this.eventRelay = eventRelay;
+        eventRelay.setListener(this::deliver);
+    }
+
+    /**
+     * AI 작업 접수 — 대기열이 가득 차면 RejectedExecutionException
+     */
+    public AiJobDto.Accepted submit(String username, String type, Supplier<?> task) {
+        return submitWithProgress(username, type, progress -> task.get());
+    }
+
+    /**
+     * 중간 결과를 발행하는 AI 작업 접수 — task는 전달받은 ProgressListener로 부분 결과를 SSE 이벤트로 보낸다.
+     */
+    public AiJobDto.Accepted submitWithProgress(String username, String type, Function<ProgressListener, ?> task) {
+        AiJob job = new AiJob(UUID.randomUUID().toString(), type, username);
+        jobs.put(job.id, job);
+        // 202 응답 직후 다른 노드로 간 상태 조회도 찾을 수 있도록 접수 시점에 저장
+        eventRelay.saveStatus(username, job.toStatus(), ACTIVE_TTL);
+
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("AI job queue is full. Rejecting {} request from {}", type, username);
+            throw e;
+        }
+
+        log.info("AI job queued: jobId={}, type={}, username={}", job.id, type, username);
+        return AiJobDto.Accepted.builder()
+                .jobId(job.id)
+                .status(AiJobDto.JobStatus.QUEUED)
+                .statusUrl("/api/ai-jobs/" + job.id)
+                .eventsUrl("/api/ai-jobs/" + job.id + "/events")
+                .build();
+    }
+
+    /**
+     * 동기 API용 AI 작업 실행 — 응답 형식은 그대로 두고, AI를 기다리는 동안 어떤 스레드도 점유하지 않는다.
+     * task(스냅샷 트랜잭션 + AI 호출 시작)는 작은 풀에서 실행하고, 반환된 Future가 끝나면 DeferredResult를 채운다.
+     * 작업 ID를 발급하지 않으며 결과는 DeferredResult로만 전달된다 (예외는 GlobalExceptionHandler가 처리).
+     * 응답 대기 시간이 초과되어도 작업은 끝까지 실행된다 — 편집 결과가 반쯤 저장된 채 끊기지 않도록.
+     */
+    public <T> DeferredResult<T> defer(String username, String type, Supplier<CompletableFuture<T>> task) {
+        DeferredResult<T> result = new DeferredResult<>(SSE_TIMEOUT_MS);
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, syncExecutor).thenCompose(Function.identity());
+        } catch (RejectedExecutionException e) {
+            log.warn("AI sync worker pool is full. Rejecting {} request from {}", type, username);
+            throw e;
+        }
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.setResult(value);
+            } else {
+                // 원래 예외(IllegalArgumentException 등)로 전달해야 GlobalExceptionHandler가 상태 코드를 정한다
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 이미 정해진 응답을 defer와 같은 반환 타입으로 (예: ?async=true의 202 접수 응답)
+     */
+    public static <T> DeferredResult<T> completed(T value) {
+        DeferredResult<T> result = new DeferredResult<>();
+        result.setResult(value);
+        return result;
+    }
+
+    public AiJobDto.Status getStatus(String jobId, String username) {
+        return getOwnedStatus(jobId, username);
+    }
+
+    /**
+     * SSE 구독 — 현재 상태를 즉시 보내고 이후 상태 변화를 푸시한다.
+     * 작업이 다른 노드에서 실행 중이면 Redis에 저장된 중간 결과를 다시 보내고 이후 이벤트는 relay로 받는다.
+     */
+    public SseEmitter subscribe(String jobId, String username) {
+        getOwnedStatus(jobId, username);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        emitter.onCompletion(() -> unsubscribe(jobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobId, emitter));
+        emitter.onError(e -> unsubscribe(jobId, emitter));
+
+        // 등록을 먼저 해야 조회와 등록 사이에 발행된 이벤트를 놓치지 않는다 (중복은 이벤트 ID로 제거 가능)
+        subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        // 늦게 구독한 클라이언트를 위해 지금까지의 중간 결과를 다시 보냄
+        AiJob local = jobs.get(jobId);
+        for (AiJobEventRelay.AiJobEvent event : local != null ? local.progress : eventRelay.progress(jobId)) {
+            send(emitter, event);
+        }
+        // 구독 직전에 작업이 끝났을 수 있으므로 등록 후 현재 상태를 다시 읽어 전송
+        AiJobDto.Status status = getOwnedStatus(jobId, username);
+        send(emitter, AiJobEventRelay.AiJobEvent.of(status));
+        if (status.getStatus().isFinished()) {
+            unsubscribe(jobId, emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void run(AiJob job, Function<ProgressListener, ?> task) {
+        job.transition(AiJobDto.JobStatus.RUNNING);
+        broadcast(job);
+
+        try {
+            job.result = task.apply((name, data) -> publish(job, name, data));
+            job.transition(AiJobDto.JobStatus.COMPLETED);
+            log.info("AI job completed: jobId={}, type={}", job.id, job.type);
+        } catch (Exception e) {
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.transition(AiJobDto.JobStatus.FAILED);
+            log.error("AI job failed: jobId={}, type={}", job.id, job.type, e);
+        }
+        // 최종 상태를 전달받은 노드가 각자 구독자 스트림을 종료
+        broadcast(job);
+    }
+
+    private void broadcast(AiJob job) {
+        AiJobDto.Status status = job.toStatus();
+        Duration ttl = status.getStatus().isFinished() ? FINISHED_TTL : ACTIVE_TTL;
+        if (!eventRelay.saveStatus(job.username, status, ttl)) {
+            deliver(AiJobEventRelay.AiJobEvent.of(status)); // Redis 장애 — 이 노드의 구독자에게만
+        }
+    }
+
+    private void publish(AiJob job, String name, Object data) {
+        AiJobEventRelay.AiJobEvent event = AiJobEventRelay.AiJobEvent.progress(job.id, job.progress.size(), name,
+                data);
+        job.progress.add(event);
+        if (!eventRelay.appendProgress(event, ACTIVE_TTL)) {
+            deliver(event);
+        }
+    }
+
+    /**
+     * relay로 받은(또는 Redis 장애 시 직접 전달된) 이벤트를 이 노드의 구독자에게 전송 — 최종 상태면 스트림 종료
+     */
+    void deliver(AiJobEventRelay.AiJobEvent event) {
+        List<SseEmitter> emitters = subscribers.get(event.jobId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event);
+        }
+        if (event.status() != null && event.status().getStatus().isFinished()) {
+            List<SseEmitter> finished = subscribers.remove(event.jobId());
+            if (finished != null) {
+                finished.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, AiJobEventRelay.AiJobEvent event) {
+        try {
+            if (event.status() != null) {
+                AiJobDto.JobStatus status = event.status().getStatus();
+                emitter.send(SseEmitter.event()
+                        .id(event.jobId() + ":" + status)
+                        .name(status.name().toLowerCase())
+                        .data(event.status()));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(event.jobId() + ":" + event.sequence())
+                        .name(event.name())
+                        .data(event.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 — 작업은 계속 진행
+            unsubscribe(event.jobId(), emitter);
+        }
+    }
+
+    private void unsubscribe(String jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private AiJobDto.Status getOwnedStatus(String jobId, String username) {
+        AiJob local = jobs.get(jobId);
+        AiJobEventRelay.StoredJob job = local != null
+                ? new AiJobEventRelay.StoredJob(local.username, local.toStatus())
+                : eventRelay.find(jobId).orElseThrow(() ->
+                        // 없는 ID와 보관 시간이 지나 정리된 작업 모두 404
+                        new jakarta.persistence.EntityNotFoundException("AI job not found: " + jobId));
+        if (!job.username().equals(username)) {
+            throw new SecurityException(com.mine.api.common.ErrorMessages.NOT_AUTHORIZED);
+        }
+        return job.status();
+    }
+
+    /**
+     * 완료 후 보관 시간이 지난 작업 정리 (5분마다)
+     */
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.status.isFinished() && job.updatedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        syncExecutor.shutdown();
+    }
+
+    /**
+     * 작업 중간 결과 발행 — 작업 워커 스레드에서 순서대로 호출한다.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void publish(String name, Object data);
+    }
+
+    private static class AiJob {
+        private final String id;
+        private final String type;
+        private final String username;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<AiJobEventRelay.AiJobEvent> progress = new CopyOnWriteArrayList<>();
+        private volatile AiJobDto.JobStatus status = AiJobDto.JobStatus.QUEUED;
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private AiJob(String id, String type, String username) {
+            this.id = id;
+            this.type = type;
+            this.username = username;
+        }
+
+        private void transition(AiJobDto.JobStatus next) {
+            this.status = next;
+            this.updatedAt = LocalDateTime.now();
+        }
+
+        private AiJobDto.Status toStatus() {
+            return AiJobDto.Status.builder()
+                    .jobId(id)
+                    .type(type)
+                    .status(status)
+                    .result(result)
+                    .error(error)
+                    .createdAt(createdAt.toString())
+                    .updatedAt(updatedAt.toString())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.MagazineSection;
+import com.mine.api.domain.Paragraph;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 압축 AI 편집 요청 도우미
+ * - 섹션 내용 해시: AI 쪽이 같은 해시의 본문을 이미 갖고 있으면 다시 보내지 않아도 된다
+ * - 메시지가 가리키는 섹션 추정: 소제목 언급 또는 "2번째 섹션", "첫 번째", "마지막" 같은 순서 표현
+ */
+final class AiPayloadCompactor {
+
+    // 세 자리까지만 — 긴 숫자("99999999999번")가 int 범위를 넘어 NumberFormatException을 내지 않도록 (더 긴 숫자는 무시)
+    private static final Pattern ORDINAL = Pattern.compile("(?<!\\d)(\\d{1,3})\\s*번");
+    private static final List<String> KOREAN_ORDINALS = List.of("첫", "두", "세", "네", "다섯", "여섯", "일곱", "여덟",
+            "아홉", "열");
+    private static final int HASH_HEX_LENGTH = 16; // 64비트 — 매거진 하나의 섹션 구분에는 충분
+
+    private AiPayloadCompactor() {
+    }
+
+    /**
+     * 섹션의 AI 입력 내용(소제목, 썸네일, 문단)에 대한 해시 — 내용이 같으면 항상 같은 값
+     */
+    static String contentHash(MagazineSection section) {
+        MessageDigest digest = sha256();
+        update(digest, section.getHeading());
+        update(digest, section.getThumbnailUrl());
+        for (Paragraph paragraph : section.getParagraphs()) {
+            update(digest, paragraph.getSubtitle());
+            update(digest, paragraph.getText());
+            update(digest, paragraph.getImageUrl());
+            update(digest, paragraph.getSourceUrl());
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, HASH_HEX_LENGTH);
+    }
+
+    /**
+     * 메시지가 가리키는 섹션 인덱스 (0부터, 등장 순서) — 특정할 수 없으면 빈 집합
+     */
+    static Set<Integer> targetedIndexes(String message, List<String> headings) {
+        Set<Integer> targets = new LinkedHashSet<>();
+        if (message == null || message.isBlank() || headings.isEmpty()) {
+            return targets;
+        }
+        String normalized = message.toLowerCase(Locale.ROOT);
+
+        for (int i = 0; i < headings.size(); i++) {
+            String heading = headings.get(i);
+            if (heading != null && heading.strip().length() >= 2
+                    && normalized.contains(heading.strip().toLowerCase(Locale.ROOT))) {
+                targets.add(i);
+            }
+        }
+
+        Matcher matcher = ORDINAL.matcher(message);
+        while (matcher.find()) {
+            addIndex(targets, Integer.parseInt(matcher.group(1)) - 1, headings.size());
+        }
+        for (int i = 0; i < KOREAN_ORDINALS.size(); i++) {
+            if (message.contains(KOREAN_ORDINALS.get(i) + " 번째") || message.contains(KOREAN_ORDINALS.get(i) + "번째")) {
+                addIndex(targets, i, headings.size());
+            }
+        }
+        if (message.contains("마지막")) {
+            targets.add(headings.size() - 1);
+        }
+        return targets;
+    }
+
+    private static void addIndex(Set<Integer> targets, int index, int size) {
+        if (index >= 0 && index < size) {
+            targets.add(index);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0); // 필드 경계 — ("ab", "c")와 ("a", "bc")를 구분
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
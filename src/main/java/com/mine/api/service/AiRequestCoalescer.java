@@ -0,0 +1,140 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 AI 작업 합치기 (single-flight)
+ * 더블탭/클라이언트 재시도로 같은 요청이 동시에 들어오면 작업은 하나만 실행하고 결과를 함께 받는다.
+ * AI 호출만 합치면 중복 요청마다 결과를 다시 저장하므로(문단/무드보드 2개), 서비스가 AI 호출부터 저장까지
+ * 작업 전체를 감싸고 뒤따른 요청은 먼저 실행된 작업이 저장한 결과(ID/URL)를 그대로 받는다.
+ * - 키: (action, 정규화된 요청 JSON, 사용자)의 SHA-256
+ * - 성공 결과는 완료 후 짧은 시간 동안 유지해 바로 뒤따라온 재시도도 같은 결과를 받는다.
+ * - 실패는 유지하지 않으므로 이후 재시도는 새로 실행된다.
+ */
+@Slf4j
+@Component
+public class AiRequestCoalescer {
+
+    // Map 키 순서와 무관하게 같은 요청은 같은 JSON이 되도록 정렬 (record 필드는 선언 순서로 고정)
+    private final ObjectWriter canonicalWriter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    @Value("${mine.ai-coalescing.result-window-seconds:10}")
+    private long resultWindowSeconds;
+
+    public AiRequestCoalescer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 같은 키의 요청이 진행 중(또는 방금 성공)이면 그 결과를 공유하고, 아니면 call을 실행
+     */
+    public <T> T execute(String action, String username, Object payload, Supplier<T> call) {
+        return await(executeAsync(action, username, payload, () -> CompletableFuture.completedFuture(call.get())));
+    }
+
+    /**
+     * execute의 논블로킹 버전 — call이 돌려준 Future를 같은 키의 뒤따른 요청과 공유한다.
+     * 블로킹 execute와 같은 키를 쓰므로 두 경로로 들어온 같은 요청도 합쳐진다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String action, String username, Object payload,
+            Supplier<CompletableFuture<T>> call) {
+        String key = key(action, username, payload);
+        Flight flight = new Flight();
+        Flight current = flights.compute(key, (k, existing) -> existing != null && !existing.isExpired()
+                ? existing
+                : flight);
+
+        if (current != flight) {
+            log.info("Coalesced duplicate AI request: action={}, username={}", action, username);
+            meterRegistry.counter("ai.coalesced", "action", action).increment();
+            // 공유 Future를 그대로 넘기면 한 호출자의 cancel/complete가 다른 호출자에게 번지므로 복사본을 반환
+            return current.result.thenApply(result -> (T) result);
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> {
+            if (error != null) {
+                flights.remove(key, flight);
+                flight.result.completeExceptionally(error);
+            } else {
+                flight.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(resultWindowSeconds);
+                flight.result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * 결과 유지 시간이 지난 항목 정리 (1분마다)
+     */
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictExpired() {
+        flights.values().removeIf(Flight::isExpired);
+    }
+
+    private String key(String action, String username, Object payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(action.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(username).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(canonicalWriter.writeValueAsBytes(payload));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build AI request key", e);
+        }
+    }
+
+    // 결과 대기 — CompletionException을 벗겨 원래 예외를 그대로 던진다
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    private static class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        private boolean isExpired() {
+            return result.isDone() && System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
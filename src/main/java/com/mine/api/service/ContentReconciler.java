@@ -0,0 +1,156 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.Magazine;
+import com.mine.api.domain.MagazineSection;
+import com.mine.api.domain.Paragraph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * AI 편집 결과를 기존 행에 맞춰 반영 — 비우고 다시 만드는 대신 바뀐 부분만 UPDATE/INSERT/DELETE 되도록 한다.
+ * - 문단: 내용이 같은 기존 문단을 먼저 찾아 그대로 두고(순서만 조정), 나머지는 같은 위치의 기존 문단을 수정해 재사용
+ * - 섹션: 위치별로 기존 섹션을 수정해 재사용 (섹션 ID와 열람 기록 유지), 남는 섹션만 삭제
+ * 값이 같으면 Hibernate dirty checking이 UPDATE를 생략하므로 쓰기량이 실제 변경량에 비례한다.
+ */
+final class ContentReconciler {
+
+    private ContentReconciler() {
+    }
+
+    /**
+     * 반영 결과 (로그/검증용)
+     */
+    record Changes(int inserted, int updated, int deleted) {
+
+        Changes plus(Changes other) {
+            return new Changes(inserted + other.inserted, updated + other.updated, deleted + other.deleted);
+        }
+
+        boolean isEmpty() {
+            return inserted == 0 && updated == 0 && deleted == 0;
+        }
+    }
+
+    /**
+     * 섹션의 문단을 desired(아직 저장되지 않은 문단 목록)와 같게 맞춘다.
+     */
+    static Changes reconcileParagraphs(MagazineSection section, List<Paragraph> desired) {
+        List<Paragraph> existing = new ArrayList<>(section.getParagraphs());
+        existing.sort(Comparator.comparing(Paragraph::getDisplayOrder, Comparator.nullsLast(Integer::compare)));
+
+        // 1) 내용이 완전히 같은 기존 문단 매칭 (문단 삽입/삭제로 위치가 밀린 경우 포함)
+        Map<ParagraphKey, List<Paragraph>> unmatchedByKey = new HashMap<>();
+        for (Paragraph paragraph : existing) {
+            unmatchedByKey.computeIfAbsent(ParagraphKey.of(paragraph), k -> new ArrayList<>()).add(paragraph);
+        }
+        Map<Paragraph, Paragraph> matched = new IdentityHashMap<>(); // desired → existing
+        for (Paragraph target : desired) {
+            List<Paragraph> candidates = unmatchedByKey.get(ParagraphKey.of(target));
+            if (candidates != null && !candidates.isEmpty()) {
+                matched.put(target, candidates.remove(0));
+            }
+        }
+        List<Paragraph> leftovers = new ArrayList<>();
+        for (Paragraph paragraph : existing) {
+            if (!matched.containsValue(paragraph)) {
+                leftovers.add(paragraph);
+            }
+        }
+
+        // 2) 나머지는 남은 기존 문단을 순서대로 수정해 재사용, 모자라면 추가
+        int inserted = 0;
+        int updated = 0;
+        int reuse = 0;
+        for (int i = 0; i < desired.size(); i++) {
+            Paragraph target = desired.get(i);
+            Paragraph row = matched.get(target);
+            if (row != null) {
+                if (!Objects.equals(row.getDisplayOrder(), i)) {
+                    row.setDisplayOrder(i);
+                    updated++;
+                }
+            } else if (reuse < leftovers.size()) {
+                row = leftovers.get(reuse++);
+                row.update(target.getSubtitle(), target.getText(), target.getImageUrl(), target.getSourceUrl());
+                row.setDisplayOrder(i);
+                updated++;
+            } else {
+                target.setDisplayOrder(i);
+                section.addParagraph(target);
+                inserted++;
+            }
+        }
+
+        // 3) 쓰이지 않은 기존 문단만 삭제 (orphanRemoval)
+        int deleted = 0;
+        for (int i = reuse; i < leftovers.size(); i++) {
+            section.removeParagraph(leftovers.get(i));
+            deleted++;
+        }
+
+        section.getParagraphs().sort(Comparator.comparing(Paragraph::getDisplayOrder,
+                Comparator.nullsLast(Integer::compare)));
+        return new Changes(inserted, updated, deleted);
+    }
+
+    /**
+     * 매거진의 섹션을 desired(아직 저장되지 않은 섹션 목록)와 같게 맞춘다.
+     *
+     * @param beforeRemove 섹션 삭제 직전 호출 (열람 기록 등 FK 정리)
+     */
+    static Changes reconcileSections(Magazine magazine, List<MagazineSection> desired,
+            Consumer<MagazineSection> beforeRemove) {
+        List<MagazineSection> existing = new ArrayList<>(magazine.getSections());
+        existing.sort(Comparator.comparing(MagazineSection::getDisplayOrder, Comparator.nullsLast(Integer::compare)));
+
+        Changes changes = new Changes(0, 0, 0);
+        for (int i = 0; i < desired.size(); i++) {
+            MagazineSection target = desired.get(i);
+            if (i < existing.size()) {
+                MagazineSection row = existing.get(i);
+                boolean changed = !Objects.equals(row.getHeading(), target.getHeading())
+                        || !Objects.equals(row.getThumbnailUrl(), target.getThumbnailUrl())
+                        || !Objects.equals(row.getSourceUrl(), target.getSourceUrl())
+                        || !Objects.equals(row.getDisplayOrder(), i);
+                row.setHeading(target.getHeading());
+                row.setThumbnailUrl(target.getThumbnailUrl());
+                row.setSourceUrl(target.getSourceUrl());
+                row.setDisplayOrder(i);
+                changes = changes.plus(reconcileParagraphs(row, new ArrayList<>(target.getParagraphs())));
+                if (changed) {
+                    changes = changes.plus(new Changes(0, 1, 0));
+                }
+            } else {
+                target.setDisplayOrder(i);
+                magazine.addSection(target);
+                changes = changes.plus(new Changes(1, 0, 0));
+            }
+        }
+
+        for (int i = desired.size(); i < existing.size(); i++) {
+            MagazineSection removed = existing.get(i);
+            beforeRemove.accept(removed);
+            magazine.getSections().remove(removed);
+            changes = changes.plus(new Changes(0, 0, 1));
+        }
+
+        magazine.getSections().sort(Comparator.comparing(MagazineSection::getDisplayOrder,
+                Comparator.nullsLast(Integer::compare)));
+        return changes;
+    }
+
+    private record ParagraphKey(String subtitle, String text, String imageUrl, String sourceUrl) {
+
+        static ParagraphKey of(Paragraph paragraph) {
+            return new ParagraphKey(paragraph.getSubtitle(), paragraph.getText(), paragraph.getImageUrl(),
+                    paragraph.getSourceUrl());
+        }
+    }
+}
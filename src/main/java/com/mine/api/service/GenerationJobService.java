@@ -0,0 +1,179 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.GenerationJob;
+import com.mine.api.repository.GenerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 영속 AI 생성 작업 큐 — 작업 등록과 상태 전이(선점/완료/실패/lease 연장)를 담당한다.
+ * 실제 실행은 GenerationJobWorker가 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenerationJobService {
+
+    private static final EnumSet<GenerationJob.Status> FINISHED = EnumSet.of(GenerationJob.Status.COMPLETED,
+            GenerationJob.Status.FAILED);
+
+    private final GenerationJobRepository generationJobRepository;
+
+    @Value("${mine.generation-jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${mine.generation-jobs.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${mine.generation-jobs.backoff-max-seconds:600}")
+    private long backoffMaxSeconds;
+
+    @Value("${mine.generation-jobs.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * 작업 등록 — 같은 dedupeKey의 작업이 대기/실행 중이면 새로 만들지 않는다.
+     * 여러 노드가 동시에 등록해도 active_dedupe_key 유니크 제약으로 하나만 저장되고 나머지는 중복으로 처리한다.
+     * 제약 위반이 호출 측 트랜잭션을 rollback-only로 만들지 않도록 저장은 항상 별도 트랜잭션에서 한다.
+     *
+     * @return 등록된 작업 ID (중복이면 empty)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Long> enqueue(GenerationJob.Type type, String username, String payload, String dedupeKey) {
+        if (dedupeKey != null && generationJobRepository.existsByActiveDedupeKey(dedupeKey)) {
+            log.info("Generation job already queued. Skipping: type={}, dedupeKey={}", type, dedupeKey);
+            return Optional.empty();
+        }
+
+        GenerationJob job;
+        try {
+            job = generationJobRepository.saveAndFlush(GenerationJob.builder()
+                    .type(type)
+                    .username(username)
+                    .payload(payload)
+                    .dedupeKey(dedupeKey)
+                    .maxAttempts(maxAttempts)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            if (dedupeKey == null) {
+                throw e;
+            }
+            // 확인과 저장 사이에 다른 노드가 먼저 등록
+            log.info("Generation job queued concurrently. Skipping: type={}, dedupeKey={}", type, dedupeKey);
+            return Optional.empty();
+        }
+        log.info("Generation job queued: id={}, type={}, username={}", job.getId(), type, username);
+        return Optional.of(job.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<GenerationJob> findClaimable(LocalDateTime now, int limit) {
+        return generationJobRepository.findClaimable(now, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long countRunning(LocalDateTime now) {
+        return generationJobRepository.countByStatusAndLeaseUntilAfter(GenerationJob.Status.RUNNING, now);
+    }
+
+    @Transactional(readOnly = true)
+    public long countRunning(String username, LocalDateTime now) {
+        return generationJobRepository.countByUsernameAndStatusAndLeaseUntilAfter(username,
+                GenerationJob.Status.RUNNING, now);
+    }
+
+    /**
+     * 작업 선점 — 성공하면 attempts가 증가한 최신 상태를 반환
+     */
+    @Transactional
+    public Optional<GenerationJob> claim(Long jobId, String owner, LocalDateTime leaseUntil) {
+        if (generationJobRepository.claim(jobId, owner, leaseUntil, LocalDateTime.now()) == 0) {
+            return Optional.empty(); // 다른 노드가 먼저 가져감
+        }
+        return generationJobRepository.findById(jobId);
+    }
+
+    @Transactional
+    public void renewLeases(Collection<Long> jobIds, String owner, LocalDateTime leaseUntil) {
+        if (!jobIds.isEmpty()) {
+            generationJobRepository.renewLeases(jobIds, owner, leaseUntil);
+        }
+    }
+
+    /**
+     * 작업 결과(생성된 매거진 ID 등) 기록 — 결과를 저장하는 트랜잭션 안에서 호출해 저장과 함께 커밋되도록 한다.
+     * 다른 시도가 이미 결과를 기록했으면 예외로 저장 트랜잭션을 롤백시킨다 (중복 생성 방지).
+     */
+    @Transactional
+    public void recordResult(Long jobId, String resultRef) {
+        if (generationJobRepository.recordResult(jobId, resultRef) == 0) {
+            throw new IllegalStateException("Generation job " + jobId + " already has a result");
+        }
+    }
+
+    @Transactional
+    public void complete(Long jobId, String resultRef) {
+        generationJobRepository.findById(jobId).ifPresent(job -> job.complete(resultRef));
+    }
+
+    /**
+     * 실패 기록 — 재시도 가능한 오류이고 남은 횟수가 있으면 지수 backoff(+jitter) 후 재실행
+     */
+    @Transactional
+    public void fail(Long jobId, String error, boolean retryable) {
+        generationJobRepository.findById(jobId).ifPresent(job -> {
+            long delay = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(job.getAttempts() - 1, 10));
+            delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+            job.fail(error, LocalDateTime.now().plusSeconds(delay), retryable);
+
+            if (job.getStatus() == GenerationJob.Status.FAILED) {
+                log.error("Generation job {} ({}) failed permanently after {} attempts: {}", jobId, job.getType(),
+                        job.getAttempts(), error);
+            } else {
+                log.warn("Generation job {} ({}) failed (attempt {}/{}). Retrying in {}s: {}", jobId, job.getType(),
+                        job.getAttempts(), job.getMaxAttempts(), delay, error);
+            }
+        });
+    }
+
+    /**
+     * 마지막 시도 중 lease가 만료된 작업 정리 (기본 1분마다)
+     * 실행 노드가 죽었거나 작업이 노드를 죽인 경우 — 더 회수하지 않고 실패로 종료해 활성 목록에서 뺀다.
+     */
+    @Scheduled(fixedDelayString = "${mine.generation-jobs.sweep-interval-ms:60000}")
+    @Transactional
+    public void failExhaustedLeases() {
+        int failed = generationJobRepository.failExhaustedLeases("Lease expired on the last attempt",
+                LocalDateTime.now());
+        if (failed > 0) {
+            log.error("Marked {} generation jobs failed after their last attempt's lease expired", failed);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 종료 작업 정리 (매일 새벽 4시)
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    @Transactional
+    public void cleanupFinishedJobs() {
+        int deleted = generationJobRepository.deleteFinishedBefore(FINISHED,
+                LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} finished generation jobs", deleted);
+        }
+    }
+}
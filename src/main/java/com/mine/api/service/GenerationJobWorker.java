@@ -0,0 +1,201 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.GenerationJob;
+import com.mine.api.dto.MagazineCreateRequest;
+import com.mine.api.dto.MagazineGenerationRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 영속 AI 생성 작업 워커
+ * 주기적으로 ai_jobs 테이블에서 실행 가능한 작업을 선점(lease)하여 고정 크기 풀에서 실행한다.
+ * - 전체 동시 실행 수 / 사용자별 동시 실행 수 상한으로 RunPod에 몰리는 요청을 평탄화
+ * - 실행 중인 작업은 lease를 주기적으로 연장하고, 노드가 죽어 lease가 만료되면 다른 노드가 회수
+ */
+@Slf4j
+@Component
+public class GenerationJobWorker {
+
+    private final GenerationJobService generationJobService;
+    private final MagazineService magazineService;
+    private final MoodboardService moodboardService;
+    private final WelcomeMagazinePoolService welcomeMagazinePoolService;
+
+    private final String nodeId;
+    private final int nodeConcurrency;
+    private final ExecutorService executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${mine.generation-jobs.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${mine.generation-jobs.per-user-concurrency:1}")
+    private int perUserConcurrency;
+
+    // RunPod 폴링 주기보다 충분히 길게 — 실행 중에는 lease-renew 주기마다 연장된다
+    @Value("${mine.generation-jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    public GenerationJobWorker(GenerationJobService generationJobService, MagazineService magazineService,
+            MoodboardService moodboardService, WelcomeMagazinePoolService welcomeMagazinePoolService,
+            @Value("${mine.generation-jobs.node-concurrency:2}") int nodeConcurrency) {
+        this.generationJobService = generationJobService;
+        this.magazineService = magazineService;
+        this.moodboardService = moodboardService;
+        this.welcomeMagazinePoolService = welcomeMagazinePoolService;
+        this.nodeConcurrency = nodeConcurrency;
+        this.nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        // inFlight로 노드당 실행 수를 이미 제한하므로 대기열은 같은 크기면 충분 — 넘치면 거절되고 lease 만료 후 회수
+        this.executor = WorkerPools.bounded("generation-job-", nodeConcurrency, nodeConcurrency);
+    }
+
+    /**
+     * 실행 가능한 작업 선점 후 실행 (기본 2초마다)
+     */
+    @Scheduled(fixedDelayString = "${mine.generation-jobs.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int localSlots = nodeConcurrency - inFlight.size();
+            if (localSlots <= 0) {
+                return;
+            }
+            int globalSlots = (int) (maxConcurrency - generationJobService.countRunning(now));
+            int slots = Math.min(localSlots, globalSlots);
+            if (slots <= 0) {
+                return;
+            }
+
+            // 사용자별 상한에 걸리는 후보를 건너뛸 수 있도록 여유 있게 조회
+            List<GenerationJob> candidates = generationJobService.findClaimable(now, slots * 4);
+            Map<String, Long> runningByUser = new HashMap<>();
+
+            for (GenerationJob candidate : candidates) {
+                if (slots <= 0) {
+                    break;
+                }
+                long running = runningByUser.computeIfAbsent(candidate.getUsername(),
+                        username -> generationJobService.countRunning(username, now));
+                if (running >= perUserConcurrency) {
+                    continue;
+                }
+
+                GenerationJob job = generationJobService
+                        .claim(candidate.getId(), nodeId, LocalDateTime.now().plusSeconds(leaseSeconds))
+                        .orElse(null);
+                if (job == null) {
+                    continue;
+                }
+
+                runningByUser.put(job.getUsername(), running + 1);
+                slots--;
+                inFlight.add(job.getId());
+                try {
+                    executor.execute(() -> run(job));
+                } catch (RejectedExecutionException e) {
+                    // 종료 중이거나 대기열이 가득 참 — lease 만료 후 다른 노드가 회수
+                    inFlight.remove(job.getId());
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Generation job dispatch failed", e);
+        }
+    }
+
+    /**
+     * 실행 중인 작업의 lease 연장 (lease 시간의 1/3 주기)
+     */
+    @Scheduled(fixedDelayString = "${mine.generation-jobs.lease-renew-interval-ms:100000}")
+    public void renewLeases() {
+        try {
+            generationJobService.renewLeases(Set.copyOf(inFlight), nodeId,
+                    LocalDateTime.now().plusSeconds(leaseSeconds));
+        } catch (Exception e) {
+            log.warn("Failed to renew generation job leases: {}", e.getMessage());
+        }
+    }
+
+    private void run(GenerationJob job) {
+        log.info("Generation job started: id={}, type={}, username={}, attempt={}/{}", job.getId(), job.getType(),
+                job.getUsername(), job.getAttempts(), job.getMaxAttempts());
+        try {
+            // 백그라운드 등급 — 편집/사용자 요청이 RunPod 용량을 먼저 쓰도록 양보
+            String resultRef = AiAdmissionController.callAs(AiAdmissionController.Priority.BACKGROUND,
+                    () -> execute(job));
+            generationJobService.complete(job.getId(), resultRef);
+            log.info("Generation job completed: id={}, type={}, result={}", job.getId(), job.getType(), resultRef);
+        } catch (Exception e) {
+            // 대상이 없거나 권한이 없는 경우는 재시도해도 같은 결과
+            boolean retryable = !(e instanceof IllegalArgumentException || e instanceof SecurityException);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            try {
+                generationJobService.fail(job.getId(), error, retryable);
+            } catch (Exception recordError) {
+                log.error("Failed to record generation job failure: id={}", job.getId(), recordError);
+            }
+        } finally {
+            inFlight.remove(job.getId());
+        }
+    }
+
+    private String execute(GenerationJob job) {
+        switch (job.getType()) {
+            case WELCOME_MAGAZINE: {
+                // 매거진 ID는 매거진 저장과 같은 트랜잭션에서 작업에 기록된다 —
+                // 저장 후 실패하거나 lease 만료로 재실행되면 선점 시 읽은 결과로 바로 완료 처리
+                if (job.getResultRef() != null) {
+                    return job.getResultRef();
+                }
+                MagazineGenerationRequest request = new MagazineGenerationRequest();
+                request.setTopic(job.getPayload());
+                request.setUserMood("vibrant");
+                return String.valueOf(magazineService.generateAndSaveMagazine(request, job.getUsername(),
+                        magazineId -> generationJobService.recordResult(job.getId(), String.valueOf(magazineId))));
+            }
+            case MAGAZINE_MOODBOARD:
+                // 커버를 덮어쓰는 작업이므로 재실행해도 안전
+                return moodboardService.createMoodboardForMagazine(Long.valueOf(job.getPayload()), job.getUsername());
+            case WELCOME_POOL_TEMPLATE: {
+                // 웰컴 매거진과 같이 템플릿 ID를 템플릿 저장과 같은 트랜잭션에서 기록 — 재실행 시 중복 추가 방지
+                if (job.getResultRef() != null) {
+                    return job.getResultRef();
+                }
+                String[] target = WelcomeMagazinePoolService.parsePayload(job.getPayload());
+                MagazineCreateRequest content = magazineService.generateWelcomeTemplate(target[0], target[1]);
+                return String.valueOf(welcomeMagazinePoolService.addTemplate(target[0], target[1], content,
+                        templateId -> generationJobService.recordResult(job.getId(), String.valueOf(templateId))));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown generation job type: " + job.getType());
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중이던 작업은 lease 만료 후 다른 노드(또는 재시작된 이 노드)가 다시 가져간다
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 저장소 (Redis)
+ * 모바일 클라이언트가 타임아웃 후 재시도해도 매거진/AI 작업이 한 번만 실행되도록
+ * 처리 중 표시와 최종 응답을 저장하고, 같은 키로 다시 들어온 요청에는 저장된 응답을 돌려준다.
+ * - 처리 중 표시는 서버가 죽어도 풀리도록 짧은 TTL
+ * - 성공 응답(2xx)만 저장하며, 실패하면 키를 지워 재시도가 새로 실행되게 한다.
+ * - 요청 본문의 SHA-256을 함께 저장해, 같은 키로 다른 본문을 보내면 MISMATCH (클라이언트 키 재사용 오류)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String IN_PROGRESS_PREFIX = IN_PROGRESS + ":"; // 처리 중 표시 값: IN_PROGRESS:<본문 해시>
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // AI 요청 최대 대기 시간(DeferredResult 20분)보다 길게 — 처리 중에 만료되면 재시도가 작업을 다시 실행한다
+    @Value("${mine.idempotency.in-progress-ttl-seconds:1500}")
+    private long inProgressTtlSeconds;
+
+    @Value("${mine.idempotency.response-ttl-hours:24}")
+    private long responseTtlHours;
+
+    public enum State {
+        ACQUIRED, IN_PROGRESS, COMPLETED, MISMATCH
+    }
+
+    /**
+     * 저장된 응답 — requestHash는 응답을 만든 요청 본문의 해시 (이전 형식으로 저장된 응답은 null)
+     */
+    public record StoredResponse(int status, String contentType, String body, String requestHash) {
+    }
+
+    public record Lookup(State state, StoredResponse response) {
+    }
+
+    /**
+     * 키 선점 시도 — 처음 보는 키면 ACQUIRED (호출자가 실행), 아니면 진행 중 여부 또는 저장된 응답
+     * 먼저 들어온 요청과 본문 해시가 다르면 MISMATCH
+     */
+    public Lookup begin(String key, String requestHash) {
+        String redisKey = KEY_PREFIX + key;
+        // 처리 중 표시가 막 만료된 경우를 위해 한 번 더 선점 시도
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, IN_PROGRESS_PREFIX + requestHash,
+                    Duration.ofSeconds(inProgressTtlSeconds));
+            if (Boolean.TRUE.equals(acquired)) {
+                return new Lookup(State.ACQUIRED, null);
+            }
+
+            String stored = redisTemplate.opsForValue().get(redisKey);
+            if (stored != null && stored.startsWith(IN_PROGRESS)) {
+                String inProgressHash = stored.startsWith(IN_PROGRESS_PREFIX)
+                        ? stored.substring(IN_PROGRESS_PREFIX.length())
+                        : null;
+                return new Lookup(matches(inProgressHash, requestHash) ? State.IN_PROGRESS : State.MISMATCH, null);
+            }
+            if (stored != null) {
+                try {
+                    StoredResponse response = objectMapper.readValue(stored, StoredResponse.class);
+                    return matches(response.requestHash(), requestHash)
+                            ? new Lookup(State.COMPLETED, response)
+                            : new Lookup(State.MISMATCH, null);
+                } catch (JsonProcessingException e) {
+                    log.warn("Discarding unreadable idempotent response for key {}: {}", key, e.getMessage());
+                    redisTemplate.delete(redisKey);
+                }
+            }
+        }
+        return new Lookup(State.IN_PROGRESS, null);
+    }
+
+    // 해시 없이 저장된 이전 형식은 비교하지 않음
+    private static boolean matches(String storedHash, String requestHash) {
+        return storedHash == null || storedHash.equals(requestHash);
+    }
+
+    /**
+     * 최종 응답 저장 — 이후 같은 키의 요청에 그대로 재생
+     */
+    public void complete(String key, StoredResponse response) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response),
+                    Duration.ofHours(responseTtlHours));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to store idempotent response for key {}: {}", key, e.getMessage());
+            release(key);
+        }
+    }
+
+    /**
+     * 실패한 요청의 처리 중 표시 해제 — 재시도가 새로 실행되도록
+     */
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+}
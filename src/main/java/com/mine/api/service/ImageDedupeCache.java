@@ -0,0 +1,200 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 이미지 재호스팅 중복 제거 (Redis)
+ * AI가 여러 매거진에 같은 스톡/출처 이미지를 반복해서 쓰므로 두 단계로 기존 S3 객체를 재사용한다.
+ * - 1단계: 원본 URL → S3 URL + 검증자(ETag/Last-Modified) — 신선한 동안은 다운로드 자체를 생략하고,
+ *   기간이 지나면 조건부 요청(If-None-Match/If-Modified-Since)으로 304면 본문 없이 재사용
+ * - 2단계: 내용 SHA-256 → S3 키 — URL이 달라도 바이트가 같으면 같은 객체로 연결
+ *   (한 파트 이하 이미지는 PUT 생략, 멀티파트 이미지는 업로드 후 중복 객체 삭제)
+ * Redis 장애는 캐시 미스로 취급한다 — 중복 업로드가 생길 뿐 매거진 저장은 막지 않는다.
+ */
+@Slf4j
+@Component
+public class ImageDedupeCache {
+
+    private static final String SOURCE_PREFIX = "image:source:";
+    private static final String URL_FIELD = "url";
+    private static final String ETAG_FIELD = "etag";
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
+    private static final String STORED_AT_FIELD = "storedAt";
+    private static final String CONTENT_PREFIX = "image:sha:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter sourceHits;
+    private final Counter revalidated;
+    private final Counter contentHits;
+    private final Counter misses;
+
+    @Value("${mine.image-dedupe.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mine.image-dedupe.source-fresh-days:7}")
+    private long sourceFreshDays;
+
+    @Value("${mine.image-dedupe.source-ttl-days:90}")
+    private long sourceTtlDays;
+
+    @Value("${mine.image-dedupe.content-ttl-days:365}")
+    private long contentTtlDays;
+
+    public ImageDedupeCache(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.sourceHits = meterRegistry.counter("image.dedupe.lookups", "result", "source-hit");
+        this.revalidated = meterRegistry.counter("image.dedupe.lookups", "result", "revalidated");
+        this.contentHits = meterRegistry.counter("image.dedupe.lookups", "result", "content-hit");
+        this.misses = meterRegistry.counter("image.dedupe.lookups", "result", "miss");
+    }
+
+    /**
+     * 원본 URL로 올린 적 있는 이미지
+     *
+     * @param fresh false면 원본이 바뀌었을 수 있으므로 etag/lastModified로 조건부 요청 후 재사용
+     */
+    public record SourceEntry(String s3Url, String etag, String lastModified, boolean fresh) {
+    }
+
+    /**
+     * 1단계 조회 — 이 URL을 이미 올린 적 있으면 그 S3 URL과 검증자 (없으면 null)
+     */
+    public SourceEntry findBySource(String sourceUrl) {
+        if (!enabled) {
+            return null;
+        }
+        Map<Object, Object> fields;
+        try {
+            fields = redisTemplate.opsForHash().entries(sourceKey(sourceUrl));
+        } catch (RuntimeException e) {
+            log.warn("Image dedupe lookup failed, treating as miss: {}", e.getMessage());
+            return null;
+        }
+        if (fields == null || fields.get(URL_FIELD) == null) {
+            return null;
+        }
+        long storedAt = fields.get(STORED_AT_FIELD) != null ? Long.parseLong((String) fields.get(STORED_AT_FIELD)) : 0;
+        boolean fresh = System.currentTimeMillis() - storedAt < Duration.ofDays(sourceFreshDays).toMillis();
+        if (fresh) {
+            sourceHits.increment();
+        }
+        return new SourceEntry((String) fields.get(URL_FIELD), (String) fields.get(ETAG_FIELD),
+                (String) fields.get(LAST_MODIFIED_FIELD), fresh);
+    }
+
+    /**
+     * 조건부 요청이 304로 끝난 경우 — 신선 기간을 다시 시작
+     */
+    public void revalidated(String sourceUrl, SourceEntry entry) {
+        revalidated.increment();
+        rememberSource(sourceUrl, entry.s3Url(), entry.etag(), entry.lastModified());
+    }
+
+    /**
+     * 2단계 조회 — 같은 내용의 S3 객체 키 (없으면 null, 호출자가 업로드 후 remember)
+     */
+    public String findByContent(String contentSha256) {
+        String key = get(CONTENT_PREFIX + contentSha256);
+        if (key != null) {
+            contentHits.increment();
+        } else {
+            misses.increment();
+        }
+        return key;
+    }
+
+    /**
+     * 업로드(또는 내용 적중) 결과 기록
+     *
+     * @param sourceUrl    원본 URL (사용자 파일 업로드처럼 원본 URL이 없으면 null — 내용 해시만 기록)
+     * @param etag         원본 응답의 ETag (없으면 null)
+     * @param lastModified 원본 응답의 Last-Modified (없으면 null)
+     */
+    public void remember(String sourceUrl, String contentSha256, String key, String s3Url, String etag,
+            String lastModified) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(CONTENT_PREFIX + contentSha256, key, Duration.ofDays(contentTtlDays));
+        } catch (RuntimeException e) {
+            log.warn("Failed to record image dedupe entry for {}: {}", sourceUrl, e.getMessage());
+        }
+        if (sourceUrl != null) {
+            rememberSource(sourceUrl, s3Url, etag, lastModified);
+        }
+    }
+
+    private void rememberSource(String sourceUrl, String s3Url, String etag, String lastModified) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, String> fields = new HashMap<>();
+        fields.put(URL_FIELD, s3Url);
+        fields.put(STORED_AT_FIELD, String.valueOf(System.currentTimeMillis()));
+        if (etag != null) {
+            fields.put(ETAG_FIELD, etag);
+        }
+        if (lastModified != null) {
+            fields.put(LAST_MODIFIED_FIELD, lastModified);
+        }
+        String redisKey = sourceKey(sourceUrl);
+        try {
+            // 이전 검증자가 남지 않도록 통째로 교체 — MULTI/EXEC로 묶어 조회 측이 빈 항목이나 TTL 없는 키를 보지 않게 함
+            redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.multi();
+                    ops.delete(redisKey);
+                    ops.opsForHash().putAll(redisKey, fields);
+                    ops.expire(redisKey, Duration.ofDays(sourceTtlDays));
+                    return ops.exec();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to record image dedupe entry for {}: {}", sourceUrl, e.getMessage());
+        }
+    }
+
+    private static String sourceKey(String sourceUrl) {
+        return SOURCE_PREFIX + sha256Hex(sourceUrl.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String get(String redisKey) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return redisTemplate.opsForValue().get(redisKey);
+        } catch (RuntimeException e) {
+            log.warn("Image dedupe lookup failed, treating as miss: {}", e.getMessage());
+            return null;
+        }
+    }
+}
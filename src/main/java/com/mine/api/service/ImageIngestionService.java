@@ -0,0 +1,288 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 이미지 → S3 재호스팅 전용 실행기
+ * 다운로드/업로드는 S3Service의 논블로킹 스트리밍 경로로 실행되므로 스레드 대신 동시 진행 수(max-concurrent)로 제한한다.
+ * - 자리가 없으면 대기열에서 기다리고, 대기열까지 가득 차면 업로드를 포기하고 null (원본 URL 유지)
+ *   — 이미지 없이 저장하는 게 저장 실패보다 낫다
+ * - 실패한 시도는 스레드를 재우지 않고 재시도 스케줄러로 다시 등록 (404 등 재시도해도 같은 실패는 바로 포기)
+ * - 기다리는 쪽의 마감 시간이 지나면 대기 중/재시도 예정 업로드를 취소
+ * 결과 Future는 예외로 끝나지 않으며, 최종 실패 시 null로 완료된다 (취소 제외).
+ */
+@Slf4j
+@Service
+public class ImageIngestionService {
+
+    private final int maxConcurrent;
+    private final BlockingQueue<Upload> pending;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 실패한 업로드의 재시도 지연용 (업로드 자체는 논블로킹이라 스레드를 쓰지 않음)
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final S3Service s3Service;
+
+    private final Timer uploadTime;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter rejected;
+    private final Counter cancelled;
+    private final Counter unavailable;
+
+    @Value("${mine.image-ingest.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${mine.image-ingest.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${mine.image-ingest.await-timeout-seconds:30}")
+    private long awaitTimeoutSeconds;
+
+    public ImageIngestionService(S3Service s3Service, MeterRegistry meterRegistry,
+            @Value("${mine.image-ingest.max-concurrent:32}") int maxConcurrent,
+            @Value("${mine.image-ingest.queue-capacity:200}") int queueCapacity) {
+        this.s3Service = s3Service;
+        this.maxConcurrent = maxConcurrent;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.retryScheduler = WorkerPools.scheduled("image-ingest-retry-", 1);
+
+        Gauge.builder("image.ingest.queued", pending, BlockingQueue::size)
+                .description("Image uploads waiting for an ingest slot")
+                .register(meterRegistry);
+        Gauge.builder("image.ingest.active", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        this.uploadTime = Timer.builder("image.ingest.time")
+                .description("Time from submission to final result of an image upload, including retries")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.succeeded = meterRegistry.counter("image.ingest.uploads", "result", "success");
+        this.failed = meterRegistry.counter("image.ingest.uploads", "result", "failure");
+        this.rejected = meterRegistry.counter("image.ingest.uploads", "result", "rejected");
+        this.cancelled = meterRegistry.counter("image.ingest.uploads", "result", "cancelled");
+        this.unavailable = meterRegistry.counter("image.ingest.uploads", "result", "unavailable");
+        this.retried = meterRegistry.counter("image.ingest.retries");
+    }
+
+    /**
+     * 이미지 업로드 등록 — 완료 시 S3 URL (이미지가 아니거나 최종 실패/거절 시 null)
+     * 반환된 Future를 cancel하면 대기 중인 업로드와 예약된 재시도가 취소된다.
+     */
+    public CompletableFuture<String> rehostAsync(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank() || s3Service.isOwnImage(imageUrl)) {
+            return s3Service.uploadImageFromUrlAsync(imageUrl); // 네트워크 I/O 없이 바로 완료
+        }
+        Upload upload = new Upload(imageUrl);
+        upload.result.whenComplete((url, error) -> {
+            if (upload.result.isCancelled()) {
+                cancelled.increment();
+                upload.cancelPending(pending);
+            }
+            uploadTime.record(System.nanoTime() - upload.startNanos, TimeUnit.NANOSECONDS);
+        });
+        submit(upload);
+        return upload.result;
+    }
+
+    /**
+     * 블로킹 업로드 — 마감 시간(await-timeout-seconds)을 넘기면 취소하고 null
+     */
+    public String rehost(String imageUrl) {
+        CompletableFuture<String> upload = rehostAsync(imageUrl);
+        awaitAll(List.of(upload));
+        return resultOrNull(upload);
+    }
+
+    /**
+     * 업로드들이 끝날 때까지 마감 시간 안에서 대기 — 마감이 지나면 남은 업로드를 모두 취소
+     */
+    public void awaitAll(Collection<? extends CompletableFuture<?>> uploads) {
+        awaitAll(uploads, Duration.ofSeconds(awaitTimeoutSeconds));
+    }
+
+    public void awaitAll(Collection<? extends CompletableFuture<?>> uploads, Duration timeout) {
+        if (uploads.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            long pending = uploads.stream().filter(upload -> !upload.isDone()).count();
+            log.warn("{} image uploads did not finish within {}s, cancelling them", pending, timeout.toSeconds());
+            uploads.forEach(upload -> upload.cancel(true));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            uploads.forEach(upload -> upload.cancel(true));
+        } catch (ExecutionException | CancellationException e) {
+            log.warn("Image upload group finished with an error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 정상 완료된 업로드의 결과 (미완료/취소/실패면 null)
+     */
+    public static String resultOrNull(CompletableFuture<String> upload) {
+        if (!upload.isDone() || upload.isCompletedExceptionally()) {
+            return null;
+        }
+        return upload.join();
+    }
+
+    private void submit(Upload upload) {
+        if (upload.result.isDone()) {
+            return;
+        }
+        if (tryAcquire()) {
+            start(upload);
+            return;
+        }
+        if (!pending.offer(upload)) {
+            rejected.increment();
+            log.warn("Image ingest queue is full (queued={}), keeping original URL: {}", pending.size(),
+                    upload.imageUrl);
+            upload.result.complete(null);
+            return;
+        }
+        drain(); // 대기열에 넣는 사이 자리가 났을 수 있음
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && tryAcquire()) {
+            Upload next = pending.poll();
+            if (next == null || next.result.isDone()) {
+                inFlight.decrementAndGet(); // 다른 스레드가 먼저 꺼냈거나 대기 중 취소됨
+                continue;
+            }
+            start(next);
+        }
+    }
+
+    // 자리를 확보한 상태에서 호출 — 완료 콜백(S3/네트워크 스레드)에서 자리를 반납한다
+    private void start(Upload upload) {
+        CompletableFuture<String> running;
+        try {
+            running = s3Service.uploadImageFromUrlAsync(upload.imageUrl);
+        } catch (RuntimeException e) {
+            running = CompletableFuture.failedFuture(e);
+        }
+        upload.running = running;
+        if (upload.result.isDone()) {
+            running.cancel(true); // 시작하는 사이 취소됨
+        }
+        running.whenComplete((url, error) -> {
+            release();
+            if (error == null) {
+                if (upload.result.complete(url)) {
+                    succeeded.increment();
+                }
+            } else {
+                onFailure(upload, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+    }
+
+    private void onFailure(Upload upload, Throwable error) {
+        if (upload.result.isDone()) {
+            return;
+        }
+        if (error instanceof S3Service.ImageFetchException fetchError && !fetchError.isRetryable()) {
+            unavailable.increment();
+            log.warn("Image not available, keeping original URL: {}", fetchError.getMessage());
+            upload.result.complete(null);
+            return;
+        }
+        if (upload.attempts < maxRetries) {
+            upload.attempts++;
+            retried.increment();
+            log.warn("Failed to upload image from URL: {} (Attempt {}/{}). Retrying...", upload.imageUrl,
+                    upload.attempts, maxRetries + 1);
+            try {
+                upload.retry = retryScheduler.schedule(() -> submit(upload), retryDelayMs * upload.attempts,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejectedRetry) {
+                upload.result.complete(null); // 종료 중
+            }
+        } else {
+            failed.increment();
+            log.error("Failed to upload image from URL after {} attempts: {}", maxRetries + 1, upload.imageUrl,
+                    error);
+            upload.result.complete(null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        Upload queued;
+        while ((queued = pending.poll()) != null) {
+            queued.result.complete(null);
+        }
+    }
+
+    private static class Upload {
+        private final String imageUrl;
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        // 한 업로드당 동시에 하나의 시도만 진행되므로 별도 동기화 불필요
+        private volatile int attempts;
+        private volatile Future<?> running;
+        private volatile Future<?> retry;
+
+        private Upload(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+
+        private void cancelPending(BlockingQueue<Upload> pending) {
+            pending.remove(this);
+            Future<?> scheduledRetry = retry;
+            if (scheduledRetry != null) {
+                scheduledRetry.cancel(false);
+            }
+            Future<?> current = running;
+            if (current != null) {
+                current.cancel(true); // 진행 중이면 다운로드를 끊고 올라간 파트 정리
+            }
+        }
+    }
+}
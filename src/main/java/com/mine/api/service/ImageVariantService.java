@@ -0,0 +1,199 @@
+package com.mine.api.service;
+
+import com.mine.api.dto.ImageVariants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 크기별 변형(thumb/medium/full JPEG) 생성
+ * 피드/목록은 작은 타일에 원본(수 MB PNG 포함)을 그대로 받아가므로, 수집 시 고정 너비 변형을 만들어 함께 저장한다.
+ * 디코딩/리사이즈는 CPU 작업이라 네트워크 스레드나 공용 풀이 아닌 작은 전용 풀에서 실행하며,
+ * 풀이 가득 찼거나 디코딩할 수 없는 형식(WebP 등)이면 변형 없이 원본만 저장한다 (결과 null).
+ * JDK ImageIO에는 WebP 인코더가 없으므로 변형은 JPEG로 만든다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private final ThreadPoolExecutor executor;
+    private final Timer renderTime;
+    private final Counter rendered;
+    private final Counter skipped;
+    private final Counter rejected;
+
+    @Value("${mine.image-variants.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mine.image-variants.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    // 디코딩 전 해상도 상한 — 16MP(예: 4928x3264)면 일반 카메라/AI 생성 이미지는 모두 포함
+    @Value("${mine.image-variants.max-pixels:16000000}")
+    private long maxPixels;
+
+    public ImageVariantService(MeterRegistry meterRegistry,
+            @Value("${mine.image-variants.threads:2}") int threads,
+            @Value("${mine.image-variants.queue-capacity:50}") int queueCapacity) {
+        this.executor = WorkerPools.bounded("image-variant-", threads, queueCapacity);
+        this.renderTime = Timer.builder("image.variants.time")
+                .description("Time to decode an image and encode all of its variants")
+                .register(meterRegistry);
+        this.rendered = meterRegistry.counter("image.variants", "result", "rendered");
+        this.skipped = meterRegistry.counter("image.variants", "result", "skipped");
+        this.rejected = meterRegistry.counter("image.variants", "result", "rejected");
+    }
+
+    /**
+     * 변형 생성 등록 — 완료 시 크기별 JPEG 바이트 (생성하지 못하면 null, 예외로 끝나지 않음)
+     */
+    public CompletableFuture<Map<ImageVariants.Size, byte[]>> renderAsync(byte[] original) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> render(original), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Image variant queue is full (queued={}), storing original only", executor.getQueue().size());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * 변형 생성 (호출 스레드에서 실행)
+     */
+    public Map<ImageVariants.Size, byte[]> render(byte[] original) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage source = decode(original);
+            if (source == null) {
+                skipped.increment();
+                return null;
+            }
+            Map<ImageVariants.Size, byte[]> variants = new EnumMap<>(ImageVariants.Size.class);
+            BufferedImage current = source;
+            // 큰 크기부터 만들어 다음 변형의 입력으로 재사용 (단계적 축소로 화질 유지)
+            for (ImageVariants.Size size : new ImageVariants.Size[] { ImageVariants.Size.FULL,
+                    ImageVariants.Size.MEDIUM, ImageVariants.Size.THUMB }) {
+                current = resize(current, Math.min(size.width(), source.getWidth()));
+                variants.put(size, encodeJpeg(current));
+            }
+            rendered.increment();
+            return variants;
+        } catch (IOException | RuntimeException e) {
+            skipped.increment();
+            log.warn("Failed to render image variants: {}", e.getMessage());
+            return null;
+        } finally {
+            renderTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 크기부터 확인해 압축 폭탄(작은 파일, 거대한 해상도)은 디코딩하지 않고,
+    // 가장 큰 변형보다 2배 이상 넓으면 읽으면서 픽셀을 건너뛰어(subsampling) 전체 해상도 버퍼를 만들지 않음
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null; // WebP 등 JDK가 읽지 못하는 형식
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > maxPixels) {
+                    log.warn("Skipping image variants: {}x{} exceeds {} pixels", reader.getWidth(0),
+                            reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = reader.getWidth(0) / ImageVariants.Size.FULL.width();
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param); // 애니메이션 GIF는 첫 프레임
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 마지막에 목표 크기로
+        do {
+            width = Math.max(targetWidth, width / 2);
+            if (current == source && width == source.getWidth() && source.getType() == BufferedImage.TYPE_INT_RGB) {
+                return source;
+            }
+            current = draw(current, width);
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE); // JPEG는 투명도가 없으므로 흰 배경에 합성
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT); // 느린 망에서 흐릿한 전체 이미지부터 표시
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
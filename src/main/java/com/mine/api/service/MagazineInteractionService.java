@@ -4,18 +4,28 @@ import com.mine.api.domain.Magazine;
 import com.mine.api.domain.MagazineInteraction;
 import com.mine.api.domain.MagazineSection;
 import com.mine.api.domain.Paragraph;
+import com.mine.api.dto.AiDto;
 import com.mine.api.dto.InteractionDto;
 import com.mine.api.repository.MagazineInteractionRepository;
 import com.mine.api.repository.MagazineRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,89 +35,204 @@ public class MagazineInteractionService {
 
     private final MagazineRepository magazineRepository;
     private final MagazineInteractionRepository interactionRepository;
-    private final RunPodService runPodService;
-    private final S3Service s3Service;
+    private final AiClient aiClient;
+    private final AiRequestCoalescer requestCoalescer;
+    private final ImageIngestionService imageIngestionService;
     private final SectionService sectionService;
-
-    @Value("${python.api.url}")
-    private String pythonApiUrl;
-
-    @Transactional
+    private final TransactionTemplate transactionTemplate;
+
+    // AI가 본문을 추가로 요청할 때 다시 보내는 최대 횟수 (넘으면 전체 본문 전송)
+    private static final int MAX_EXPAND_ROUNDS = 2;
+
+    // edit_magazine에 섹션 전체 본문 대신 요약(내용 해시) + 대상 섹션 본문만 전송
+    @Value("${mine.magazine-interaction.compact-payloads:false}")
+    private boolean compactPayloads;
+
+    // 톤 변경 요청 하나가 동시에 보내는 edit_section 호출 수
+    @Value("${mine.magazine-interaction.tone-fanout-concurrency:4}")
+    private int toneFanOutConcurrency;
+
+    /**
+     * 매거진 AI 편집 — AI 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 단계를 나눈다.
+     * 1) 짧은 트랜잭션에서 스냅샷(요청 데이터 + version) 조회
+     * 2) 트랜잭션 밖에서 AI 호출 및 이미지 S3 재업로드
+     * 3) 짧은 쓰기 트랜잭션에서 version 확인 후 반영 — 그 사이 다른 AI 편집이 반영되었으면 409
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InteractionDto.InteractResponse interact(Long magazineId, String username,
             InteractionDto.InteractRequest request) {
-        // 1. 매거진 조회 및 권한 확인
-        Magazine magazine = magazineRepository.findById(magazineId)
-                .orElseThrow(() -> new IllegalArgumentException("Magazine not found"));
+        return await(interactAsync(magazineId, username, request));
+    }
 
-        if (!magazine.getUser().getUsername().equals(username)) {
-            throw new IllegalArgumentException("You don't have permission to modify this magazine");
+    /**
+     * interact의 논블로킹 버전 — AI 응답을 기다리는 동안 스레드를 잡지 않고,
+     * 재업로드와 반영 트랜잭션은 AI 결과 전달 풀에서 실행한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<InteractionDto.InteractResponse> interactAsync(Long magazineId, String username,
+            InteractionDto.InteractRequest request) {
+        // 같은 편집 요청이 겹치면 AI 호출부터 반영까지 한 번만 실행하고 결과를 공유
+        return requestCoalescer.executeAsync("interact_magazine", username, List.of(magazineId, request),
+                () -> editMagazineWithAi(magazineId, username, request));
+    }
+
+    private CompletableFuture<InteractionDto.InteractResponse> editMagazineWithAi(Long magazineId, String username,
+            InteractionDto.InteractRequest request) {
+        if (InteractionDto.MODE_CHANGE_TONE.equals(request.getMode())) {
+            return changeTonePerSection(magazineId, username, request);
         }
 
-        // 2. Python AI 서버로 요청 (edit_magazine action)
-        Map<String, Object> data = new HashMap<>();
-        data.put("action", "edit_magazine");
-        data.put("magazine_id", magazineId);
-        data.put("magazine_data", convertMagazineToMap(magazine));
-        data.put("message", request.getMessage());
+        // 1. 매거진 조회 및 권한 확인 + 스냅샷
+        EditSnapshot snapshot = transactionTemplate.execute(status -> {
+            Magazine magazine = loadOwned(magazineId, username);
+            return new EditSnapshot(magazine.getId(), magazine.getTitle(), magazine.getCoverImageUrl(),
+                    magazine.getSections().stream()
+                            .map(section -> new SnapshotSection(section.getId(), toSectionPayload(section),
+                                    AiPayloadCompactor.contentHash(section), section.getParagraphs().size()))
+                            .collect(Collectors.toList()),
+                    magazine.getVersion());
+        });
 
+        // 2. Python AI 서버로 요청 (edit_magazine action)
         log.info("Sending edit_magazine request: magazineId={}, message={}", magazineId,
                 request.getMessage());
 
-        Map<String, Object> responseBody;
-        Map<String, Object> pythonResponse;
+        return requestEdit(username, snapshot, request.getMessage()).thenApply(pythonResponse -> {
+            log.info("Python response received: {}", pythonResponse);
 
-        // 로컬과 RunPod의 응답 구조가 다름 — 로컬은 그대로, RunPod은 output 래핑 벗겨야 함
-        if (pythonApiUrl.contains("localhost") || pythonApiUrl.contains("127.0.0.1")) {
-            responseBody = runPodService.sendSyncRequest(pythonApiUrl, data);
-            pythonResponse = responseBody;
-        } else {
-            Map<String, Object> inputData = new HashMap<>();
-            inputData.put("action", "edit_magazine");
-            inputData.put("data", data);
-            responseBody = runPodService.sendRequest(pythonApiUrl, inputData);
+            // Python 응답 형식: {intent, success, updated_magazine: {heading, content, ...}}
+            String actionType = pythonResponse.intent();
 
-            if (responseBody == null || !responseBody.containsKey("output")) {
-                throw new RuntimeException("Failed to get response from AI server: no output field");
+            // updated_magazine에서 메시지 추출
+            AiDto.UpdatedMagazine updatedMagazine = pythonResponse.updatedMagazine();
+            String aiMessage = "매거진이 업데이트되었습니다.";
+            if (updatedMagazine != null && updatedMagazine.heading() != null) {
+                aiMessage = updatedMagazine.heading();
             }
-            @SuppressWarnings("unchecked")
-            Map<String, Object> outputTemp = (Map<String, Object>) responseBody.get("output");
-            pythonResponse = outputTemp;
-        }
 
-        if (pythonResponse == null) {
-            throw new RuntimeException("Failed to get response from AI server: no output");
+            // 3. 이미지 S3 재업로드 (외부 다운로드가 포함되므로 트랜잭션 밖에서)
+            EditPlan plan = planEdit(pythonResponse);
+            final String finalAiMessage = aiMessage;
+
+            // 4. 짧은 쓰기 트랜잭션에서 반영
+            return transactionTemplate.execute(status -> {
+                Magazine magazine = loadForApply(magazineId, snapshot.version());
+
+                // 응답에 따라 매거진 업데이트
+                applyEditPlan(magazine, plan);
+
+                return completeInteraction(magazine, request.getMessage(), finalAiMessage, actionType);
+            });
+        });
+    }
+
+    /**
+     * 전체 톤 변경 (섹션별 팬아웃) — edit_magazine 한 번에 모든 섹션을 받는 대신 섹션마다 edit_section을 병렬 호출
+     * 동시 호출 수를 제한하고, 도착한 섹션부터 이미지 재업로드 후 짧은 쓰기 트랜잭션으로 바로 반영한다.
+     * 전체 소요 시간이 섹션 처리 시간의 합이 아니라 가장 느린 섹션 수준이 된다.
+     * 호출은 논블로킹이므로 동시 호출 수만큼 차선(lane)을 두고, 차선마다 끝나는 대로 다음 섹션을 보낸다.
+     * 일부 섹션이 실패하면 해당 섹션은 기존 내용을 유지하고, 반영된 섹션이 하나도 없으면 (첫 오류로) 실패한다.
+     */
+    private CompletableFuture<InteractionDto.InteractResponse> changeTonePerSection(Long magazineId,
+            String username, InteractionDto.InteractRequest request) {
+        ToneSnapshot snapshot = transactionTemplate.execute(status -> {
+            Magazine magazine = loadOwned(magazineId, username);
+            List<SectionEdit> sections = magazine.getSections().stream()
+                    .map(section -> new SectionEdit(section.getId(), toSectionPayload(section), null))
+                    .collect(Collectors.toList());
+            return new ToneSnapshot(sections, magazine.getVersion());
+        });
+
+        List<SectionEdit> sections = snapshot.sections();
+        log.info("Fanning out change_tone to {} sections: magazineId={}, message={}", sections.size(), magazineId,
+                request.getMessage());
+
+        ToneFanOut fanOut = new ToneFanOut(magazineId, username, request.getMessage(), sections, snapshot.version());
+        int lanes = Math.min(Math.max(1, toneFanOutConcurrency), sections.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            running[i] = nextSectionTone(fanOut);
         }
 
-        log.info("Python response received: {}", pythonResponse);
+        return CompletableFuture.allOf(running)
+                .thenCompose(done -> fanOut.applied())
+                .thenApply(version -> {
+                    // 반영된 섹션이 없으면 실패 — 오류 없이 빈 결과만 온 경우에도 성공/이력으로 남기지 않음
+                    if (fanOut.appliedCount.get() == 0) {
+                        throw fanOut.firstFailure() != null ? fanOut.firstFailure()
+                                : new IllegalStateException("AI returned no tone changes for any section");
+                    }
+
+                    String aiMessage = "전체 톤이 변경되었습니다. (" + fanOut.appliedCount.get() + "/"
+                            + sections.size() + " 섹션)";
+                    return transactionTemplate.execute(status -> completeInteraction(
+                            loadForApply(magazineId, version), request.getMessage(), aiMessage,
+                            InteractionDto.MODE_CHANGE_TONE));
+                });
+    }
 
-        // Python 응답 형식: {intent, success, updated_magazine: {heading, content, ...}}
-        String actionType = (String) pythonResponse.get("intent"); // "intent" 필드 사용
+    // 차선 하나 — 남은 섹션을 차례로 가져가 톤을 바꾸고, 결과는 반영 체인에 도착 순서대로 이어 붙인다
+    private CompletableFuture<Void> nextSectionTone(ToneFanOut fanOut) {
+        int index = fanOut.next.getAndIncrement();
+        if (index >= fanOut.sections.size() || fanOut.cancelled.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return editSectionTone(fanOut.magazineId, fanOut.username, fanOut.message, fanOut.sections.get(index))
+                .thenCompose(result -> {
+                    fanOut.accept(result);
+                    return nextSectionTone(fanOut);
+                });
+    }
 
-        // updated_magazine에서 메시지 추출
-        @SuppressWarnings("unchecked")
-        Map<String, Object> updatedMagazine = (Map<String, Object>) pythonResponse.get("updated_magazine");
-        String aiMessage = "매거진이 업데이트되었습니다.";
-        if (updatedMagazine != null && updatedMagazine.get("heading") != null) {
-            aiMessage = (String) updatedMagazine.get("heading");
+    // 섹션 하나의 톤 변경 + 이미지 재업로드 (AI 결과 전달 풀에서 실행) — 실패는 결과로 돌려준다
+    private CompletableFuture<SectionEdit> editSectionTone(Long magazineId, String username, String message,
+            SectionEdit section) {
+        CompletableFuture<AiDto.EditSectionResponse> call;
+        try {
+            call = aiClient.editSectionAsync(username,
+                    new AiDto.EditSectionRequest(magazineId, section.sectionId(), section.data(), message));
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
         }
+        return call.thenApply(output -> {
+            AiDto.SectionPayload updated = output.updatedSection() != null
+                    ? rehostSection(output.updatedSection())
+                    : null;
+            return new SectionEdit(section.sectionId(), updated, null);
+        }).exceptionally(error -> new SectionEdit(section.sectionId(), null, asRuntime(error)));
+    }
 
-        // 3. 응답에 따라 매거진 업데이트 (updated_magazine 전달)
-        handlePythonResponse(magazine, pythonResponse);
+    /**
+     * 도착한 섹션 하나를 반영 — 커밋 시 올라간 version을 다음 반영의 기준으로 사용
+     */
+    private Long applySectionTone(Long magazineId, Long expectedVersion, SectionEdit result) {
+        Magazine applied = transactionTemplate.execute(status -> {
+            Magazine magazine = loadForApply(magazineId, expectedVersion);
+            magazine.getSections().stream()
+                    .filter(section -> result.sectionId().equals(section.getId()))
+                    .findFirst()
+                    .ifPresent(section -> updateSection(section, result.data()));
+            return magazineRepository.save(magazine);
+        });
+        return applied.getVersion();
+    }
 
-        // 4. 상호작용 이력 저장
+    // 상호작용 이력 저장 + 응답 생성 (반영 트랜잭션 안에서 호출)
+    private InteractionDto.InteractResponse completeInteraction(Magazine magazine, String userMessage,
+            String aiMessage, String actionType) {
         MagazineInteraction interaction = MagazineInteraction.builder()
                 .magazine(magazine)
-                .userMessage(request.getMessage())
+                .userMessage(userMessage)
                 .aiResponse(aiMessage != null ? aiMessage : "업데이트 완료")
                 .actionType(actionType != null ? actionType : "unknown")
                 .build();
         interactionRepository.save(interaction);
 
-        // 5. 응답 반환
+        // 응답 반환
         InteractionDto.InteractResponse response = new InteractionDto.InteractResponse();
         response.setMessage(aiMessage != null ? aiMessage : "매거진이 업데이트되었습니다.");
         response.setActionType(actionType);
-        response.setMagazineId(magazineId);
+        response.setMagazineId(magazine.getId());
 
         // [UX 최적화] 클라이언트가 바로 사용할 수 있도록 섹션 정렬
         magazine.getSections().sort((s1, s2) -> {
@@ -120,6 +245,30 @@ public class MagazineInteractionService {
         return response;
     }
 
+    private Magazine loadOwned(Long magazineId, String username) {
+        Magazine magazine = magazineRepository.findById(magazineId)
+                .orElseThrow(() -> new IllegalArgumentException("Magazine not found"));
+
+        if (!magazine.getUser().getUsername().equals(username)) {
+            throw new IllegalArgumentException("You don't have permission to modify this magazine");
+        }
+        return magazine;
+    }
+
+    /**
+     * 반영 단계 조회 — 스냅샷 이후 다른 편집이 먼저 반영되었으면 충돌
+     */
+    private Magazine loadForApply(Long magazineId, Long snapshotVersion) {
+        Magazine magazine = magazineRepository.findForUpdateById(magazineId)
+                .orElseThrow(() -> new IllegalArgumentException("Magazine not found"));
+        if (!Objects.equals(magazine.getVersion(), snapshotVersion)) {
+            log.warn("Magazine {} changed during AI edit (version {} -> {})", magazineId, snapshotVersion,
+                    magazine.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Magazine.class, magazineId);
+        }
+        return magazine;
+    }
+
     public List<InteractionDto.InteractionHistory> getInteractionHistory(Long magazineId, String username) {
         Magazine magazine = magazineRepository.findById(magazineId)
                 .orElseThrow(() -> new IllegalArgumentException("Magazine not found"));
@@ -133,94 +282,134 @@ public class MagazineInteractionService {
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Object> convertMagazineToMap(Magazine magazine) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", magazine.getId());
-        map.put("title", magazine.getTitle());
-        map.put("cover_image_url", magazine.getCoverImageUrl());
-        map.put("sections", convertSectionsToMap(magazine.getSections()));
-        return map;
-    }
-
-    private List<Map<String, Object>> convertSectionsToMap(List<MagazineSection> sections) {
-        return sections.stream()
-                .map(section -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("heading", section.getHeading());
-                    map.put("thumbnail_url", section.getThumbnailUrl());
-
-                    // paragraphs 변환
-                    List<Map<String, Object>> paragraphsList = section.getParagraphs().stream()
-                            .map(p -> {
-                                Map<String, Object> pMap = new HashMap<>();
-                                pMap.put("subtitle", p.getSubtitle());
-                                pMap.put("text", p.getText());
-                                pMap.put("image_url", p.getImageUrl());
-                                pMap.put("source_url", p.getSourceUrl());
-                                return pMap;
-                            })
-                            .collect(Collectors.toList());
-                    map.put("paragraphs", paragraphsList);
-
-                    return map;
-                })
+    /**
+     * edit_magazine 요청 — 압축 모드에서는 메시지가 가리키는 섹션만 본문을 보내고 나머지는 내용 해시로 보낸다.
+     * AI가 need_sections로 본문을 요청하면 해당 섹션을 더해 다시 보내고, 그래도 부족하면 전체 본문을 보낸다.
+     */
+    private CompletableFuture<AiDto.EditMagazineResponse> requestEdit(String username, EditSnapshot snapshot,
+            String message) {
+        if (!compactPayloads) {
+            return requestFullEdit(username, snapshot, message);
+        }
+        List<String> headings = snapshot.sections().stream()
+                .map(section -> section.data().heading())
                 .collect(Collectors.toList());
+        Set<Long> expanded = new LinkedHashSet<>();
+        for (int index : AiPayloadCompactor.targetedIndexes(message, headings)) {
+            expanded.add(snapshot.sections().get(index).id());
+        }
+        return requestCompactEdit(username, snapshot, message, expanded, 0);
+    }
+
+    private CompletableFuture<AiDto.EditMagazineResponse> requestCompactEdit(String username, EditSnapshot snapshot,
+            String message, Set<Long> expanded, int round) {
+        if (round >= MAX_EXPAND_ROUNDS) {
+            return requestFullEdit(username, snapshot, message);
+        }
+        return aiClient.editMagazineAsync(username, compactRequest(snapshot, message, expanded))
+                .thenCompose(response -> {
+                    List<Long> needSections = response.needSections();
+                    if (needSections == null || needSections.isEmpty()) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    log.info("AI requested full text of sections {} (magazineId={})", needSections, snapshot.id());
+                    if (!expanded.addAll(needSections)) {
+                        // 이미 보낸 섹션만 다시 요청 — 전체 본문으로 전환
+                        return requestFullEdit(username, snapshot, message);
+                    }
+                    return requestCompactEdit(username, snapshot, message, expanded, round + 1);
+                });
     }
 
-    @Transactional
-    protected void handlePythonResponse(Magazine magazine, Map<String, Object> response) {
-        String action = (String) response.get("intent");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> updatedMagazine = (Map<String, Object>) response.get("updated_magazine");
+    private CompletableFuture<AiDto.EditMagazineResponse> requestFullEdit(String username, EditSnapshot snapshot,
+            String message) {
+        List<AiDto.SectionPayload> sections = snapshot.sections().stream()
+                .map(SnapshotSection::data)
+                .collect(Collectors.toList());
+        return aiClient.editMagazineAsync(username, new AiDto.EditMagazineRequest(snapshot.id(),
+                new AiDto.MagazinePayload(snapshot.id(), snapshot.title(), snapshot.coverImageUrl(), sections),
+                message, null));
+    }
 
-        Integer sectionIndex = null;
-        if (response.containsKey("section_index")) {
-            Object idxObj = response.get("section_index");
-            if (idxObj instanceof Number) {
-                sectionIndex = ((Number) idxObj).intValue();
+    private AiDto.EditMagazineRequest compactRequest(EditSnapshot snapshot, String message, Set<Long> expanded) {
+        List<AiDto.SectionOutline> outline = new java.util.ArrayList<>();
+        List<AiDto.SectionPayload> sections = new java.util.ArrayList<>();
+        for (int i = 0; i < snapshot.sections().size(); i++) {
+            SnapshotSection section = snapshot.sections().get(i);
+            outline.add(new AiDto.SectionOutline(section.id(), i, section.data().heading(), section.contentHash(),
+                    section.paragraphCount()));
+            if (expanded.contains(section.id())) {
+                sections.add(section.data().withId(section.id()));
             }
         }
+        return new AiDto.EditMagazineRequest(snapshot.id(),
+                new AiDto.MagazinePayload(snapshot.id(), snapshot.title(), snapshot.coverImageUrl(), sections),
+                message, outline);
+    }
 
-        // Python V2 응답: updatedMagazine이 래퍼 객체이고 실제 데이터는 new_sections 키에 담겨 있다
-        Map<String, Object> sectionData = updatedMagazine;
-        List<Map<String, Object>> newSectionsList = null;
-        List<Number> deletedSectionIds = null;
+    private AiDto.SectionPayload toSectionPayload(MagazineSection section) {
+        return new AiDto.SectionPayload(null, section.getHeading(), section.getThumbnailUrl(),
+                null, null, null, null,
+                section.getParagraphs().stream()
+                        .map(p -> new AiDto.ParagraphPayload(p.getSubtitle(), p.getText(),
+                                p.getImageUrl(), p.getSourceUrl()))
+                        .collect(Collectors.toList()));
+    }
 
-        if (updatedMagazine != null) {
-            if (updatedMagazine.containsKey("new_sections")) {
-                newSectionsList = (List<Map<String, Object>>) updatedMagazine.get("new_sections");
-                if (newSectionsList != null && !newSectionsList.isEmpty()) {
-                    sectionData = newSectionsList.get(0);
-                }
-            }
-            if (updatedMagazine.containsKey("deleted_section_ids")) {
-                deletedSectionIds = (List<Number>) updatedMagazine.get("deleted_section_ids");
-            }
+    /**
+     * AI 응답을 반영할 형태로 정리하고 외부 이미지 URL을 S3로 재업로드 (반영 트랜잭션 전에 호출)
+     * Python V2 응답은 updated_magazine이 래퍼 객체이고 실제 데이터는 new_sections에 담겨 있다
+     */
+    private EditPlan planEdit(AiDto.EditMagazineResponse response) {
+        String action = response.intent();
+        AiDto.UpdatedMagazine updatedMagazine = response.updatedMagazine();
+        if (updatedMagazine == null) {
+            return new EditPlan(action, response.sectionIndex(), null, null, null);
         }
 
-        // S3 이미지 변환
-        if (sectionData != null && !sectionData.containsKey("new_sections")) {
-            uploadImagesInMap(sectionData);
+        List<AiDto.SectionPayload> newSections = updatedMagazine.newSections();
+        if (newSections == null) {
+            // V1: 섹션 필드가 평평하게 옴
+            return new EditPlan(action, response.sectionIndex(), rehostSection(updatedMagazine.asSection()), null,
+                    updatedMagazine.deletedSectionIds());
         }
-        if ("change_tone".equals(action) && newSectionsList != null) {
-            for (Map<String, Object> sec : newSectionsList) {
-                uploadImagesInMap(sec);
-            }
+        if (newSections.isEmpty()) {
+            return new EditPlan(action, response.sectionIndex(), updatedMagazine.asSection(), newSections,
+                    updatedMagazine.deletedSectionIds());
         }
 
+        if ("change_tone".equals(action)) {
+            // 모든 섹션의 업로드를 먼저 시작한 뒤 모아서 대기 — 섹션별 순차 대기 제거
+            List<CompletableFuture<AiDto.SectionPayload>> uploads = newSections.stream()
+                    .map(this::rehostSectionAsync)
+                    .collect(Collectors.toList());
+            newSections = uploads.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            return new EditPlan(action, response.sectionIndex(), newSections.get(0), newSections,
+                    updatedMagazine.deletedSectionIds());
+        }
+        return new EditPlan(action, response.sectionIndex(), rehostSection(newSections.get(0)), newSections,
+                updatedMagazine.deletedSectionIds());
+    }
+
+    // 이미지는 planEdit에서 이미 S3 URL로 바뀐 상태 — DB 변경만 수행
+    private void applyEditPlan(Magazine magazine, EditPlan plan) {
+        String action = plan.action();
+        Integer sectionIndex = plan.sectionIndex();
+        AiDto.SectionPayload sectionData = plan.sectionData();
+
         // 1. 섹션 재생성
         if ("regenerate_section".equals(action)) {
             if (sectionIndex != null && sectionData != null && sectionIndex >= 0
                     && sectionIndex < magazine.getSections().size()) {
                 MagazineSection section = magazine.getSections().get(sectionIndex);
-                updateSectionFromMap(section, sectionData);
+                updateSection(section, sectionData);
             }
         }
 
         // 2. 섹션 추가
         else if ("add_section".equals(action)) {
             if (sectionData != null) {
-                MagazineSection section = createSectionFromMap(sectionData, magazine.getSections().size());
+                MagazineSection section = createSection(sectionData, magazine.getSections().size());
                 section.setMagazine(magazine);
                 magazine.getSections().add(section);
             }
@@ -229,9 +418,10 @@ public class MagazineInteractionService {
         // 섹션 삭제 — V2(deleted_section_ids)와 V1(section_index) 두 방식 모두 지원
         else if ("delete_section".equals(action)) {
             boolean deleted = false;
+            List<Long> deletedSectionIds = plan.deletedSectionIds();
             // V2: AI가 삭제할 섹션 ID를 직접 알려주는 방식
             if (deletedSectionIds != null && !deletedSectionIds.isEmpty()) {
-                Long targetId = deletedSectionIds.get(0).longValue();
+                Long targetId = deletedSectionIds.get(0);
                 // FK 제약 해소: 열람 기록 먼저 삭제 후 섹션 제거
                 magazine.getSections().stream()
                         .filter(s -> s.getId() != null && s.getId().equals(targetId))
@@ -256,18 +446,15 @@ public class MagazineInteractionService {
 
         // 4. 전체 톤 변경 (모든 섹션 교체)
         else if ("change_tone".equals(action)) {
-            if (newSectionsList != null) {
-                // FK 해소: 기존 모든 섹션의 열람 기록 삭제
-                for (MagazineSection s : magazine.getSections()) {
-                    sectionService.deleteSectionViewHistory(s);
-                }
-                magazine.getSections().clear();
-
-                for (Map<String, Object> sec : newSectionsList) {
-                    MagazineSection section = createSectionFromMap(sec, magazine.getSections().size());
-                    section.setMagazine(magazine);
-                    magazine.getSections().add(section);
+            if (plan.newSections() != null) {
+                // 위치별로 기존 섹션을 고쳐 쓰고, 남는 섹션만 열람 기록(FK) 정리 후 삭제
+                List<MagazineSection> desired = new java.util.ArrayList<>();
+                for (AiDto.SectionPayload sec : plan.newSections()) {
+                    desired.add(createSection(sec, desired.size()));
                 }
+                ContentReconciler.Changes changes = ContentReconciler.reconcileSections(magazine, desired,
+                        sectionService::deleteSectionViewHistory);
+                log.info("change_tone applied to magazine {}: {}", magazine.getId(), changes);
             }
         }
 
@@ -275,78 +462,78 @@ public class MagazineInteractionService {
         magazineRepository.save(magazine);
     }
 
-    private void uploadImagesInMap(Map<String, Object> sectionMap) {
+    private AiDto.SectionPayload rehostSection(AiDto.SectionPayload section) {
+        return rehostSectionAsync(section).join();
+    }
+
+    // 썸네일/문단 이미지를 이미지 전용 실행기에서 병렬 S3 업로드
+    private CompletableFuture<AiDto.SectionPayload> rehostSectionAsync(AiDto.SectionPayload section) {
         // thumbnail_url (or image_url fallback)
-        String thumbUrl = (String) sectionMap.get("thumbnail_url");
-        if (thumbUrl == null) {
-            thumbUrl = (String) sectionMap.get("image_url"); // Legacy fallback
-        }
-        if (thumbUrl != null) {
-            sectionMap.put("thumbnail_url", s3Service.uploadImageFromUrl(thumbUrl));
-        }
+        String thumbUrl = section.resolvedThumbnailUrl();
+        CompletableFuture<String> thumbnail = thumbUrl != null
+                ? imageIngestionService.rehostAsync(thumbUrl)
+                : CompletableFuture.completedFuture(null);
 
         // paragraphs images
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> paragraphs = (List<Map<String, Object>>) sectionMap.get("paragraphs");
-        if (paragraphs != null) {
-            for (Map<String, Object> p : paragraphs) {
-                String imgUrl = (String) p.get("image_url");
-                if (imgUrl != null) {
-                    p.put("image_url", s3Service.uploadImageFromUrl(imgUrl));
-                }
-            }
+        List<AiDto.ParagraphPayload> paragraphs = section.paragraphs();
+        if (paragraphs == null) {
+            return thumbnail.thenApply(uploadedThumb -> section.withImages(uploadedThumb, null));
         }
+        List<CompletableFuture<AiDto.ParagraphPayload>> paragraphUploads = paragraphs.stream()
+                .map(p -> p.imageUrl() != null
+                        ? imageIngestionService.rehostAsync(p.imageUrl()).thenApply(p::withImageUrl)
+                        : CompletableFuture.completedFuture(p))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(Stream.concat(Stream.of(thumbnail), paragraphUploads.stream())
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(done -> section.withImages(thumbnail.join(),
+                        paragraphUploads.stream().map(CompletableFuture::join).collect(Collectors.toList())));
     }
 
-    private void updateSectionFromMap(MagazineSection section, Map<String, Object> map) {
-        section.update(
-                (String) map.get("heading"));
+    private void updateSection(MagazineSection section, AiDto.SectionPayload data) {
+        section.update(data.heading());
 
         // Update thumbnail
-        if (map.get("thumbnail_url") != null) {
-            section.setThumbnailUrl((String) map.get("thumbnail_url"));
+        if (data.thumbnailUrl() != null) {
+            section.setThumbnailUrl(data.thumbnailUrl());
         }
 
         // Update source URL (원본 웹 소스 추적)
-        if (map.get("source_url") != null) {
-            section.setSourceUrl((String) map.get("source_url"));
+        if (data.sourceUrl() != null) {
+            section.setSourceUrl(data.sourceUrl());
         }
 
-        // Update paragraphs
-        section.getParagraphs().clear();
-        addParagraphsFromMap(section, map);
+        // Update paragraphs — 바뀐 문단만 반영
+        ContentReconciler.reconcileParagraphs(section, buildParagraphs(data));
     }
 
-    private MagazineSection createSectionFromMap(Map<String, Object> map, int displayOrder) {
-        String thumbUrl = (String) map.get("thumbnail_url");
-        if (thumbUrl == null)
-            thumbUrl = (String) map.get("image_url");
-
+    private MagazineSection createSection(AiDto.SectionPayload data, int displayOrder) {
         MagazineSection section = MagazineSection.builder()
-                .heading((String) map.get("heading"))
-                .thumbnailUrl(thumbUrl)
+                .heading(data.heading())
+                .thumbnailUrl(data.resolvedThumbnailUrl())
                 .displayOrder(displayOrder)
-                .sourceUrl((String) map.get("source_url")) // 원본 웹 소스 URL 저장
+                .sourceUrl(data.sourceUrl()) // 원본 웹 소스 URL 저장
                 .build();
 
-        addParagraphsFromMap(section, map);
+        buildParagraphs(data).forEach(section::addParagraph);
         return section;
     }
 
-    private void addParagraphsFromMap(MagazineSection section, Map<String, Object> map) {
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> paragraphs = (List<Map<String, Object>>) map.get("paragraphs");
+    private List<Paragraph> buildParagraphs(AiDto.SectionPayload data) {
+        List<Paragraph> result = new java.util.ArrayList<>();
+        List<AiDto.ParagraphPayload> paragraphs = data.paragraphs();
 
         if (paragraphs != null) {
             for (int i = 0; i < paragraphs.size(); i++) {
-                Map<String, Object> pMap = paragraphs.get(i);
+                AiDto.ParagraphPayload payload = paragraphs.get(i);
 
-                String subtitle = (String) pMap.get("subtitle");
+                String subtitle = payload.subtitle();
                 if (subtitle == null || subtitle.trim().isEmpty()) {
                     subtitle = "소제목 내용"; // Database constraint fallback
                 }
 
-                String text = (String) pMap.get("text");
+                String text = payload.text();
                 if (text == null || text.trim().isEmpty()) {
                     text = "내용을 입력해주세요."; // Database constraint fallback
                 }
@@ -354,20 +541,20 @@ public class MagazineInteractionService {
                 Paragraph p = Paragraph.builder()
                         .subtitle(subtitle)
                         .text(text)
-                        .imageUrl((String) pMap.get("image_url"))
-                        .sourceUrl((String) pMap.get("source_url"))
+                        .imageUrl(payload.imageUrl())
+                        .sourceUrl(payload.sourceUrl())
                         .displayOrder(i)
                         .build();
-                section.addParagraph(p);
+                result.add(p);
             }
         } else {
             // Fallback for legacy AI response (flat content)
-            String content = (String) map.get("content");
+            String content = data.content();
             if (content != null && !content.trim().isEmpty()) {
 
-                String subtitle = (String) map.get("caption");
+                String subtitle = data.caption();
                 if (subtitle == null || subtitle.trim().isEmpty()) {
-                    subtitle = (String) map.get("heading");
+                    subtitle = data.heading();
                 }
                 if (subtitle == null || subtitle.trim().isEmpty()) {
                     subtitle = "소제목 내용"; // Database constraint fallback
@@ -375,12 +562,106 @@ public class MagazineInteractionService {
 
                 Paragraph p = Paragraph.builder()
                         .text(content)
-                        .imageUrl((String) map.get("image_url"))
+                        .imageUrl(data.imageUrl())
                         .subtitle(subtitle)
                         .displayOrder(0)
                         .build();
-                section.addParagraph(p);
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    private record EditSnapshot(Long id, String title, String coverImageUrl, List<SnapshotSection> sections,
+            Long version) {
+    }
+
+    private record SnapshotSection(Long id, AiDto.SectionPayload data, String contentHash, int paragraphCount) {
+    }
+
+    private record ToneSnapshot(List<SectionEdit> sections, Long version) {
+    }
+
+    /**
+     * 섹션별 톤 변경 요청/결과 (결과는 이미지 재업로드 완료 또는 실패)
+     */
+    private record SectionEdit(Long sectionId, AiDto.SectionPayload data, RuntimeException failure) {
+    }
+
+    /**
+     * 톤 변경 팬아웃 진행 상태 — 차선들이 남은 섹션을 나눠 가져가고, 도착한 결과는 하나의 반영 체인에 이어 붙인다.
+     * 반영은 앞선 반영이 올린 version을 기준으로 하므로 체인으로 순서대로 실행된다.
+     */
+    private class ToneFanOut {
+        private final Long magazineId;
+        private final String username;
+        private final String message;
+        private final List<SectionEdit> sections;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicInteger appliedCount = new AtomicInteger();
+        private CompletableFuture<Long> applied;
+        private RuntimeException firstFailure;
+
+        private ToneFanOut(Long magazineId, String username, String message, List<SectionEdit> sections,
+                Long version) {
+            this.magazineId = magazineId;
+            this.username = username;
+            this.message = message;
+            this.sections = sections;
+            this.applied = CompletableFuture.completedFuture(version);
+        }
+
+        private synchronized void accept(SectionEdit result) {
+            if (result.failure() != null) {
+                log.warn("change_tone failed for section {}: {}", result.sectionId(), result.failure().getMessage());
+                firstFailure = firstFailure != null ? firstFailure : result.failure();
+                return;
+            }
+            if (result.data() == null) {
+                return;
             }
+            applied = applied.thenApply(version -> {
+                try {
+                    Long nextVersion = applySectionTone(magazineId, version, result);
+                    appliedCount.incrementAndGet();
+                    return nextVersion;
+                } catch (RuntimeException e) {
+                    cancelled.set(true); // 충돌 등으로 중단되면 남은 섹션은 호출하지 않음
+                    throw e;
+                }
+            });
+        }
+
+        private synchronized CompletableFuture<Long> applied() {
+            return applied;
+        }
+
+        private synchronized RuntimeException firstFailure() {
+            return firstFailure;
+        }
+    }
+
+    /**
+     * 반영 단계에 넘길 AI 편집 결과 (이미지 재업로드 완료)
+     */
+    private record EditPlan(String action, Integer sectionIndex, AiDto.SectionPayload sectionData,
+            List<AiDto.SectionPayload> newSections, List<Long> deletedSectionIds) {
+    }
+
+    // Future 실패 원인 — CompletionException을 벗겨 원래 예외로
+    private static RuntimeException asRuntime(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtimeException ? runtimeException
+                : new RuntimeException(cause.getMessage(), cause);
+    }
+
+    // 블로킹 호출부용 — 원래 예외를 그대로 던진다
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw asRuntime(e);
         }
     }
 
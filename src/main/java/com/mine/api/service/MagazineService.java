@@ -24,30 +24,29 @@ public class MagazineService {
     private final UserRepository userRepository;
     private final MagazineLikeRepository magazineLikeRepository;
     private final UserInterestRepository userInterestRepository;
-    private final RunPodService runPodService;
+    private final AiClient aiClient;
     private final MoodboardService moodboardService;
     private final com.mine.api.repository.MoodboardRepository moodboardRepository;
     private final S3Service s3Service;
+    private final ImageIngestionService imageIngestionService;
     private final SectionService sectionService;
-
-    @org.springframework.beans.factory.annotation.Value("${python.api.url}")
-    private String pythonApiUrl;
+    private final GenerationJobService generationJobService;
+    private final WelcomeMagazinePoolService welcomeMagazinePoolService;
+    private final AiRequestCoalescer requestCoalescer;
+    private final org.springframework.transaction.support.TransactionTemplate transactionTemplate;
 
     @org.springframework.beans.factory.annotation.Value("${python.api.key}")
     private String pythonApiKey;
 
     @Transactional
     public Long saveMagazine(MagazineCreateRequest request, String username) {
-        com.mine.api.domain.User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.USER_NOT_FOUND));
-
-        // 1. 태그 리스트를 JSON 문자열로 변환
-        String tagsJson = null;
-        if (request.getTags() != null && !request.getTags().isEmpty()) {
-            tagsJson = String.join(",", request.getTags());
-        }
+        String moodboardImageUrl = uploadImages(request);
+        return persistMagazine(request, username, moodboardImageUrl, null);
+    }
 
-        // 2. 무드보드 정보 추출 (이미 있으면 S3 업로드)
+    // 무드보드(base64면 S3 업로드)와 섹션 이미지를 S3로 옮김 — 무드보드 URL 반환
+    private String uploadImages(MagazineCreateRequest request) {
+        // 1. 무드보드 정보 추출 (이미 있으면 S3 업로드)
         String moodboardImageUrl = null;
         if (request.getMoodboard() != null) {
             moodboardImageUrl = request.getMoodboard().getImage_url();
@@ -58,45 +57,23 @@ public class MagazineService {
             }
         }
 
-        // 3. 섹션 썸네일/문단 이미지를 CompletableFuture로 병렬 S3 업로드 — 순차 업로드 대비 속도 대폭 개선
-        java.util.List<java.util.concurrent.CompletableFuture<Void>> uploadTasks = new java.util.ArrayList<>();
-
+        // 2. 섹션 썸네일/문단 이미지를 이미지 전용 실행기에서 병렬 S3 업로드 — 순차 업로드 대비 속도 대폭 개선
         if (request.getSections() != null) {
-            for (MagazineCreateRequest.SectionDto sectionDto : request.getSections()) {
-                String originalUrl = sectionDto.getThumbnailUrl();
-                if (originalUrl != null && !originalUrl.isBlank()) {
-                    uploadTasks.add(java.util.concurrent.CompletableFuture.runAsync(() -> {
-                        String uploadedUrl = s3Service.uploadImageFromUrl(originalUrl);
-                        if (uploadedUrl != null) {
-                            sectionDto.setThumbnailUrl(uploadedUrl);
-                        }
-                    }));
-                }
-
-                if (sectionDto.getParagraphs() != null) {
-                    for (MagazineCreateRequest.ParagraphDto paraDto : sectionDto.getParagraphs()) {
-                        String pUrl = paraDto.getImageUrl();
-                        if (pUrl != null && !pUrl.isBlank()) {
-                            uploadTasks.add(java.util.concurrent.CompletableFuture.runAsync(() -> {
-                                String uploadedUrl = s3Service.uploadImageFromUrl(pUrl);
-                                if (uploadedUrl != null) {
-                                    paraDto.setImageUrl(uploadedUrl);
-                                }
-                            }));
-                        }
-                    }
-                }
-            }
+            rehostSectionImages(request.getSections());
         }
+        return moodboardImageUrl;
+    }
 
-        // 업로드 실패는 경고만 남기고 진행 — 이미지 없이 저장하는 게 저장 실패보다 낫다
-        if (!uploadTasks.isEmpty()) {
-            try {
-                java.util.concurrent.CompletableFuture.allOf(uploadTasks.toArray(new java.util.concurrent.CompletableFuture[0]))
-                        .get(30, java.util.concurrent.TimeUnit.SECONDS);
-            } catch (Exception e) {
-                log.warn("Some image uploads timed out or failed, proceeding with available URLs", e);
-            }
+    // onSaved는 매거진 저장 직후 같은 트랜잭션에서 실행 (예: 생성 작업에 결과 기록)
+    private Long persistMagazine(MagazineCreateRequest request, String username, String moodboardImageUrl,
+            java.util.function.Consumer<Long> onSaved) {
+        com.mine.api.domain.User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.USER_NOT_FOUND));
+
+        // 3. 태그 리스트를 JSON 문자열로 변환
+        String tagsJson = null;
+        if (request.getTags() != null && !request.getTags().isEmpty()) {
+            tagsJson = String.join(",", request.getTags());
         }
 
         // 4. Magazine 엔티티 생성
@@ -113,48 +90,7 @@ public class MagazineService {
         // 5. Section/Paragraph 엔티티 생성 및 저장
         if (request.getSections() != null) {
             for (int i = 0; i < request.getSections().size(); i++) {
-                MagazineCreateRequest.SectionDto sectionDto = request.getSections().get(i);
-
-                MagazineSection section = MagazineSection.builder()
-                        .heading(truncate(sectionDto.getHeading(), 490))
-                        .thumbnailUrl(truncate(sectionDto.getThumbnailUrl(), 990))
-                        .displayOrder(i)
-                        .sourceUrl(sectionDto.getSourceUrl()) // 원본 웹 소스 URL 저장
-                        .build();
-
-                String firstParaImageUrl = null;
-                if (sectionDto.getParagraphs() != null) {
-                    for (int j = 0; j < sectionDto.getParagraphs().size(); j++) {
-                        MagazineCreateRequest.ParagraphDto paraDto = sectionDto.getParagraphs().get(j);
-                        
-                        if (firstParaImageUrl == null && paraDto.getImageUrl() != null) {
-                            firstParaImageUrl = paraDto.getImageUrl();
-                        }
-
-                        Paragraph paragraph = Paragraph.builder()
-                                .subtitle(truncate(paraDto.getSubtitle() != null && !paraDto.getSubtitle().isEmpty() ? paraDto.getSubtitle() : "소제목 내용", 490))
-                                .text(paraDto.getText() != null && !paraDto.getText().isEmpty() ? paraDto.getText() : "내용을 입력해주세요.")
-                                .imageUrl(truncate(paraDto.getImageUrl(), 990))
-                                .sourceUrl(truncate(paraDto.getSourceUrl(), 1990))
-                                .displayOrder(j)
-                                .build();
-                        section.addParagraph(paragraph);
-                    }
-                }
-
-                // 썸네일이 없으면 첫 번째 문단 이미지를 대신 사용 — 빈 썸네일 방지
-                if (section.getThumbnailUrl() == null || section.getThumbnailUrl().startsWith("http")) {
-                    if (firstParaImageUrl != null) {
-                        section.setThumbnailUrl(firstParaImageUrl);
-                    }
-                }
-
-                // 그래도 없으면 기본 플레이스홀더 이미지 사용
-                if (section.getThumbnailUrl() == null) {
-                    section.setThumbnailUrl("https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-placeholder.png");
-                }
-
-                magazine.addSection(section);
+                magazine.addSection(buildSection(request.getSections().get(i), i));
             }
         }
 
@@ -179,9 +115,86 @@ public class MagazineService {
             moodboardRepository.save(moodboard);
         }
 
+        if (onSaved != null) {
+            onSaved.accept(savedMagazine.getId());
+        }
         return savedMagazine.getId();
     }
 
+    // 섹션 썸네일/문단 이미지를 병렬 S3 업로드 후 DTO의 URL을 교체
+    // 결과는 대기가 끝난 뒤 호출 스레드에서 반영 — 마감 후 늦게 끝난 업로드가 저장 중인 DTO를 바꾸지 않도록
+    private void rehostSectionImages(java.util.List<MagazineCreateRequest.SectionDto> sections) {
+        java.util.Map<java.util.concurrent.CompletableFuture<String>, java.util.function.Consumer<String>> uploads =
+                new java.util.LinkedHashMap<>();
+
+        for (MagazineCreateRequest.SectionDto sectionDto : sections) {
+            String originalUrl = sectionDto.getThumbnailUrl();
+            if (originalUrl != null && !originalUrl.isBlank()) {
+                uploads.put(imageIngestionService.rehostAsync(originalUrl), sectionDto::setThumbnailUrl);
+            }
+
+            if (sectionDto.getParagraphs() != null) {
+                for (MagazineCreateRequest.ParagraphDto paraDto : sectionDto.getParagraphs()) {
+                    String pUrl = paraDto.getImageUrl();
+                    if (pUrl != null && !pUrl.isBlank()) {
+                        uploads.put(imageIngestionService.rehostAsync(pUrl), paraDto::setImageUrl);
+                    }
+                }
+            }
+        }
+
+        // 업로드 실패/마감 초과는 원본 URL 유지 — 이미지 없이 저장하는 게 저장 실패보다 낫다
+        imageIngestionService.awaitAll(uploads.keySet());
+        uploads.forEach((upload, apply) -> {
+            String uploadedUrl = ImageIngestionService.resultOrNull(upload);
+            if (uploadedUrl != null) {
+                apply.accept(uploadedUrl);
+            }
+        });
+    }
+
+    private MagazineSection buildSection(MagazineCreateRequest.SectionDto sectionDto, int displayOrder) {
+        MagazineSection section = MagazineSection.builder()
+                .heading(truncate(sectionDto.getHeading(), 490))
+                .thumbnailUrl(truncate(sectionDto.getThumbnailUrl(), 990))
+                .displayOrder(displayOrder)
+                .sourceUrl(sectionDto.getSourceUrl()) // 원본 웹 소스 URL 저장
+                .build();
+
+        String firstParaImageUrl = null;
+        if (sectionDto.getParagraphs() != null) {
+            for (int j = 0; j < sectionDto.getParagraphs().size(); j++) {
+                MagazineCreateRequest.ParagraphDto paraDto = sectionDto.getParagraphs().get(j);
+
+                if (firstParaImageUrl == null && paraDto.getImageUrl() != null) {
+                    firstParaImageUrl = paraDto.getImageUrl();
+                }
+
+                Paragraph paragraph = Paragraph.builder()
+                        .subtitle(truncate(paraDto.getSubtitle() != null && !paraDto.getSubtitle().isEmpty() ? paraDto.getSubtitle() : "소제목 내용", 490))
+                        .text(paraDto.getText() != null && !paraDto.getText().isEmpty() ? paraDto.getText() : "내용을 입력해주세요.")
+                        .imageUrl(truncate(paraDto.getImageUrl(), 990))
+                        .sourceUrl(truncate(paraDto.getSourceUrl(), 1990))
+                        .displayOrder(j)
+                        .build();
+                section.addParagraph(paragraph);
+            }
+        }
+
+        // 썸네일이 없으면 첫 번째 문단 이미지를 대신 사용 — 빈 썸네일 방지
+        if (section.getThumbnailUrl() == null || section.getThumbnailUrl().startsWith("http")) {
+            if (firstParaImageUrl != null) {
+                section.setThumbnailUrl(firstParaImageUrl);
+            }
+        }
+
+        // 그래도 없으면 기본 플레이스홀더 이미지 사용
+        if (section.getThumbnailUrl() == null) {
+            section.setThumbnailUrl("https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-placeholder.png");
+        }
+        return section;
+    }
+
     private String truncate(String str, int length) {
         if (str == null) return null;
         return str.length() > length ? str.substring(0, length) : str;
@@ -228,6 +241,17 @@ public class MagazineService {
     }
 
     public Long generateAndSaveMagazine(com.mine.api.dto.MagazineGenerationRequest request, String username) {
+        // 더블탭/재시도로 같은 요청이 겹치면 생성부터 저장까지 한 번만 실행하고 같은 매거진 ID를 돌려줌
+        return requestCoalescer.execute("create_magazine", username, request,
+                () -> generateAndSaveMagazine(request, username, null));
+    }
+
+    /**
+     * AI 매거진 생성 후 저장 — onSaved는 매거진 저장과 같은 트랜잭션에서 실행된다.
+     * 영속 작업은 여기서 매거진 ID를 작업에 기록해, 저장 후 실패/lease 만료로 재실행되어도 다시 생성하지 않는다.
+     */
+    public Long generateAndSaveMagazine(com.mine.api.dto.MagazineGenerationRequest request, String username,
+            java.util.function.Consumer<Long> onSaved) {
         try {
             // 1. 사용자 관심사 조회
             com.mine.api.domain.User user = userRepository.findByUsername(username)
@@ -237,53 +261,9 @@ public class MagazineService {
                     .map(ui -> ui.getInterest().getCode())
                     .collect(java.util.stream.Collectors.toList());
 
-            // 2. Python 서버 요청 준비
-            java.util.Map<String, Object> data = new java.util.HashMap<>();
-            data.put(com.mine.api.common.AppConstants.KEY_TOPIC, request.getTopic());
-            data.put(com.mine.api.common.AppConstants.KEY_USER_MOOD, request.getUserMood());
-            data.put(com.mine.api.common.AppConstants.KEY_USER_EMAIL, username);
-            data.put("user_interests", userInterests);
-
-            java.util.Map<String, Object> responseBody;
-
-            // 3. 호출 방식 분기 (Local vs RunPod)
-            if (pythonApiUrl.contains("localhost") || pythonApiUrl.contains("127.0.0.1")) {
-                // Local FastAPI 호출 (직접 전송, 동기식)
-                data.put("action", "create_magazine"); // 로컬에서도 action 필수
-                responseBody = runPodService.sendSyncRequest(pythonApiUrl, data);
-            } else {
-                // RunPod Serverless 호출 (input 래핑, 비동기 폴링)
-                // { "input": { "action": "create_magazine", "data": { ... } } } 형태로 전송
-                java.util.Map<String, Object> inputData = new java.util.HashMap<>();
-                inputData.put("action", "create_magazine");
-                inputData.put("data", data);
-
-                // 응답은 { "status": "COMPLETED", "output": { ... } } 형태
-                responseBody = runPodService.sendRequest(pythonApiUrl, inputData);
-            }
-
-            // 4. 결과 파싱 (RunPod는 output 안에, 로컬은 body 자체가 결과일 수 있음)
-            Object outputData = responseBody;
-            if (responseBody.containsKey("output")) {
-                outputData = responseBody.get("output");
-            }
-
-            // output을 MagazineCreateRequest로 변환
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper()
-                    .configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            
-            MagazineCreateRequest generatedData;
-            try {
-                generatedData = mapper.convertValue(outputData, MagazineCreateRequest.class);
-            } catch (Exception e) {
-                log.error("Failed to parse AI server response to MagazineCreateRequest. Data: {}", outputData, e);
-                throw new RuntimeException("AI 서버 응답 형식이 올바르지 않습니다: " + e.getMessage());
-            }
-
-            if (generatedData == null) {
-                log.error("Generated data is null after conversion. Output was: {}", outputData);
-                throw new RuntimeException("AI 서버의 응답을 변환할 수 없습니다.");
-            }
+            // 2. Python 서버 요청 (create_magazine) — 응답은 MagazineCreateRequest로 바로 디코딩
+            MagazineCreateRequest generatedData = aiClient.createMagazine(username, new com.mine.api.dto.AiDto.CreateMagazineRequest(
+                    request.getTopic(), request.getUserMood(), username, userInterests));
 
             if (generatedData.getSections() == null || generatedData.getSections().isEmpty()) {
                 throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MAGAZINE + " (생성된 섹션이 없습니다)");
@@ -301,8 +281,10 @@ public class MagazineService {
                 throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MAGAZINE + " (생성된 유효한 문단이 하나도 없습니다)");
             }
 
-            // 3. 받은 데이터로 저장 로직 수행
-            Long magazineId = saveMagazine(generatedData, username);
+            // 3. 받은 데이터로 저장 — 이미지 업로드는 트랜잭션 밖에서, 매거진 저장과 onSaved는 한 트랜잭션으로
+            String moodboardImageUrl = uploadImages(generatedData);
+            Long magazineId = transactionTemplate.execute(
+                    status -> persistMagazine(generatedData, username, moodboardImageUrl, onSaved));
 
             // 3-1. paragraph 없는 섹션 및 섹션 없는 매거진 자동 정리
             try {
@@ -326,6 +308,134 @@ public class MagazineService {
         }
     }
 
+    /**
+     * 스트리밍 매거진 생성 — AI가 섹션을 하나씩 보내면 도착하는 대로 이미지 업로드 + 저장 후 progress로 전달한다.
+     * 전체 생성을 기다리지 않으므로 첫 섹션이 보이기까지의 시간이 짧아진다.
+     * 유효한 문단이 하나도 없거나 중간에 실패하면 그때까지 저장한 매거진을 삭제한다.
+     */
+    public Long generateAndSaveMagazineStreaming(com.mine.api.dto.MagazineGenerationRequest request, String username,
+            AiJobService.ProgressListener progress) {
+        StreamingMagazine state = new StreamingMagazine();
+        try {
+            com.mine.api.domain.User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+            java.util.List<String> userInterests = userInterestRepository.findByUser(user).stream()
+                    .map(ui -> ui.getInterest().getCode())
+                    .collect(java.util.stream.Collectors.toList());
+
+            aiClient.streamMagazine(username, new com.mine.api.dto.AiDto.CreateMagazineRequest(
+                    request.getTopic(), request.getUserMood(), username, userInterests),
+                    event -> handleStreamEvent(event, user, request, state, progress));
+
+            if (state.magazineId == null || !state.hasValidParagraph) {
+                throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MAGAZINE + " (생성된 유효한 문단이 하나도 없습니다)");
+            }
+            Long magazineId = state.magazineId;
+
+            // paragraph 없는 섹션 및 섹션 없는 매거진 자동 정리
+            try {
+                sectionService.cleanupEmptySectionsAndMagazines(magazineId);
+            } catch (Exception e) {
+                log.warn("Cleanup after magazine save failed: {}", e.getMessage());
+            }
+
+            try {
+                moodboardService.createMoodboardForMagazineAsync(magazineId, username);
+            } catch (Exception e) {
+                log.error("Failed to trigger async moodboard generation for magazine {}: {}", magazineId, e.getMessage());
+            }
+
+            log.info("Streamed magazine generation finished: magazineId={}, sections={}", magazineId, state.sectionCount);
+            return magazineId;
+        } catch (Exception e) {
+            if (state.magazineId != null) {
+                deletePartialMagazine(state.magazineId);
+            }
+            log.error("Error in generateAndSaveMagazineStreaming", e);
+            throw new RuntimeException("Detailed error: " + e.getMessage(), e);
+        }
+    }
+
+    private void handleStreamEvent(com.mine.api.dto.AiDto.MagazineStreamEvent event, User user,
+            com.mine.api.dto.MagazineGenerationRequest request, StreamingMagazine state,
+            AiJobService.ProgressListener progress) {
+        if (event.type() == null) {
+            return;
+        }
+        switch (event.type()) {
+            case com.mine.api.dto.AiDto.MagazineStreamEvent.MAGAZINE -> {
+                if (state.magazineId == null) {
+                    state.magazineId = createMagazineShell(user, event.title(), event.coverImageUrl(), event.tags());
+                    progress.publish("magazine", java.util.Map.of("magazineId", state.magazineId,
+                            "title", event.title() != null ? event.title() : request.getTopic()));
+                }
+            }
+            case com.mine.api.dto.AiDto.MagazineStreamEvent.SECTION -> {
+                if (event.section() == null) {
+                    return;
+                }
+                // 헤더 이벤트 없이 섹션이 먼저 오면 주제를 임시 제목으로 매거진 생성
+                if (state.magazineId == null) {
+                    state.magazineId = createMagazineShell(user, request.getTopic(), null, null);
+                    progress.publish("magazine", java.util.Map.of("magazineId", state.magazineId,
+                            "title", request.getTopic()));
+                }
+                rehostSectionImages(java.util.List.of(event.section()));
+                com.mine.api.dto.MagazineDto.DetailResponse.SectionItem item = appendSection(state.magazineId,
+                        event.section(), state.sectionCount++);
+                if (!item.getParagraphs().isEmpty()) {
+                    state.hasValidParagraph = true;
+                }
+                progress.publish("section", item);
+            }
+            case com.mine.api.dto.AiDto.MagazineStreamEvent.ERROR -> throw new RuntimeException(
+                    ErrorMessages.FAILED_TO_GENERATE_MAGAZINE + " (" + event.error() + ")");
+            default -> {
+                // done 등 — 스트림 종료는 AiClient가 처리
+            }
+        }
+    }
+
+    private Long createMagazineShell(User user, String title, String coverImageUrl, java.util.List<String> tags) {
+        return transactionTemplate.execute(status -> magazineRepository.save(Magazine.builder()
+                .title(truncate(title, 490))
+                .coverImageUrl(truncate(coverImageUrl, 990))
+                .tags(tags != null && !tags.isEmpty() ? String.join(",", tags) : null)
+                .user(user)
+                .build()).getId());
+    }
+
+    // 섹션 하나씩 짧은 트랜잭션으로 추가 — 다음 섹션 생성을 기다리는 동안 커넥션/락을 잡지 않음
+    private com.mine.api.dto.MagazineDto.DetailResponse.SectionItem appendSection(Long magazineId,
+            MagazineCreateRequest.SectionDto sectionDto, int displayOrder) {
+        return transactionTemplate.execute(status -> {
+            Magazine magazine = magazineRepository.findById(magazineId)
+                    .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.MAGAZINE_NOT_FOUND));
+            MagazineSection section = buildSection(sectionDto, displayOrder);
+            magazine.addSection(section);
+            magazineRepository.saveAndFlush(magazine); // 섹션/문단 ID 할당
+            return com.mine.api.dto.MagazineDto.DetailResponse.SectionItem.from(section);
+        });
+    }
+
+    private void deletePartialMagazine(Long magazineId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> magazineRepository.findById(magazineId)
+                    .ifPresent(magazineRepository::delete));
+            log.info("Deleted partially streamed magazine: magazineId={}", magazineId);
+        } catch (Exception e) {
+            log.warn("Failed to delete partially streamed magazine {}: {}", magazineId, e.getMessage());
+        }
+    }
+
+    // 스트리밍 생성 진행 상태 — AiClient가 호출 스레드에서 이벤트를 순서대로 전달하므로 동기화 불필요
+    private static class StreamingMagazine {
+        private Long magazineId;
+        private int sectionCount;
+        private boolean hasValidParagraph;
+    }
+
     // ⭐ Phase 1: 매거진 삭제
     @Transactional
     public void deleteMagazine(Long magazineId, String username) {
@@ -442,6 +552,7 @@ public class MagazineService {
                     .id(m.getId())
                     .title(m.getTitle())
                     .coverImageUrl(m.getCoverImageUrl())
+                    .coverImageVariants(com.mine.api.dto.ImageVariants.of(m.getCoverImageUrl()))
                     .username(user.getUsername()) // 조회한 유저 이름 사용
                     .likeCount((int) magazineLikeRepository.countByMagazine(m))
                     .commentCount(0)
@@ -665,19 +776,22 @@ public class MagazineService {
     }
 
     /**
-     * 회원가입 직후 관심사 기반 매거진 자동 생성 (비동기)
-     * Listener에서 호출될 때 프록시를 통해 별도 스레드에서 실행됨
+     * 회원가입 직후 관심사 기반 매거진 자동 생성 작업 등록
+     * 실제 생성은 GenerationJobWorker가 ai_jobs 큐에서 꺼내 실행한다 (재시작 시에도 유실되지 않음).
+     * 사용자별 동시 실행 상한이 있으므로 같은 사용자의 매거진은 순차적으로 생성된다.
+     * AFTER_COMMIT 리스너에서 호출되므로 바깥 트랜잭션 없이 실행하고, 조회/복제/작업 등록은 각자 짧은 트랜잭션으로 나눈다.
+     * (한 트랜잭션으로 묶으면 복제 중 DB 오류가 전체를 rollback-only로 만들어 대체 작업 등록까지 함께 사라진다)
      */
-    @org.springframework.scheduling.annotation.Async
-    @Transactional
+    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED)
     public void generateInitialMagazinesAsync(String username) {
         try {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
-
-            java.util.List<String> interests = userInterestRepository.findByUser(user).stream()
-                    .map(ui -> ui.getInterest().getCode())
-                    .collect(java.util.stream.Collectors.toList());
+            java.util.List<String> interests = transactionTemplate.execute(status -> {
+                User user = userRepository.findByUsername(username)
+                        .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+                return userInterestRepository.findByUser(user).stream()
+                        .map(ui -> ui.getInterest().getCode())
+                        .collect(java.util.stream.Collectors.toList());
+            });
 
             if (interests == null || interests.isEmpty()) {
                 log.warn("No interests found for user: {}. Skipping initial magazine generation.", username);
@@ -689,27 +803,62 @@ public class MagazineService {
             java.util.Collections.shuffle(targetInterests);
             targetInterests = targetInterests.subList(0, Math.min(2, targetInterests.size()));
 
-            log.info("Starting initial magazine generation for user: {} with interests: {}", username, targetInterests);
+            log.info("Queueing initial magazine generation for user: {} with interests: {}", username, targetInterests);
 
+            // 2. 미리 만든 웰컴 매거진 풀에서 복제, 풀이 비어 있으면 관심사별 AI 생성 작업 등록
+            //    (같은 관심사 작업이 대기/실행 중이면 중복 등록하지 않음)
             for (String interestCode : targetInterests) {
-                try {
-                    com.mine.api.dto.MagazineGenerationRequest genRequest = new com.mine.api.dto.MagazineGenerationRequest();
-                    genRequest.setTopic(interestCode);
-                    genRequest.setUserMood("vibrant");
-
-                    log.info("Generating welcome magazine for interest: {} (User: {})", interestCode, username);
-                    this.generateAndSaveMagazine(genRequest, username);
-                    
-                    Thread.sleep(5000); 
-                    
-                } catch (Exception e) {
-                    log.error("Failed to generate initial magazine for user: {}", username, e);
+                if (cloneWelcomeMagazine(interestCode, username)) {
+                    continue;
                 }
+                generationJobService.enqueue(com.mine.api.domain.GenerationJob.Type.WELCOME_MAGAZINE, username,
+                        interestCode, "welcome:" + username + ":" + interestCode);
             }
         } catch (Exception e) {
             log.error("Error in generateInitialMagazinesAsync", e);
         }
     }
 
+    // 풀 템플릿을 가입자 소유 매거진으로 저장 — 이미지는 이미 S3에 있으므로 재업로드 없이 같은 객체를 공유
+    // 실패해도 이후 작업 등록에 영향이 없도록 복제마다 별도 트랜잭션
+    private boolean cloneWelcomeMagazine(String interestCode, String username) {
+        try {
+            java.util.Optional<MagazineCreateRequest> template = welcomeMagazinePoolService.claim(interestCode);
+            if (template.isEmpty()) {
+                return false;
+            }
+            Long magazineId = transactionTemplate.execute(status -> saveMagazine(template.get(), username));
+            log.info("Welcome magazine cloned from pool: magazineId={}, username={}, interest={}", magazineId,
+                    username, interestCode);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to clone welcome magazine from pool (interest={}), falling back to generation: {}",
+                    interestCode, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 웰컴 매거진 풀 템플릿 생성 — 특정 사용자와 무관하게 생성하고 이미지를 S3로 옮겨 둔 내용을 반환
+     */
+    public MagazineCreateRequest generateWelcomeTemplate(String interestCode, String mood) {
+        String poolUsername = WelcomeMagazinePoolService.POOL_USERNAME;
+        MagazineCreateRequest content = aiClient.createMagazine(poolUsername,
+                new com.mine.api.dto.AiDto.CreateMagazineRequest(interestCode, mood, poolUsername,
+                        java.util.List.of(interestCode)));
+
+        boolean hasValidParagraph = content.getSections() != null && content.getSections().stream()
+                .anyMatch(section -> section.getParagraphs() != null && !section.getParagraphs().isEmpty());
+        if (!hasValidParagraph) {
+            throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MAGAZINE + " (생성된 유효한 문단이 하나도 없습니다)");
+        }
+
+        if (content.getCoverImageUrl() != null && !content.getCoverImageUrl().isBlank()) {
+            content.setCoverImageUrl(imageIngestionService.rehost(content.getCoverImageUrl()));
+        }
+        rehostSectionImages(content.getSections());
+        return content;
+    }
+
     // [REFACTORED] 이벤트 리스너 로직은 MagazineGenerationListener로 이동되었습니다.
 }
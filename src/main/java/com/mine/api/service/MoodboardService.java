@@ -2,13 +2,15 @@ package com.mine.api.service;
 
 import com.mine.api.common.ErrorMessages;
 import com.mine.api.domain.Moodboard;
+import com.mine.api.dto.AiDto;
 import com.mine.api.dto.MoodboardRequestDto;
 import com.mine.api.repository.MoodboardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -18,67 +20,60 @@ public class MoodboardService {
     private final com.mine.api.repository.UserRepository userRepository;
     private final com.mine.api.repository.MagazineRepository magazineRepository;
     private final S3Service s3Service;
-    private final RunPodService runPodService;
-
-    @Value("${python.api.moodboard-url}")
-    private String moodboardApiUrl;
+    private final AiClient aiClient;
+    private final AiRequestCoalescer requestCoalescer;
+    private final GenerationJobService generationJobService;
 
     public String createMoodboard(String username, MoodboardRequestDto requestDto) {
-        // 0. Find User
-        com.mine.api.domain.User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(ErrorMessages.USER_NOT_FOUND));
+        // 더블탭/재시도로 같은 요청이 겹치면 생성부터 저장까지 한 번만 실행하고 같은 URL을 돌려줌
+        return requestCoalescer.execute("create_moodboard", username, requestDto, () -> {
+            com.mine.api.domain.User user = findUser(username);
+            return saveMoodboard(user, aiClient.generateMoodboard(username, moodboardRequest(requestDto)));
+        });
+    }
 
-        // 1. 요청 데이터 준비 (로컬용: action 포함, RunPod용: data에는 제외)
-        java.util.Map<String, Object> data = new java.util.HashMap<>();
-        data.put("topic", requestDto.getTopic());
-        data.put("user_mood", requestDto.getUser_mood());
-        data.put("user_interests", requestDto.getUser_interests());
-        data.put("magazine_tags", requestDto.getMagazine_tags());
-        data.put("magazine_titles", requestDto.getMagazine_titles());
-
-        java.util.Map<String, Object> responseBody;
-        java.util.Map<String, Object> output;
-
-        // 2. 로컬 vs RunPod 분기
-        if (moodboardApiUrl.contains("localhost") || moodboardApiUrl.contains("127.0.0.1")) {
-            // 로컬: sendSyncRequest 사용 (플랫 JSON, action 포함)
-            data.put("action", "generate_moodboard");
-            responseBody = runPodService.sendSyncRequest(moodboardApiUrl, data);
-            output = responseBody; // 로컬은 output 래핑 없음
-        } else {
-            // RunPod: sendRequest 사용 (input 래핑 + 비동기 폴링)
-            java.util.Map<String, Object> runPodInput = new java.util.HashMap<>();
-            runPodInput.put("action", "generate_moodboard");
-            runPodInput.put("data", data);
-            responseBody = runPodService.sendRequest(moodboardApiUrl, runPodInput);
-
-            if (responseBody == null || !responseBody.containsKey("output")) {
-                throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MOODBOARD);
-            }
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Object> outputTemp = (java.util.Map<String, Object>) responseBody.get("output");
-            output = outputTemp;
-        }
+    /**
+     * createMoodboard의 논블로킹 버전 — 생성을 기다리는 동안 스레드를 잡지 않고, S3 업로드/저장은 AI 결과 전달 풀에서 실행
+     */
+    public CompletableFuture<String> createMoodboardAsync(String username, MoodboardRequestDto requestDto) {
+        return requestCoalescer.executeAsync("create_moodboard", username, requestDto, () -> {
+            com.mine.api.domain.User user = findUser(username);
+            return aiClient.generateMoodboardAsync(username, moodboardRequest(requestDto))
+                    .thenApply(output -> saveMoodboard(user, output));
+        });
+    }
 
-        if (output == null) {
-            throw new RuntimeException("Failed to generate moodboard: no output");
-        }
+    // 0. Find User
+    private com.mine.api.domain.User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException(ErrorMessages.USER_NOT_FOUND));
+    }
 
+    // 1. AI 서버 요청 (로컬/RunPod 분기는 AiClient가 처리)
+    private static AiDto.GenerateMoodboardRequest moodboardRequest(MoodboardRequestDto requestDto) {
+        return new AiDto.GenerateMoodboardRequest(
+                requestDto.getTopic(),
+                requestDto.getUser_mood(),
+                requestDto.getUser_interests(),
+                requestDto.getMagazine_tags(),
+                requestDto.getMagazine_titles());
+    }
+
+    private String saveMoodboard(com.mine.api.domain.User user, AiDto.MoodboardResult output) {
         // Python 서버 success 필드 확인 및 로깅
-        Boolean success = (Boolean) output.get("success");
-        if (success != null && !success) {
-            String errorType = (String) output.get("error_type");
-            log.warn("Moodboard generation failed, using fallback image. error_type={}", errorType);
+        if (Boolean.FALSE.equals(output.success())) {
+            log.warn("Moodboard generation failed, using fallback image. error_type={}", output.errorType());
         }
 
-        String base64Image = (String) output.get("image_url");
-        String description = (String) output.get("description");
+        String base64Image = output.imageUrl();
+        String description = output.description();
 
         if (base64Image == null) {
             throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MOODBOARD);
         }
 
-        // base64 또는 URL 형태로 오면 S3에 업로드 — 클라이얰트에는 S3 URL만 노출해야 한다
+        // 로컬 응답은 base64, RunPod 응답은 이미 S3 URL — URL이면 그대로 반환된다
+        // 클라이얰트에는 S3 URL만 노출해야 한다
         String s3Url = s3Service.uploadBase64ToS3(base64Image);
 
         // magazineId=null — 머거진 연결 없는 독립형 무드보드
@@ -97,6 +92,11 @@ public class MoodboardService {
      * magazineId만으로 매거진 정보를 조회하여 무드보드를 생성합니다.
      */
     public String createMoodboardForMagazine(Long magazineId, String username) {
+        return requestCoalescer.execute("create_magazine_moodboard", username, magazineId,
+                () -> generateMoodboardForMagazine(magazineId, username));
+    }
+
+    private String generateMoodboardForMagazine(Long magazineId, String username) {
         // 1. User 조회
         com.mine.api.domain.User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException(ErrorMessages.USER_NOT_FOUND));
@@ -117,57 +117,28 @@ public class MoodboardService {
             magazineTags = java.util.Arrays.asList(magazine.getTags().split(","));
         }
 
-        // 5. Python 서버 요청 준비 (user_interests는 빈 리스트로 - 매거진 제목에 집중)
-        java.util.Map<String, Object> data = new java.util.HashMap<>();
-        data.put("topic", topic);
-        data.put("user_mood", ""); // 매거진 기반이므로 기본값
-        data.put("user_interests", java.util.List.of()); // 빈 리스트 - 착오 방지
-        data.put("magazine_tags", magazineTags);
-        data.put("magazine_titles", java.util.List.of(topic));
-
-        java.util.Map<String, Object> responseBody;
-        java.util.Map<String, Object> output;
-
-        // 7. 로컬 vs RunPod 분기
-        if (moodboardApiUrl.contains("localhost") || moodboardApiUrl.contains("127.0.0.1")) {
-            // 로컬: action 직접 포함
-            data.put("action", "generate_moodboard");
-            responseBody = runPodService.sendSyncRequest(moodboardApiUrl, data);
-            output = responseBody;
-        } else {
-            java.util.Map<String, Object> runPodInput = new java.util.HashMap<>();
-            runPodInput.put("action", "generate_moodboard");
-            runPodInput.put("data", data);
-            responseBody = runPodService.sendRequest(moodboardApiUrl, runPodInput);
-
-            if (responseBody == null || !responseBody.containsKey("output")) {
-                throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MOODBOARD);
-            }
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Object> outputTemp = (java.util.Map<String, Object>) responseBody.get("output");
-            output = outputTemp;
-        }
-
-        if (output == null) {
-            throw new RuntimeException("Failed to generate moodboard: no output");
-        }
+        // 5. Python 서버 요청 (user_interests는 빈 리스트로 - 매거진 제목에 집중)
+        AiDto.MoodboardResult output = aiClient.generateMoodboard(username, new AiDto.GenerateMoodboardRequest(
+                topic,
+                "", // 매거진 기반이므로 기본값
+                java.util.List.of(), // 빈 리스트 - 착오 방지
+                magazineTags,
+                java.util.List.of(topic)));
 
         // Python 서버 success 필드 확인 및 로깅
-        Boolean success = (Boolean) output.get("success");
-        if (success != null && !success) {
-            String errorType = (String) output.get("error_type");
+        if (Boolean.FALSE.equals(output.success())) {
             log.warn("Moodboard generation failed for magazine, using fallback image. magazineId={}, error_type={}",
-                    magazineId, errorType);
+                    magazineId, output.errorType());
         }
 
-        String base64Image = (String) output.get("image_url");
-        String description = (String) output.get("description");
+        String base64Image = output.imageUrl();
+        String description = output.description();
 
         if (base64Image == null) {
             throw new RuntimeException(ErrorMessages.FAILED_TO_GENERATE_MOODBOARD);
         }
 
-        // 8. S3 업로드
+        // 8. S3 업로드 (RunPod 경로는 스트리밍 업로드가 끝난 S3 URL이므로 그대로 반환됨)
         String s3Url = s3Service.uploadBase64ToS3(base64Image);
 
         // 9. DB 저장 (with magazineId)
@@ -205,17 +176,12 @@ public class MoodboardService {
     }
 
     /**
-     * 매거진 기반 무드보드 생성 (비동기 버전)
-     * 이 메서드는 @Async 어노테이션을 사용하여 백그라운드에서 실행됩니다.
+     * 매거진 기반 무드보드 생성 작업 등록
+     * ai_jobs 큐에 등록되어 GenerationJobWorker가 실행하며, 실패 시 backoff 후 재시도됩니다.
      */
-    @org.springframework.scheduling.annotation.Async
     public void createMoodboardForMagazineAsync(Long magazineId, String username) {
-        log.info("Async moodboard generation started for magazine: {}", magazineId);
-        try {
-            createMoodboardForMagazine(magazineId, username);
-            log.info("Async moodboard generation completed for magazine: {}", magazineId);
-        } catch (Exception e) {
-            log.error("Async moodboard generation failed for magazine {}: {}", magazineId, e.getMessage());
-        }
+        generationJobService.enqueue(com.mine.api.domain.GenerationJob.Type.MAGAZINE_MOODBOARD, username,
+                String.valueOf(magazineId), "moodboard:" + magazineId)
+                .ifPresent(jobId -> log.info("Moodboard generation queued for magazine: {} (job={})", magazineId, jobId));
     }
 }
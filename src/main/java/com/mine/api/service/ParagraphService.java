@@ -3,6 +3,7 @@ package com.mine.api.service;
 import com.mine.api.common.ErrorMessages;
 import com.mine.api.domain.MagazineSection;
 import com.mine.api.domain.Paragraph;
+import com.mine.api.dto.AiDto;
 import com.mine.api.dto.ParagraphDto;
 import com.mine.api.domain.Magazine;
 import com.mine.api.repository.MagazineRepository;
@@ -10,13 +11,15 @@ import com.mine.api.repository.MagazineSectionRepository;
 import com.mine.api.repository.ParagraphRepository;
 import com.mine.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -28,11 +31,10 @@ public class ParagraphService {
     private final MagazineSectionRepository sectionRepository;
     private final MagazineRepository magazineRepository;
     private final UserRepository userRepository;
-    private final S3Service s3Service;
-    private final RunPodService runPodService;
-
-    @Value("${python.api.url}")
-    private String pythonApiUrl;
+    private final ImageIngestionService imageIngestionService;
+    private final AiClient aiClient;
+    private final AiRequestCoalescer requestCoalescer;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public Long createParagraph(Long magazineId, Long sectionId, ParagraphDto.CreateRequest request, String username) {
@@ -44,7 +46,7 @@ public class ParagraphService {
         // 이미지 업로드 처리
         String imageUrl = request.getImageUrl();
         if (imageUrl != null && !imageUrl.isBlank()) {
-            imageUrl = s3Service.uploadImageFromUrl(imageUrl);
+            imageUrl = imageIngestionService.rehost(imageUrl);
         }
 
         // 마지막 순서 계산 (항상 맨 밑에 추가)
@@ -67,98 +69,120 @@ public class ParagraphService {
         return savedParagraph.getId();
     }
 
-    @Transactional
+    /**
+     * AI 문단 생성 — AI 호출 동안 DB 커넥션을 잡지 않도록 스냅샷 조회 → AI 호출/이미지 재업로드 → 짧은 쓰기 트랜잭션 순으로 처리
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long createParagraphWithAi(Long magazineId, Long sectionId, ParagraphDto.AiCreateRequest request, String username) {
-        validateOwnership(magazineId, sectionId, username);
+        // 더블탭/재시도로 같은 요청이 겹치면 AI 호출부터 저장까지 한 번만 실행하고 같은 문단 ID를 돌려줌
+        return requestCoalescer.execute("create_paragraph_ai", username, List.of(magazineId, sectionId, request),
+                () -> {
+                    AiSnapshot snapshot = paragraphSnapshot(magazineId, sectionId, request, username);
+                    return saveGeneratedParagraph(magazineId, sectionId, username, snapshot,
+                            aiClient.generateParagraph(username, snapshot.request()));
+                });
+    }
 
-        MagazineSection section = sectionRepository.findById(sectionId)
-                .orElseThrow(() -> new IllegalArgumentException("Section not found"));
-        
-        Magazine magazine = section.getMagazine();
-
-        // 1. Python AI 서버 요청 준비
-        Map<String, Object> data = new HashMap<>();
-        data.put("action", "generate_paragraph");
-        data.put("topic", magazine.getTitle());
-        data.put("user_mood", "vibrant"); // 기본값 사용
-        data.put("section_heading", section.getHeading());
-        data.put("message", request.getMessage());
-        
-        // 문맥 제공: 기존 문단들과 중복되지 않게 함
-        List<Map<String, Object>> existingParas = section.getParagraphs().stream()
-                .map(p -> {
-                    Map<String, Object> pMap = new HashMap<>();
-                    pMap.put("subtitle", p.getSubtitle());
-                    pMap.put("text", p.getText());
-                    return pMap;
-                })
-                .collect(java.util.stream.Collectors.toList());
-        data.put("existing_paragraphs", existingParas);
+    /**
+     * createParagraphWithAi의 논블로킹 버전 — AI 응답을 기다리는 동안 스레드를 잡지 않고, 저장은 AI 결과 전달 풀에서 실행
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Long> createParagraphWithAiAsync(Long magazineId, Long sectionId,
+            ParagraphDto.AiCreateRequest request, String username) {
+        return requestCoalescer.executeAsync("create_paragraph_ai", username,
+                List.of(magazineId, sectionId, request), () -> {
+                    AiSnapshot snapshot = paragraphSnapshot(magazineId, sectionId, request, username);
+                    return aiClient.generateParagraphAsync(username, snapshot.request())
+                            .thenApply(output -> saveGeneratedParagraph(magazineId, sectionId, username, snapshot,
+                                    output));
+                });
+    }
+
+    private AiSnapshot paragraphSnapshot(Long magazineId, Long sectionId, ParagraphDto.AiCreateRequest request,
+            String username) {
+        // 1. 권한 확인 + Python AI 서버 요청 준비 (스냅샷)
+        AiSnapshot snapshot = transactionTemplate.execute(status -> {
+            validateOwnership(magazineId, sectionId, username);
+
+            MagazineSection section = sectionRepository.findById(sectionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Section not found"));
+
+            Magazine magazine = section.getMagazine();
+
+            // 문맥 제공: 기존 문단들과 중복되지 않게 함
+            List<AiDto.ParagraphPayload> existingParas = section.getParagraphs().stream()
+                    .map(p -> new AiDto.ParagraphPayload(p.getSubtitle(), p.getText(), null, null))
+                    .collect(java.util.stream.Collectors.toList());
+
+            AiDto.GenerateParagraphRequest aiRequest = new AiDto.GenerateParagraphRequest(
+                    magazine.getTitle(),
+                    "vibrant", // 기본값 사용
+                    section.getHeading(),
+                    request.getMessage(),
+                    existingParas);
+            return new AiSnapshot(aiRequest, magazine.getVersion());
+        });
 
         log.info("Requesting AI paragraph generation: magazineId={}, sectionId={}, message={}", 
                 magazineId, sectionId, request.getMessage());
+        return snapshot;
+    }
 
-        Map<String, Object> responseBody;
-        Map<String, Object> output;
-
-        // 로컬 환경 vs RunPod 환경 분기
-        if (pythonApiUrl.contains("localhost") || pythonApiUrl.contains("127.0.0.1")) {
-            responseBody = runPodService.sendSyncRequest(pythonApiUrl, data);
-            output = responseBody;
-        } else {
-            Map<String, Object> inputData = new HashMap<>();
-            inputData.put("action", "generate_paragraph");
-            inputData.put("data", data);
-            responseBody = runPodService.sendRequest(pythonApiUrl, inputData);
-            
-            if (responseBody == null || !responseBody.containsKey("output")) {
-                throw new RuntimeException("AI server response missing output field");
-            }
-            output = (Map<String, Object>) responseBody.get("output");
-        }
-
-        if (output == null) {
-            throw new RuntimeException("Failed to generate paragraph from AI");
-        }
+    private Long saveGeneratedParagraph(Long magazineId, Long sectionId, String username, AiSnapshot snapshot,
+            AiDto.ParagraphPayload output) {
+        Long snapshotVersion = snapshot.version();
 
         // 2. 결과 파싱 (AI 응답 형식: {subtitle, text, image_url})
-        String subtitle = (String) output.get("subtitle");
-        String text = (String) output.get("text");
-        String imageUrl = (String) output.get("image_url");
+        String subtitle = output.subtitle();
+        String text = output.text();
+        String imageUrl = output.imageUrl();
+        String sourceUrl = output.sourceUrl();
 
         if (subtitle == null || subtitle.isBlank()) subtitle = "새로운 이야기";
         if (text == null || text.isBlank()) text = "내용 생성에 실패했습니다.";
 
-        // 3. 이미지 S3 업로드
+        // 3. 이미지 S3 업로드 (트랜잭션 밖에서)
         if (imageUrl != null && !imageUrl.isBlank()) {
-            imageUrl = s3Service.uploadImageFromUrl(imageUrl);
+            imageUrl = imageIngestionService.rehost(imageUrl);
         }
 
-        // 4. 마지막 순서 계산
-        Integer maxOrder = paragraphRepository.findMaxDisplayOrderBySectionId(sectionId);
-        int nextOrder = (maxOrder == null) ? 0 : maxOrder + 1;
-
         Paragraph paragraph = Paragraph.builder()
                 .subtitle(subtitle)
                 .text(text)
                 .imageUrl(imageUrl)
-                .displayOrder(nextOrder)
                 .build();
 
-        section.addParagraph(paragraph);
-        Paragraph savedParagraph = paragraphRepository.save(paragraph);
+        // 4. 짧은 쓰기 트랜잭션에서 반영 — 스냅샷 이후 다른 AI 편집이 반영되었으면 409
+        Long paragraphId = transactionTemplate.execute(status -> {
+            Magazine magazine = magazineRepository.findForUpdateById(magazineId)
+                    .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.MAGAZINE_NOT_FOUND));
+            if (!Objects.equals(magazine.getVersion(), snapshotVersion)) {
+                throw new ObjectOptimisticLockingFailureException(Magazine.class, magazineId);
+            }
 
-        // AI가 새 source_url을 반환하면 섹션의 sourceUrl도 업데이트
-        String sourceUrl = (String) output.get("source_url");
-        if (sourceUrl != null && !sourceUrl.isBlank()) {
-            section.setSourceUrl(sourceUrl);
-            sectionRepository.save(section);
-        }
+            MagazineSection section = sectionRepository.findById(sectionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Section not found"));
+
+            // 마지막 순서 계산
+            Integer maxOrder = paragraphRepository.findMaxDisplayOrderBySectionId(sectionId);
+            int nextOrder = (maxOrder == null) ? 0 : maxOrder + 1;
+            paragraph.setDisplayOrder(nextOrder);
+
+            section.addParagraph(paragraph);
+            Paragraph savedParagraph = paragraphRepository.save(paragraph);
+
+            // AI가 새 source_url을 반환하면 섹션의 sourceUrl도 업데이트
+            if (sourceUrl != null && !sourceUrl.isBlank()) {
+                section.setSourceUrl(sourceUrl);
+                sectionRepository.save(section);
+            }
+            return savedParagraph.getId();
+        });
 
         log.info("AI Paragraph created: id={}, order={}, magazineId={}, username={}", 
-                savedParagraph.getId(), nextOrder, magazineId, username);
+                paragraphId, paragraph.getDisplayOrder(), magazineId, username);
         
-        return savedParagraph.getId();
+        return paragraphId;
     }
 
     @Transactional
@@ -201,4 +225,7 @@ public class ParagraphService {
             paragraphs.get(i).setDisplayOrder(i);
         }
     }
+
+    private record AiSnapshot(AiDto.GenerateParagraphRequest request, Long version) {
+    }
 }
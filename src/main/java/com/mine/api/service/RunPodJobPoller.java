@@ -0,0 +1,217 @@
+package com.mine.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * RunPod 작업 상태 폴링 엔진
+ * Thread.sleep 루프 대신 소수 스케줄러 스레드가 모든 대기 작업을 돌아가며 폴링한다.
+ * - IN_PROGRESS: 곧 끝날 가능성이 높으므로 짧은 간격으로 폴링
+ * - IN_QUEUE: 콜드스타트/대기열 구간이므로 긴 간격으로 폴링
+ * - 웹훅 등록 작업: RunPod 완료 웹훅이 wake()로 즉시 조회를 당겨오므로 폴링은 긴 간격의 안전망으로만 사용
+ *   (웹훅을 받은 노드와 관계없이 RunPodWebhookRelay가 대기자가 있는 노드의 wake()를 호출한다)
+ */
+@Slf4j
+@Component
+public class RunPodJobPoller {
+
+    private static final int MAX_CONSECUTIVE_ERRORS = 3;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    // 웹훅으로 깨울 수 있는 진행 중 작업 (RunPod 작업 ID 기준)
+    private final Map<String, PollingJob<?>> webhookJobs = new ConcurrentHashMap<>();
+
+    @Value("${python.api.polling.in-progress-interval-ms:1500}")
+    private long inProgressIntervalMs;
+
+    @Value("${python.api.polling.in-queue-interval-ms:5000}")
+    private long inQueueIntervalMs;
+
+    // 콜드스타트 + AI 처리 시간 커버 (기존 5초 * 180회와 동일)
+    @Value("${python.api.polling.timeout-minutes:15}")
+    private long timeoutMinutes;
+
+    // 웹훅 유실 대비 안전망 폴링 간격
+    @Value("${python.api.webhook.safety-poll-interval-ms:30000}")
+    private long safetyPollIntervalMs;
+
+    public RunPodJobPoller(@Value("${python.api.polling.threads:2}") int threads) {
+        this.scheduler = WorkerPools.scheduled("runpod-poll-", threads);
+    }
+
+    /**
+     * 작업이 종료 상태(COMPLETED/FAILED)가 될 때까지 폴링하는 Future 반환
+     *
+     * @param jobId      로그용 RunPod 작업 ID
+     * @param statusCall 상태 조회 호출 (논블로킹 Future)
+     * @param statusOf   상태 응답에서 status 문자열 추출
+     */
+    public <T> CompletableFuture<T> poll(String jobId, Supplier<CompletableFuture<T>> statusCall,
+            Function<T, String> statusOf) {
+        return poll(jobId, null, statusCall, statusOf);
+    }
+
+    /**
+     * 완료 웹훅을 기다리는 작업 폴링 — 웹훅이 도착하면 wake()로 즉시 상태를 조회하고, 그 전까지는 안전망 간격으로만 폴링
+     *
+     * @param webhookToken 웹훅 URL에 실어 보낸 작업별 토큰 (null이면 일반 폴링)
+     */
+    public <T> CompletableFuture<T> poll(String jobId, String webhookToken, Supplier<CompletableFuture<T>> statusCall,
+            Function<T, String> statusOf) {
+        PollingJob<T> job = new PollingJob<>(jobId, webhookToken, statusCall, statusOf,
+                System.nanoTime() + TimeUnit.MINUTES.toNanos(timeoutMinutes));
+        if (webhookToken != null) {
+            webhookJobs.put(jobId, job);
+            job.result.whenComplete((status, error) -> webhookJobs.remove(jobId, job));
+        }
+        // 방금 제출한 작업은 대기열에 있으므로 첫 폴링은 대기열 간격으로
+        schedule(job, webhookToken != null ? safetyPollIntervalMs : inQueueIntervalMs);
+        return job.result;
+    }
+
+    /**
+     * RunPod 완료 웹훅 수신 — 예약된 다음 폴링을 당겨 즉시 상태를 조회한다.
+     *
+     * @param token 웹훅 URL의 작업별 토큰 (X-Internal-Key로 인증된 호출이면 null)
+     * @return 대기 중인 작업을 깨웠는지 여부
+     */
+    public boolean wake(String jobId, String token) {
+        PollingJob<?> job = webhookJobs.get(jobId);
+        if (job == null) {
+            return false; // 이미 폴링으로 끝났거나 알 수 없는 작업
+        }
+        if (token != null && !token.equals(job.webhookToken)) {
+            log.warn("RunPod webhook token mismatch. job={}", jobId);
+            return false;
+        }
+        wakeNow(job);
+        return true;
+    }
+
+    private <T> void wakeNow(PollingJob<T> job) {
+        synchronized (job) {
+            if (job.next != null && job.next.cancel(false)) {
+                job.next = null;
+                schedule(job, 0);
+            } else {
+                job.wakeRequested = true; // 폴링 진행 중 — 끝나는 즉시 다시 조회
+            }
+        }
+    }
+
+    private <T> void schedule(PollingJob<T> job, long delayMs) {
+        if (job.result.isDone()) {
+            return; // 호출 측에서 취소한 경우
+        }
+        synchronized (job) {
+            if (job.wakeRequested) {
+                job.wakeRequested = false;
+                delayMs = 0;
+            }
+            try {
+                job.next = scheduler.schedule(() -> pollOnce(job), delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                job.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> void pollOnce(PollingJob<T> job) {
+        if (job.result.isDone()) {
+            return;
+        }
+        if (System.nanoTime() - job.deadlineNanos > 0) {
+            job.result.completeExceptionally(new TimeoutException(
+                    "RunPod job " + job.jobId + " timed out after " + timeoutMinutes + " minutes"));
+            return;
+        }
+
+        job.attempts++;
+        log.debug("Polling RunPod status... (job={}, attempt={})", job.jobId, job.attempts);
+
+        CompletableFuture<T> call;
+        try {
+            call = job.statusCall.get();
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((status, error) -> {
+            if (error != null) {
+                // 일시적인 네트워크 오류는 몇 번까지 허용
+                job.consecutiveErrors++;
+                if (job.consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                    log.error("RunPod status polling failed {} times in a row. job={}", job.consecutiveErrors,
+                            job.jobId, error);
+                    job.result.completeExceptionally(error);
+                } else {
+                    log.warn("RunPod status polling error (job={}): {}", job.jobId, error.getMessage());
+                    schedule(job, inQueueIntervalMs);
+                }
+                return;
+            }
+            job.consecutiveErrors = 0;
+
+            String state = status != null ? job.statusOf.apply(status) : null;
+            log.debug("Job status: {} (job={})", state, job.jobId);
+
+            if ("COMPLETED".equals(state)) {
+                log.info("RunPod job COMPLETED after {} polls. job={}", job.attempts, job.jobId);
+                job.result.complete(status);
+            } else if ("FAILED".equals(state) || "CANCELLED".equals(state) || "TIMED_OUT".equals(state)) {
+                log.error("RunPod job {}. Full response: {}", state, status);
+                job.result.completeExceptionally(new RuntimeException("RunPod job failed: " + status));
+            } else if (job.webhookToken != null) {
+                schedule(job, safetyPollIntervalMs); // 완료는 웹훅이 알려줌
+            } else if ("IN_PROGRESS".equals(state)) {
+                schedule(job, inProgressIntervalMs);
+            } else {
+                // IN_QUEUE 또는 알 수 없는 상태 — 대기열 간격으로 재시도
+                schedule(job, inQueueIntervalMs);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static class PollingJob<T> {
+        private final String jobId;
+        private final String webhookToken;
+        private final Supplier<CompletableFuture<T>> statusCall;
+        private final Function<T, String> statusOf;
+        private final long deadlineNanos;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // 한 작업당 동시에 하나의 폴링만 진행되므로 별도 동기화 불필요
+        private volatile int attempts;
+        private volatile int consecutiveErrors;
+        // 아래 두 필드는 job 모니터로 보호 (웹훅 스레드와 폴링 스레드가 함께 접근)
+        private ScheduledFuture<?> next;
+        private boolean wakeRequested;
+
+        private PollingJob(String jobId, String webhookToken, Supplier<CompletableFuture<T>> statusCall,
+                Function<T, String> statusOf, long deadlineNanos) {
+            this.jobId = jobId;
+            this.webhookToken = webhookToken;
+            this.statusCall = statusCall;
+            this.statusOf = statusOf;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RunPod 워커 예열 스케줄러
+ * RunPod 호출 이력으로 엔드포인트/action별 분당 요청 도착률을 요일·시간대 슬롯마다 학습하고,
+ * 곧 수요가 예상되는데 대기 중인 워커가 부족하면 가벼운 warmup 작업을 보내 워커를 미리 띄운다.
+ * 한가한 시간대에는 아무것도 보내지 않으므로 워커는 RunPod idle timeout에 따라 내려간다.
+ * 콜드스타트 여부는 완료 응답의 delayTime(워커 배정 대기 시간)으로 판단해 runpod.jobs{cold} 지표로 노출한다.
+ */
+@Slf4j
+@Component
+public class RunPodKeepWarmScheduler {
+
+    private static final int SLOTS_PER_WEEK = 7 * 24;
+    private static final double HISTORY_WEIGHT = 0.05; // 시간대 슬롯 학습률 (분 단위 샘플이 며칠에 걸쳐 누적)
+    private static final double RECENT_WEIGHT = 0.3; // 최근 도착률 반영 비율 (약 3분 평균)
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    // AiWebClientConfig의 커넥션 풀 공유 WebClient
+    private final WebClient aiWebClient;
+    private final MeterRegistry meterRegistry;
+    private final Timer jobDelay;
+
+    // 엔드포인트 기본 URL (…/v2/{endpointId}) → action별 도착 이력
+    private final Map<String, Map<String, Traffic>> endpoints = new ConcurrentHashMap<>();
+
+    @Value("${python.api.key}")
+    private String apiKey;
+
+    // Python 핸들러에 action=warmup 처리가 배포된 뒤에만 켠다 (없으면 예열 작업이 실패 작업으로 과금됨)
+    @Value("${mine.keep-warm.enabled:false}")
+    private boolean enabled;
+
+    // 이만큼 앞의 시간대 수요까지 보고 미리 깨움 (콜드스타트 ~30초보다 충분히 길게)
+    @Value("${mine.keep-warm.lead-minutes:10}")
+    private long leadMinutes;
+
+    // 예상 수요가 이보다 적으면 예열하지 않음 — 한가한 시간대 GPU 비용 절감
+    @Value("${mine.keep-warm.min-requests-per-hour:3}")
+    private double minRequestsPerHour;
+
+    @Value("${mine.keep-warm.max-warm-workers:1}")
+    private int maxWarmWorkers;
+
+    // 요청 하나가 워커를 점유하는 평균 시간 — 필요한 워커 수 계산용
+    @Value("${mine.keep-warm.busy-seconds-per-request:60}")
+    private double busySecondsPerRequest;
+
+    @Value("${mine.keep-warm.cold-start-threshold-ms:10000}")
+    private long coldStartThresholdMs;
+
+    public RunPodKeepWarmScheduler(WebClient aiWebClient, MeterRegistry meterRegistry) {
+        this.aiWebClient = aiWebClient;
+        this.meterRegistry = meterRegistry;
+        this.jobDelay = Timer.builder("runpod.job.delay")
+                .description("Time a RunPod job waited for a worker (includes cold start)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * RunPod 작업 요청 도착 기록 (AiClient에서 RunPod 경로 호출 시)
+     */
+    public void recordArrival(String url, String action) {
+        String base = endpointBase(url);
+        endpoints.computeIfAbsent(base, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(action, k -> newTraffic(base, action))
+                .arrivals.incrementAndGet();
+    }
+
+    /**
+     * 완료된 작업의 워커 배정 대기 시간 기록 — 임계값 이상이면 콜드 워커에 걸린 것으로 집계
+     */
+    public void recordJob(String jobId, Long delayTimeMs) {
+        if (delayTimeMs == null) {
+            return;
+        }
+        boolean cold = delayTimeMs >= coldStartThresholdMs;
+        jobDelay.record(delayTimeMs, TimeUnit.MILLISECONDS);
+        meterRegistry.counter("runpod.jobs", "cold", String.valueOf(cold)).increment();
+        if (cold) {
+            log.info("RunPod job {} waited {}ms for a worker (cold start)", jobId, delayTimeMs);
+        }
+    }
+
+    /**
+     * 1분마다 도착률 학습 후, 수요가 예상되는 엔드포인트의 워커 상태를 확인해 부족분만큼 warmup 작업 전송
+     */
+    @Scheduled(fixedDelayString = "${mine.keep-warm.interval-ms:60000}")
+    public void keepWarm() {
+        LocalDateTime now = LocalDateTime.now();
+        learn(now);
+        if (!enabled) {
+            return;
+        }
+
+        for (String base : endpoints.keySet()) {
+            double perMinute = predictedPerMinute(base, now);
+            if (perMinute * 60 < minRequestsPerHour) {
+                continue; // 한가한 시간대 — 워커가 내려가도록 둔다
+            }
+            int target = (int) Math.min(maxWarmWorkers,
+                    Math.max(1, Math.ceil(perMinute * busySecondsPerRequest / 60)));
+            warmUp(base, target);
+        }
+    }
+
+    // 지난 1분의 도착 수를 최근 도착률과 해당 요일·시간대 슬롯에 반영
+    void learn(LocalDateTime now) {
+        int slot = slotOf(now.minusMinutes(1));
+        for (Map<String, Traffic> actions : endpoints.values()) {
+            for (Traffic traffic : actions.values()) {
+                int count = traffic.arrivals.getAndSet(0);
+                traffic.recentPerMinute = traffic.recentPerMinute * (1 - RECENT_WEIGHT) + count * RECENT_WEIGHT;
+                traffic.historyPerMinute[slot] = traffic.historyPerMinute[slot] * (1 - HISTORY_WEIGHT)
+                        + count * HISTORY_WEIGHT;
+            }
+        }
+    }
+
+    // 엔드포인트의 예상 분당 요청 수 — action별로 최근 도착률과 지금/lead 이후 시간대 이력 중 큰 값의 합
+    double predictedPerMinute(String url, LocalDateTime now) {
+        Map<String, Traffic> actions = endpoints.get(endpointBase(url));
+        if (actions == null) {
+            return 0;
+        }
+        int current = slotOf(now);
+        int upcoming = slotOf(now.plusMinutes(leadMinutes));
+        double total = 0;
+        for (Traffic traffic : actions.values()) {
+            total += Math.max(traffic.recentPerMinute,
+                    Math.max(traffic.historyPerMinute[current], traffic.historyPerMinute[upcoming]));
+        }
+        return total;
+    }
+
+    private void warmUp(String base, int target) {
+        aiWebClient.get()
+                .uri(base + "/health")
+                .header("Authorization", "Bearer " + apiKey)
+                .retrieve()
+                .bodyToMono(MAP_TYPE)
+                .timeout(Duration.ofSeconds(10))
+                .subscribe(health -> {
+                    // 대기 중인 작업이 있으면 이미 워커가 뜨는 중이므로 그만큼 덜 보냄
+                    int ready = countOf(health, "workers", "idle") + countOf(health, "workers", "initializing");
+                    int missing = target - ready - countOf(health, "jobs", "inQueue");
+                    for (int i = 0; i < missing; i++) {
+                        sendWarmupJob(base);
+                    }
+                }, e -> log.warn("RunPod health check failed for keep-warm: {}", e.getMessage()));
+    }
+
+    // Python 핸들러가 action=warmup을 즉시 종료하는 작업으로 처리해야 함 — 워커 기동 비용만 발생
+    private void sendWarmupJob(String base) {
+        aiWebClient.post()
+                .uri(base + "/run")
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("input", Map.of("action", "warmup")))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofSeconds(30))
+                .subscribe(response -> {
+                    log.info("Sent RunPod keep-warm job to {}", base);
+                    meterRegistry.counter("runpod.keepwarm.jobs").increment();
+                }, e -> log.warn("RunPod keep-warm job failed: {}", e.getMessage()));
+    }
+
+    // 엔드포인트별로 태그 — 같은 action을 여러 엔드포인트로 보내도 게이지가 하나로 합쳐져 첫 엔드포인트만 보이지 않도록
+    private Traffic newTraffic(String base, String action) {
+        Traffic traffic = new Traffic();
+        Gauge.builder("runpod.arrival.rate", traffic, t -> t.recentPerMinute)
+                .description("Recent RunPod requests per minute")
+                .tag("endpoint", AiEndpointRouter.endpointName(base))
+                .tag("action", action)
+                .register(meterRegistry);
+        return traffic;
+    }
+
+    private static int countOf(Map<String, Object> health, String group, String field) {
+        if (health != null && health.get(group) instanceof Map<?, ?> values
+                && values.get(field) instanceof Number number) {
+            return number.intValue();
+        }
+        return 0;
+    }
+
+    private static int slotOf(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    // …/v2/{endpointId}/runsync, …/run → …/v2/{endpointId}
+    static String endpointBase(String url) {
+        String base = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        if (base.endsWith("/runsync")) {
+            return base.substring(0, base.length() - "/runsync".length());
+        }
+        if (base.endsWith("/run")) {
+            return base.substring(0, base.length() - "/run".length());
+        }
+        return base;
+    }
+
+    private static class Traffic {
+        private final AtomicInteger arrivals = new AtomicInteger();
+        private final double[] historyPerMinute = new double[SLOTS_PER_WEEK]; // 스케줄러 스레드에서만 갱신
+        private volatile double recentPerMinute;
+    }
+}
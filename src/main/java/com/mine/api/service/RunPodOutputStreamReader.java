@@ -0,0 +1,305 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * 이미지가 포함된 RunPod 응답 JSON을 스트리밍으로 읽는 파서
+ * output의 base64 이미지 필드는 바이트 단위로 떼어내 디코딩 스트림 → S3 멀티파트 업로드로 바로 흘려보내고,
+ * 값이 S3 URL로 바뀐 나머지 (작은) JSON만 Jackson으로 읽는다. 이미지 크기와 무관하게 작은 버퍼 몇 개만 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunPodOutputStreamReader {
+
+    private static final int IO_BUFFER_SIZE = 8192;
+
+    private final S3Service s3Service;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * RunPod 상태 응답 읽기 — 이미지 필드가 있으면 S3에 업로드하고 해당 값을 S3 URL로 바꿔 output 타입으로 디코딩
+     *
+     * @param body       응답 본문 스트림
+     * @param imageField output 안의 base64 이미지 필드명 (예: image_url)
+     * @param outputType output을 디코딩할 타입
+     */
+    public <T> AiDto.RunPodJobStatus<T> read(InputStream body, String imageField, Class<T> outputType)
+            throws IOException {
+        S3Service.ImageUploadStream[] upload = new S3Service.ImageUploadStream[1];
+        Base64FieldExtractingInputStream filtered = new Base64FieldExtractingInputStream(
+                new BufferedInputStream(body, IO_BUFFER_SIZE), imageField, () -> {
+                    upload[0] = s3Service.openImageUploadStream("moodboards/");
+                    return new BufferedOutputStream(new Base64DecodingOutputStream(upload[0]), IO_BUFFER_SIZE);
+                }, () -> new String(JsonStringEncoder.getInstance().quoteAsString(upload[0].getUrl())));
+
+        JavaType statusType = objectMapper.getTypeFactory()
+                .constructParametricType(AiDto.RunPodJobStatus.class, outputType);
+        try {
+            return objectMapper.readValue(filtered, statusType);
+        } catch (IOException | RuntimeException e) {
+            if (upload[0] != null) {
+                upload[0].abort();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * JSON 바이트 스트림에서 지정한 필드의 base64 문자열 값을 떼어내 sink로 보내는 필터
+     * 다운스트림(Jackson)에는 해당 값이 replacement (업로드 완료 후 호출, 없으면 빈 문자열)로 전달된다.
+     * - "data:image/png;base64," 같은 data URI 접두어는 제거
+     * - 값이 http(s) URL이면 (폴백 이미지 등) 손대지 않고 그대로 통과
+     * - 최초 한 번만 추출하며 이후에는 그대로 통과
+     */
+    static class Base64FieldExtractingInputStream extends FilterInputStream {
+
+        private enum State {
+            SCAN, AFTER_KEY, VALUE_START, CAPTURE, DONE
+        }
+
+        private static final int MAX_PREFIX_LENGTH = 256;
+
+        private final byte[] key;
+        private final Supplier<OutputStream> sinkFactory;
+        private final Supplier<String> replacement;
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        private State state = State.SCAN;
+        private int matched;
+        private int previous = -1;
+        private byte[] pending;
+        private int pendingPos;
+        private OutputStream sink;
+        private boolean extracted;
+
+        Base64FieldExtractingInputStream(InputStream in, String fieldName, Supplier<OutputStream> sinkFactory) {
+            this(in, fieldName, sinkFactory, () -> "");
+        }
+
+        /**
+         * @param replacement 추출한 값 대신 내보낼 JSON 문자열 내용 (이스케이프 완료된 상태)
+         */
+        Base64FieldExtractingInputStream(InputStream in, String fieldName, Supplier<OutputStream> sinkFactory,
+                Supplier<String> replacement) {
+            super(in);
+            this.key = ("\"" + fieldName + "\"").getBytes(StandardCharsets.UTF_8);
+            this.sinkFactory = sinkFactory;
+            this.replacement = replacement;
+        }
+
+        boolean isExtracted() {
+            return extracted;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (true) {
+                if (pending != null) {
+                    int b = pending[pendingPos++] & 0xff;
+                    if (pendingPos == pending.length) {
+                        pending = null;
+                    }
+                    return b;
+                }
+
+                int b = in.read();
+                if (b == -1) {
+                    if (state == State.VALUE_START || state == State.CAPTURE) {
+                        throw new EOFException("Unexpected end of stream inside \"" + new String(key, 1,
+                                key.length - 2, StandardCharsets.UTF_8) + "\" value");
+                    }
+                    return -1;
+                }
+
+                switch (state) {
+                    case SCAN:
+                        matchKey(b);
+                        return b;
+                    case AFTER_KEY:
+                        if (b == '"') {
+                            state = State.VALUE_START;
+                            head.reset();
+                        } else if (b != ':' && !Character.isWhitespace(b)) {
+                            state = State.SCAN; // 문자열이 아닌 값 (null 등)
+                        }
+                        return b;
+                    case VALUE_START:
+                        startValue(b);
+                        continue;
+                    case CAPTURE:
+                        if (b == '"') {
+                            sink.close(); // 디코딩 잔여분 flush + S3 업로드 완료
+                            extracted = true;
+                            state = State.DONE;
+                            pending = (replacement.get() + "\"").getBytes(StandardCharsets.UTF_8);
+                            pendingPos = 0;
+                            continue;
+                        }
+                        if (b != '\\') { // JSON 이스케이프된 "\/" 처리
+                            sink.write(b);
+                        }
+                        continue;
+                    default:
+                        return b;
+                }
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < len) {
+                int next = read();
+                if (next == -1) {
+                    return count == 0 ? -1 : count;
+                }
+                b[off + count++] = (byte) next;
+                // 추가로 막히지 않고 읽을 수 있는 만큼만 채워 반환
+                if (pending == null && state != State.CAPTURE && in.available() == 0) {
+                    break;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return pending != null ? pending.length - pendingPos : 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && read() != -1) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+        private void matchKey(int b) {
+            // 문자열 내부의 이스케이프된 따옴표(\")는 키 시작으로 보지 않음
+            if (b == key[matched] && (matched > 0 || previous != '\\')) {
+                matched++;
+            } else {
+                matched = (b == key[0] && previous != '\\') ? 1 : 0;
+            }
+            previous = b;
+            if (matched == key.length) {
+                matched = 0;
+                state = extracted ? State.SCAN : State.AFTER_KEY;
+            }
+        }
+
+        /**
+         * 값의 앞부분으로 base64 / data URI / URL을 판별
+         */
+        private void startValue(int b) throws IOException {
+            if (b == '"') {
+                // 짧은 문자열 — 그대로 통과
+                head.write(b);
+                passThroughHead();
+                return;
+            }
+            head.write(b);
+            String prefix = head.toString(StandardCharsets.US_ASCII);
+
+            if (prefix.startsWith("data:")) {
+                if (b == ',') {
+                    beginCapture(); // 접두어는 버리고 이후 base64만 추출
+                } else if (head.size() > MAX_PREFIX_LENGTH) {
+                    throw new IOException("Invalid data URI prefix");
+                }
+            } else if (prefix.startsWith("http")) {
+                passThroughHead();
+            } else if (!"http".startsWith(prefix) && !"data:".startsWith(prefix)) {
+                beginCapture();
+                sink.write(head.toByteArray());
+            }
+        }
+
+        private void beginCapture() {
+            sink = sinkFactory.get();
+            state = State.CAPTURE;
+        }
+
+        private void passThroughHead() {
+            pending = head.toByteArray();
+            pendingPos = 0;
+            previous = pending[pending.length - 1];
+            state = State.SCAN;
+        }
+    }
+
+    /**
+     * base64 문자를 받아 4바이트 단위로 디코딩해 다음 스트림으로 쓰는 OutputStream
+     */
+    static class Base64DecodingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final byte[] chunk = new byte[IO_BUFFER_SIZE]; // 4의 배수
+        private int length;
+
+        Base64DecodingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b == '\n' || b == '\r' || b == ' ') {
+                return;
+            }
+            chunk[length++] = (byte) b;
+            if (length == chunk.length) {
+                decode(length);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (length > 0) {
+                    decode(length);
+                }
+            } finally {
+                out.close();
+            }
+        }
+
+        private void decode(int usable) throws IOException {
+            try {
+                ByteBuffer decoded = Base64.getDecoder().decode(ByteBuffer.wrap(chunk, 0, usable));
+                out.write(decoded.array(), decoded.arrayOffset() + decoded.position(), decoded.remaining());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid base64 image data", e);
+            }
+            length = 0;
+        }
+    }
+}
@@ -1,35 +1,181 @@
 package com.mine.api.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * RunPod Serverless / 로컬 FastAPI 단일 엔드포인트 호출
+ * 엔드포인트 선택과 엔드포인트별 서킷 브레이커는 AiEndpointRouter가 담당한다.
+ * 모든 호출은 AiCallLedger.Trace에 요청/응답 크기, 폴링 횟수, RunPod 대기/실행 시간을 남긴다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RunPodService {
 
-    private final WebClient.Builder webClientBuilder;
+    // AiWebClientConfig의 커넥션 풀 공유 WebClient
+    private final WebClient aiWebClient;
+    private final RunPodJobPoller runPodJobPoller;
+    private final RunPodWebhookRelay runPodWebhookRelay;
+    private final RunPodOutputStreamReader runPodOutputStreamReader;
+    private final RunPodKeepWarmScheduler keepWarmScheduler;
+    private final ObjectMapper objectMapper;
 
     @Value("${python.api.key}")
     private String apiKey;
 
-    // 5초 간격으로 최대 15분 폴링 — RunPod 콜드스타트 + AI 처리 시간 카버
-    private static final int MAX_RETRIES = 180; // 5 seconds * 180 = 15 minutes
-    private static final long RETRY_DELAY_MS = 5000;
+    // 로컬 FastAPI 요청 본문 gzip 압축 — FastAPI 쪽에서 Content-Encoding: gzip 요청 본문을 풀어야 한다
+    @Value("${python.api.gzip-requests:false}")
+    private boolean gzipRequests;
+
+    @Value("${python.api.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    // 이 서버의 RunPod 완료 웹훅 주소 (예: https://api.example.com/api/internal/runpod/webhook) — 비어 있으면 폴링만 사용
+    @Value("${python.api.webhook.url:}")
+    private String webhookUrl;
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<>() {
+    };
 
     /**
      * RunPod Serverless Async Request (POST /run -> Poll /status/{id})
+     * 기존 호출부 호환용 블로킹 버전 — 내부적으로는 폴링 엔진의 Future를 기다린다.
+     *
+     * @return 완료 응답의 output을 outputType으로 디코딩한 값
+     */
+    public <T> T sendRequest(String url, Object inputData, Class<T> outputType, AiCallLedger.Trace trace) {
+        return await(submitAndPoll(url, inputData, trace, statusUrl -> fetchStatus(statusUrl, outputType, trace)));
+    }
+
+    /**
+     * RunPod Serverless 논블로킹 요청 — 폴링 스케줄러가 완료 시 Future를 채워준다.
+     */
+    public <T> CompletableFuture<T> sendRequestAsync(String url, Object inputData, Class<T> outputType,
+            AiCallLedger.Trace trace) {
+        return submitAndPoll(url, inputData, trace, statusUrl -> fetchStatus(statusUrl, outputType, trace));
+    }
+
+    /**
+     * 이미지(base64)가 포함된 RunPod 요청 — 완료 응답을 스트리밍으로 읽어 output.{imageField}를 S3에 바로 업로드
+     * 반환되는 output의 {imageField}에는 base64 대신 S3 URL이 들어 있다.
+     */
+    public <T> T sendRequestWithImageUpload(String url, Object inputData, String imageField, Class<T> outputType,
+            AiCallLedger.Trace trace) {
+        return await(submitAndPoll(url, inputData, trace,
+                statusUrl -> fetchStatusStreaming(statusUrl, imageField, outputType, trace)));
+    }
+
+    public <T> CompletableFuture<T> sendRequestWithImageUploadAsync(String url, Object inputData, String imageField,
+            Class<T> outputType, AiCallLedger.Trace trace) {
+        return submitAndPoll(url, inputData, trace,
+                statusUrl -> fetchStatusStreaming(statusUrl, imageField, outputType, trace));
+    }
+
+    private <T> CompletableFuture<T> submitAndPoll(String url, Object inputData, AiCallLedger.Trace trace,
+            Function<String, CompletableFuture<AiDto.RunPodJobStatus<T>>> statusFetcher) {
+        return submit(url, inputData, true, trace)
+                .thenCompose(job -> {
+                    // Construct status URL: replace /run with /status/{id}
+                    String statusUrl = job.submitUrl().replace("/run", "/status/" + job.id());
+                    log.info("Starting RunPod polling at: {}", statusUrl);
+
+                    CompletableFuture<AiDto.RunPodJobStatus<T>> completion = runPodJobPoller.poll(job.id(),
+                            job.webhookToken(), () -> {
+                                trace.countPoll();
+                                return statusFetcher.apply(statusUrl).thenApply(status -> {
+                                    if (status != null) {
+                                        trace.observeStatus(status.status());
+                                    }
+                                    return status;
+                                });
+                            }, AiDto.RunPodJobStatus::status);
+                    if (job.webhookToken() != null) {
+                        // 등록 전에 (어느 노드로든) 도착한 웹훅 확인 — Redis 조회는 블로킹이므로 네트워크 스레드 밖에서
+                        Schedulers.boundedElastic().schedule(() -> runPodWebhookRelay.wakeIfCompleted(job.id()));
+                    }
+                    return completion.exceptionally(error -> {
+                        throw jobFailed(job.id(), error);
+                    });
+                })
+                .thenApply(status -> {
+                    keepWarmScheduler.recordJob(status.id(), status.delayTime());
+                    trace.runPodTimes(status.delayTime(), status.executionTime());
+                    // output 필드에 AI 결과가 담긴 상태 응답으로 완료된다
+                    if (status.output() == null) {
+                        throw new AiEndpointRouter.JobFailedException(
+                                "RunPod job " + status.id() + " completed without output", null);
+                    }
+                    return status.output();
+                });
+    }
+
+    /**
+     * RunPod 스트리밍 작업 (generator 핸들러) — POST /run 후 /stream/{id}를 폴링하며 새 부분 결과를 도착 순서대로 전달
+     * onChunk는 네트워크 스레드에서 호출되므로 블로킹 작업을 하면 안 된다 (대기열에 넣고 다른 스레드에서 처리).
+     *
+     * @return 작업이 끝나고 마지막 부분 결과까지 전달되면 완료되는 Future
      */
-    @io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker(name = "runPod", fallbackMethod = "fallback")
-    public Map<String, Object> sendRequest(String url, Map<String, Object> inputData) {
+    public <T> CompletableFuture<Void> streamRequest(String url, Object inputData, Class<T> chunkType,
+            Consumer<T> onChunk, AiCallLedger.Trace trace) {
+        // 부분 결과는 /stream 조회로만 받을 수 있으므로 완료 웹훅은 사용하지 않는다
+        return submit(url, inputData, false, trace)
+                .thenCompose(job -> {
+                    String streamUrl = job.submitUrl().replace("/run", "/stream/" + job.id());
+                    log.info("Starting RunPod stream polling at: {}", streamUrl);
+
+                    // /stream 응답에는 delayTime이 없으므로 대기/실행 구분은 IN_QUEUE를 벗어난 시점으로 추정
+                    return runPodJobPoller.poll(job.id(), null, () -> {
+                        trace.countPoll();
+                        return fetchStream(streamUrl, chunkType, trace).thenApply(status -> {
+                            trace.observeStatus(status.status());
+                            if (status.stream() != null) {
+                                status.stream().forEach(chunk -> onChunk.accept(chunk.output()));
+                            }
+                            return status;
+                        });
+                    }, AiDto.RunPodStreamStatus::status).exceptionally(error -> {
+                        throw jobFailed(job.id(), error);
+                    });
+                })
+                .thenAccept(status -> log.info("RunPod stream finished. ID: {}", status.id()));
+    }
+
+    private CompletableFuture<SubmittedJob> submit(String url, Object inputData, boolean useWebhook,
+            AiCallLedger.Trace trace) {
         // RunPod Serverless는 POST /run 요청 후 작업 ID를 받아 폴링하는 비동기 구조
         String runUrl = url.replace("/runsync", "/run");
         if (!runUrl.contains("/run")) {
@@ -37,120 +183,245 @@ public class RunPodService {
                 runUrl += "/";
             runUrl += "run";
         }
+        final String submitUrl = runUrl;
 
         // input 필드로 래핑되어야 RunPod이 인식함
-        Map<String, Object> requestBody = Map.of("input", inputData);
-
-        // Base64 이미지 응답 등 대용량 응답을 위해 16MB로 확장
-        ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024)) // 16MB
-                .build();
-        // WebClient.Builder는 공용 Bean이므로 .clone()을 사용하여 부수 효과 방지 (StackOverflowError 픽스)
-        WebClient client = webClientBuilder.clone().exchangeStrategies(strategies).build();
-
-        // 3. Send Async Request (POST /run)
-        log.info("Sending RunPod request to: {}", runUrl);
-        java.util.Map<String, Object> response = client.post()
-                .uri(runUrl)
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("input", inputData);
+
+        // 완료 시 RunPod이 웹훅을 호출 — RunPod 웹훅은 커스텀 헤더를 보낼 수 없으므로 작업별 토큰을 URL에 싣는다
+        final String webhookToken = !useWebhook || webhookUrl.isBlank() ? null : UUID.randomUUID().toString();
+        if (webhookToken != null) {
+            requestBody.put("webhook", UriComponentsBuilder.fromUriString(webhookUrl)
+                    .queryParam("token", webhookToken)
+                    .toUriString());
+        }
+
+        // 직렬화 크기를 기록하기 위해 미리 바이트로 만들어 그대로 전송
+        byte[] json = serialize(requestBody);
+        trace.payloadBytes(json.length);
+
+        log.info("Sending RunPod request to: {}", submitUrl);
+        return aiWebClient.post()
+                .uri(submitUrl)
                 .header("Authorization", "Bearer " + apiKey)
                 .header("x-api-key", apiKey)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
+                .bodyValue(json)
                 .retrieve()
-                .bodyToMono(new org.springframework.core.ParameterizedTypeReference<java.util.Map<String, Object>>() {
-                })
-                .block(Duration.ofSeconds(120));
+                .bodyToMono(MAP_TYPE)
+                .timeout(Duration.ofSeconds(120))
+                .toFuture()
+                .thenApply(response -> {
+                    if (response == null || !response.containsKey("id")) {
+                        throw new RuntimeException("Failed to start RunPod job: No ID returned");
+                    }
+
+                    String jobId = (String) response.get("id");
+                    log.info("RunPod job started. ID: {}", jobId);
+                    return new SubmittedJob(jobId, submitUrl, webhookToken);
+                });
+    }
 
-        if (response == null || !response.containsKey("id")) {
-            throw new RuntimeException("Failed to start RunPod job: No ID returned");
+    /**
+     * RunPod 완료 웹훅 처리 — 본문은 /status 응답과 같은 형식
+     * base64 이미지가 포함될 수 있으므로 본문 전체를 읽지 않고 최상위 id/status만 스트리밍으로 찾은 뒤,
+     * 결과는 폴링 엔진이 평소 경로(타입 디코딩/스트리밍 업로드)로 즉시 조회한다.
+     *
+     * 대기자는 다른 노드에 있거나 아직 등록 전일 수 있으므로 RunPodWebhookRelay로 기록/발행한다.
+     *
+     * @param token 웹훅 URL의 작업별 토큰 (X-Internal-Key로 인증된 호출이면 null)
+     * @return 완료를 전달했는지 여부 (Redis 장애 시에는 이 노드의 대기자를 깨웠는지)
+     */
+    public boolean handleWebhook(InputStream body, String token) throws IOException {
+        String jobId = null;
+        String status = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Invalid RunPod webhook payload");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (jobId == null || status == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field) && value == JsonToken.VALUE_STRING) {
+                    jobId = parser.getText();
+                } else if ("status".equals(field) && value == JsonToken.VALUE_STRING) {
+                    status = parser.getText();
+                } else {
+                    parser.skipChildren(); // output 등은 읽지 않고 건너뜀
+                }
+            }
         }
+        if (jobId == null) {
+            throw new IllegalArgumentException("Invalid RunPod webhook payload: no job id");
+        }
+
+        boolean relayed = runPodWebhookRelay.publish(jobId, token);
+        log.info("RunPod webhook received. job={}, status={}, relayed={}", jobId, status, relayed);
+        return relayed;
+    }
 
-        String jobId = (String) response.get("id");
-        log.info("RunPod job started. ID: {}", jobId);
+    private <T> CompletableFuture<AiDto.RunPodJobStatus<T>> fetchStatus(String statusUrl, Class<T> outputType,
+            AiCallLedger.Trace trace) {
+        return aiWebClient.get()
+                .uri(statusUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .timeout(Duration.ofSeconds(30))
+                .map(body -> this.<AiDto.RunPodJobStatus<T>>decode(body,
+                        genericType(AiDto.RunPodJobStatus.class, outputType), trace))
+                .toFuture();
+    }
 
-        // 4. Poll Status (GET /status/{id})
-        // Construct status URL: replace /run with /status/{id}
-        String statusUrl = runUrl.replace("/run", "/status/" + jobId);
-        log.info("Starting RunPod polling at: {}", statusUrl);
+    private <T> CompletableFuture<AiDto.RunPodStreamStatus<T>> fetchStream(String streamUrl, Class<T> chunkType,
+            AiCallLedger.Trace trace) {
+        return aiWebClient.get()
+                .uri(streamUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .timeout(Duration.ofSeconds(30))
+                .map(body -> this.<AiDto.RunPodStreamStatus<T>>decode(body,
+                        genericType(AiDto.RunPodStreamStatus.class, chunkType), trace))
+                .toFuture();
+    }
 
-        for (int i = 0; i < MAX_RETRIES; i++) {
-            try {
-                Thread.sleep(RETRY_DELAY_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Polling interrupted");
-            }
+    /**
+     * 상태 응답을 메모리 코덱에 모으지 않고 DataBuffer 스트림 그대로 파싱
+     * 파싱 + S3 업로드는 블로킹 I/O이므로 Netty 이벤트 루프가 아닌 boundedElastic 스레드에서 수행
+     */
+    private <T> CompletableFuture<AiDto.RunPodJobStatus<T>> fetchStatusStreaming(String statusUrl, String imageField,
+            Class<T> outputType, AiCallLedger.Trace trace) {
+        Flux<DataBuffer> body = aiWebClient.get()
+                .uri(statusUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .timeout(Duration.ofSeconds(30)) // 청크 사이 최대 대기 시간
+                .doOnNext(buffer -> trace.addResultBytes(buffer.readableByteCount()));
 
-            log.debug("Polling RunPod status... ({}/{})", i + 1, MAX_RETRIES);
-
-            java.util.Map<String, Object> statusResponse = client.get()
-                    .uri(statusUrl)
-                    .header("Authorization", "Bearer " + apiKey)
-                    .retrieve()
-                    .bodyToMono(
-                            new org.springframework.core.ParameterizedTypeReference<java.util.Map<String, Object>>() {
-                            })
-                    .block(Duration.ofSeconds(30));
-
-            if (statusResponse == null)
-                continue;
-
-            String status = (String) statusResponse.get("status");
-            log.debug("Job status: {}", status);
-
-            if ("COMPLETED".equals(status)) {
-                log.info("RunPod job COMPLETED. Extracting output.");
-                return statusResponse; // output 필드에 AI 결과가 담겨 있다
-            } else if ("FAILED".equals(status)) {
-                log.error("RunPod job FAILED. Full response: {}", statusResponse);
-                throw new RuntimeException("RunPod job failed: " + statusResponse);
-            } else if ("IN_QUEUE".equals(status) || "IN_PROGRESS".equals(status)) {
-                // 작업 대기 중 — 다음 폴링 시도
-                continue;
-            } else {
-                continue;
+        return Mono.fromCallable(() -> {
+            try (InputStream in = DataBufferUtils.subscriberInputStream(body, 4)) {
+                return runPodOutputStreamReader.read(in, imageField, outputType);
             }
+        }).subscribeOn(Schedulers.boundedElastic()).toFuture();
+    }
+
+    // RunPodJobStatus<T> 등 — 제네릭 output 타입까지 Jackson이 알 수 있도록 JavaType으로 구성
+    private JavaType genericType(Class<?> wrapper, Class<?> parameter) {
+        return objectMapper.getTypeFactory().constructParametricType(wrapper, parameter);
+    }
+
+    // 응답 본문 크기를 기록하고 중간 Map 없이 바로 타입으로 디코딩 (코덱과 같은 공용 ObjectMapper)
+    private <T> T decode(byte[] body, JavaType type, AiCallLedger.Trace trace) {
+        trace.addResultBytes(body.length);
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode AI response", e);
         }
+    }
+
+    // 로컬 FastAPI 서버 전용 동기 방식 — RunPod와 달리 input 래핑 및 폴링 불필요
+    public <T> T sendSyncRequest(String url, Object requestBody, Class<T> responseType, AiCallLedger.Trace trace) {
+        return await(postSync(url, requestBody, responseType, trace));
+    }
 
-        throw new RuntimeException("RunPod job timed out after " + (MAX_RETRIES * RETRY_DELAY_MS / 1000) + " seconds");
+    public <T> CompletableFuture<T> sendSyncRequestAsync(String url, Object requestBody, Class<T> responseType,
+            AiCallLedger.Trace trace) {
+        return postSync(url, requestBody, responseType, trace);
     }
 
-    // 로컴 FastAPI 서버 전용 동기 방식 — RunPod와 달리 input 래핑 및 폴링 불필요
-    @io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker(name = "runPod", fallbackMethod = "fallback")
-    public Map<String, Object> sendSyncRequest(String url, Map<String, Object> requestBody) {
+    private <T> CompletableFuture<T> postSync(String url, Object requestBody, Class<T> responseType,
+            AiCallLedger.Trace trace) {
         log.info("Sending Sync request to: {}", url);
 
-        ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024)) // 16MB
-                .build();
-        // WebClient.Builder는 공용 Bean이므로 .clone() 사용 시 메모리 누수 방지
-        return webClientBuilder.clone().exchangeStrategies(strategies).build()
-                .post()
+        return withBody(aiWebClient.post()
+                .uri(url)
+                .header("x-api-key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON), requestBody, trace)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .timeout(Duration.ofMinutes(5)) // 로컬 AI 요청은 최대 5분 대기
+                // 요청은 이미 처리 중 — 다른 엔드포인트로 다시 보내면 같은 작업이 두 번 실행됨
+                .onErrorMap(TimeoutException.class, e -> new AiEndpointRouter.JobFailedException(
+                        "AI request to " + url + " timed out after it was sent", e))
+                .map(body -> this.<T>decode(body, objectMapper.constructType(responseType), trace))
+                .toFuture();
+    }
+
+    /**
+     * 로컬 FastAPI 스트리밍 요청 — 응답을 NDJSON(줄마다 JSON 하나)으로 받아 줄 단위로 onChunk에 전달
+     * onChunk는 네트워크 스레드에서 호출되므로 블로킹 작업을 하면 안 된다.
+     * 줄 단위 디코딩은 코덱에 맡기므로 응답 크기는 기록하지 않는다.
+     */
+    public <T> CompletableFuture<Void> streamSyncRequest(String url, Object requestBody, Class<T> chunkType,
+            Consumer<T> onChunk, AiCallLedger.Trace trace) {
+        log.info("Sending streaming request to: {}", url);
+
+        return withBody(aiWebClient.post()
                 .uri(url)
                 .header("x-api-key", apiKey)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
+                .accept(MediaType.APPLICATION_NDJSON), requestBody, trace)
                 .retrieve()
-                .bodyToMono(new org.springframework.core.ParameterizedTypeReference<java.util.Map<String, Object>>() {
-                })
-                .block(Duration.ofMinutes(5)); // 로컀 AI 요청은 최대 5분 대기
+                .bodyToFlux(chunkType)
+                .timeout(Duration.ofMinutes(5)) // 부분 결과 사이 최대 대기 시간
+                .doOnNext(onChunk)
+                .then()
+                .toFuture();
     }
 
-    public Map<String, Object> fallback(String url, Map<String, Object> inputData, Throwable t) {
-        String errorMessage = t.getMessage();
-        if (errorMessage == null) {
-            errorMessage = t.getClass().getSimpleName() + " (No detailed message)";
+    // 로컬 FastAPI 요청 본문 — 일정 크기 이상이면 gzip 압축 (RunPod /run은 압축 본문을 받지 않으므로 로컬 경로만)
+    private WebClient.RequestHeadersSpec<?> withBody(WebClient.RequestBodySpec request, Object requestBody,
+            AiCallLedger.Trace trace) {
+        byte[] json = serialize(requestBody);
+        trace.payloadBytes(json.length); // 압축 전 크기
+        if (!gzipRequests || json.length < gzipMinBytes) {
+            return request.bodyValue(json);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
-        log.error("Circuit Breaker Open! AI Server is unreachable. URL: {}, Error: {}", url, errorMessage);
-        log.error("Detailed Exception in RunPodService:", t);
+        return request.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(compressed.toByteArray());
+    }
 
-        // Return a default failure response that Service can understand
-        if (t instanceof io.github.resilience4j.circuitbreaker.CallNotPermittedException) {
-            throw new RuntimeException("AI Server is currently unavailable (Circuit Open). Please try again later.", t);
+    private byte[] serialize(Object requestBody) {
+        try {
+            return objectMapper.writeValueAsBytes(requestBody);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize AI request", e);
         }
+    }
+
+    // 제출 이후의 실패 — 작업은 이미 엔드포인트에서 실행됐으므로 다른 엔드포인트로 전환하지 않도록 전용 예외로 감싼다
+    private static AiEndpointRouter.JobFailedException jobFailed(String jobId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AiEndpointRouter.JobFailedException jobFailedException) {
+            return jobFailedException;
+        }
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return new AiEndpointRouter.JobFailedException("RunPod job " + jobId + " failed after submission: " + message,
+                cause);
+    }
 
-        // For other exceptions, rethrow or return default
-        throw new RuntimeException("AI Server connection failed: " + errorMessage, t);
+    private record SubmittedJob(String id, String submitUrl, String webhookToken) {
+    }
+
+    // 블로킹 호출부용 — CompletionException을 벗겨 원래 예외를 그대로 던진다 (Circuit Breaker 예외 기록 유지)
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
     }
 }
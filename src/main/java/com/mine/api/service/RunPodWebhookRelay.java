@@ -0,0 +1,111 @@
+package com.mine.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * RunPod 완료 웹훅 노드 간 중계 (Redis)
+ * 웹훅은 로드밸런서를 거쳐 아무 노드에나 도착하고, 대기자가 작업을 등록하기 전에 도착할 수도 있다.
+ * - 완료 표시를 작업 ID 키로 저장 — 대기자는 등록 직후 확인하므로 먼저 도착한 웹훅도 놓치지 않는다.
+ * - 모든 노드가 구독하는 채널로 발행 — 대기자가 있는 노드가 즉시 상태를 조회한다.
+ * 작업별 토큰은 대기자가 있는 노드만 알고 있으므로 검증은 각 노드의 RunPodJobPoller.wake가 한다.
+ * Redis 장애 시에는 웹훅을 받은 노드의 대기자만 깨우고, 나머지는 안전망 폴링이 처리한다.
+ */
+@Slf4j
+@Component
+public class RunPodWebhookRelay implements MessageListener {
+
+    static final String CHANNEL = "runpod:webhook";
+    private static final String KEY_PREFIX = "runpod:webhook:";
+    private static final String NO_TOKEN = "-"; // X-Internal-Key로 인증된 내부 중계 호출
+    private static final Duration MARKER_TTL = Duration.ofMinutes(20); // 폴링 제한 시간(15분) + 여유
+
+    private final StringRedisTemplate redisTemplate;
+    private final RunPodJobPoller runPodJobPoller;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RunPodWebhookRelay(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+            RunPodJobPoller runPodJobPoller) {
+        this.redisTemplate = redisTemplate;
+        this.runPodJobPoller = runPodJobPoller;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        } catch (Exception e) {
+            // 구독 실패로 기동을 막지 않음 — 완료 표시 확인과 안전망 폴링은 그대로 동작
+            log.warn("Failed to subscribe to RunPod webhook channel: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 웹훅 완료 기록 후 전체 노드에 발행
+     *
+     * @param token 웹훅 URL의 작업별 토큰 (X-Internal-Key로 인증된 호출이면 null)
+     * @return 기록했거나(대기자가 어느 노드에 있든, 아직 등록 전이든 깨어남) 이 노드의 대기자를 깨웠으면 true
+     */
+    public boolean publish(String jobId, String token) {
+        String value = token != null ? token : NO_TOKEN;
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + jobId, value, MARKER_TTL);
+            redisTemplate.convertAndSend(CHANNEL, jobId + " " + value);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to relay RunPod webhook through Redis, waking local waiter only. job={}: {}", jobId,
+                    e.getMessage());
+            return runPodJobPoller.wake(jobId, token);
+        }
+    }
+
+    /**
+     * 대기 등록 직후 호출 — 등록 전에 도착한 웹훅이 있으면 바로 깨운다 (블로킹 Redis 호출)
+     */
+    public void wakeIfCompleted(String jobId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + jobId);
+            if (value != null) {
+                wake(jobId, value);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Failed to read RunPod webhook marker. job={}: {}", jobId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(' ');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed RunPod webhook relay message: {}", body);
+            return;
+        }
+        wake(body.substring(0, separator), body.substring(separator + 1));
+    }
+
+    private void wake(String jobId, String value) {
+        runPodJobPoller.wake(jobId, NO_TOKEN.equals(value) ? null : value);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        listenerContainer.destroy();
+    }
+}
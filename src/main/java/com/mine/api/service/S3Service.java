@@ -1,24 +1,72 @@
 package com.mine.api.service;
 
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import com.mine.api.dto.ImageVariants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @lombok.extern.slf4j.Slf4j
 public class S3Service {
 
+    private static final int MULTIPART_PART_SIZE = 5 * 1024 * 1024; // S3 멀티파트 최소 파트 크기
+    private static final long MAX_STREAMED_IMAGE_BYTES = 20L * 1024 * 1024;
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+    private static final long MAX_DOWNLOADED_IMAGE_BYTES = 10L * 1024 * 1024;
+    // 무드보드 저장 시 변형 생성/업로드 대기 상한 — 넘으면 변형 없이 원본만 저장
+    private static final long VARIANT_RENDER_TIMEOUT_SECONDS = 20;
+    private static final Duration VARIANT_UPLOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final String DEFAULT_PLACEHOLDER_URL =
+            "https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-placeholder.png";
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    // ImageClientConfig의 외부 이미지 다운로드용 WebClient
+    private final WebClient imageWebClient;
+    private final ImageDedupeCache imageDedupeCache;
+    private final ImageVariantService imageVariantService;
 
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucketName;
@@ -26,7 +74,21 @@ public class S3Service {
     @Value("${spring.cloud.aws.region.static}")
     private String region;
 
+    /**
+     * 사용자 이미지 파일 업로드 (동기) — 프로필 수정처럼 결과 URL이 바로 필요한 곳에서 사용
+     */
     public String uploadImage(MultipartFile file) throws IOException {
+        try {
+            return uploadImageAsync(file).join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to upload image to S3", e.getCause());
+        }
+    }
+
+    /**
+     * 사용자 이미지 파일 업로드 (논블로킹) — 파일 전체를 메모리에 올리지 않고 파트 단위로 S3에 스트리밍
+     */
+    public CompletableFuture<String> uploadImageAsync(MultipartFile file) {
         String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.isBlank()) {
             originalFilename = "image.jpg";
@@ -38,123 +100,372 @@ public class S3Service {
             extension = originalFilename.substring(dotIndex);
         }
 
-        // 파일을 'uploads/' 경로에 저장
-        String key = "uploads/" + UUID.randomUUID().toString() + extension;
-
         String contentType = file.getContentType();
         if (contentType == null)
             contentType = "image/jpeg";
 
-        try (InputStream inputStream = file.getInputStream()) {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(contentType)
-                    .acl(ObjectCannedACL.PUBLIC_READ)
-                    .build();
-            s3Client.putObject(request, RequestBody.fromInputStream(inputStream, file.getSize()));
-        }
-
-        // S3 URL 반환
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+        // 파일을 'uploads/' 경로에 저장
+        Flux<DataBuffer> body = DataBufferUtils
+                .readInputStream(file::getInputStream, DefaultDataBufferFactory.sharedInstance, STREAM_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        return streamToS3(body, "uploads/", extension, contentType, Long.MAX_VALUE, null, null, null).toFuture();
     }
 
     /**
-     * 외부 URL 이미지를 다운로드하여 S3에 업로드
+     * 외부 URL 이미지를 S3로 재호스팅 (논블로킹, 1회 시도)
+     * 다운로드 본문을 청크 단위로 받아 5MB 파트가 찰 때마다 멀티파트로 올리므로 업로드당 메모리는 파트 하나로 제한되고,
+     * 응답을 기다리는 동안 스레드를 점유하지 않는다.
+     * 재시도와 동시 업로드 수 제한은 ImageIngestionService가 담당하므로 서비스 코드는 이 메서드 대신 ImageIngestionService를 사용한다.
+     * 같은 URL/같은 내용의 이미지는 ImageDedupeCache로 기존 객체를 재사용한다.
+     * 반환된 Future를 cancel하면 다운로드를 끊고 이미 올라간 파트를 정리한다.
+     *
+     * @return S3 URL, 이미지가 아니면 null, 10MB를 넘으면 원본 URL
+     *         (네트워크/S3 오류는 예외로 완료 — 다시 시도해도 소용없는 경우는 재시도 불가 ImageFetchException)
      */
-    public String uploadImageFromUrl(String imageUrl) {
+    public CompletableFuture<String> uploadImageFromUrlAsync(String imageUrl) {
         if (imageUrl == null || imageUrl.isBlank()) {
-            return "https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-placeholder.png";
+            return CompletableFuture.completedFuture(DEFAULT_PLACEHOLDER_URL);
         }
 
         // 이미 내 S3에 있는 이미지는 재업로드 없이 그대로 리턴
-        if (imageUrl.contains(".amazonaws.com") && imageUrl.contains(bucketName)) {
-            return imageUrl;
+        if (isOwnImage(imageUrl)) {
+            return CompletableFuture.completedFuture(imageUrl);
         }
 
-        int maxRetries = 2;
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            try {
-                java.net.URL url = new java.net.URL(imageUrl);
-                String extension = ".jpg"; // 기본 확장자
-
-                // URL 경로에서 확장자 추출 시도
-                String path = url.getPath();
-                int dotIndex = path.lastIndexOf(".");
-                if (dotIndex >= 0) {
-                    String ext = path.substring(dotIndex);
-                    if (ext.matches("(?i)\\.(jpg|jpeg|png|gif|webp|bmp)$")) {
-                        extension = ext;
+        // 이미 올린 적 있는 URL — 신선하면 다운로드 없이, 오래됐으면 조건부 요청으로 재사용
+        // (Redis 조회는 블로킹이므로 boundedElastic에서)
+        return Mono.fromCallable(() -> Optional.ofNullable(imageDedupeCache.findBySource(imageUrl)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> cached.filter(ImageDedupeCache.SourceEntry::fresh)
+                        .map(entry -> Mono.just(entry.s3Url()))
+                        .orElseGet(() -> download(imageUrl, cached.orElse(null))))
+                .toFuture();
+    }
+
+    /**
+     * @param cached 신선 기간이 지난 이전 업로드 (없으면 null) — 검증자가 있으면 조건부 요청
+     */
+    private Mono<String> download(String imageUrl, ImageDedupeCache.SourceEntry cached) {
+        java.net.URI uri;
+        try {
+            uri = java.net.URI.create(imageUrl);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ImageFetchException("Malformed image URL: " + imageUrl, false));
+        }
+        String extension = ".jpg"; // 기본 확장자
+
+        // URL 경로에서 확장자 추출 시도
+        String path = uri.getPath() != null ? uri.getPath() : "";
+        int dotIndex = path.lastIndexOf(".");
+        if (dotIndex >= 0) {
+            String ext = path.substring(dotIndex);
+            if (ext.matches("(?i)\\.(jpg|jpeg|png|gif|webp|bmp)$")) {
+                extension = ext;
+            }
+        }
+        String imageExtension = extension;
+
+        return imageWebClient.get().uri(uri)
+                .headers(headers -> {
+                    if (cached != null && cached.etag() != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+                    }
+                    if (cached != null && cached.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    int status = response.statusCode().value();
+                    if (status == 304 && cached != null) {
+                        // 원본이 그대로 — 본문 없이 기존 객체 재사용
+                        return response.releaseBody()
+                                .then(Mono.fromRunnable(() -> imageDedupeCache.revalidated(imageUrl, cached))
+                                        .subscribeOn(Schedulers.boundedElastic()))
+                                .thenReturn(cached.s3Url());
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody().then(Mono.<String>error(new ImageFetchException(
+                                "HTTP " + status + " while downloading image: " + imageUrl,
+                                isRetryableStatus(status))));
                     }
-                }
 
-                String key = "uploads/" + UUID.randomUUID().toString() + extension;
-
-                java.net.URLConnection connection = url.openConnection();
-                // 자바 봇이 아닌 일반 다운로더처럼 위장
-                connection.setRequestProperty("User-Agent",
-                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-                connection.setConnectTimeout(10000); // 10초 타임아웃
-                connection.setReadTimeout(10000);    // 10초 타임아웃
-
-                String contentType = connection.getContentType();
-                
-                // Content-Type이 image/로 시작하지 않으면 HTML 등 가짜 이미지 — 저장 차단
-                if (contentType == null || !contentType.startsWith("image/")) {
-                    log.warn("Target URL is not a valid image. Content-Type: {}, URL: {}", contentType, imageUrl);
-                    return null; // 가짜 이미지(HTML 등) 저장 방지
-                }
+                    // Content-Type이 image/로 시작하지 않으면 HTML 등 가짜 이미지 — 저장 차단
+                    String contentType = response.headers().contentType().map(MediaType::toString).orElse(null);
+                    if (contentType == null || !contentType.startsWith("image/")) {
+                        log.warn("Target URL is not a valid image. Content-Type: {}, URL: {}", contentType, imageUrl);
+                        return response.releaseBody().then(Mono.<String>empty()); // 가짜 이미지(HTML 등) 저장 방지
+                    }
 
-                try (InputStream inputStream = connection.getInputStream()) {
-                    PutObjectRequest request = PutObjectRequest.builder()
-                            .bucket(bucketName)
-                            .key(key)
-                            .contentType(contentType)
-                            .acl(ObjectCannedACL.PUBLIC_READ)
-                            .build();
-                    long contentLength = connection.getContentLengthLong();
-                    if (contentLength > 10 * 1024 * 1024) {
+                    if (response.headers().contentLength().orElse(-1) > MAX_DOWNLOADED_IMAGE_BYTES) {
                         log.warn("Image from URL exceeds 10MB limit: {}", imageUrl);
-                        return imageUrl;
+                        return response.releaseBody().thenReturn(imageUrl);
                     }
 
-                    if (contentLength > 0) {
-                        s3Client.putObject(request, RequestBody.fromInputStream(inputStream, contentLength));
-                    } else {
-                        // contentLength 확보 불가능한 경우 방어 로직 (최대 10MB 스트림 복사)
-                        java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream();
-                        int nRead;
-                        byte[] data = new byte[16384];
-                        long totalBytes = 0;
-                        while ((nRead = inputStream.read(data, 0, data.length)) != -1) {
-                            buffer.write(data, 0, nRead);
-                            totalBytes += nRead;
-                            if (totalBytes > 10 * 1024 * 1024) {
+                    // Content-Length가 없거나 틀린 경우도 스트리밍 중 크기 제한
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return streamToS3(response.bodyToFlux(DataBuffer.class), "uploads/", imageExtension, contentType,
+                            MAX_DOWNLOADED_IMAGE_BYTES, imageUrl, headers.getETag(),
+                            headers.getFirst(HttpHeaders.LAST_MODIFIED))
+                            .onErrorResume(ImageTooLargeException.class, e -> {
                                 log.warn("Streamed image exceeds 10MB limit: {}", imageUrl);
-                                buffer.close();
-                                return imageUrl;
-                            }
-                        }
-                        byte[] imageBytes = buffer.toByteArray();
-                        s3Client.putObject(request, RequestBody.fromBytes(imageBytes));
-                    }
-                }
+                                return Mono.just(imageUrl);
+                            });
+                });
+    }
 
-                // S3 URL 반환
-                String s3Url = String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
-                log.info("Uploaded external image to S3: {} -> {}", imageUrl, s3Url);
-                return s3Url;
+    // 408/429/5xx만 재시도 — 404/403 등은 몇 번을 다시 받아도 같으므로 바로 포기
+    private static boolean isRetryableStatus(int status) {
+        return status == 408 || status == 429 || status >= 500;
+    }
 
-            } catch (Exception e) {
-                if (attempt < maxRetries) {
-                    log.warn("Failed to upload image from URL: {} (Attempt {}/{}). Retrying...", imageUrl, attempt + 1, maxRetries + 1);
-                    try { Thread.sleep(1000); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
-                } else {
-                    log.error("Failed to upload image from URL after {} attempts: {}", maxRetries + 1, imageUrl, e);
+    /**
+     * 외부 이미지 다운로드 실패
+     * retryable=false(4xx, 잘못된 URL)면 ImageIngestionService가 재시도 없이 원본 URL을 유지한다.
+     */
+    public static class ImageFetchException extends IOException {
+
+        private final boolean retryable;
+
+        public ImageFetchException(String message, boolean retryable) {
+            super(message);
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    /**
+     * 청크 스트림을 S3 객체로 저장하고 URL 반환 — 실패/취소 시 올라간 파트 정리
+     *
+     * @param sourceUrl 원본 URL (중복 제거 1단계 기록용, 파일 업로드면 null)
+     * @param etag      원본 응답 검증자 — 다음 조건부 요청용 (없으면 null)
+     */
+    private Mono<String> streamToS3(Flux<DataBuffer> body, String keyPrefix, String extension, String contentType,
+            long maxBytes, String sourceUrl, String etag, String lastModified) {
+        return Mono.defer(() -> {
+            AsyncImageUpload upload = new AsyncImageUpload(keyPrefix, extension, contentType, maxBytes);
+            // prefetch 1 — 파트 업로드가 끝나기 전에는 다음 청크를 요청하지 않음 (메모리 상한)
+            return body.concatMap(chunk -> Mono.fromFuture(upload.write(chunk)), 1)
+                    .then(Mono.defer(upload::finish))
+                    .flatMap(key -> {
+                        String s3Url = urlOf(key);
+                        log.info("Streamed image to S3: {} -> {} ({} bytes, {} parts)",
+                                sourceUrl != null ? sourceUrl : "upload", s3Url, upload.totalBytes,
+                                Math.max(upload.parts.size(), 1));
+                        return Mono.fromRunnable(() -> imageDedupeCache.remember(sourceUrl, upload.sha256, key, s3Url,
+                                        etag, lastModified))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .thenReturn(s3Url);
+                    })
+                    .doOnError(e -> upload.abort())
+                    .doOnCancel(upload::abort);
+        });
+    }
+
+    private String urlOf(String key) {
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    }
+
+    /**
+     * 원본과 크기별 변형을 images/{sha256}/ 아래에 병렬 저장 — 원본 키 반환
+     * 키가 내용 해시로 정해지므로 객체는 바뀌지 않음 (immutable 캐시)
+     */
+    private Mono<String> putWithVariants(String sha256, String extension, String contentType, byte[] original,
+            Map<ImageVariants.Size, byte[]> variants) {
+        String baseKey = ImageVariants.baseKey(sha256);
+        String originalKey = ImageVariants.originalKey(sha256, extension);
+        List<Mono<PutObjectResponse>> puts = new ArrayList<>();
+        puts.add(Mono.fromFuture(s3AsyncClient.putObject(immutablePutRequest(originalKey, contentType),
+                AsyncRequestBody.fromBytes(original))));
+        variants.forEach((size, bytes) -> puts.add(Mono.fromFuture(s3AsyncClient.putObject(
+                immutablePutRequest(size.keyFor(baseKey), "image/jpeg"), AsyncRequestBody.fromBytes(bytes)))));
+        return Mono.when(puts).thenReturn(originalKey);
+    }
+
+    private PutObjectRequest immutablePutRequest(String key, String contentType) {
+        return PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .cacheControl("public, max-age=31536000, immutable")
+                .acl(ObjectCannedACL.PUBLIC_READ)
+                .build();
+    }
+
+    /**
+     * 비동기 멀티파트 업로드 1건
+     * concatMap(prefetch 1)이 write를 한 번에 하나씩, 이전 파트 업로드가 끝난 뒤에 호출하므로 별도 동기화 불필요
+     * abort는 취소 시 다른 스레드에서 호출될 수 있어, 업로드 시작 Future를 통해 ID가 정해진 뒤에 중단한다.
+     * 서버가 중간에 종료되면 중단 요청도 보내지 못하므로 버킷에 AbortIncompleteMultipartUpload 수명 주기 규칙이 필요하다.
+     */
+    private class AsyncImageUpload {
+
+        private final String keyPrefix;
+        private final String extension;
+        private final String contentType;
+        private final long maxBytes;
+        private final MessageDigest digest;
+        private final List<CompletedPart> parts = new ArrayList<>();
+        private java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream(STREAM_CHUNK_SIZE);
+        private long totalBytes;
+        private String key;
+        private String uploadId;
+        private volatile CompletableFuture<String> creating; // createMultipartUpload 결과 (업로드 ID)
+        private String sha256;
+        private volatile boolean completed;
+
+        private AsyncImageUpload(String keyPrefix, String extension, String contentType, long maxBytes) {
+            this.keyPrefix = keyPrefix;
+            this.extension = extension;
+            this.contentType = contentType;
+            this.maxBytes = maxBytes;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private CompletableFuture<Void> write(DataBuffer chunk) {
+            try {
+                int length = chunk.readableByteCount();
+                totalBytes += length;
+                if (totalBytes > maxBytes) {
+                    throw new ImageTooLargeException();
                 }
+                byte[] bytes = new byte[length];
+                chunk.read(bytes);
+                digest.update(bytes);
+                buffer.write(bytes, 0, length);
+            } finally {
+                DataBufferUtils.release(chunk);
             }
+            // 마지막 파트를 제외한 파트는 5MB 이상이면 되므로 청크 경계에서 그대로 잘라 올림
+            return buffer.size() >= MULTIPART_PART_SIZE ? uploadPart() : CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * 업로드 마무리 — 저장된 객체 키 반환 (같은 내용이 이미 있으면 그 키)
+         */
+        private Mono<String> finish() {
+            if (totalBytes == 0) {
+                return Mono.error(new IOException("Empty image stream"));
+            }
+            sha256 = HexFormat.of().formatHex(digest.digest());
+
+            if (uploadId == null) {
+                // 한 파트보다 작은 이미지 — 내용 해시를 먼저 알 수 있으므로 같은 내용이 있으면 PUT 생략
+                byte[] bytes = buffer.toByteArray();
+                buffer = null;
+                // 새 이미지는 크기별 변형과 함께 images/{sha256}/에, 변형을 만들 수 없으면 기존처럼 단일 객체로
+                return findByContent(sha256)
+                        .switchIfEmpty(Mono.defer(() -> Mono.fromFuture(imageVariantService.renderAsync(bytes)))
+                                .flatMap(variants -> putWithVariants(sha256, extension, contentType, bytes, variants)))
+                        .switchIfEmpty(Mono.defer(() -> {
+                            key = keyPrefix + sha256 + extension;
+                            return Mono.fromFuture(s3AsyncClient.putObject(putRequest(key),
+                                    AsyncRequestBody.fromBytes(bytes))).thenReturn(key);
+                        }));
+            }
+
+            CompletableFuture<Void> lastPart = buffer.size() > 0 ? uploadPart() : CompletableFuture.completedFuture(null);
+            return Mono.fromFuture(lastPart.thenCompose(done -> s3AsyncClient.completeMultipartUpload(
+                            CompleteMultipartUploadRequest.builder()
+                                    .bucket(bucketName)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                                    .build())))
+                    .doOnNext(response -> completed = true)
+                    // 큰 이미지는 해시를 업로드 후에 알게 되므로, 같은 내용이 이미 있으면 방금 올린 객체를 지움
+                    .then(findByContent(sha256))
+                    .flatMap(existing -> Mono.fromFuture(s3AsyncClient.deleteObject(DeleteObjectRequest.builder()
+                                    .bucket(bucketName)
+                                    .key(key)
+                                    .build()))
+                            .doOnError(e -> log.warn("Failed to delete duplicate image object: {}", key, e))
+                            .onErrorResume(e -> Mono.empty())
+                            .thenReturn(existing))
+                    .defaultIfEmpty(key);
+        }
+
+        private void abort() {
+            buffer = null;
+            CompletableFuture<String> started = creating;
+            if (started != null && !completed) {
+                // 업로드 시작 요청이 아직 진행 중이어도 응답이 오면 바로 중단 (실패했으면 중단할 업로드가 없음)
+                started.thenAccept(id -> s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(id)
+                                .build())
+                        .whenComplete((response, e) -> {
+                            if (e != null) {
+                                log.warn("Failed to abort multipart upload: {}", key, e);
+                            }
+                        }));
+            }
+        }
+
+        private CompletableFuture<Void> uploadPart() {
+            byte[] part = buffer.toByteArray();
+            buffer = new java.io.ByteArrayOutputStream(STREAM_CHUNK_SIZE);
+            CompletableFuture<String> started;
+            if (uploadId != null) {
+                started = CompletableFuture.completedFuture(uploadId);
+            } else {
+                key = keyPrefix + UUID.randomUUID() + extension;
+                started = s3AsyncClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .contentType(contentType)
+                                .acl(ObjectCannedACL.PUBLIC_READ)
+                                .build())
+                        .thenApply(response -> uploadId = response.uploadId());
+                creating = started;
+            }
+            int partNumber = parts.size() + 1;
+            return started.thenCompose(id -> s3AsyncClient.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(id)
+                            .partNumber(partNumber)
+                            .contentLength((long) part.length)
+                            .build(), AsyncRequestBody.fromBytes(part)))
+                    .thenAccept(response -> parts.add(
+                            CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build()));
+        }
+
+        private PutObjectRequest putRequest(String objectKey) {
+            return PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(objectKey)
+                    .contentType(contentType)
+                    .acl(ObjectCannedACL.PUBLIC_READ)
+                    .build();
+        }
+
+        private Mono<String> findByContent(String contentSha256) {
+            return Mono.fromCallable(() -> imageDedupeCache.findByContent(contentSha256))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+    }
+
+    // 스트리밍 중 크기 제한 초과 — 원본 URL을 유지하도록 download에서 처리
+    private static class ImageTooLargeException extends RuntimeException {
+
+        private ImageTooLargeException() {
+            super(null, null, false, false);
         }
-        return null;
+    }
+
+    /**
+     * 업로드 없이 바로 결과를 알 수 있는 URL (비어 있거나 이미 내 S3 이미지)
+     */
+    public boolean isOwnImage(String imageUrl) {
+        return imageUrl.contains(".amazonaws.com") && imageUrl.contains(bucketName);
     }
 
     /**
@@ -175,6 +486,20 @@ public class S3Service {
             }
             byte[] imageBytes = java.util.Base64.getDecoder().decode(base64Image);
 
+            // 무드보드는 수 MB PNG이므로 목록/피드용 크기별 변형과 함께 저장 (실패/시간 초과 시 아래 단일 객체 저장)
+            Map<ImageVariants.Size, byte[]> variants = imageVariantService.renderAsync(imageBytes)
+                    .completeOnTimeout(null, VARIANT_RENDER_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .join();
+            if (variants != null) {
+                try {
+                    String key = putWithVariants(ImageDedupeCache.sha256Hex(imageBytes), ".png", "image/png",
+                            imageBytes, variants).block(VARIANT_UPLOAD_TIMEOUT);
+                    return urlOf(key);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to store moodboard variants, storing original only: {}", e.getMessage());
+                }
+            }
+
             String s3FileName = "moodboards/" + UUID.randomUUID() + ".png";
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucketName)
@@ -194,6 +519,168 @@ public class S3Service {
             return null;
         }
     }
+    /**
+     * 스트리밍 이미지 업로드용 OutputStream
+     * 전체 이미지를 메모리에 올리지 않고 5MB 파트 버퍼 하나로 멀티파트 업로드한다.
+     * close() 시 업로드가 완료되며, 전체 크기가 한 파트보다 작으면 단일 PutObject로 올린다.
+     */
+    public ImageUploadStream openImageUploadStream(String keyPrefix) {
+        return new ImageUploadStream(keyPrefix);
+    }
+
+    public class ImageUploadStream extends OutputStream {
+
+        private final String keyPrefix;
+        private final List<CompletedPart> parts = new ArrayList<>();
+        private byte[] buffer;
+        private int position;
+        private long totalBytes;
+        private String key;
+        private String contentType;
+        private String uploadId;
+        private boolean closed;
+
+        private ImageUploadStream(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Upload stream already closed");
+            }
+            totalBytes += len;
+            if (totalBytes > MAX_STREAMED_IMAGE_BYTES) {
+                throw new IOException("Streamed image exceeds 20MB limit");
+            }
+            if (buffer == null) {
+                buffer = new byte[MULTIPART_PART_SIZE];
+            }
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, n);
+                position += n;
+                off += n;
+                len -= n;
+                if (position == buffer.length) {
+                    uploadPart();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (totalBytes == 0) {
+                    throw new IOException("Empty image stream");
+                }
+                if (uploadId == null) {
+                    // 한 파트보다 작은 이미지 — 멀티파트 없이 단일 업로드
+                    resolveKey();
+                    PutObjectRequest request = PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .contentType(contentType)
+                            .acl(ObjectCannedACL.PUBLIC_READ)
+                            .build();
+                    s3Client.putObject(request,
+                            RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, position), position));
+                } else {
+                    if (position > 0) {
+                        uploadPart();
+                    }
+                    s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                            .build());
+                }
+                log.info("Streamed image uploaded to S3: {} ({} bytes, {} parts)", key, totalBytes,
+                        Math.max(parts.size(), 1));
+            } catch (RuntimeException e) {
+                abort();
+                throw new IOException("Failed to upload streamed image to S3", e);
+            } finally {
+                buffer = null;
+            }
+        }
+
+        /**
+         * 업로드 중단 — 이미 올라간 파트가 있으면 정리
+         */
+        public void abort() {
+            closed = true;
+            buffer = null;
+            if (uploadId != null) {
+                try {
+                    s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .build());
+                } catch (Exception e) {
+                    log.warn("Failed to abort multipart upload: {}", key, e);
+                }
+                uploadId = null;
+            }
+        }
+
+        public String getUrl() {
+            return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+        }
+
+        private void uploadPart() {
+            resolveKey();
+            if (uploadId == null) {
+                uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .acl(ObjectCannedACL.PUBLIC_READ)
+                        .build()).uploadId();
+            }
+            int partNumber = parts.size() + 1;
+            String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) position)
+                    .build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, position), position)).eTag();
+            parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            position = 0;
+        }
+
+        // 첫 파트의 매직 바이트로 이미지 형식 판별 (기본 PNG)
+        private void resolveKey() {
+            if (key != null) {
+                return;
+            }
+            String extension = ".png";
+            contentType = "image/png";
+            if (position >= 3 && (buffer[0] & 0xff) == 0xFF && (buffer[1] & 0xff) == 0xD8 && (buffer[2] & 0xff) == 0xFF) {
+                extension = ".jpg";
+                contentType = "image/jpeg";
+            } else if (position >= 12 && buffer[0] == 'R' && buffer[1] == 'I' && buffer[2] == 'F' && buffer[3] == 'F'
+                    && buffer[8] == 'W' && buffer[9] == 'E' && buffer[10] == 'B' && buffer[11] == 'P') {
+                extension = ".webp";
+                contentType = "image/webp";
+            }
+            key = keyPrefix + UUID.randomUUID() + extension;
+        }
+    }
+
     /**
      * 기본 정적 자산(플레이스홀더 등) 초기화
      */
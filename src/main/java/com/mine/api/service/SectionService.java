@@ -5,6 +5,8 @@ import com.mine.api.common.ErrorMessages;
 import com.mine.api.domain.Magazine;
 import com.mine.api.domain.MagazineSection;
 import com.mine.api.domain.User;
+import com.mine.api.dto.AiDto;
+import com.mine.api.dto.ImageVariants;
 import com.mine.api.dto.ParagraphDto;
 import com.mine.api.dto.SectionDto;
 import com.mine.api.repository.MagazineRepository;
@@ -13,13 +15,15 @@ import com.mine.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,12 +35,11 @@ public class SectionService {
     private final MagazineRepository magazineRepository;
     private final MagazineSectionRepository sectionRepository;
     private final UserRepository userRepository;
-    private final RunPodService runPodService;
+    private final AiClient aiClient;
+    private final AiRequestCoalescer requestCoalescer;
     private final SectionViewHistoryService sectionViewHistoryService;
-    private final S3Service s3Service;
-
-    @Value("${python.api.url}")
-    private String pythonApiUrl;
+    private final ImageIngestionService imageIngestionService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 섹션 상세 조회 (열람 기록 저장 포함)
@@ -146,18 +149,19 @@ public class SectionService {
         }
         // paragraphs 업데이트
         if (request.getParagraphs() != null) {
-            section.getParagraphs().clear();
+            List<com.mine.api.domain.Paragraph> paragraphs = new java.util.ArrayList<>();
             for (int i = 0; i < request.getParagraphs().size(); i++) {
                 SectionDto.ParagraphUpdateRequest paraReq = request.getParagraphs().get(i);
-                com.mine.api.domain.Paragraph paragraph = com.mine.api.domain.Paragraph.builder()
+                paragraphs.add(com.mine.api.domain.Paragraph.builder()
                         .subtitle(paraReq.getSubtitle())
                         .text(paraReq.getText())
                         .imageUrl(paraReq.getImageUrl())
                         .sourceUrl(null) // 수동 수정 시에는 출처 정보 없음
                         .displayOrder(i)
-                        .build();
-                section.addParagraph(paragraph);
+                        .build());
             }
+            // 바뀐 문단만 UPDATE/INSERT/DELETE
+            ContentReconciler.reconcileParagraphs(section, paragraphs);
         }
 
         sectionRepository.save(section);
@@ -187,162 +191,205 @@ public class SectionService {
 
     /**
      * 섹션 레벨 상호작용 (AI 프롬프트로 본문 수정)
+     * AI 호출 동안 DB 커넥션을 잡지 않도록 스냅샷 조회 → AI 호출/이미지 재업로드 → 짧은 쓰기 트랜잭션 순으로 처리
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SectionDto.InteractResponse interact(Long magazineId, Long sectionId,
             String message, String username) {
-        Magazine magazine = getMagazineWithOwnerCheck(magazineId, username);
-        MagazineSection section = getSectionFromMagazine(magazine, sectionId);
+        // 같은 편집 요청이 겹치면 AI 호출부터 반영까지 한 번만 실행하고 결과를 공유
+        return requestCoalescer.execute("interact_section", username, List.of(magazineId, sectionId, message),
+                () -> {
+                    EditSnapshot snapshot = editSnapshot(magazineId, sectionId, message, username);
+                    return applyEdit(magazineId, sectionId, snapshot, aiClient.editSection(username,
+                            new AiDto.EditSectionRequest(magazineId, sectionId, snapshot.data(), message)));
+                });
+    }
+
+    /**
+     * interact의 논블로킹 버전 — AI 응답을 기다리는 동안 스레드를 잡지 않고, 반영 트랜잭션은 AI 결과 전달 풀에서 실행
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<SectionDto.InteractResponse> interactAsync(Long magazineId, Long sectionId,
+            String message, String username) {
+        return requestCoalescer.executeAsync("interact_section", username, List.of(magazineId, sectionId, message),
+                () -> {
+                    EditSnapshot snapshot = editSnapshot(magazineId, sectionId, message, username);
+                    return aiClient.editSectionAsync(username,
+                            new AiDto.EditSectionRequest(magazineId, sectionId, snapshot.data(), message))
+                            .thenApply(output -> applyEdit(magazineId, sectionId, snapshot, output));
+                });
+    }
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("action", "edit_section");
-        data.put("magazine_id", magazineId);
-        data.put("section_id", sectionId);
-        data.put("section_data", convertSectionToMap(section));
-        data.put("message", message);
+    // 1. 스냅샷 조회 (권한 확인 + version)
+    private EditSnapshot editSnapshot(Long magazineId, Long sectionId, String message, String username) {
+        EditSnapshot snapshot = transactionTemplate.execute(status -> {
+            Magazine magazine = getMagazineWithOwnerCheck(magazineId, username);
+            MagazineSection section = getSectionFromMagazine(magazine, sectionId);
+            return new EditSnapshot(toPayload(section), magazine.getVersion());
+        });
 
         log.info("Sending edit_section request: magazineId={}, sectionId={}, message={}",
                 magazineId, sectionId, message);
+        return snapshot;
+    }
 
-        Map<String, Object> responseBody;
-        Map<String, Object> output;
-
-        // 로컬 환경 vs RunPod 환경 분기
-        if (pythonApiUrl.contains("localhost") || pythonApiUrl.contains("127.0.0.1")) {
-            // 로컬: sendSyncRequest 사용 (플랫 JSON)
-            responseBody = runPodService.sendSyncRequest(pythonApiUrl, data);
-            output = responseBody; // 로컬은 output 래핑 없음
-        } else {
-            // RunPod: sendRequest 사용 (input 래핑 + 비동기 폴링)
-            Map<String, Object> inputData = new HashMap<>();
-            inputData.put("action", "edit_section");
-            inputData.put("data", data);
-            responseBody = runPodService.sendRequest(pythonApiUrl, inputData);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> outputTemp = (Map<String, Object>) responseBody.get("output");
-            output = outputTemp;
-        }
-
-        if (output == null) {
-            throw new RuntimeException("Failed to get response from AI server");
-        }
-
+    private SectionDto.InteractResponse applyEdit(Long magazineId, Long sectionId, EditSnapshot snapshot,
+            AiDto.EditSectionResponse output) {
         // [DEBUG] Python 응답 전체 로깅
         log.info("[DEBUG] Full Python response: {}", output);
 
-        String actionType = (String) output.get("intent");
+        String actionType = output.intent();
         log.info("[DEBUG] Parsed intent: {}", actionType);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> updatedSection = (Map<String, Object>) output.get("updated_section");
+        // 2. 이미지 S3 변환 (외부 다운로드가 포함되므로 트랜잭션 밖에서)
+        AiDto.SectionPayload updatedSection = output.updatedSection() != null
+                ? rehostSectionImages(output.updatedSection())
+                : null;
         log.info("[DEBUG] updated_section: {}", updatedSection);
 
-        // 섹션 업데이트
-        if (updatedSection != null) {
-            // [NEW] 이미지 S3 변환 (thumbnail)
-            String thumbUrl = (String) updatedSection.get("thumbnail_url");
-            if (thumbUrl == null) {
-                thumbUrl = (String) updatedSection.get("image_url");
+        String aiMessage = "섹션이 업데이트되었습니다.";
+        if (updatedSection != null && updatedSection.heading() != null) {
+            aiMessage = updatedSection.heading();
+        }
+        final String finalAiMessage = aiMessage;
+
+        // 3. 짧은 쓰기 트랜잭션에서 반영 — 스냅샷 이후 다른 AI 편집이 반영되었으면 409
+        return transactionTemplate.execute(status -> {
+            Magazine magazine = magazineRepository.findForUpdateById(magazineId)
+                    .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.MAGAZINE_NOT_FOUND));
+            if (!Objects.equals(magazine.getVersion(), snapshot.version())) {
+                throw new ObjectOptimisticLockingFailureException(Magazine.class, magazineId);
             }
-            if (thumbUrl != null) {
-                String uploadedThumb = s3Service.uploadImageFromUrl(thumbUrl);
-                if (uploadedThumb != null) {
-                    thumbUrl = uploadedThumb;
-                } else {
-                    thumbUrl = "https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-thumbnail.png";
-                }
+            MagazineSection section = getSectionFromMagazine(magazine, sectionId);
+
+            if (updatedSection != null) {
+                applyUpdatedSection(section, updatedSection);
+                sectionRepository.save(section);
+            }
+
+            return SectionDto.InteractResponse.builder()
+                    .message(finalAiMessage)
+                    .actionType(actionType)
+                    .sectionId(sectionId)
+                    .section(toResponse(section))
+                    .build();
+        });
+    }
+
+    /**
+     * AI가 반환한 섹션의 썸네일/문단 이미지를 S3 URL로 교체 (이미지 전용 실행기에서 병렬 업로드)
+     */
+    private AiDto.SectionPayload rehostSectionImages(AiDto.SectionPayload updatedSection) {
+        String thumbUrl = updatedSection.resolvedThumbnailUrl();
+        java.util.concurrent.CompletableFuture<String> thumbUpload = thumbUrl != null
+                ? imageIngestionService.rehostAsync(thumbUrl) : null;
+        List<AiDto.ParagraphPayload> paragraphs = updatedSection.paragraphs();
+        List<java.util.concurrent.CompletableFuture<String>> paragraphUploads = paragraphs == null ? List.of()
+                : paragraphs.stream()
+                        .map(p -> p.imageUrl() != null ? imageIngestionService.rehostAsync(p.imageUrl())
+                                : java.util.concurrent.CompletableFuture.<String>completedFuture(null))
+                        .collect(Collectors.toList());
+        List<java.util.concurrent.CompletableFuture<String>> uploads = new java.util.ArrayList<>(paragraphUploads);
+        if (thumbUpload != null) {
+            uploads.add(thumbUpload);
+        }
+        imageIngestionService.awaitAll(uploads);
+
+        if (thumbUrl != null) {
+            String uploadedThumb = ImageIngestionService.resultOrNull(thumbUpload);
+            if (uploadedThumb != null) {
+                thumbUrl = uploadedThumb;
             } else {
                 thumbUrl = "https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-thumbnail.png";
             }
-            
-            section.setThumbnailUrl(thumbUrl);
-
-            section.update(
-                    (String) updatedSection.get("heading"));
+        } else {
+            thumbUrl = "https://mine-moodboard-bucket.s3.ap-southeast-2.amazonaws.com/assets/default-thumbnail.png";
+        }
 
-            // source_url 업데이트 (AI가 새 소스를 참조한 경우)
-            if (updatedSection.get("source_url") != null) {
-                section.setSourceUrl((String) updatedSection.get("source_url"));
+        if (paragraphs != null) {
+            // 실패(null) 시 그대로 null 저장
+            List<AiDto.ParagraphPayload> rehosted = new java.util.ArrayList<>(paragraphs.size());
+            for (int i = 0; i < paragraphs.size(); i++) {
+                AiDto.ParagraphPayload p = paragraphs.get(i);
+                rehosted.add(p.imageUrl() != null
+                        ? p.withImageUrl(ImageIngestionService.resultOrNull(paragraphUploads.get(i))) : p);
             }
+            paragraphs = rehosted;
+        }
+        return updatedSection.withImages(thumbUrl, paragraphs);
+    }
+
+    private void applyUpdatedSection(MagazineSection section, AiDto.SectionPayload updatedSection) {
+        section.setThumbnailUrl(updatedSection.thumbnailUrl());
+
+        section.update(updatedSection.heading());
 
-            // paragraphs 업데이트 (2가지 형식 지원)
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> paragraphs = (List<Map<String, Object>>) updatedSection.get("paragraphs");
-
-            if (paragraphs != null) {
-                // 형식 1: paragraphs 배열이 직접 온 경우
-                section.getParagraphs().clear();
-                for (int i = 0; i < paragraphs.size(); i++) {
-                    Map<String, Object> pMap = paragraphs.get(i);
-                    String paraImageUrl = (String) pMap.get("image_url");
-                    if (paraImageUrl != null) {
-                        paraImageUrl = s3Service.uploadImageFromUrl(paraImageUrl);
-                        // 실패(null) 시 그대로 null 저장
-                    }
-
-                    String subtitle = (String) pMap.get("subtitle");
-                    if (subtitle == null || subtitle.trim().isEmpty()) {
-                        subtitle = "소제목 내용";
-                    }
-                    String text = (String) pMap.get("text");
-                    if (text == null || text.trim().isEmpty()) {
-                        text = "내용을 입력해주세요.";
-                    }
+        // source_url 업데이트 (AI가 새 소스를 참조한 경우)
+        if (updatedSection.sourceUrl() != null) {
+            section.setSourceUrl(updatedSection.sourceUrl());
+        }
+
+        // paragraphs 업데이트 (2가지 형식 지원)
+        List<AiDto.ParagraphPayload> paragraphs = updatedSection.paragraphs();
+
+        if (paragraphs != null) {
+            // 형식 1: paragraphs 배열이 직접 온 경우 — 바뀐 문단만 반영
+            List<com.mine.api.domain.Paragraph> desired = new java.util.ArrayList<>();
+            for (int i = 0; i < paragraphs.size(); i++) {
+                AiDto.ParagraphPayload payload = paragraphs.get(i);
+
+                String subtitle = payload.subtitle();
+                if (subtitle == null || subtitle.trim().isEmpty()) {
+                    subtitle = "소제목 내용";
+                }
+                String text = payload.text();
+                if (text == null || text.trim().isEmpty()) {
+                    text = "내용을 입력해주세요.";
+                }
 
+                desired.add(com.mine.api.domain.Paragraph.builder()
+                        .subtitle(subtitle)
+                        .text(text)
+                        .imageUrl(payload.imageUrl())
+                        .sourceUrl(payload.sourceUrl()) // 문단별 출처 매핑
+                        .displayOrder(i)
+                        .build());
+            }
+            ContentReconciler.Changes changes = ContentReconciler.reconcileParagraphs(section, desired);
+            log.info("AI section edit applied: sectionId={}, {}", section.getId(), changes);
+        } else {
+            // 형식 2: Python AI 서버가 content (HTML 문자열)로 반환한 경우
+            String content = updatedSection.content();
+            if (content != null && !content.isBlank()) {
+                log.info("[DEBUG] Updating paragraphs from content HTML (length={})", content.length());
+                List<com.mine.api.domain.Paragraph> existingParagraphs = section.getParagraphs();
+                if (!existingParagraphs.isEmpty()) {
+                    // 기존 첫 번째 paragraph의 text를 AI 응답 content로 교체
+                    existingParagraphs.get(0).update(
+                            existingParagraphs.get(0).getSubtitle(),
+                            content,
+                            existingParagraphs.get(0).getImageUrl(),
+                            null); // HTML 컨텐츠 업데이트 시 출처는 유지하거나 null 처리 (여기서는 단순 교체)
+                } else {
+                    // paragraph가 하나도 없으면 새로 생성
                     com.mine.api.domain.Paragraph p = com.mine.api.domain.Paragraph.builder()
-                            .subtitle(subtitle)
-                            .text(text)
-                            .imageUrl(paraImageUrl)
-                            .sourceUrl((String) pMap.get("source_url")) // 문단별 출처 매핑
-                            .displayOrder(i)
+                            .subtitle(updatedSection.heading())
+                            .text(content)
+                            .imageUrl(null)
+                            .sourceUrl(null)
+                            .displayOrder(0)
                             .build();
                     section.addParagraph(p);
                 }
-            } else {
-                // 형식 2: Python AI 서버가 content (HTML 문자열)로 반환한 경우
-                String content = (String) updatedSection.get("content");
-                if (content != null && !content.isBlank()) {
-                    log.info("[DEBUG] Updating paragraphs from content HTML (length={})", content.length());
-                    List<com.mine.api.domain.Paragraph> existingParagraphs = section.getParagraphs();
-                    if (!existingParagraphs.isEmpty()) {
-                        // 기존 첫 번째 paragraph의 text를 AI 응답 content로 교체
-                        existingParagraphs.get(0).update(
-                                existingParagraphs.get(0).getSubtitle(),
-                                content,
-                                existingParagraphs.get(0).getImageUrl(),
-                                null); // HTML 컨텐츠 업데이트 시 출처는 유지하거나 null 처리 (여기서는 단순 교체)
-                    } else {
-                        // paragraph가 하나도 없으면 새로 생성
-                        com.mine.api.domain.Paragraph p = com.mine.api.domain.Paragraph.builder()
-                                .subtitle((String) updatedSection.get("heading"))
-                                .text(content)
-                                .imageUrl(null)
-                                .sourceUrl(null)
-                                .displayOrder(0)
-                                .build();
-                        section.addParagraph(p);
-                    }
-                }
             }
-
-            sectionRepository.save(section);
-        }
-
-        String aiMessage = "섹션이 업데이트되었습니다.";
-        if (updatedSection != null && updatedSection.get("heading") != null) {
-            aiMessage = (String) updatedSection.get("heading");
         }
-
-        return SectionDto.InteractResponse.builder()
-                .message(aiMessage)
-                .actionType(actionType)
-                .sectionId(sectionId)
-                .section(toResponse(section))
-                .build();
     }
 
     // ===== Helper Methods =====
 
+    private record EditSnapshot(AiDto.SectionPayload data, Long version) {
+    }
+
     private Magazine getMagazineWithOwnerCheck(Long magazineId, String username) {
         Magazine magazine = magazineRepository.findById(magazineId)
                 .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.MAGAZINE_NOT_FOUND));
@@ -367,25 +414,12 @@ public class SectionService {
         }
     }
 
-    private Map<String, Object> convertSectionToMap(MagazineSection section) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", section.getId());
-        map.put("heading", section.getHeading());
-        map.put("thumbnail_url", section.getThumbnailUrl());
-
-        // paragraphs 변환
-        List<Map<String, Object>> paragraphsList = section.getParagraphs().stream()
-                .map(p -> {
-                    Map<String, Object> pMap = new HashMap<>();
-                    pMap.put("subtitle", p.getSubtitle());
-                    pMap.put("text", p.getText());
-                    pMap.put("image_url", p.getImageUrl());
-                    return pMap;
-                })
+    private AiDto.SectionPayload toPayload(MagazineSection section) {
+        List<AiDto.ParagraphPayload> paragraphsList = section.getParagraphs().stream()
+                .map(p -> new AiDto.ParagraphPayload(p.getSubtitle(), p.getText(), p.getImageUrl(), null))
                 .collect(Collectors.toList());
-        map.put("paragraphs", paragraphsList);
-
-        return map;
+        return new AiDto.SectionPayload(section.getId(), section.getHeading(), section.getThumbnailUrl(),
+                null, null, null, null, paragraphsList);
     }
 
     private SectionDto.Response toResponse(MagazineSection section) {
@@ -396,6 +430,7 @@ public class SectionService {
                         .subtitle(p.getSubtitle())
                         .text(p.getText())
                         .imageUrl(p.getImageUrl())
+                        .imageVariants(ImageVariants.of(p.getImageUrl()))
                         .sourceUrl(p.getSourceUrl())
                         .build())
                 .collect(Collectors.toList());
@@ -404,6 +439,7 @@ public class SectionService {
                 .id(section.getId())
                 .heading(section.getHeading())
                 .thumbnailUrl(section.getThumbnailUrl())
+                .thumbnailVariants(ImageVariants.of(section.getThumbnailUrl()))
                 .paragraphs(paragraphsList)
                 .displayOrder(section.getDisplayOrder())
                 .sourceUrl(section.getSourceUrl()) // 원본 웹 소스 URL
@@ -0,0 +1,198 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.domain.GenerationJob;
+import com.mine.api.domain.Interest;
+import com.mine.api.domain.WelcomeMagazineTemplate;
+import com.mine.api.dto.MagazineCreateRequest;
+import com.mine.api.repository.InterestRepository;
+import com.mine.api.repository.WelcomeMagazineTemplateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 웰컴 매거진 풀 관리
+ * 관심사 코드는 고정된 카탈로그(Interest)에서 오므로 (관심사, 분위기)별로 매거진을 미리 생성해 두고,
+ * 가입 시에는 AI 호출 없이 템플릿을 복제한다 — 가입이 몰려도 GPU 비용이 늘지 않고 웰컴 피드가 바로 채워진다.
+ * 풀은 한가한 시간대에 영속 작업 큐(WELCOME_POOL_TEMPLATE)로 채운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WelcomeMagazinePoolService {
+
+    // 풀 생성 작업의 작업 큐 사용자 — 사용자별 동시 실행 상한으로 풀 생성이 한 번에 하나씩만 돈다
+    public static final String POOL_USERNAME = "welcome-pool";
+
+    private static final int CLAIM_CANDIDATES = 5;
+
+    private final WelcomeMagazineTemplateRepository templateRepository;
+    private final InterestRepository interestRepository;
+    private final GenerationJobService generationJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mine.welcome-pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mine.welcome-pool.moods:vibrant}")
+    private List<String> moods;
+
+    // (관심사, 분위기)별로 유지할 템플릿 수
+    @Value("${mine.welcome-pool.target-size:3}")
+    private int targetSize;
+
+    // 템플릿 하나를 복제할 수 있는 최대 가입자 수 — 같은 웰컴 매거진을 받는 사용자가 너무 많지 않도록
+    @Value("${mine.welcome-pool.max-uses:20}")
+    private int maxUses;
+
+    @Value("${mine.welcome-pool.max-age-days:14}")
+    private long maxAgeDays;
+
+    /**
+     * 관심사에 맞는 템플릿 하나를 선점해 내용을 반환 — 풀이 비어 있으면 empty (호출 측은 AI 생성으로 대체)
+     */
+    public Optional<MagazineCreateRequest> claim(String interestCode) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        List<String> candidateMoods = new ArrayList<>(moods);
+        Collections.shuffle(candidateMoods);
+
+        LocalDateTime createdAfter = LocalDateTime.now().minusDays(maxAgeDays);
+        for (String mood : candidateMoods) {
+            List<WelcomeMagazineTemplate> candidates = templateRepository.findAvailable(interestCode, mood, maxUses,
+                    createdAfter, PageRequest.of(0, CLAIM_CANDIDATES));
+            for (WelcomeMagazineTemplate template : candidates) {
+                Integer claimed = transactionTemplate.execute(
+                        status -> templateRepository.incrementUse(template.getId(), maxUses));
+                if (claimed != null && claimed == 1) {
+                    meterRegistry.counter("welcome.pool.claims", "result", "hit").increment();
+                    log.info("Claimed welcome magazine template {} for interest={}, mood={}", template.getId(),
+                            interestCode, mood);
+                    return Optional.of(readContent(template));
+                }
+            }
+        }
+        meterRegistry.counter("welcome.pool.claims", "result", "miss").increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 생성된 매거진 내용을 풀에 추가 (이미지는 미리 S3로 옮겨 둔 상태여야 함)
+     */
+    public Long addTemplate(String interestCode, String mood, MagazineCreateRequest content) {
+        return addTemplate(interestCode, mood, content, null);
+    }
+
+    /**
+     * 풀에 추가 — onSaved는 템플릿 저장과 같은 트랜잭션에서 실행된다 (보충 작업에 템플릿 ID 기록)
+     */
+    public Long addTemplate(String interestCode, String mood, MagazineCreateRequest content,
+            Consumer<Long> onSaved) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize welcome magazine template", e);
+        }
+        WelcomeMagazineTemplate template = transactionTemplate.execute(status -> {
+            WelcomeMagazineTemplate saved = templateRepository.save(WelcomeMagazineTemplate.builder()
+                    .interestCode(interestCode)
+                    .mood(mood)
+                    .content(json)
+                    .build());
+            if (onSaved != null) {
+                onSaved.accept(saved.getId());
+            }
+            return saved;
+        });
+        log.info("Welcome magazine template added: id={}, interest={}, mood={}", template.getId(), interestCode,
+                mood);
+        return template.getId();
+    }
+
+    /**
+     * 배포 직후에도 풀이 비어 있지 않도록 기동 시 한 번 보충 — 새벽 배치까지 모든 가입이 AI 생성으로 빠지는 것 방지
+     * 여러 노드가 동시에 기동해도 슬롯별 dedupeKey(active_dedupe_key 유니크 제약)로 같은 보충 작업은 한 번만 등록된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replenishOnStartup() {
+        replenish();
+    }
+
+    /**
+     * 한가한 시간대에 풀 보충 — 다 쓰였거나 오래된 템플릿을 지우고 모자란 만큼 생성 작업 등록
+     */
+    @Scheduled(cron = "${mine.welcome-pool.replenish-cron:0 0 3 * * *}")
+    public void replenish() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime createdAfter = LocalDateTime.now().minusDays(maxAgeDays);
+            Integer retired = transactionTemplate.execute(
+                    status -> templateRepository.deleteRetired(maxUses, createdAfter));
+            if (retired != null && retired > 0) {
+                log.info("Retired {} welcome magazine templates", retired);
+            }
+
+            int queued = 0;
+            for (Interest interest : interestRepository.findAll()) {
+                for (String mood : moods) {
+                    long available = templateRepository.countAvailable(interest.getCode(), mood, maxUses,
+                            createdAfter);
+                    // 슬롯 번호로 dedupe — 이미 대기 중인 보충 작업은 다시 등록하지 않음
+                    for (long slot = available; slot < targetSize; slot++) {
+                        if (generationJobService.enqueue(GenerationJob.Type.WELCOME_POOL_TEMPLATE, POOL_USERNAME,
+                                payload(interest.getCode(), mood),
+                                "welcome-pool:" + interest.getCode() + ":" + mood + ":" + slot).isPresent()) {
+                            queued++;
+                        }
+                    }
+                }
+            }
+            log.info("Welcome magazine pool replenish: {} template jobs queued", queued);
+        } catch (Exception e) {
+            log.error("Welcome magazine pool replenish failed", e);
+        }
+    }
+
+    // 작업 payload: "관심사코드:분위기"
+    static String payload(String interestCode, String mood) {
+        return interestCode + ":" + mood;
+    }
+
+    static String[] parsePayload(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid welcome pool job payload: " + payload);
+        }
+        return new String[] { payload.substring(0, separator), payload.substring(separator + 1) };
+    }
+
+    private MagazineCreateRequest readContent(WelcomeMagazineTemplate template) {
+        try {
+            return objectMapper.readValue(template.getContent(), MagazineCreateRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted welcome magazine template: " + template.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mine.api.service;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 내부 전용 스레드 풀 생성
+ * 풀은 각 서비스가 직접 만들어 소유하고 @PreDestroy에서 종료한다.
+ * Executor/TaskScheduler를 Bean으로 등록하면 Spring Boot가 기본 @Async/@Scheduled 실행기를 만들지 않고
+ * 그 Bean을 대신 쓰게 되므로(스케줄 작업이 AI 워커 풀에서 실행되는 등) Bean으로 노출하지 않는다.
+ */
+final class WorkerPools {
+
+    private WorkerPools() {
+    }
+
+    /**
+     * 고정 크기 + 유한 대기열 — 가득 차면 RejectedExecutionException (503), 유휴 스레드는 60초 후 정리
+     */
+    static ThreadPoolExecutor bounded(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 지연/주기 실행 — 취소된 예약은 대기열에서 바로 제거
+     */
+    static ScheduledThreadPoolExecutor scheduled(String threadNamePrefix, int threads) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(threads,
+                new CustomizableThreadFactory(threadNamePrefix));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
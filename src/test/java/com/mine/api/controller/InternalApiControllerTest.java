@@ -1,7 +1,10 @@
 package com.mine.api.controller;
 
 import com.mine.api.dto.MagazineCreateRequest;
+import com.mine.api.service.AiCallLedger;
 import com.mine.api.service.MagazineService;
+import com.mine.api.service.RunPodService;
+import com.mine.api.service.S3Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,10 +17,15 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(InternalApiController.class)
@@ -29,6 +37,15 @@ class InternalApiControllerTest {
     @MockBean
     private MagazineService magazineService;
 
+    @MockBean
+    private S3Service s3Service;
+
+    @MockBean
+    private RunPodService runPodService;
+
+    @MockBean
+    private AiCallLedger aiCallLedger;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,4 +69,64 @@ class InternalApiControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("1"));
     }
+
+    @Test
+    @DisplayName("RunPod 웹훅 — 작업별 토큰으로 대기 중인 작업을 깨움")
+    @WithMockUser
+    void runPodWebhook_WakesPendingJob() throws Exception {
+        given(runPodService.handleWebhook(any(), eq("job-token"))).willReturn(true);
+
+        mockMvc.perform(post("/api/internal/runpod/webhook")
+                .with(csrf())
+                .param("token", "job-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":\"job-1\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("OK"));
+    }
+
+    @Test
+    @DisplayName("RunPod 웹훅 — 토큰도 X-Internal-Key도 없으면 403")
+    @WithMockUser
+    void runPodWebhook_RejectsWithoutCredentials() throws Exception {
+        mockMvc.perform(post("/api/internal/runpod/webhook")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":\"job-1\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isForbidden());
+
+        verify(runPodService, never()).handleWebhook(any(), any());
+    }
+
+    @Test
+    @DisplayName("AI 호출 기록 요약 — action별 백분위 반환")
+    @WithMockUser
+    void aiTelemetry_ReturnsActionSummaries() throws Exception {
+        AiCallLedger.Percentiles latency = new AiCallLedger.Percentiles(2, 1200, 9000, 9000, 9000);
+        AiCallLedger.Percentiles empty = new AiCallLedger.Percentiles(0, 0, 0, 0, 0);
+        given(aiCallLedger.summarize(any())).willReturn(java.util.List.of(new AiCallLedger.ActionSummary(
+                "create_magazine", 2, 0, 0, 1, empty, latency, latency, latency, empty, empty, empty)));
+
+        mockMvc.perform(get("/api/internal/ai-telemetry")
+                .header("X-Internal-Key", "mine-admin-1234")
+                .param("windowMinutes", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowMinutes").value(30))
+                .andExpect(jsonPath("$.actions[0].action").value("create_magazine"))
+                .andExpect(jsonPath("$.actions[0].coldStarts").value(1))
+                .andExpect(jsonPath("$.actions[0].queueMs.p95").value(9000));
+
+        verify(aiCallLedger, never()).recent(any());
+    }
+
+    @Test
+    @DisplayName("AI 호출 기록 요약 — X-Internal-Key가 틀리면 403")
+    @WithMockUser
+    void aiTelemetry_RejectsInvalidKey() throws Exception {
+        mockMvc.perform(get("/api/internal/ai-telemetry")
+                .header("X-Internal-Key", "wrong-key"))
+                .andExpect(status().isForbidden());
+
+        verify(aiCallLedger, never()).summarize(any());
+    }
 }
@@ -43,6 +43,9 @@ class MagazineControllerTest {
         @MockBean
         private com.mine.api.service.MoodboardService moodboardService;
 
+        @MockBean
+        private com.mine.api.service.AiJobService aiJobService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -11,17 +11,22 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MagazineInteractionController.class)
@@ -33,6 +38,9 @@ class MagazineInteractionControllerTest {
     @MockBean
     private MagazineInteractionService interactionService;
 
+    @MockBean
+    private com.mine.api.service.AiJobService aiJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -49,14 +57,21 @@ class MagazineInteractionControllerTest {
         response.setActionType("regenerate_section");
         response.setMagazineId(1L);
 
-        given(interactionService.interact(anyLong(), anyString(), any(InteractionDto.InteractRequest.class)))
-                .willReturn(response);
+        given(interactionService.interactAsync(anyLong(), anyString(), any(InteractionDto.InteractRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(response));
+        given(aiJobService.defer(anyString(), anyString(), any())).willAnswer(invocation ->
+                com.mine.api.service.AiJobService.completed(
+                        invocation.<Supplier<CompletableFuture<?>>>getArgument(2).get().join()));
 
-        // When & Then
-        mockMvc.perform(post("/api/magazines/1/interact")
+        // When & Then — 동기 응답도 서블릿 스레드를 반납한 뒤 ASYNC 디스패치로 완료
+        MvcResult result = mockMvc.perform(post("/api/magazines/1/interact")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Updated section"))
                 .andExpect(jsonPath("$.actionType").value("regenerate_section"));
@@ -10,15 +10,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MoodboardController.class)
@@ -30,6 +35,9 @@ class MoodboardControllerTest {
     @MockBean
     private MoodboardService moodboardService;
 
+    @MockBean
+    private com.mine.api.service.AiJobService aiJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,16 +52,53 @@ class MoodboardControllerTest {
                 .build();
 
         String expectedUrl = "https://s3.ap-northeast-2.amazonaws.com/bucket/image.png";
-        given(moodboardService.createMoodboard(eq("testUser"), any(MoodboardRequestDto.class)))
-                .willReturn(expectedUrl);
+        given(moodboardService.createMoodboardAsync(eq("testUser"), any(MoodboardRequestDto.class)))
+                .willReturn(CompletableFuture.completedFuture(expectedUrl));
+        given(aiJobService.defer(eq("testUser"), eq("MOODBOARD"), any())).willAnswer(invocation ->
+                com.mine.api.service.AiJobService.completed(
+                        invocation.<Supplier<CompletableFuture<?>>>getArgument(2).get().join()));
 
-        // When & Then
-        mockMvc.perform(post("/api/moodboards")
+        // When & Then — 동기 응답도 서블릿 스레드를 반납한 뒤 ASYNC 디스패치로 완료
+        MvcResult result = mockMvc.perform(post("/api/moodboards")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.image_url").value(expectedUrl))
                 .andExpect(jsonPath("$.description").exists());
     }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void createMoodboard_Async_ReturnsAccepted() throws Exception {
+        // Given
+        MoodboardRequestDto request = MoodboardRequestDto.builder()
+                .topic("Cozy Office")
+                .build();
+
+        com.mine.api.dto.AiJobDto.Accepted accepted = com.mine.api.dto.AiJobDto.Accepted.builder()
+                .jobId("job-1")
+                .status(com.mine.api.dto.AiJobDto.JobStatus.QUEUED)
+                .statusUrl("/api/ai-jobs/job-1")
+                .eventsUrl("/api/ai-jobs/job-1/events")
+                .build();
+        given(aiJobService.submit(eq("testUser"), eq("MOODBOARD"), any())).willReturn(accepted);
+
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/moodboards")
+                .param("async", "true")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
 }
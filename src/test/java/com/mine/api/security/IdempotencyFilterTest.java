@@ -0,0 +1,187 @@
+package com.mine.api.security;
+
+import com.mine.api.service.IdempotencyService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyService);
+
+    @Test
+    @DisplayName("처음 들어온 키는 실행 후 성공 응답을 저장")
+    void storesFirstResponse() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.ACQUIRED, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/json");
+            res.getWriter().write("42");
+        };
+
+        filter.doFilter(request("/api/magazines"), response, chain);
+
+        assertEquals("42", response.getContentAsString());
+        verify(idempotencyService).complete(eq("anonymous:/api/magazines:retry-key-1"),
+                argThat(stored -> stored.status() == 200 && "42".equals(stored.body())));
+        verify(idempotencyService, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("완료된 키로 재시도하면 실행하지 않고 저장된 응답을 재생")
+    void replaysStoredResponse() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString())).willReturn(new IdempotencyService.Lookup(
+                IdempotencyService.State.COMPLETED,
+                new IdempotencyService.StoredResponse(200, "application/json", "42", null)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/magazines"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals("42", response.getContentAsString());
+        assertEquals("true", response.getHeader("Idempotent-Replayed"));
+    }
+
+    @Test
+    @DisplayName("본문 해시와 함께 선점하고, 컨트롤러는 해시 계산 후에도 같은 본문을 읽음")
+    void hashesBodyAndPassesItThrough() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.ACQUIRED, null));
+        MockHttpServletRequest request = request("/api/magazines/1/interact");
+        request.setContent("{\"message\":\"밝게\"}".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<String> readBody = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> readBody.set(
+                StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8)));
+
+        assertEquals("{\"message\":\"밝게\"}", readBody.get());
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest("{\"message\":\"밝게\"}".getBytes(StandardCharsets.UTF_8)));
+        verify(idempotencyService).begin("anonymous:/api/magazines/1/interact:retry-key-1", expectedHash);
+        verify(idempotencyService).complete(anyString(), argThat(stored -> expectedHash.equals(stored.requestHash())));
+    }
+
+    @Test
+    @DisplayName("같은 키로 본문이 다른 요청이 오면 실행하지 않고 422")
+    void rejectsBodyMismatch() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.MISMATCH, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/magazines/1/interact"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 재시도하면 409")
+    void rejectsWhileInProgress() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.IN_PROGRESS, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/magazines/1/sections/2/interact"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(HttpServletResponse.SC_CONFLICT, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("실패 응답은 저장하지 않고 키를 해제")
+    void releasesOnFailure() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.ACQUIRED, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> ((HttpServletResponse) res).setStatus(503);
+
+        filter.doFilter(request("/api/moodboards"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        verify(idempotencyService).release(anyString());
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("비동기 전환된 응답은 ASYNC 디스패치가 끝난 뒤 저장")
+    void storesResponseAfterAsyncDispatch() throws Exception {
+        given(idempotencyService.begin(anyString(), anyString()))
+                .willReturn(new IdempotencyService.Lookup(IdempotencyService.State.ACQUIRED, null));
+        MockHttpServletRequest request = request("/api/magazines/1/interact");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletResponse> asyncResponse = new AtomicReference<>();
+
+        // 최초 디스패치 — 컨트롤러가 DeferredResult를 반환하고 응답 없이 끝남
+        filter.doFilter(request, response, (req, res) -> {
+            asyncResponse.set(res);
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(req);
+            asyncManager.setAsyncWebRequest(
+                    new StandardServletAsyncWebRequest((HttpServletRequest) req, (HttpServletResponse) res));
+            asyncManager.startDeferredResultProcessing(new DeferredResult<>());
+        });
+
+        verify(idempotencyService, never()).complete(anyString(), any());
+        verify(idempotencyService, never()).release(anyString());
+
+        // ASYNC 디스패치 — 결과 응답을 쓰고 나면 저장
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, asyncResponse.get(), (req, res) -> {
+            res.setContentType("application/json");
+            res.getWriter().write("{\"magazineId\":1}");
+        });
+
+        assertEquals("{\"magazineId\":1}", response.getContentAsString());
+        verify(idempotencyService).complete(eq("anonymous:/api/magazines/1/interact:retry-key-1"),
+                argThat(stored -> stored.status() == 200 && "{\"magazineId\":1}".equals(stored.body())));
+        verify(idempotencyService, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("헤더가 없거나 대상 경로가 아니면 그대로 통과")
+    void ignoresOtherRequests() throws Exception {
+        MockHttpServletRequest withoutHeader = new MockHttpServletRequest("POST", "/api/magazines");
+        filter.doFilter(withoutHeader, new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("/api/magazines/1/likes"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.addHeader(IdempotencyFilter.HEADER, "retry-key-1");
+        return request;
+    }
+}
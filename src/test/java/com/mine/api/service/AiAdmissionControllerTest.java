@@ -0,0 +1,139 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiAdmissionControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 전체 1자리, 등급별 대기열 1~2개
+    private AiAdmissionController controller(int backgroundQueueCapacity) {
+        return new AiAdmissionController(meterRegistry, 1,
+                1, 2, 5,
+                1, 2, 5,
+                1, backgroundQueueCapacity, 5);
+    }
+
+    @Test
+    @DisplayName("자리가 나면 먼저 기다린 백그라운드보다 편집 요청이 먼저 입장")
+    void admitsInteractiveBeforeBackground() throws Exception {
+        AiAdmissionController admission = controller(2);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> admission.execute(
+                AiAdmissionController.Priority.USER, () -> {
+                    holding.countDown();
+                    await(release);
+                    return null;
+                }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> background = CompletableFuture.runAsync(() -> AiAdmissionController.callAs(
+                AiAdmissionController.Priority.BACKGROUND,
+                () -> admission.execute(AiAdmissionController.Priority.USER, () -> order.add("background"))));
+        waitForQueued("background");
+        CompletableFuture<Void> interactive = CompletableFuture.runAsync(() -> admission.execute(
+                AiAdmissionController.Priority.INTERACTIVE, () -> order.add("interactive")));
+        waitForQueued("interactive");
+
+        release.countDown();
+        CompletableFuture.allOf(first, background, interactive).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("interactive", "background"), order);
+        assertEquals(2, meterRegistry.get("ai.admission.queue.time").tag("priority", "interactive").timer().count()
+                + meterRegistry.get("ai.admission.queue.time").tag("priority", "background").timer().count());
+    }
+
+    @Test
+    @DisplayName("등급별 대기열이 가득 차면 즉시 거절")
+    void rejectsWhenQueueIsFull() throws Exception {
+        AiAdmissionController admission = controller(0);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> admission.execute(
+                AiAdmissionController.Priority.INTERACTIVE, () -> {
+                    holding.countDown();
+                    await(release);
+                    return null;
+                }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RejectedExecutionException.class,
+                () -> admission.execute(AiAdmissionController.Priority.BACKGROUND, () -> "never"));
+        assertEquals(1.0, meterRegistry.get("ai.admission.rejected").tag("priority", "background").counter().count());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("논블로킹 입장 — 스레드를 잡지 않고 대기하다가 앞선 호출의 Future가 끝나면 입장")
+    void admitsAsyncCallWhenPreviousFutureCompletes() throws Exception {
+        AiAdmissionController admission = controller(2);
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+
+        CompletableFuture<String> first = admission.executeAsync(AiAdmissionController.Priority.USER,
+                () -> firstCall);
+        CompletableFuture<String> second = admission.executeAsync(AiAdmissionController.Priority.USER,
+                () -> CompletableFuture.completedFuture("second"));
+
+        waitForQueued("user");
+        assertFalse(second.isDone());
+
+        firstCall.complete("first");
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("second", second.get(5, TimeUnit.SECONDS));
+        admission.shutdown();
+    }
+
+    @Test
+    @DisplayName("논블로킹 입장 — 대기 시간이 지나면 RejectedExecutionException으로 실패")
+    void rejectsAsyncCallAfterQueueTimeout() throws Exception {
+        AiAdmissionController admission = new AiAdmissionController(meterRegistry, 1,
+                1, 2, 5,
+                1, 2, 1,
+                1, 2, 5);
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        admission.executeAsync(AiAdmissionController.Priority.USER, () -> firstCall);
+
+        CompletableFuture<String> second = admission.executeAsync(AiAdmissionController.Priority.USER,
+                () -> CompletableFuture.completedFuture("never"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals(1.0, meterRegistry.get("ai.admission.rejected").tag("priority", "user").counter().count());
+        firstCall.complete("first");
+        admission.shutdown();
+    }
+
+    private void waitForQueued(String priority) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("ai.admission.queued").tag("priority", priority).gauge().value() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "request was not queued: " + priority);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.mine.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiCallLedgerTest {
+
+    private static final String RUNPOD_URL = "https://api.runpod.ai/v2/endpoint-1/runsync";
+    private static final String LOCAL_URL = "http://localhost:8000/api/magazine/create";
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private AiCallLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new AiCallLedger(100);
+        ReflectionTestUtils.setField(ledger, "coldStartThresholdMs", 10000L);
+    }
+
+    @Test
+    @DisplayName("RunPod 호출은 delayTime/executionTime으로 대기와 실행을 나눠 기록")
+    void recordsRunPodQueueAndExecutionTime() {
+        AiCallLedger.Trace trace = ledger.start("create_magazine", RUNPOD_URL, "user@example.com", System.nanoTime());
+        trace.payloadBytes(512);
+        trace.countPoll();
+        trace.countPoll();
+        trace.addResultBytes(100);
+        trace.addResultBytes(2048);
+        trace.runPodTimes(15000L, 42000L);
+        ledger.finish(trace, AiCallLedger.SUCCESS, true);
+
+        AiCallLedger.Entry entry = ledger.recent(WINDOW).get(0);
+        assertEquals("endpoint-1", entry.endpoint());
+        assertEquals("user@example.com", entry.username());
+        assertEquals(15000L, entry.queueMs());
+        assertEquals(42000L, entry.execMs());
+        assertEquals(2, entry.polls());
+        assertEquals(512L, entry.payloadBytes());
+        assertEquals(2148L, entry.resultBytes());
+    }
+
+    @Test
+    @DisplayName("로컬 호출은 대기열 없이 호출 시간 전체를 실행 시간으로 기록")
+    void localCallHasNoQueueTime() {
+        AiCallLedger.Trace trace = ledger.start("edit_section", LOCAL_URL, "user@example.com", System.nanoTime());
+        ledger.finish(trace, AiCallLedger.FAILURE, false);
+
+        AiCallLedger.Entry entry = ledger.recent(WINDOW).get(0);
+        assertEquals("localhost:8000", entry.endpoint());
+        assertNull(entry.queueMs());
+        assertNotNull(entry.execMs());
+        assertNull(entry.resultBytes());
+        assertEquals(AiCallLedger.FAILURE, entry.outcome());
+    }
+
+    @Test
+    @DisplayName("action별 요약 — 실패/거절/콜드스타트 수와 nearest-rank 백분위")
+    void summarizesPerAction() {
+        for (long delay = 1000; delay <= 20000; delay += 1000) {
+            AiCallLedger.Trace trace = ledger.start("create_magazine", RUNPOD_URL, "u", System.nanoTime());
+            trace.runPodTimes(delay, 30000L);
+            ledger.finish(trace, AiCallLedger.SUCCESS, true);
+        }
+        AiCallLedger.Trace failed = ledger.start("edit_magazine", RUNPOD_URL, "u", System.nanoTime());
+        ledger.finish(failed, AiCallLedger.FAILURE, true);
+        ledger.rejected("edit_magazine", "u", System.nanoTime());
+
+        List<AiCallLedger.ActionSummary> summaries = ledger.summarize(WINDOW);
+
+        AiCallLedger.ActionSummary create = summaries.get(0);
+        assertEquals("create_magazine", create.action());
+        assertEquals(20, create.count());
+        assertEquals(11, create.coldStarts()); // 10초 이상 대기 (10000 ~ 20000)
+        assertEquals(20, create.queueMs().samples());
+        assertEquals(10000, create.queueMs().p50());
+        assertEquals(19000, create.queueMs().p95());
+        assertEquals(20000, create.queueMs().p99());
+        assertEquals(30000, create.execMs().p50());
+
+        AiCallLedger.ActionSummary edit = summaries.get(1);
+        assertEquals(2, edit.count());
+        assertEquals(1, edit.failures());
+        assertEquals(1, edit.rejected());
+        assertEquals(1, edit.totalMs().samples()); // 거절된 요청은 지연 시간 분포에서 제외
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 가장 오래된 기록부터 덮어씀")
+    void overwritesOldestEntries() {
+        AiCallLedger small = new AiCallLedger(3);
+        for (int i = 0; i < 5; i++) {
+            small.rejected("action-" + i, "u", System.nanoTime());
+        }
+
+        List<AiCallLedger.Entry> entries = small.recent(WINDOW);
+
+        assertEquals(List.of("action-2", "action-3", "action-4"),
+                entries.stream().map(AiCallLedger.Entry::action).toList());
+    }
+}
@@ -0,0 +1,180 @@
+package com.mine.api.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiEndpointRouterTest {
+
+    private static final String ENDPOINT_A = "https://api.runpod.ai/v2/endpoint-a/runsync";
+    private static final String ENDPOINT_B = "https://api.runpod.ai/v2/endpoint-b/runsync";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // application.yml의 runPod recordExceptions와 같은 구성
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(Map.of("runPod",
+            CircuitBreakerConfig.custom()
+                    .recordExceptions(IOException.class, TimeoutException.class, WebClientRequestException.class,
+                            WebClientResponseException.class, AiEndpointRouter.JobFailedException.class)
+                    .build()));
+    private final AiEndpointRouter router = new AiEndpointRouter(circuitBreakerRegistry, meterRegistry);
+
+    @Test
+    @DisplayName("진행 중 요청이 적은 엔드포인트로 라우팅")
+    void routesToLeastOutstandingEndpoint() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> router.execute(
+                List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+                    started.countDown();
+                    await(release);
+                    return url;
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        String next = router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> url);
+
+        release.countDown();
+        assertEquals(ENDPOINT_A, slow.get(5, TimeUnit.SECONDS));
+        assertEquals(ENDPOINT_B, next);
+    }
+
+    @Test
+    @DisplayName("엔드포인트 장애 시 다음 엔드포인트로 전환")
+    void failsOverToNextEndpoint() {
+        String result = router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+            if (url.equals(ENDPOINT_A)) {
+                throw new RuntimeException("connection refused");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1.0, meterRegistry.get("ai.endpoint.failover").tag("endpoint", "endpoint-a").counter().count());
+    }
+
+    @Test
+    @DisplayName("논블로킹 호출도 제출 전 실패는 다음 엔드포인트로, 제출된 작업의 실패는 그대로 실패")
+    void executeAsyncFailsOverLikeExecute() throws Exception {
+        String result = router.executeAsync(List.of(ENDPOINT_A, ENDPOINT_B), url -> url.equals(ENDPOINT_A)
+                ? CompletableFuture.<String>failedFuture(new RuntimeException("connection refused"))
+                : CompletableFuture.completedFuture("ok")).get(5, TimeUnit.SECONDS);
+        assertEquals("ok", result);
+
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> failed = router.executeAsync(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiEndpointRouter.JobFailedException(
+                    "RunPod job job-1 failed after submission", new RuntimeException("RunPod job failed: FAILED")));
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AiEndpointRouter.JobFailedException.class, e.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("요청 자체가 잘못된 경우는 전환하지 않음")
+    void doesNotFailOverOnBadRequest() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("bad request");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("4xx 응답은 전환하지 않고, 408/429는 다음 엔드포인트로 전환")
+    void doesNotFailOverOnClientErrorResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(WebClientResponseException.BadRequest.class,
+                () -> router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+                    calls.incrementAndGet();
+                    throw WebClientResponseException.create(400, "Bad Request", null, null, null);
+                }));
+        assertEquals(1, calls.get());
+
+        String result = router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+            if (url.equals(ENDPOINT_A)) {
+                throw WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+    }
+
+    @Test
+    @DisplayName("부분 결과를 이미 전달한 스트림 실패는 전환하지 않음")
+    void doesNotFailOverAfterPartialResults() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(AiEndpointRouter.PartialResultException.class,
+                () -> router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+                    calls.incrementAndGet();
+                    throw new AiEndpointRouter.PartialResultException("stream interrupted",
+                            new RuntimeException("connection reset"));
+                }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("제출된 작업의 실패(폴링 제한 시간 초과 등)는 전환하지 않고 엔드포인트 장애로 기록")
+    void doesNotFailOverAfterJobSubmitted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(AiEndpointRouter.JobFailedException.class,
+                () -> router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+                    calls.incrementAndGet();
+                    throw new AiEndpointRouter.JobFailedException("RunPod job job-1 failed after submission",
+                            new TimeoutException("RunPod job job-1 timed out after 15 minutes"));
+                }));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker("runPod-endpoint-a").getMetrics()
+                .getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("모든 엔드포인트가 실패하면 마지막 오류로 실패")
+    void failsWhenAllEndpointsFail() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> router.execute(List.of(ENDPOINT_A, ENDPOINT_B), url -> {
+                    throw new RuntimeException("down: " + url);
+                }));
+
+        assertTrue(e.getMessage().startsWith("AI Server connection failed"));
+    }
+
+    @Test
+    @DisplayName("RunPod 엔드포인트 ID 또는 host:port로 엔드포인트 식별")
+    void namesEndpoints() {
+        assertEquals("endpoint-a", AiEndpointRouter.endpointName(ENDPOINT_A));
+        assertEquals("localhost:8000", AiEndpointRouter.endpointName("http://localhost:8000/api/magazine/create"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiJobDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class AiJobEventRelayTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<AiJobEventRelay.AiJobEvent> delivered = new CopyOnWriteArrayList<>();
+    private AiJobEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.opsForValue()).willReturn(valueOps);
+        relay = new AiJobEventRelay(redisTemplate, mock(RedisConnectionFactory.class), objectMapper);
+        relay.setListener(delivered::add);
+    }
+
+    @Test
+    @DisplayName("상태는 소유자와 함께 작업 ID 키로 저장하고 전체 노드에 발행")
+    void savesStatusAndPublishes() {
+        assertTrue(relay.saveStatus("user1", status(AiJobDto.JobStatus.RUNNING), Duration.ofMinutes(80)));
+
+        verify(valueOps).set(eq("ai-job:job-1"), contains("\"username\":\"user1\""), eq(Duration.ofMinutes(80)));
+        verify(redisTemplate).convertAndSend(eq(AiJobEventRelay.CHANNEL), contains("\"RUNNING\""));
+    }
+
+    @Test
+    @DisplayName("저장된 상태를 다른 노드에서 읽고, 발행된 이벤트는 등록된 대상에게 전달")
+    void readsStatusAndDeliversMessages() throws Exception {
+        given(valueOps.get("ai-job:job-1")).willReturn(objectMapper.writeValueAsString(
+                new AiJobEventRelay.StoredJob("user1", status(AiJobDto.JobStatus.COMPLETED))));
+
+        AiJobEventRelay.StoredJob job = relay.find("job-1").orElseThrow();
+        assertEquals("user1", job.username());
+        assertEquals(AiJobDto.JobStatus.COMPLETED, job.status().getStatus());
+
+        relay.onMessage(message(objectMapper.writeValueAsString(
+                AiJobEventRelay.AiJobEvent.progress("job-1", 0, "section", Map.of("heading", "성수동")))), null);
+        assertEquals(1, delivered.size());
+        assertEquals("section", delivered.get(0).name());
+        assertNull(delivered.get(0).status());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 false — 실행 노드가 자기 구독자에게 직접 전달")
+    void reportsFailureWhenRedisIsDown() {
+        doThrow(new RedisConnectionFailureException("down")).when(valueOps)
+                .set(anyString(), anyString(), any(Duration.class));
+
+        assertFalse(relay.saveStatus("user1", status(AiJobDto.JobStatus.RUNNING), Duration.ofMinutes(80)));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    private static AiJobDto.Status status(AiJobDto.JobStatus status) {
+        return AiJobDto.Status.builder().jobId("job-1").type("MAGAZINE_INTERACT").status(status).build();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(AiJobEventRelay.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.mine.api.service;
+
+import com.mine.api.dto.AiJobDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class AiJobServiceTest {
+
+    private final AiJobEventRelay eventRelay = mock(AiJobEventRelay.class);
+    private AiJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AiJobService(eventRelay, 1, 4, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 실행한 작업도 Redis에 저장된 상태로 조회 — 소유자가 아니면 403, 없으면 404")
+    void getStatus_ReadsJobRunOnAnotherNode() {
+        AiJobDto.Status running = AiJobDto.Status.builder()
+                .jobId("job-1")
+                .type("MAGAZINE_INTERACT")
+                .status(AiJobDto.JobStatus.RUNNING)
+                .build();
+        given(eventRelay.find("job-1")).willReturn(Optional.of(new AiJobEventRelay.StoredJob("user1", running)));
+        given(eventRelay.find("job-2")).willReturn(Optional.empty());
+
+        assertEquals(AiJobDto.JobStatus.RUNNING, service.getStatus("job-1", "user1").getStatus());
+        assertThrows(SecurityException.class, () -> service.getStatus("job-1", "user2"));
+        assertThrows(EntityNotFoundException.class, () -> service.getStatus("job-2", "user1"));
+    }
+
+    @Test
+    @DisplayName("작업 상태는 접수부터 완료까지 Redis에 저장 — 완료 상태는 결과 보관 시간만큼 유지")
+    void submit_SavesEveryTransitionToRelay() {
+        given(eventRelay.saveStatus(anyString(), any(), any())).willReturn(true);
+
+        AiJobDto.Accepted accepted = service.submit("user1", "PARAGRAPH_AI", () -> 42L);
+
+        verify(eventRelay).saveStatus(eq("user1"),
+                argThat(status -> status.getStatus() == AiJobDto.JobStatus.QUEUED), eq(Duration.ofMinutes(80)));
+        verify(eventRelay, timeout(1000)).saveStatus(eq("user1"),
+                argThat(status -> status.getStatus() == AiJobDto.JobStatus.COMPLETED
+                        && accepted.getJobId().equals(status.getJobId()) && Long.valueOf(42L).equals(
+                                status.getResult())),
+                eq(Duration.ofMinutes(60)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.MagazineSection;
+import com.mine.api.domain.Paragraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiPayloadCompactorTest {
+
+    private static final List<String> HEADINGS = List.of("성수동 카페 투어", "을지로 노포", "한남동 편집숍");
+
+    @Test
+    @DisplayName("내용이 같으면 같은 해시, 문단이 바뀌면 다른 해시")
+    void contentHash_TracksSectionContent() {
+        MagazineSection first = section("성수동 카페 투어", "커피 향이 가득한 거리");
+        MagazineSection same = section("성수동 카페 투어", "커피 향이 가득한 거리");
+        MagazineSection edited = section("성수동 카페 투어", "조용한 골목의 로스터리");
+
+        assertEquals(AiPayloadCompactor.contentHash(first), AiPayloadCompactor.contentHash(same));
+        assertNotEquals(AiPayloadCompactor.contentHash(first), AiPayloadCompactor.contentHash(edited));
+        assertEquals(16, AiPayloadCompactor.contentHash(first).length());
+    }
+
+    @Test
+    @DisplayName("소제목 언급과 순서 표현으로 대상 섹션 추정")
+    void targetedIndexes_FromHeadingsAndOrdinals() {
+        assertEquals(Set.of(1), AiPayloadCompactor.targetedIndexes("을지로 노포 부분을 더 짧게", HEADINGS));
+        assertEquals(Set.of(2), AiPayloadCompactor.targetedIndexes("3번째 섹션 톤을 바꿔줘", HEADINGS));
+        assertEquals(Set.of(0), AiPayloadCompactor.targetedIndexes("첫 번째 섹션을 다시 써줘", HEADINGS));
+        assertEquals(Set.of(2), AiPayloadCompactor.targetedIndexes("마지막 섹션 삭제", HEADINGS));
+    }
+
+    @Test
+    @DisplayName("대상을 특정할 수 없거나 범위를 벗어나면 빈 집합")
+    void targetedIndexes_EmptyWhenUnspecified() {
+        assertTrue(AiPayloadCompactor.targetedIndexes("전체적으로 밝은 분위기로", HEADINGS).isEmpty());
+        assertTrue(AiPayloadCompactor.targetedIndexes("7번째 섹션", HEADINGS).isEmpty());
+        assertTrue(AiPayloadCompactor.targetedIndexes("99999999999번째 섹션", HEADINGS).isEmpty());
+        assertTrue(AiPayloadCompactor.targetedIndexes("10002번 섹션", HEADINGS).isEmpty());
+    }
+
+    private static MagazineSection section(String heading, String text) {
+        MagazineSection section = MagazineSection.builder()
+                .heading(heading)
+                .displayOrder(0)
+                .build();
+        section.addParagraph(Paragraph.builder()
+                .subtitle("소제목")
+                .text(text)
+                .displayOrder(0)
+                .build());
+        return section;
+    }
+}
@@ -0,0 +1,123 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AiRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new AiRequestCoalescer(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "resultWindowSeconds", 10L);
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 동일 요청은 한 번만 실행하고 결과를 공유")
+    void sharesInFlightResult() throws Exception {
+        AiDto.GenerateParagraphRequest request = paragraphRequest("더 길게");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute(
+                "generate_paragraph", "user1", request, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "result";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() -> coalescer.execute(
+                "generate_paragraph", "user1", paragraphRequest("더 길게"), () -> {
+                    calls.incrementAndGet();
+                    return "duplicate";
+                }));
+        waitForCoalesced();
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+
+        // 결과 유지 시간 안의 재시도도 같은 결과
+        assertEquals("result", coalescer.execute("generate_paragraph", "user1", request, () -> "again"));
+        // 다른 사용자는 합치지 않음
+        assertEquals("other", coalescer.execute("generate_paragraph", "user2", request, () -> "other"));
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 유지하지 않아 재시도 시 새로 실행")
+    void doesNotKeepFailures() {
+        AiDto.GenerateParagraphRequest request = paragraphRequest("짧게");
+
+        assertThrows(RuntimeException.class, () -> coalescer.execute("generate_paragraph", "user1", request,
+                () -> {
+                    throw new RuntimeException("AI server error");
+                }));
+
+        assertEquals("retried", coalescer.execute("generate_paragraph", "user1", request, () -> "retried"));
+    }
+
+    @Test
+    @DisplayName("논블로킹 요청도 진행 중인 같은 요청의 결과를 공유")
+    void sharesInFlightFuture() throws Exception {
+        AiDto.GenerateParagraphRequest request = paragraphRequest("감성적으로");
+        CompletableFuture<String> aiCall = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = coalescer.executeAsync("generate_paragraph", "user1", request, () -> {
+            calls.incrementAndGet();
+            return aiCall;
+        });
+        CompletableFuture<String> duplicate = coalescer.executeAsync("generate_paragraph", "user1", request, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("duplicate");
+        });
+        assertFalse(duplicate.isDone());
+
+        aiCall.complete("result");
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        // 블로킹 경로로 들어온 같은 요청도 같은 결과
+        assertEquals("result", coalescer.execute("generate_paragraph", "user1", request, () -> "blocking"));
+    }
+
+    private void waitForCoalesced() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.find("ai.coalesced").counter() == null
+                || meterRegistry.find("ai.coalesced").counter().count() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "duplicate request was not coalesced");
+            Thread.sleep(5);
+        }
+    }
+
+    private static AiDto.GenerateParagraphRequest paragraphRequest(String message) {
+        return new AiDto.GenerateParagraphRequest("여행", "차분한", "도쿄", message, List.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
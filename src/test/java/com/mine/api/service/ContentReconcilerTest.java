@@ -0,0 +1,100 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.Magazine;
+import com.mine.api.domain.MagazineSection;
+import com.mine.api.domain.Paragraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentReconcilerTest {
+
+    @Test
+    @DisplayName("같은 내용의 문단은 그대로 두고 바뀐 문단만 수정")
+    void reconcileParagraphs_UpdatesOnlyChangedRows() {
+        MagazineSection section = section("카페", "A", "B", "C");
+        Paragraph first = section.getParagraphs().get(0);
+        Paragraph second = section.getParagraphs().get(1);
+        Paragraph third = section.getParagraphs().get(2);
+
+        ContentReconciler.Changes changes = ContentReconciler.reconcileParagraphs(section,
+                paragraphs("A", "B2", "C"));
+
+        assertEquals(new ContentReconciler.Changes(0, 1, 0), changes);
+        assertSame(first, section.getParagraphs().get(0));
+        assertSame(second, section.getParagraphs().get(1));
+        assertSame(third, section.getParagraphs().get(2));
+        assertEquals("B2", second.getText());
+    }
+
+    @Test
+    @DisplayName("앞에 문단이 끼어들어도 기존 문단은 순서만 조정하고 새 문단만 추가")
+    void reconcileParagraphs_InsertKeepsShiftedRows() {
+        MagazineSection section = section("카페", "A", "B");
+        Paragraph a = section.getParagraphs().get(0);
+        Paragraph b = section.getParagraphs().get(1);
+
+        ContentReconciler.Changes changes = ContentReconciler.reconcileParagraphs(section,
+                paragraphs("NEW", "A", "B"));
+
+        assertEquals(new ContentReconciler.Changes(1, 2, 0), changes);
+        assertEquals(List.of("NEW", "A", "B"), texts(section));
+        assertSame(a, section.getParagraphs().get(1));
+        assertSame(b, section.getParagraphs().get(2));
+    }
+
+    @Test
+    @DisplayName("남는 기존 문단만 삭제")
+    void reconcileParagraphs_DeletesLeftovers() {
+        MagazineSection section = section("카페", "A", "B", "C");
+
+        ContentReconciler.Changes changes = ContentReconciler.reconcileParagraphs(section, paragraphs("A"));
+
+        assertEquals(new ContentReconciler.Changes(0, 0, 2), changes);
+        assertEquals(List.of("A"), texts(section));
+    }
+
+    @Test
+    @DisplayName("섹션은 위치별로 재사용하고 남는 섹션만 정리 후 삭제")
+    void reconcileSections_ReusesRowsByPosition() {
+        Magazine magazine = Magazine.builder().title("매거진").build();
+        MagazineSection first = section("첫째", "A");
+        MagazineSection second = section("둘째", "B");
+        first.setDisplayOrder(0);
+        second.setDisplayOrder(1);
+        magazine.addSection(first);
+        magazine.addSection(second);
+        List<MagazineSection> removed = new ArrayList<>();
+
+        ContentReconciler.Changes changes = ContentReconciler.reconcileSections(magazine,
+                List.of(section("첫째 (밝게)", "A")), removed::add);
+
+        assertEquals(1, magazine.getSections().size());
+        assertSame(first, magazine.getSections().get(0));
+        assertEquals("첫째 (밝게)", first.getHeading());
+        assertEquals(List.of(second), removed);
+        assertEquals(new ContentReconciler.Changes(0, 1, 1), changes);
+    }
+
+    private static MagazineSection section(String heading, String... texts) {
+        MagazineSection section = MagazineSection.builder().heading(heading).displayOrder(0).build();
+        paragraphs(texts).forEach(section::addParagraph);
+        return section;
+    }
+
+    private static List<Paragraph> paragraphs(String... texts) {
+        List<Paragraph> paragraphs = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            paragraphs.add(Paragraph.builder().subtitle("소제목").text(texts[i]).displayOrder(i).build());
+        }
+        return paragraphs;
+    }
+
+    private static List<String> texts(MagazineSection section) {
+        return section.getParagraphs().stream().map(Paragraph::getText).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.GenerationJob;
+import com.mine.api.repository.GenerationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class GenerationJobServiceTest {
+
+    @Mock
+    private GenerationJobRepository generationJobRepository;
+
+    private GenerationJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GenerationJobService(generationJobRepository);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+    }
+
+    @Test
+    @DisplayName("작업 등록 — 확인 후 다른 노드가 먼저 저장해 유니크 제약에 걸리면 중복으로 처리")
+    void enqueue_TreatsUniqueViolationAsDuplicate() {
+        given(generationJobRepository.existsByActiveDedupeKey("welcome-pool:TRAVEL:vibrant:0")).willReturn(false);
+        given(generationJobRepository.saveAndFlush(any(GenerationJob.class)))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry for uk_ai_jobs_active_dedupe_key"));
+
+        Optional<Long> jobId = service.enqueue(GenerationJob.Type.WELCOME_POOL_TEMPLATE, "welcome-pool",
+                "TRAVEL:vibrant", "welcome-pool:TRAVEL:vibrant:0");
+
+        assertTrue(jobId.isEmpty());
+    }
+
+    @Test
+    @DisplayName("작업 종료 — 완료/최종 실패 시 활성 dedupeKey를 비워 같은 키로 다시 등록 가능")
+    void finishedJob_ReleasesActiveDedupeKey() {
+        GenerationJob completed = job();
+        completed.complete("10");
+        assertNull(completed.getActiveDedupeKey());
+
+        GenerationJob retrying = job();
+        ReflectionTestUtils.setField(retrying, "attempts", 1);
+        retrying.fail("timeout", LocalDateTime.now(), true);
+        assertEquals(GenerationJob.Status.PENDING, retrying.getStatus());
+        assertEquals("moodboard:1", retrying.getActiveDedupeKey());
+
+        GenerationJob failed = job();
+        ReflectionTestUtils.setField(failed, "attempts", 3);
+        failed.fail("timeout", LocalDateTime.now(), true);
+        assertEquals(GenerationJob.Status.FAILED, failed.getStatus());
+        assertNull(failed.getActiveDedupeKey());
+        assertEquals("moodboard:1", failed.getDedupeKey());
+    }
+
+    private static GenerationJob job() {
+        return GenerationJob.builder()
+                .type(GenerationJob.Type.MAGAZINE_MOODBOARD)
+                .username("user1")
+                .payload("1")
+                .dedupeKey("moodboard:1")
+                .maxAttempts(3)
+                .build();
+    }
+}
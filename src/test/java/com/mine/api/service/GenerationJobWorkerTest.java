@@ -0,0 +1,168 @@
+package com.mine.api.service;
+
+import com.mine.api.domain.GenerationJob;
+import com.mine.api.dto.MagazineCreateRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GenerationJobWorkerTest {
+
+    private GenerationJobService generationJobService;
+    private MagazineService magazineService;
+    private MoodboardService moodboardService;
+    private WelcomeMagazinePoolService welcomeMagazinePoolService;
+    private GenerationJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        generationJobService = mock(GenerationJobService.class);
+        magazineService = mock(MagazineService.class);
+        moodboardService = mock(MoodboardService.class);
+        welcomeMagazinePoolService = mock(WelcomeMagazinePoolService.class);
+        worker = new GenerationJobWorker(generationJobService, magazineService, moodboardService,
+                welcomeMagazinePoolService, 2);
+        ReflectionTestUtils.setField(worker, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(worker, "perUserConcurrency", 1);
+        ReflectionTestUtils.setField(worker, "leaseSeconds", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    private GenerationJob job(Long id, GenerationJob.Type type, String username, String payload) {
+        GenerationJob job = GenerationJob.builder()
+                .type(type)
+                .username(username)
+                .payload(payload)
+                .maxAttempts(3)
+                .build();
+        ReflectionTestUtils.setField(job, "id", id);
+        ReflectionTestUtils.setField(job, "attempts", 1);
+        return job;
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 작업은 사용자별 상한(1)까지만 선점")
+    void dispatch_RespectsPerUserConcurrency() {
+        GenerationJob first = job(1L, GenerationJob.Type.WELCOME_MAGAZINE, "user1", "TRAVEL");
+        GenerationJob second = job(2L, GenerationJob.Type.WELCOME_MAGAZINE, "user1", "FOOD");
+
+        when(generationJobService.countRunning(any())).thenReturn(0L);
+        when(generationJobService.countRunning(eq("user1"), any())).thenReturn(0L);
+        when(generationJobService.findClaimable(any(), anyInt())).thenReturn(List.of(first, second));
+        when(generationJobService.claim(eq(1L), anyString(), any())).thenReturn(Optional.of(first));
+        when(magazineService.generateAndSaveMagazine(any(), eq("user1"), any())).thenReturn(10L);
+
+        worker.dispatch();
+
+        verify(generationJobService).claim(eq(1L), anyString(), any());
+        verify(generationJobService, never()).claim(eq(2L), anyString(), any());
+        verify(generationJobService, timeout(2000)).complete(1L, "10");
+    }
+
+    @Test
+    @DisplayName("전체 동시 실행 상한에 도달하면 선점하지 않음")
+    void dispatch_SkipsWhenGlobalLimitReached() {
+        when(generationJobService.countRunning(any())).thenReturn(4L);
+
+        worker.dispatch();
+
+        verify(generationJobService, never()).findClaimable(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("일시적 오류는 재시도, 대상이 없으면 재시도하지 않음")
+    void run_MarksRetryableFailures() {
+        GenerationJob welcome = job(1L, GenerationJob.Type.WELCOME_MAGAZINE, "user1", "TRAVEL");
+        GenerationJob moodboard = job(2L, GenerationJob.Type.MAGAZINE_MOODBOARD, "user2", "99");
+
+        when(generationJobService.countRunning(any())).thenReturn(0L);
+        when(generationJobService.countRunning(anyString(), any())).thenReturn(0L);
+        when(generationJobService.findClaimable(any(), anyInt())).thenReturn(List.of(welcome, moodboard));
+        when(generationJobService.claim(eq(1L), anyString(), any())).thenReturn(Optional.of(welcome));
+        when(generationJobService.claim(eq(2L), anyString(), any())).thenReturn(Optional.of(moodboard));
+        when(magazineService.generateAndSaveMagazine(any(), eq("user1"), any()))
+                .thenThrow(new RuntimeException("RunPod timeout"));
+        when(moodboardService.createMoodboardForMagazine(99L, "user2"))
+                .thenThrow(new IllegalArgumentException("매거진을 찾을 수 없습니다"));
+
+        worker.dispatch();
+
+        verify(generationJobService, timeout(2000)).fail(1L, "RunPod timeout", true);
+        verify(generationJobService, timeout(2000)).fail(2L, "매거진을 찾을 수 없습니다", false);
+    }
+
+    @Test
+    @DisplayName("매거진 저장 시 같은 트랜잭션에서 작업에 매거진 ID 기록")
+    @SuppressWarnings("unchecked")
+    void run_RecordsMagazineIdWithSave() {
+        GenerationJob welcome = job(1L, GenerationJob.Type.WELCOME_MAGAZINE, "user1", "TRAVEL");
+
+        when(generationJobService.countRunning(any())).thenReturn(0L);
+        when(generationJobService.countRunning(anyString(), any())).thenReturn(0L);
+        when(generationJobService.findClaimable(any(), anyInt())).thenReturn(List.of(welcome));
+        when(generationJobService.claim(eq(1L), anyString(), any())).thenReturn(Optional.of(welcome));
+        when(magazineService.generateAndSaveMagazine(any(), eq("user1"), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Long>>getArgument(2).accept(10L);
+            return 10L;
+        });
+
+        worker.dispatch();
+
+        verify(generationJobService, timeout(2000)).complete(1L, "10");
+        verify(generationJobService).recordResult(1L, "10");
+    }
+
+    @Test
+    @DisplayName("이전 시도가 매거진을 저장했으면 재실행 시 다시 생성하지 않음")
+    void run_SkipsRegenerationWhenResultRecorded() {
+        GenerationJob retried = job(1L, GenerationJob.Type.WELCOME_MAGAZINE, "user1", "TRAVEL");
+        ReflectionTestUtils.setField(retried, "resultRef", "10");
+
+        when(generationJobService.countRunning(any())).thenReturn(0L);
+        when(generationJobService.countRunning(anyString(), any())).thenReturn(0L);
+        when(generationJobService.findClaimable(any(), anyInt())).thenReturn(List.of(retried));
+        when(generationJobService.claim(eq(1L), anyString(), any())).thenReturn(Optional.of(retried));
+
+        worker.dispatch();
+
+        verify(generationJobService, timeout(2000)).complete(1L, "10");
+        verifyNoInteractions(magazineService);
+    }
+
+    @Test
+    @DisplayName("웰컴 풀 보충 작업은 템플릿을 생성해 풀에 추가")
+    void run_AddsWelcomePoolTemplate() {
+        GenerationJob poolJob = job(1L, GenerationJob.Type.WELCOME_POOL_TEMPLATE,
+                WelcomeMagazinePoolService.POOL_USERNAME, "TRAVEL:vibrant");
+        MagazineCreateRequest content = new MagazineCreateRequest();
+
+        when(generationJobService.countRunning(any())).thenReturn(0L);
+        when(generationJobService.countRunning(anyString(), any())).thenReturn(0L);
+        when(generationJobService.findClaimable(any(), anyInt())).thenReturn(List.of(poolJob));
+        when(generationJobService.claim(eq(1L), anyString(), any())).thenReturn(Optional.of(poolJob));
+        when(magazineService.generateWelcomeTemplate("TRAVEL", "vibrant")).thenReturn(content);
+        when(welcomeMagazinePoolService.addTemplate(eq("TRAVEL"), eq("vibrant"), eq(content), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Consumer<Long>>getArgument(3).accept(7L);
+                    return 7L;
+                });
+
+        worker.dispatch();
+
+        verify(generationJobService, timeout(2000)).complete(1L, "7");
+        verify(generationJobService).recordResult(1L, "7");
+    }
+}
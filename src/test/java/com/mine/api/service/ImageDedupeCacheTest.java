@@ -0,0 +1,136 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class ImageDedupeCacheTest {
+
+    private static final String SOURCE_URL = "https://images.example.com/stock/coffee.jpg";
+    private static final String S3_URL = "https://bucket.s3.ap-northeast-2.amazonaws.com/uploads/abc.jpg";
+    private static final String SOURCE_KEY =
+            "image:source:" + ImageDedupeCache.sha256Hex(SOURCE_URL.getBytes(StandardCharsets.UTF_8));
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private ImageDedupeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.opsForValue()).willReturn(valueOps);
+        given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOps);
+        given(redisTemplate.execute(any(SessionCallback.class))).willAnswer(invocation ->
+                invocation.<SessionCallback<?>>getArgument(0).execute(redisTemplate));
+        cache = new ImageDedupeCache(redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "sourceFreshDays", 7L);
+        ReflectionTestUtils.setField(cache, "sourceTtlDays", 90L);
+        ReflectionTestUtils.setField(cache, "contentTtlDays", 365L);
+    }
+
+    @Test
+    @DisplayName("원본 URL은 해시로 키를 만들어 조회 — 신선 기간 안이면 바로 재사용")
+    void findsFreshEntryBySourceUrlHash() {
+        given(hashOps.entries(SOURCE_KEY)).willReturn(Map.<Object, Object>of("url", S3_URL, "etag", "\"v1\"",
+                "storedAt", String.valueOf(System.currentTimeMillis())));
+
+        ImageDedupeCache.SourceEntry entry = cache.findBySource(SOURCE_URL);
+
+        assertEquals(S3_URL, entry.s3Url());
+        assertEquals("\"v1\"", entry.etag());
+        assertTrue(entry.fresh());
+    }
+
+    @Test
+    @DisplayName("신선 기간이 지난 항목은 검증자와 함께 반환해 조건부 요청에 사용")
+    void returnsStaleEntryWithValidators() {
+        long eightDaysAgo = System.currentTimeMillis() - Duration.ofDays(8).toMillis();
+        given(hashOps.entries(SOURCE_KEY)).willReturn(Map.<Object, Object>of("url", S3_URL,
+                "lastModified", "Wed, 21 Oct 2026 07:28:00 GMT", "storedAt", String.valueOf(eightDaysAgo)));
+
+        ImageDedupeCache.SourceEntry entry = cache.findBySource(SOURCE_URL);
+
+        assertFalse(entry.fresh());
+        assertNull(entry.etag());
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", entry.lastModified());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("업로드 결과는 내용 해시 → 키, 원본 URL → S3 URL + 검증자 두 단계로 기록 (원본 항목은 트랜잭션으로 교체)")
+    void remembersBothLevels() {
+        cache.remember(SOURCE_URL, "abc", "uploads/abc.jpg", S3_URL, "\"v1\"", null);
+
+        verify(valueOps).set("image:sha:abc", "uploads/abc.jpg", Duration.ofDays(365));
+        ArgumentCaptor<Map<String, String>> fields = ArgumentCaptor.forClass(Map.class);
+        InOrder transaction = inOrder(redisTemplate, hashOps);
+        transaction.verify(redisTemplate).multi();
+        transaction.verify(redisTemplate).delete(SOURCE_KEY);
+        transaction.verify(hashOps).putAll(eq(SOURCE_KEY), fields.capture());
+        transaction.verify(redisTemplate).expire(SOURCE_KEY, Duration.ofDays(90));
+        transaction.verify(redisTemplate).exec();
+        assertEquals(S3_URL, fields.getValue().get("url"));
+        assertEquals("\"v1\"", fields.getValue().get("etag"));
+        assertFalse(fields.getValue().containsKey("lastModified"));
+    }
+
+    @Test
+    @DisplayName("파일 업로드처럼 원본 URL이 없으면 내용 해시만 기록")
+    void remembersContentOnlyWithoutSource() {
+        cache.remember(null, "abc", "uploads/abc.jpg", S3_URL, null, null);
+
+        verify(valueOps).set("image:sha:abc", "uploads/abc.jpg", Duration.ofDays(365));
+        verifyNoInteractions(hashOps);
+    }
+
+    @Test
+    @DisplayName("Redis 장애는 캐시 미스로 취급")
+    void treatsRedisFailureAsMiss() {
+        given(valueOps.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+        given(hashOps.entries(anyString())).willThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(cache.findBySource(SOURCE_URL));
+        assertNull(cache.findByContent("abc"));
+    }
+
+    @Test
+    @DisplayName("비활성화하면 Redis를 건드리지 않음")
+    void disabledSkipsRedis() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        assertNull(cache.findBySource(SOURCE_URL));
+        cache.remember(SOURCE_URL, "abc", "uploads/abc.jpg", S3_URL, null, null);
+
+        verifyNoInteractions(valueOps, hashOps);
+    }
+
+    @Test
+    @DisplayName("SHA-256 16진수 표기")
+    void hashesContent() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                ImageDedupeCache.sha256Hex(new byte[0]));
+    }
+}
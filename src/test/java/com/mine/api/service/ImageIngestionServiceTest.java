@@ -0,0 +1,140 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class ImageIngestionServiceTest {
+
+    private static final String IMAGE_URL = "https://example.com/photo.jpg";
+    private static final String S3_URL = "https://bucket.s3.ap-northeast-2.amazonaws.com/uploads/photo.jpg";
+
+    private final S3Service s3Service = mock(S3Service.class);
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ImageIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = create(2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("실패한 업로드는 스레드를 재우지 않고 예약 재시도 후 성공")
+    void retriesFailedUpload() {
+        given(s3Service.uploadImageFromUrlAsync(IMAGE_URL))
+                .willReturn(CompletableFuture.failedFuture(new IOException("connection reset")))
+                .willReturn(CompletableFuture.completedFuture(S3_URL));
+
+        assertEquals(S3_URL, service.rehostAsync(IMAGE_URL).join());
+        verify(s3Service, times(2)).uploadImageFromUrlAsync(IMAGE_URL);
+        assertEquals(1.0, meterRegistry.counter("image.ingest.retries").count());
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 실패하면 예외 대신 null로 완료")
+    void completesWithNullAfterRetries() {
+        given(s3Service.uploadImageFromUrlAsync(IMAGE_URL))
+                .willAnswer(invocation -> CompletableFuture.failedFuture(new IOException("connection reset")));
+
+        assertNull(service.rehostAsync(IMAGE_URL).join());
+        verify(s3Service, times(3)).uploadImageFromUrlAsync(IMAGE_URL);
+        assertEquals(1.0, meterRegistry.counter("image.ingest.uploads", "result", "failure").count());
+    }
+
+    @Test
+    @DisplayName("404 등 재시도 불가 실패는 바로 포기하고 null")
+    void doesNotRetryNonRetryableFailure() {
+        given(s3Service.uploadImageFromUrlAsync(IMAGE_URL)).willReturn(CompletableFuture.failedFuture(
+                new S3Service.ImageFetchException("HTTP 404 while downloading image: " + IMAGE_URL, false)));
+
+        assertNull(service.rehostAsync(IMAGE_URL).join());
+        verify(s3Service, times(1)).uploadImageFromUrlAsync(IMAGE_URL);
+        assertEquals(0.0, meterRegistry.counter("image.ingest.retries").count());
+        assertEquals(1.0, meterRegistry.counter("image.ingest.uploads", "result", "unavailable").count());
+    }
+
+    @Test
+    @DisplayName("동시 진행 수를 넘으면 대기열에서 기다리고, 대기열이 가득 차면 업로드를 건너뛰고 null")
+    void queuesAndRejectsBeyondConcurrencyLimit() {
+        service.shutdown();
+        meterRegistry = new SimpleMeterRegistry(); // 게이지가 새 서비스를 보도록
+        service = create(1, 1);
+        CompletableFuture<String> firstUpload = new CompletableFuture<>();
+        CompletableFuture<String> secondUpload = new CompletableFuture<>();
+        given(s3Service.uploadImageFromUrlAsync(IMAGE_URL + "?1")).willReturn(firstUpload);
+        given(s3Service.uploadImageFromUrlAsync(IMAGE_URL + "?2")).willReturn(secondUpload);
+
+        CompletableFuture<String> running = service.rehostAsync(IMAGE_URL + "?1");
+        CompletableFuture<String> queued = service.rehostAsync(IMAGE_URL + "?2");
+        CompletableFuture<String> rejected = service.rehostAsync(IMAGE_URL + "?3");
+
+        assertEquals(1.0, meterRegistry.get("image.ingest.active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("image.ingest.queued").gauge().value());
+        verify(s3Service, never()).uploadImageFromUrlAsync(IMAGE_URL + "?2");
+        assertTrue(rejected.isDone());
+        assertNull(rejected.join());
+
+        firstUpload.complete(S3_URL);
+        verify(s3Service).uploadImageFromUrlAsync(IMAGE_URL + "?2"); // 자리가 나면 대기열에서 시작
+        secondUpload.complete(S3_URL);
+        assertEquals(S3_URL, running.join());
+        assertEquals(S3_URL, queued.join());
+        assertEquals(0.0, meterRegistry.get("image.ingest.active").gauge().value());
+        assertEquals(1.0, meterRegistry.counter("image.ingest.uploads", "result", "rejected").count());
+    }
+
+    @Test
+    @DisplayName("마감 시간이 지나면 남은 업로드를 취소하고 결과는 null")
+    void cancelsUploadsAfterDeadline() {
+        CompletableFuture<String> inProgress = new CompletableFuture<>();
+        given(s3Service.uploadImageFromUrlAsync(anyString())).willReturn(inProgress);
+
+        CompletableFuture<String> upload = service.rehostAsync(IMAGE_URL);
+        service.awaitAll(List.of(upload), Duration.ofMillis(100));
+
+        assertTrue(upload.isCancelled());
+        assertTrue(inProgress.isCancelled()); // 진행 중인 스트리밍 업로드도 중단
+        assertNull(ImageIngestionService.resultOrNull(upload));
+        assertEquals(1.0, meterRegistry.counter("image.ingest.uploads", "result", "cancelled").count());
+    }
+
+    @Test
+    @DisplayName("이미 내 S3에 있는 이미지는 동시 진행 수 제한을 거치지 않음")
+    void skipsOwnImages() {
+        given(s3Service.isOwnImage(S3_URL)).willReturn(true);
+        given(s3Service.uploadImageFromUrlAsync(S3_URL)).willReturn(CompletableFuture.completedFuture(S3_URL));
+
+        CompletableFuture<String> upload = service.rehostAsync(S3_URL);
+
+        assertTrue(upload.isDone());
+        assertEquals(S3_URL, upload.join());
+        assertEquals(0.0, meterRegistry.get("image.ingest.active").gauge().value());
+    }
+
+    private ImageIngestionService create(int maxConcurrent, int queueCapacity) {
+        ImageIngestionService created = new ImageIngestionService(s3Service, meterRegistry, maxConcurrent,
+                queueCapacity);
+        ReflectionTestUtils.setField(created, "maxRetries", 2);
+        ReflectionTestUtils.setField(created, "retryDelayMs", 10L);
+        ReflectionTestUtils.setField(created, "awaitTimeoutSeconds", 30L);
+        return created;
+    }
+}
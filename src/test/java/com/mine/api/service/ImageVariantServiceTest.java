@@ -0,0 +1,115 @@
+package com.mine.api.service;
+
+import com.mine.api.dto.ImageVariants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantServiceTest {
+
+    private static final String BASE_URL = "https://bucket.s3.ap-northeast-2.amazonaws.com/images/"
+            + "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ImageVariantService(meterRegistry, 1, 1);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.82f);
+        ReflectionTestUtils.setField(service, "maxPixels", 16_000_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("PNG 원본에서 너비별 JPEG 변형 3종 생성 — 비율 유지")
+    void rendersJpegVariants() throws IOException {
+        Map<ImageVariants.Size, byte[]> variants = service.renderAsync(png(2400, 1200)).join();
+
+        assertEquals(3, variants.size());
+        for (ImageVariants.Size size : ImageVariants.Size.values()) {
+            BufferedImage variant = ImageIO.read(new ByteArrayInputStream(variants.get(size)));
+            assertEquals(size.width(), variant.getWidth());
+            assertEquals(size.width() / 2, variant.getHeight());
+        }
+        assertEquals(1.0, meterRegistry.counter("image.variants", "result", "rendered").count());
+    }
+
+    @Test
+    @DisplayName("가장 큰 변형보다 훨씬 넓은 원본은 건너뛰며 읽어도 변형 너비와 비율 유지")
+    void subsamplesWideSource() throws IOException {
+        Map<ImageVariants.Size, byte[]> variants = service.render(png(4000, 1000));
+
+        BufferedImage full = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariants.Size.FULL)));
+        assertEquals(1920, full.getWidth());
+        assertEquals(480, full.getHeight());
+    }
+
+    @Test
+    @DisplayName("원본보다 큰 변형은 확대하지 않고 원본 너비 유지")
+    void doesNotUpscale() throws IOException {
+        Map<ImageVariants.Size, byte[]> variants = service.render(png(500, 250));
+
+        assertEquals(320, ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariants.Size.THUMB))).getWidth());
+        assertEquals(500, ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariants.Size.FULL))).getWidth());
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 형식이나 허용 픽셀 수를 넘는 이미지는 null")
+    void skipsUnreadableOrHugeImages() throws IOException {
+        assertNull(service.render("RIFF....WEBPVP8 ".getBytes()));
+
+        ReflectionTestUtils.setField(service, "maxPixels", 1_000L);
+        assertNull(service.render(png(100, 100)));
+        assertEquals(2.0, meterRegistry.counter("image.variants", "result", "skipped").count());
+    }
+
+    @Test
+    @DisplayName("비활성화하면 변형 없이 null")
+    void disabledReturnsNull() throws IOException {
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        assertNull(service.renderAsync(png(100, 100)).join());
+    }
+
+    @Test
+    @DisplayName("변형 키 체계의 원본 URL에서만 변형 URL 도출")
+    void derivesVariantUrls() {
+        ImageVariants variants = ImageVariants.of(BASE_URL + "/original.png");
+
+        assertEquals(BASE_URL + "/thumb.jpg", variants.getThumb());
+        assertEquals(BASE_URL + "/medium.jpg", variants.getMedium());
+        assertEquals(BASE_URL + "/full.jpg", variants.getFull());
+        assertNull(ImageVariants.of("https://bucket.s3.ap-northeast-2.amazonaws.com/uploads/abc.png"));
+        assertNull(ImageVariants.of("https://example.com/images/cover.jpg"));
+        assertNull(ImageVariants.of(null));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x += 10) {
+            image.setRGB(x, height / 2, 0xFF336699);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.domain.Magazine;
+import com.mine.api.domain.MagazineSection;
+import com.mine.api.domain.Paragraph;
+import com.mine.api.domain.User;
+import com.mine.api.dto.AiDto;
+import com.mine.api.dto.InteractionDto;
+import com.mine.api.repository.MagazineInteractionRepository;
+import com.mine.api.repository.MagazineRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MagazineInteractionServiceTest {
+
+    @Mock
+    private MagazineRepository magazineRepository;
+    @Mock
+    private MagazineInteractionRepository interactionRepository;
+    @Mock
+    private AiClient aiClient;
+    @Mock
+    private ImageIngestionService imageIngestionService;
+    @Mock
+    private SectionService sectionService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MagazineInteractionService service;
+    private Magazine magazine;
+
+    @BeforeEach
+    void setUp() {
+        AiRequestCoalescer coalescer = new AiRequestCoalescer(new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coalescer, "resultWindowSeconds", 10L);
+        service = new MagazineInteractionService(magazineRepository, interactionRepository, aiClient, coalescer,
+                imageIngestionService, sectionService, transactionTemplate);
+        ReflectionTestUtils.setField(service, "toneFanOutConcurrency", 2);
+
+        User user = User.builder().username("user1").nickname("유저").build();
+        magazine = Magazine.builder().title("매거진").user(user).build();
+        ReflectionTestUtils.setField(magazine, "id", 1L);
+        for (long id = 1; id <= 3; id++) {
+            MagazineSection section = MagazineSection.builder().heading("섹션" + id).displayOrder((int) id).build();
+            section.addParagraph(Paragraph.builder().subtitle("소제목").text("본문" + id).displayOrder(0).build());
+            ReflectionTestUtils.setField(section, "id", id);
+            magazine.addSection(section);
+        }
+
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(magazineRepository.findById(1L)).willReturn(Optional.of(magazine));
+    }
+
+    @Test
+    @DisplayName("톤 변경 팬아웃 — 실패한 섹션은 기존 내용을 유지하고 나머지 섹션만 반영")
+    void changeTone_KeepsFailedSectionAndAppliesOthers() {
+        given(magazineRepository.findForUpdateById(1L)).willReturn(Optional.of(magazine));
+        given(magazineRepository.save(any(Magazine.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(aiClient.editSectionAsync(eq("user1"), any(AiDto.EditSectionRequest.class))).willAnswer(invocation -> {
+            AiDto.EditSectionRequest request = invocation.getArgument(1);
+            if (request.sectionId() == 2L) {
+                return CompletableFuture.failedFuture(new RuntimeException("AI Server connection failed"));
+            }
+            return CompletableFuture.completedFuture(
+                    new AiDto.EditSectionResponse("change_tone", toned(request.sectionData().heading())));
+        });
+
+        InteractionDto.InteractResponse response = service.interact(1L, "user1", toneRequest());
+
+        assertEquals("전체 톤이 변경되었습니다. (2/3 섹션)", response.getMessage());
+        assertEquals(List.of("섹션1 (밝게)", "섹션2", "섹션3 (밝게)"),
+                magazine.getSections().stream().map(MagazineSection::getHeading).toList());
+        assertEquals("본문2", magazine.getSections().get(1).getParagraphs().get(0).getText());
+        verify(interactionRepository).save(any());
+    }
+
+    @Test
+    @DisplayName("톤 변경 팬아웃 — 모든 섹션이 실패하면 첫 오류로 실패하고 이력을 남기지 않음")
+    void changeTone_FailsWhenEverySectionFails() {
+        given(aiClient.editSectionAsync(eq("user1"), any(AiDto.EditSectionRequest.class)))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException("AI Server connection failed")));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.interact(1L, "user1", toneRequest()));
+
+        assertEquals("AI Server connection failed", e.getMessage());
+        verify(magazineRepository, never()).save(any(Magazine.class));
+        verify(interactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("톤 변경 팬아웃 — 오류 없이 바뀐 섹션이 하나도 없어도 실패하고 이력을 남기지 않음")
+    void changeTone_FailsWhenNoSectionChanged() {
+        given(aiClient.editSectionAsync(eq("user1"), any(AiDto.EditSectionRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(new AiDto.EditSectionResponse("change_tone", null)));
+
+        assertThrows(IllegalStateException.class, () -> service.interact(1L, "user1", toneRequest()));
+
+        verify(magazineRepository, never()).save(any(Magazine.class));
+        verify(interactionRepository, never()).save(any());
+    }
+
+    private static InteractionDto.InteractRequest toneRequest() {
+        InteractionDto.InteractRequest request = new InteractionDto.InteractRequest();
+        request.setMessage("전체를 밝은 톤으로 바꿔줘");
+        request.setMode(InteractionDto.MODE_CHANGE_TONE);
+        return request;
+    }
+
+    private static AiDto.SectionPayload toned(String heading) {
+        return new AiDto.SectionPayload(null, heading + " (밝게)", null, null, null, null, null,
+                List.of(new AiDto.ParagraphPayload("소제목", "밝은 본문", null, null)));
+    }
+}
@@ -4,6 +4,7 @@ import com.mine.api.domain.Magazine;
 import com.mine.api.domain.User;
 import com.mine.api.domain.UserInterest;
 import com.mine.api.domain.Interest;
+import com.mine.api.dto.AiDto;
 import com.mine.api.dto.MagazineCreateRequest;
 import com.mine.api.dto.MagazineGenerationRequest;
 import com.mine.api.repository.MagazineLikeRepository;
@@ -16,7 +17,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,8 +24,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import java.util.List;
 import java.util.Optional;
@@ -56,7 +60,25 @@ class MagazineServiceTest {
         private FollowRepository followRepository;
 
         @Mock
-        private RunPodService runPodService;
+        private AiClient aiClient;
+
+        @Mock
+        private SectionService sectionService;
+
+        @Mock
+        private MoodboardService moodboardService;
+
+        @Mock
+        private ImageIngestionService imageIngestionService;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        @Mock
+        private GenerationJobService generationJobService;
+
+        @Mock
+        private WelcomeMagazinePoolService welcomeMagazinePoolService;
 
         // 테스트용 Interest 엔티티 생성 헬퍼
         private Interest createInterest(Long id, String code, String name) {
@@ -69,12 +91,6 @@ class MagazineServiceTest {
                 return interest;
         }
 
-        @BeforeEach
-        void setUp() {
-                ReflectionTestUtils.setField(magazineService, "pythonApiUrl",
-                                "http://localhost:8000/api/magazine/generate");
-        }
-
         @Test
         @DisplayName("AI 매거진 생성 및 저장 성공 테스트")
         void generateAndSaveMagazine_Success() {
@@ -111,12 +127,7 @@ class MagazineServiceTest {
                 when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
                 when(userInterestRepository.findByUser(user)).thenReturn(List.of(interest));
 
-                Map<String, Object> outputMap = new HashMap<>();
-                outputMap.put("title", "Generated Magazine");
-                outputMap.put("cover_image_url", "http://image.url");
-
-                // 로컬 URL이므로 sendSyncRequest가 호출됨
-                when(runPodService.sendSyncRequest(anyString(), any(Map.class))).thenReturn(outputMap);
+                when(aiClient.createMagazine(anyString(), any(AiDto.CreateMagazineRequest.class))).thenReturn(generatedData);
                 when(magazineRepository.save(any(Magazine.class))).thenReturn(savedMagazine);
 
                 // When
@@ -127,7 +138,7 @@ class MagazineServiceTest {
                 assertEquals(1L, magazineId);
 
                 verify(userRepository, times(2)).findByUsername(username);
-                verify(runPodService).sendSyncRequest(anyString(), any(Map.class));
+                verify(aiClient).createMagazine(anyString(), any(AiDto.CreateMagazineRequest.class));
                 verify(magazineRepository).save(any(Magazine.class));
         }
 
@@ -327,4 +338,162 @@ class MagazineServiceTest {
                                 anyString(), anyString(), anyString(),
                                 eq(100L), isNull(), any(Pageable.class));
         }
+
+        @Test
+        @DisplayName("스트리밍 생성 - 섹션이 도착할 때마다 매거진에 저장하고 진행 이벤트 발행")
+        void generateAndSaveMagazineStreaming_PersistsEachSection() {
+                // Given
+                User user = User.builder().username("testuser").build();
+                Magazine magazine = streamingMagazine(user);
+                List<String> progress = new ArrayList<>();
+
+                doAnswer(invocation -> {
+                        Consumer<AiDto.MagazineStreamEvent> handler = invocation.getArgument(2);
+                        handler.accept(magazineEvent("서울 카페 투어"));
+                        handler.accept(sectionEvent("성수동"));
+                        // 다음 섹션을 기다리는 동안 이미 저장된 상태
+                        assertEquals(1, magazine.getSections().size());
+                        handler.accept(sectionEvent("연남동"));
+                        return null;
+                }).when(aiClient).streamMagazine(anyString(), any(AiDto.CreateMagazineRequest.class), any());
+
+                // When
+                Long magazineId = magazineService.generateAndSaveMagazineStreaming(generationRequest(), "testuser",
+                                (name, data) -> progress.add(name));
+
+                // Then
+                assertEquals(10L, magazineId);
+                assertEquals(List.of("magazine", "section", "section"), progress);
+                assertEquals(List.of("성수동", "연남동"),
+                                magazine.getSections().stream().map(s -> s.getHeading()).toList());
+                verify(magazineRepository, times(2)).saveAndFlush(magazine);
+                verify(moodboardService).createMoodboardForMagazineAsync(10L, "testuser");
+                verify(magazineRepository, never()).delete(any(Magazine.class));
+        }
+
+        @Test
+        @DisplayName("스트리밍 생성 - 부분 결과 전달 후 스트림이 끊기면 저장한 매거진 삭제 후 실패")
+        void generateAndSaveMagazineStreaming_DeletesPartialMagazineWhenStreamDrops() {
+                // Given
+                User user = User.builder().username("testuser").build();
+                Magazine magazine = streamingMagazine(user);
+                List<String> progress = new ArrayList<>();
+                doAnswer(invocation -> {
+                        invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                        return null;
+                }).when(transactionTemplate).executeWithoutResult(any());
+
+                doAnswer(invocation -> {
+                        Consumer<AiDto.MagazineStreamEvent> handler = invocation.getArgument(2);
+                        handler.accept(magazineEvent("서울 카페 투어"));
+                        handler.accept(sectionEvent("성수동"));
+                        throw new AiEndpointRouter.PartialResultException(
+                                        "AI stream interrupted after partial results: connection reset",
+                                        new java.io.IOException("connection reset"));
+                }).when(aiClient).streamMagazine(anyString(), any(AiDto.CreateMagazineRequest.class), any());
+
+                // When
+                RuntimeException e = assertThrows(RuntimeException.class,
+                                () -> magazineService.generateAndSaveMagazineStreaming(generationRequest(), "testuser",
+                                                (name, data) -> progress.add(name)));
+
+                // Then
+                assertInstanceOf(AiEndpointRouter.PartialResultException.class, e.getCause());
+                assertEquals(List.of("magazine", "section"), progress);
+                verify(magazineRepository).delete(magazine);
+                verify(moodboardService, never()).createMoodboardForMagazineAsync(anyLong(), anyString());
+        }
+
+        @Test
+        @DisplayName("스트리밍 생성 - AI가 error 이벤트를 보내면 저장한 매거진 삭제 후 실패")
+        void generateAndSaveMagazineStreaming_DeletesPartialMagazineOnErrorEvent() {
+                // Given
+                User user = User.builder().username("testuser").build();
+                Magazine magazine = streamingMagazine(user);
+                doAnswer(invocation -> {
+                        invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                        return null;
+                }).when(transactionTemplate).executeWithoutResult(any());
+
+                doAnswer(invocation -> {
+                        Consumer<AiDto.MagazineStreamEvent> handler = invocation.getArgument(2);
+                        handler.accept(sectionEvent("성수동"));
+                        handler.accept(new AiDto.MagazineStreamEvent(AiDto.MagazineStreamEvent.ERROR, null, null, null,
+                                        null, "model overloaded"));
+                        return null;
+                }).when(aiClient).streamMagazine(anyString(), any(AiDto.CreateMagazineRequest.class), any());
+
+                // When
+                RuntimeException e = assertThrows(RuntimeException.class,
+                                () -> magazineService.generateAndSaveMagazineStreaming(generationRequest(), "testuser",
+                                                (name, data) -> {
+                                                }));
+
+                // Then
+                assertTrue(e.getMessage().contains("model overloaded"));
+                verify(magazineRepository).delete(magazine);
+        }
+
+        @Test
+        @DisplayName("웰컴 매거진 — 풀 복제 저장이 DB 오류로 실패해도 AI 생성 작업은 별도 트랜잭션으로 등록")
+        void generateInitialMagazines_EnqueuesWhenCloneFails() {
+                // Given
+                User user = User.builder().username("testuser").nickname("Tester").build();
+                UserInterest interest = UserInterest.builder()
+                                .user(user)
+                                .interest(createInterest(1L, "TRAVEL", "여행"))
+                                .build();
+                when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+                when(userInterestRepository.findByUser(user)).thenReturn(List.of(interest));
+                when(welcomeMagazinePoolService.claim("TRAVEL")).thenReturn(Optional.of(new MagazineCreateRequest()));
+                // 첫 트랜잭션(관심사 조회)은 성공, 두 번째(복제 저장)는 DB 오류
+                when(transactionTemplate.execute(any()))
+                                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0)
+                                                .doInTransaction(null))
+                                .thenThrow(new org.springframework.dao.DataAccessResourceFailureException(
+                                                "connection lost"));
+
+                // When
+                magazineService.generateInitialMagazinesAsync("testuser");
+
+                // Then
+                verify(generationJobService).enqueue(com.mine.api.domain.GenerationJob.Type.WELCOME_MAGAZINE,
+                                "testuser", "TRAVEL", "welcome:testuser:TRAVEL");
+        }
+
+        // 스트리밍 저장에 필요한 공통 목 — 빈 매거진 저장(ID 10), 섹션 추가 시 재조회
+        private Magazine streamingMagazine(User user) {
+                Magazine magazine = Magazine.builder().user(user).title("서울 카페 투어").build();
+                ReflectionTestUtils.setField(magazine, "id", 10L);
+                when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+                when(userInterestRepository.findByUser(user)).thenReturn(List.of());
+                when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+                when(magazineRepository.save(any(Magazine.class))).thenReturn(magazine);
+                when(magazineRepository.findById(10L)).thenReturn(Optional.of(magazine));
+                return magazine;
+        }
+
+        private static MagazineGenerationRequest generationRequest() {
+                MagazineGenerationRequest request = new MagazineGenerationRequest();
+                request.setTopic("서울 카페");
+                request.setUserMood("차분한");
+                return request;
+        }
+
+        private static AiDto.MagazineStreamEvent magazineEvent(String title) {
+                return new AiDto.MagazineStreamEvent(AiDto.MagazineStreamEvent.MAGAZINE, title, null, List.of("카페"),
+                                null, null);
+        }
+
+        private static AiDto.MagazineStreamEvent sectionEvent(String heading) {
+                MagazineCreateRequest.ParagraphDto paragraph = new MagazineCreateRequest.ParagraphDto();
+                paragraph.setSubtitle("소제목");
+                paragraph.setText(heading + " 이야기");
+                MagazineCreateRequest.SectionDto section = new MagazineCreateRequest.SectionDto();
+                section.setHeading(heading);
+                section.setParagraphs(List.of(paragraph));
+                return new AiDto.MagazineStreamEvent(AiDto.MagazineStreamEvent.SECTION, null, null, null, section,
+                                null);
+        }
 }
@@ -1,28 +1,29 @@
 package com.mine.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mine.api.domain.Moodboard;
 import com.mine.api.domain.User;
+import com.mine.api.dto.AiDto;
 import com.mine.api.dto.MoodboardRequestDto;
-import com.mine.api.dto.MoodboardResponseDto;
+import com.mine.api.repository.MagazineRepository;
 import com.mine.api.repository.MoodboardRepository;
 import com.mine.api.repository.UserRepository;
-import io.awspring.cloud.s3.S3Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.InputStream;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
@@ -30,8 +31,7 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class MoodboardServiceTest {
 
-    @InjectMocks
-    private MoodboardService moodboardService;
+    private static final String S3_URL = "https://test-bucket.s3.ap-southeast-2.amazonaws.com/moodboards/image.png";
 
     @Mock
     private MoodboardRepository moodboardRepository;
@@ -40,52 +40,72 @@ class MoodboardServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private S3Template s3Template;
+    private MagazineRepository magazineRepository;
+
+    @Mock
+    private S3Service s3Service;
 
     @Mock
-    private RunPodService runPodService;
+    private AiClient aiClient;
+
+    @Mock
+    private GenerationJobService generationJobService;
+
+    private MoodboardService moodboardService;
+    private String base64Image;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(moodboardService, "moodboardApiUrl",
-                "http://localhost:8000/api/magazine/moodboard");
-        ReflectionTestUtils.setField(moodboardService, "bucketName", "test-bucket");
+        AiRequestCoalescer coalescer = new AiRequestCoalescer(new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coalescer, "resultWindowSeconds", 10L);
+        moodboardService = new MoodboardService(moodboardRepository, userRepository, magazineRepository, s3Service,
+                aiClient, coalescer, generationJobService);
+
+        User user = User.builder().username("testUser").nickname("Tester").build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+
+        base64Image = Base64.getEncoder().encodeToString("fake-image-content".getBytes());
+        given(s3Service.uploadBase64ToS3(base64Image)).willReturn(S3_URL);
     }
 
     @Test
+    @DisplayName("무드보드 생성 — AI가 준 base64 이미지를 S3에 올리고 URL을 저장/반환")
     void createMoodboard_Success() {
         // Given
-        String username = "testUser";
-        User user = org.mockito.Mockito.mock(User.class);
-        given(user.getId()).willReturn(1L);
+        given(aiClient.generateMoodboard(eq("testUser"), any(AiDto.GenerateMoodboardRequest.class)))
+                .willReturn(new AiDto.MoodboardResult(true, null, base64Image, "A cozy test image"));
 
-        MoodboardRequestDto requestDto = MoodboardRequestDto.builder()
-                .topic("Test Topic")
-                .build();
-
-        String base64Image = Base64.getEncoder().encodeToString("fake-image-content".getBytes());
-        MoodboardResponseDto aiResponse = new MoodboardResponseDto(base64Image, "A cozy test image");
-
-        given(userRepository.findByUsername(username)).willReturn(Optional.of(user));
+        // When
+        String resultUrl = moodboardService.createMoodboard("testUser", request());
 
-        // Mock WebClient chain -> RunPodService Mock
-        // 로컬 URL이므로 sendSyncRequest가 호출됨
-        java.util.Map<String, Object> output = new java.util.HashMap<>();
-        output.put("image_url", base64Image);
-        output.put("description", "A cozy test image");
+        // Then
+        assertEquals(S3_URL, resultUrl);
+        verify(s3Service).uploadBase64ToS3(base64Image);
+        verify(moodboardRepository).save(argThat((Moodboard moodboard) -> S3_URL.equals(moodboard.getImageUrl())
+                && Long.valueOf(1L).equals(moodboard.getUserId())));
+    }
 
-        given(runPodService.sendSyncRequest(anyString(), any(java.util.Map.class))).willReturn(output);
+    @Test
+    @DisplayName("무드보드 생성 (논블로킹) — AI 결과가 오면 같은 방식으로 업로드/저장")
+    void createMoodboardAsync_Success() {
+        // Given
+        given(aiClient.generateMoodboardAsync(eq("testUser"), any(AiDto.GenerateMoodboardRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        new AiDto.MoodboardResult(true, null, base64Image, "A cozy test image")));
 
         // When
-        String resultUrl = moodboardService.createMoodboard(username, requestDto);
+        String resultUrl = moodboardService.createMoodboardAsync("testUser", request()).join();
 
         // Then
-        assertNotNull(resultUrl);
-        // Check if it starts with the expected bucket URL
-        String expectedPrefix = "https://test-bucket.s3.ap-southeast-2.amazonaws.com/";
-        assertEquals(expectedPrefix, resultUrl.substring(0, expectedPrefix.length()));
+        assertEquals(S3_URL, resultUrl);
+        verify(s3Service).uploadBase64ToS3(base64Image);
+        verify(moodboardRepository).save(argThat((Moodboard moodboard) -> S3_URL.equals(moodboard.getImageUrl())));
+    }
 
-        verify(s3Template).upload(eq("test-bucket"), anyString(), any(InputStream.class));
-        verify(moodboardRepository).save(any(Moodboard.class));
+    private static MoodboardRequestDto request() {
+        return MoodboardRequestDto.builder()
+                .topic("Test Topic")
+                .build();
     }
 }
@@ -0,0 +1,99 @@
+package com.mine.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunPodJobPollerTest {
+
+    private RunPodJobPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        poller = new RunPodJobPoller(1);
+        ReflectionTestUtils.setField(poller, "inProgressIntervalMs", 1L);
+        ReflectionTestUtils.setField(poller, "inQueueIntervalMs", 5L);
+        ReflectionTestUtils.setField(poller, "timeoutMinutes", 1L);
+        ReflectionTestUtils.setField(poller, "safetyPollIntervalMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+    }
+
+    @Test
+    @DisplayName("IN_QUEUE -> IN_PROGRESS -> COMPLETED 순서로 폴링 후 완료 응답 반환")
+    void poll_CompletesWhenJobCompleted() throws Exception {
+        Iterator<String> states = List.of("IN_QUEUE", "IN_PROGRESS", "IN_PROGRESS", "COMPLETED").iterator();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Map<String, Object>> result = poller.poll("job-1",
+                () -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.completedFuture(Map.<String, Object>of("status", states.next()));
+                },
+                status -> (String) status.get("status"));
+
+        Map<String, Object> response = result.get(5, TimeUnit.SECONDS);
+        assertEquals("COMPLETED", response.get("status"));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("FAILED 상태면 예외로 완료")
+    void poll_FailsWhenJobFailed() {
+        CompletableFuture<Map<String, Object>> result = poller.poll("job-2",
+                () -> CompletableFuture.completedFuture(Map.<String, Object>of("status", "FAILED")),
+                status -> (String) status.get("status"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("RunPod job failed"));
+    }
+
+    @Test
+    @DisplayName("상태 조회가 연속으로 실패하면 예외로 완료")
+    void poll_FailsAfterConsecutiveErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Map<String, Object>> result = poller.poll("job-3",
+                () -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.failedFuture(new RuntimeException("connection reset"));
+                },
+                status -> (String) status.get("status"));
+
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("웹훅 작업은 안전망 간격까지 기다리지 않고 wake() 즉시 조회해 완료")
+    void poll_WebhookWakesImmediately() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Map<String, Object>> result = poller.poll("job-4", "token-4",
+                () -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.completedFuture(Map.<String, Object>of("status", "COMPLETED"));
+                },
+                status -> (String) status.get("status"));
+
+        assertFalse(poller.wake("job-4", "wrong-token"));
+        assertFalse(result.isDone());
+
+        assertTrue(poller.wake("job-4", "token-4"));
+        assertEquals("COMPLETED", result.get(5, TimeUnit.SECONDS).get("status"));
+        assertEquals(1, calls.get());
+    }
+}
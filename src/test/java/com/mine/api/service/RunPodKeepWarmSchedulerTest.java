@@ -0,0 +1,83 @@
+package com.mine.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunPodKeepWarmSchedulerTest {
+
+    private static final String URL = "https://api.runpod.ai/v2/endpoint-1/runsync";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RunPodKeepWarmScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RunPodKeepWarmScheduler(WebClient.create(), meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "leadMinutes", 10L);
+        ReflectionTestUtils.setField(scheduler, "coldStartThresholdMs", 10000L);
+    }
+
+    @Test
+    @DisplayName("같은 시간대에 반복된 도착률을 학습해 다음 주 같은 시간대 직전에 수요를 예측")
+    void learnsArrivalRatePerTimeSlot() {
+        LocalDateTime peak = LocalDateTime.of(2026, 3, 2, 21, 0); // 월요일 21시
+
+        for (int minute = 1; minute <= 60; minute++) {
+            scheduler.recordArrival(URL, "create_magazine");
+            scheduler.recordArrival(URL, "create_magazine");
+            scheduler.learn(peak.plusMinutes(minute));
+        }
+        // 한참 조용한 뒤 최근 도착률은 0으로 수렴
+        for (int minute = 0; minute < 120; minute++) {
+            scheduler.learn(peak.plusHours(2).plusMinutes(minute));
+        }
+
+        // 다음 주 월요일 20:55 — lead 10분 안에 피크 시간대가 있으므로 수요 예측
+        double beforePeak = scheduler.predictedPerMinute(URL, peak.plusWeeks(1).minusMinutes(5));
+        // 같은 날 새벽 — 학습된 수요 없음
+        double idle = scheduler.predictedPerMinute(URL, peak.plusWeeks(1).withHour(4));
+
+        assertTrue(beforePeak > 1.5, "expected learned peak demand but was " + beforePeak);
+        assertTrue(idle < 0.01, "expected no demand but was " + idle);
+    }
+
+    @Test
+    @DisplayName("도착률 게이지는 엔드포인트별로 따로 등록")
+    void tagsArrivalRateWithEndpoint() {
+        scheduler.recordArrival(URL, "create_magazine");
+        scheduler.recordArrival("https://api.runpod.ai/v2/endpoint-2/runsync", "create_magazine");
+
+        assertNotNull(meterRegistry.get("runpod.arrival.rate").tags("endpoint", "endpoint-1", "action",
+                "create_magazine").gauge());
+        assertNotNull(meterRegistry.get("runpod.arrival.rate").tags("endpoint", "endpoint-2", "action",
+                "create_magazine").gauge());
+    }
+
+    @Test
+    @DisplayName("run/runsync 호출은 같은 엔드포인트로 집계")
+    void normalisesEndpointUrl() {
+        assertEquals("https://api.runpod.ai/v2/endpoint-1", RunPodKeepWarmScheduler.endpointBase(URL));
+        assertEquals("https://api.runpod.ai/v2/endpoint-1",
+                RunPodKeepWarmScheduler.endpointBase("https://api.runpod.ai/v2/endpoint-1/run"));
+    }
+
+    @Test
+    @DisplayName("워커 배정 대기 시간이 임계값 이상이면 콜드스타트로 집계")
+    void countsColdStarts() {
+        scheduler.recordJob("job-1", 25000L);
+        scheduler.recordJob("job-2", 300L);
+        scheduler.recordJob("job-3", null);
+
+        assertEquals(1.0, meterRegistry.get("runpod.jobs").tag("cold", "true").counter().count());
+        assertEquals(1.0, meterRegistry.get("runpod.jobs").tag("cold", "false").counter().count());
+        assertEquals(2, meterRegistry.get("runpod.job.delay").timer().count());
+    }
+}
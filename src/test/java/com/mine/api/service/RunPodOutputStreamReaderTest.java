@@ -0,0 +1,77 @@
+package com.mine.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunPodOutputStreamReaderTest {
+
+    private String extract(String json, ByteArrayOutputStream sink,
+            RunPodOutputStreamReader.Base64FieldExtractingInputStream[] holder) throws Exception {
+        RunPodOutputStreamReader.Base64FieldExtractingInputStream filtered = new RunPodOutputStreamReader.Base64FieldExtractingInputStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "image_url",
+                () -> new BufferedOutputStream(new RunPodOutputStreamReader.Base64DecodingOutputStream(sink)));
+        holder[0] = filtered;
+        return new String(filtered.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("data URI 접두어가 붙은 base64 이미지를 떼어내 디코딩하고 나머지 JSON은 그대로 전달")
+    void extractsBase64ImageField() throws Exception {
+        byte[] image = new byte[50_000];
+        new Random(1).nextBytes(image);
+        String base64 = Base64.getEncoder().encodeToString(image).replace("/", "\\/"); // JSON 이스케이프된 슬래시 포함
+        String json = "{\"id\":\"job-1\",\"output\":{\"description\":\"cozy \\\"image_url\\\" room\","
+                + "\"image_url\":\"data:image/png;base64," + base64 + "\",\"success\":true},\"status\":\"COMPLETED\"}";
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        RunPodOutputStreamReader.Base64FieldExtractingInputStream[] holder = new RunPodOutputStreamReader.Base64FieldExtractingInputStream[1];
+        String remaining = extract(json, sink, holder);
+
+        assertTrue(holder[0].isExtracted());
+        assertArrayEquals(image, sink.toByteArray());
+        assertEquals("{\"id\":\"job-1\",\"output\":{\"description\":\"cozy \\\"image_url\\\" room\","
+                + "\"image_url\":\"\",\"success\":true},\"status\":\"COMPLETED\"}", remaining);
+    }
+
+    @Test
+    @DisplayName("추출한 값 자리에 업로드된 S3 URL을 넣어 타입 디코딩이 바로 가능하도록 전달")
+    void replacesExtractedValueWithUploadedUrl() throws Exception {
+        String base64 = Base64.getEncoder().encodeToString("fake-image-content".getBytes(StandardCharsets.UTF_8));
+        String json = "{\"output\":{\"image_url\":\"" + base64 + "\",\"description\":\"cozy\"},\"status\":\"COMPLETED\"}";
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        RunPodOutputStreamReader.Base64FieldExtractingInputStream filtered = new RunPodOutputStreamReader.Base64FieldExtractingInputStream(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "image_url",
+                () -> new BufferedOutputStream(new RunPodOutputStreamReader.Base64DecodingOutputStream(sink)),
+                () -> "https://bucket.s3.amazonaws.com/moodboards/a.png");
+        String remaining = new String(filtered.readAllBytes(), StandardCharsets.UTF_8);
+
+        assertTrue(filtered.isExtracted());
+        assertEquals("fake-image-content", sink.toString(StandardCharsets.UTF_8));
+        assertEquals("{\"output\":{\"image_url\":\"https://bucket.s3.amazonaws.com/moodboards/a.png\","
+                + "\"description\":\"cozy\"},\"status\":\"COMPLETED\"}", remaining);
+    }
+
+    @Test
+    @DisplayName("이미지 필드가 URL이면 그대로 통과")
+    void passesThroughUrlValue() throws Exception {
+        String json = "{\"output\":{\"image_url\":\"https://example.com/fallback.png\"},\"status\":\"COMPLETED\"}";
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        RunPodOutputStreamReader.Base64FieldExtractingInputStream[] holder = new RunPodOutputStreamReader.Base64FieldExtractingInputStream[1];
+        String remaining = extract(json, sink, holder);
+
+        assertFalse(holder[0].isExtracted());
+        assertEquals(0, sink.size());
+        assertEquals(json, remaining);
+    }
+}
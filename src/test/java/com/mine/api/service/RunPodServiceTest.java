@@ -0,0 +1,176 @@
+package com.mine.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mine.api.dto.AiDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RunPodServiceTest {
+
+    private static final String RUNPOD_URL = "https://api.runpod.ai/v2/endpoint-1/runsync";
+    private static final String LOCAL_URL = "http://localhost:8000/api/magazine/create/stream";
+
+    private final Queue<ClientResponse> streamResponses = new ArrayDeque<>();
+    private final List<AiDto.MagazineStreamEvent> received = new CopyOnWriteArrayList<>();
+    private RunPodJobPoller poller;
+    private RunPodService service;
+    private ClientResponse localResponse;
+
+    @BeforeEach
+    void setUp() {
+        poller = new RunPodJobPoller(1);
+        ReflectionTestUtils.setField(poller, "inProgressIntervalMs", 1L);
+        ReflectionTestUtils.setField(poller, "inQueueIntervalMs", 5L);
+        ReflectionTestUtils.setField(poller, "timeoutMinutes", 1L);
+        ReflectionTestUtils.setField(poller, "safetyPollIntervalMs", 60_000L);
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath();
+                    if (request.method() == HttpMethod.POST && path.endsWith("/run")) {
+                        return Mono.just(json(HttpStatus.OK, "{\"id\":\"job-1\"}"));
+                    }
+                    if (path.endsWith("/stream/job-1")) {
+                        synchronized (streamResponses) {
+                            return Mono.just(streamResponses.isEmpty()
+                                    ? json(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                                    : streamResponses.poll());
+                        }
+                    }
+                    return Mono.just(localResponse);
+                })
+                .build();
+
+        service = new RunPodService(webClient, poller, mock(RunPodWebhookRelay.class),
+                mock(RunPodOutputStreamReader.class), mock(RunPodKeepWarmScheduler.class), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "webhookUrl", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+    }
+
+    @Test
+    @DisplayName("RunPod 스트리밍 — /stream 조회마다 새로 생성된 부분 결과를 순서대로 전달")
+    void streamRequest_DeliversChunksAsTheyArrive() throws Exception {
+        streamResponses.add(stream("IN_QUEUE"));
+        streamResponses.add(stream("IN_PROGRESS", magazineChunk()));
+        streamResponses.add(stream("IN_PROGRESS", sectionChunk("성수동"), sectionChunk("연남동")));
+        streamResponses.add(stream("COMPLETED", "{\"type\":\"done\"}"));
+
+        service.streamRequest(RUNPOD_URL, Map.of("user_id", "user1"), AiDto.MagazineStreamEvent.class,
+                received::add, trace()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("magazine", "section", "section", "done"),
+                received.stream().map(AiDto.MagazineStreamEvent::type).toList());
+        assertEquals("연남동", received.get(2).section().getHeading());
+    }
+
+    @Test
+    @DisplayName("RunPod 스트리밍 — 부분 결과 전달 후 /stream 조회가 계속 실패하면 이미 받은 결과는 두고 실패")
+    void streamRequest_FailsWhenStreamDropsMidway() {
+        streamResponses.add(stream("IN_PROGRESS", magazineChunk(), sectionChunk("성수동")));
+        // 이후 조회는 모두 503 — 연속 오류 한도에서 실패
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> service.streamRequest(RUNPOD_URL, Map.of("user_id", "user1"), AiDto.MagazineStreamEvent.class,
+                        received::add, trace()).get(5, TimeUnit.SECONDS));
+
+        // 제출된 작업의 실패 — 다른 엔드포인트로 전환하지 않도록 전용 예외로 감싸짐
+        assertInstanceOf(AiEndpointRouter.JobFailedException.class, e.getCause());
+        assertInstanceOf(WebClientResponseException.ServiceUnavailable.class, e.getCause().getCause());
+        assertEquals(List.of("magazine", "section"),
+                received.stream().map(AiDto.MagazineStreamEvent::type).toList());
+    }
+
+    @Test
+    @DisplayName("로컬 NDJSON 스트리밍 — 줄마다 하나씩 전달")
+    void streamSyncRequest_DeliversEachLine() throws Exception {
+        localResponse = ndjson(Flux.just(buffer(magazineChunk() + "\n" + sectionChunk("성수동") + "\n"),
+                buffer("{\"type\":\"done\"}\n")));
+
+        service.streamSyncRequest(LOCAL_URL, Map.of("user_id", "user1"), AiDto.MagazineStreamEvent.class,
+                received::add, trace()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("magazine", "section", "done"),
+                received.stream().map(AiDto.MagazineStreamEvent::type).toList());
+    }
+
+    @Test
+    @DisplayName("로컬 NDJSON 스트리밍 — 응답 도중 연결이 끊기면 받은 줄까지만 전달하고 실패")
+    void streamSyncRequest_FailsWhenConnectionDropsMidway() {
+        localResponse = ndjson(Flux.concat(Flux.just(buffer(magazineChunk() + "\n")),
+                Flux.error(new IOException("Connection reset by peer"))));
+
+        assertThrows(ExecutionException.class,
+                () -> service.streamSyncRequest(LOCAL_URL, Map.of("user_id", "user1"),
+                        AiDto.MagazineStreamEvent.class, received::add, trace()).get(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of("magazine"), received.stream().map(AiDto.MagazineStreamEvent::type).toList());
+    }
+
+    private static AiCallLedger.Trace trace() {
+        return new AiCallLedger(10).start("create_magazine", RUNPOD_URL, "user1", System.nanoTime());
+    }
+
+    private static String magazineChunk() {
+        return "{\"type\":\"magazine\",\"title\":\"서울 산책\",\"tags\":[\"서울\"]}";
+    }
+
+    private static String sectionChunk(String heading) {
+        return "{\"type\":\"section\",\"section\":{\"heading\":\"" + heading + "\"}}";
+    }
+
+    private static ClientResponse stream(String status, String... chunks) {
+        String stream = String.join(",", Arrays.stream(chunks).map(chunk -> "{\"output\":" + chunk + "}").toList());
+        return json(HttpStatus.OK, "{\"id\":\"job-1\",\"status\":\"" + status + "\",\"stream\":[" + stream + "]}");
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static ClientResponse ndjson(Flux<DataBuffer> body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static DataBuffer buffer(String text) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.mine.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class RunPodWebhookRelayTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RunPodJobPoller runPodJobPoller = mock(RunPodJobPoller.class);
+    private RunPodWebhookRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.opsForValue()).willReturn(valueOps);
+        relay = new RunPodWebhookRelay(redisTemplate, mock(RedisConnectionFactory.class), runPodJobPoller);
+    }
+
+    @Test
+    @DisplayName("웹훅은 완료 표시를 남기고 전체 노드에 발행 — 받은 노드에서 직접 깨우지 않음")
+    void publishesCompletionToAllNodes() {
+        assertTrue(relay.publish("job-1", "token-1"));
+
+        verify(valueOps).set("runpod:webhook:job-1", "token-1", Duration.ofMinutes(20));
+        verify(redisTemplate).convertAndSend(RunPodWebhookRelay.CHANNEL, "job-1 token-1");
+        verifyNoInteractions(runPodJobPoller);
+    }
+
+    @Test
+    @DisplayName("발행된 메시지를 받은 노드는 토큰과 함께 wake — 내부 호출은 토큰 없이")
+    void wakesOnMessage() {
+        relay.onMessage(message("job-1 token-1"), null);
+        relay.onMessage(message("job-2 -"), null);
+
+        verify(runPodJobPoller).wake("job-1", "token-1");
+        verify(runPodJobPoller).wake("job-2", null);
+    }
+
+    @Test
+    @DisplayName("등록 전에 도착한 웹훅은 등록 직후 완료 표시로 깨움")
+    void wakesLateRegistrationFromMarker() {
+        given(valueOps.get("runpod:webhook:job-1")).willReturn("token-1");
+
+        relay.wakeIfCompleted("job-1");
+        relay.wakeIfCompleted("job-2");
+
+        verify(runPodJobPoller).wake("job-1", "token-1");
+        verify(runPodJobPoller, never()).wake(eq("job-2"), any());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 받은 노드의 대기자만 깨움")
+    void fallsBackToLocalWake() {
+        doThrow(new RedisConnectionFailureException("down")).when(valueOps)
+                .set(anyString(), anyString(), any(Duration.class));
+        given(runPodJobPoller.wake("job-1", "token-1")).willReturn(true);
+
+        assertTrue(relay.publish("job-1", "token-1"));
+        verify(runPodJobPoller).wake("job-1", "token-1");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(RunPodWebhookRelay.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,279 @@
+package com.mine.api.service;
+
+import com.mine.api.dto.ImageVariants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class S3ServiceTest {
+
+    private static final String IMAGE_URL = "https://images.example.com/stock/coffee.png";
+    private static final String BUCKET_URL = "https://test-bucket.s3.ap-northeast-2.amazonaws.com/";
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private final S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+    private final ImageDedupeCache imageDedupeCache = mock(ImageDedupeCache.class);
+    private final ImageVariantService imageVariantService = mock(ImageVariantService.class);
+
+    private HttpStatus status = HttpStatus.OK;
+    private String contentType = "image/png";
+    private Flux<DataBuffer> body = Flux.empty();
+    private HttpHeaders requestHeaders;
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        WebClient imageWebClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requestHeaders = request.headers();
+                    return Mono.just(ClientResponse.create(status)
+                            .header("Content-Type", contentType)
+                            .header("ETag", "\"v2\"")
+                            .body(body)
+                            .build());
+                })
+                .build();
+        s3Service = new S3Service(s3Client, s3AsyncClient, imageWebClient, imageDedupeCache,
+                imageVariantService);
+        ReflectionTestUtils.setField(s3Service, "bucketName", "test-bucket");
+        ReflectionTestUtils.setField(s3Service, "region", "ap-northeast-2");
+
+        given(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .willReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+        given(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(
+                        CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        given(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .willReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag").build()));
+        given(s3AsyncClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+        given(s3AsyncClient.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .willReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+        given(imageVariantService.renderAsync(any())).willReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("한 파트보다 작은 이미지는 내용 해시 키로 단일 PUT")
+    void uploadsSmallImageWithSinglePut() {
+        byte[] image = bytes(100_000, (byte) 1);
+        body = chunks(image, 8192);
+
+        String url = s3Service.uploadImageFromUrlAsync(IMAGE_URL).join();
+
+        String sha256 = ImageDedupeCache.sha256Hex(image);
+        assertEquals(BUCKET_URL + "uploads/" + sha256 + ".png", url);
+        verify(s3AsyncClient).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        verify(imageDedupeCache).remember(IMAGE_URL, sha256, "uploads/" + sha256 + ".png", url, "\"v2\"", null);
+    }
+
+    @Test
+    @DisplayName("변형을 만들 수 있으면 원본과 변형을 images/{sha256}/ 아래에 저장")
+    void storesVariantsUnderContentHash() {
+        byte[] image = bytes(100_000, (byte) 5);
+        body = chunks(image, 8192);
+        Map<ImageVariants.Size, byte[]> variants = new EnumMap<>(ImageVariants.Size.class);
+        for (ImageVariants.Size size : ImageVariants.Size.values()) {
+            variants.put(size, new byte[] { (byte) size.ordinal() });
+        }
+        given(imageVariantService.renderAsync(image)).willReturn(CompletableFuture.completedFuture(variants));
+
+        String url = s3Service.uploadImageFromUrlAsync(IMAGE_URL).join();
+
+        String sha256 = ImageDedupeCache.sha256Hex(image);
+        assertEquals(BUCKET_URL + "images/" + sha256 + "/original.png", url);
+        ArgumentCaptor<PutObjectRequest> puts = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3AsyncClient, times(4)).putObject(puts.capture(), any(AsyncRequestBody.class));
+        assertEquals(Set.of("images/" + sha256 + "/original.png", "images/" + sha256 + "/thumb.jpg",
+                        "images/" + sha256 + "/medium.jpg", "images/" + sha256 + "/full.jpg"),
+                puts.getAllValues().stream().map(PutObjectRequest::key).collect(Collectors.toSet()));
+        assertTrue(puts.getAllValues().stream().allMatch(put -> put.cacheControl().contains("immutable")));
+        assertEquals(BUCKET_URL + "images/" + sha256 + "/thumb.jpg", ImageVariants.of(url).getThumb());
+        verify(imageDedupeCache).remember(IMAGE_URL, sha256, "images/" + sha256 + "/original.png", url, "\"v2\"",
+                null);
+    }
+
+    @Test
+    @DisplayName("큰 이미지는 파트가 찰 때마다 멀티파트로 스트리밍")
+    void streamsLargeImageAsMultipart() {
+        byte[] image = bytes(6 * 1024 * 1024, (byte) 2);
+        body = chunks(image, 64 * 1024);
+
+        String url = s3Service.uploadImageFromUrlAsync(IMAGE_URL).join();
+
+        assertTrue(url.startsWith(BUCKET_URL + "uploads/"));
+        verify(s3AsyncClient, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(imageDedupeCache).remember(eq(IMAGE_URL), eq(ImageDedupeCache.sha256Hex(image)), anyString(),
+                eq(url), eq("\"v2\""), isNull());
+    }
+
+    @Test
+    @DisplayName("같은 내용이 이미 있으면 PUT 없이 기존 객체 URL")
+    void reusesObjectWithSameContent() {
+        byte[] image = bytes(1000, (byte) 3);
+        body = chunks(image, 8192);
+        given(imageDedupeCache.findByContent(ImageDedupeCache.sha256Hex(image))).willReturn("uploads/existing.png");
+
+        assertEquals(BUCKET_URL + "uploads/existing.png", s3Service.uploadImageFromUrlAsync(IMAGE_URL).join());
+        verify(s3AsyncClient, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    @DisplayName("신선 기간 안의 URL은 원본에 요청하지 않음")
+    void skipsDownloadForFreshSource() {
+        given(imageDedupeCache.findBySource(IMAGE_URL)).willReturn(
+                new ImageDedupeCache.SourceEntry(BUCKET_URL + "uploads/known.png", "\"v1\"", null, true));
+
+        assertEquals(BUCKET_URL + "uploads/known.png", s3Service.uploadImageFromUrlAsync(IMAGE_URL).join());
+        assertNull(requestHeaders);
+        verifyNoInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("오래된 URL은 조건부 요청 — 304면 본문 없이 기존 객체 재사용")
+    void revalidatesStaleSource() {
+        ImageDedupeCache.SourceEntry stale = new ImageDedupeCache.SourceEntry(BUCKET_URL + "uploads/known.png",
+                "\"v1\"", "Wed, 21 Oct 2026 07:28:00 GMT", false);
+        given(imageDedupeCache.findBySource(IMAGE_URL)).willReturn(stale);
+        status = HttpStatus.NOT_MODIFIED;
+
+        assertEquals(BUCKET_URL + "uploads/known.png", s3Service.uploadImageFromUrlAsync(IMAGE_URL).join());
+        assertEquals("\"v1\"", requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", requestHeaders.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        verify(imageDedupeCache).revalidated(IMAGE_URL, stale);
+        verifyNoInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 응답은 저장하지 않고 null")
+    void rejectsNonImageContent() {
+        contentType = "text/html";
+        body = chunks("<html></html>".getBytes(), 8192);
+
+        assertNull(s3Service.uploadImageFromUrlAsync(IMAGE_URL).join());
+        verifyNoInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("Content-Length 없이 10MB를 넘으면 멀티파트를 중단하고 원본 URL 유지")
+    void abortsOversizedStream() {
+        body = chunks(bytes(11 * 1024 * 1024, (byte) 4), 64 * 1024);
+
+        assertEquals(IMAGE_URL, s3Service.uploadImageFromUrlAsync(IMAGE_URL).join());
+        verify(s3AsyncClient).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3AsyncClient, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("멀티파트 업로드 생성 중에 취소되면 생성 응답을 받은 뒤 중단")
+    void abortsUploadCancelledDuringCreate() {
+        CompletableFuture<CreateMultipartUploadResponse> creating = new CompletableFuture<>();
+        given(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class))).willReturn(creating);
+        body = chunks(bytes(6 * 1024 * 1024, (byte) 5), 64 * 1024);
+
+        CompletableFuture<String> upload = s3Service.uploadImageFromUrlAsync(IMAGE_URL);
+        upload.cancel(true);
+        verify(s3AsyncClient, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+        creating.complete(CreateMultipartUploadResponse.builder().uploadId("upload-2").build());
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abort = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3AsyncClient).abortMultipartUpload(abort.capture());
+        assertEquals("upload-2", abort.getValue().uploadId());
+    }
+
+    @Test
+    @DisplayName("무드보드 변형 업로드가 실패하면 원본만 단일 객체로 저장")
+    void storesMoodboardOriginalWhenVariantUploadFails() {
+        Map<ImageVariants.Size, byte[]> variants = new EnumMap<>(ImageVariants.Size.class);
+        for (ImageVariants.Size size : ImageVariants.Size.values()) {
+            variants.put(size, new byte[] { 1 });
+        }
+        given(imageVariantService.renderAsync(any())).willReturn(CompletableFuture.completedFuture(variants));
+        given(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .willReturn(CompletableFuture.failedFuture(new RuntimeException("S3 unavailable")));
+
+        String url = s3Service.uploadBase64ToS3(java.util.Base64.getEncoder().encodeToString(bytes(1000, (byte) 6)));
+
+        assertTrue(url.startsWith(BUCKET_URL + "moodboards/"));
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("5xx는 재시도 가능, 404는 재시도 불가 예외로 완료 (재시도는 ImageIngestionService 담당)")
+    void classifiesHttpErrors() {
+        status = HttpStatus.BAD_GATEWAY;
+        assertTrue(fetchError(s3Service.uploadImageFromUrlAsync(IMAGE_URL)).isRetryable());
+
+        status = HttpStatus.NOT_FOUND;
+        assertFalse(fetchError(s3Service.uploadImageFromUrlAsync(IMAGE_URL)).isRetryable());
+
+        verifyNoInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("잘못된 URL은 요청 없이 재시도 불가 예외")
+    void rejectsMalformedUrl() {
+        assertFalse(fetchError(s3Service.uploadImageFromUrlAsync("https://example.com/a b|c.png")).isRetryable());
+        assertNull(requestHeaders);
+    }
+
+    private static S3Service.ImageFetchException fetchError(CompletableFuture<String> upload) {
+        CompletionException error = assertThrows(CompletionException.class, upload::join);
+        return assertInstanceOf(S3Service.ImageFetchException.class, error.getCause());
+    }
+
+    private static byte[] bytes(int size, byte value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] bytes, int chunkSize) {
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, i * chunkSize, Math.min(bytes.length, (i + 1) * chunkSize))));
+    }
+}